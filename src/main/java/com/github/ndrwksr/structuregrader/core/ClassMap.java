@@ -2,16 +2,29 @@ package com.github.ndrwksr.structuregrader.core;
 
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.github.ndrwksr.structuregrader.core.bytecode.ClassFileSource;
+import com.github.ndrwksr.structuregrader.core.bytecode.DetachedClassBuilder;
+import com.github.ndrwksr.structuregrader.core.loader.SubmissionClassLoader;
 import com.github.ndrwksr.structuregrader.core.property.Named;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedClassWrapper;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +35,10 @@ import java.util.stream.Collectors;
 @Data
 @SuperBuilder
 public class ClassMap extends NamedMap<ClassWrapper> implements Named {
+	/**
+	 * The suffix of class file names.
+	 */
+	private static final String CLASS_FILE_SUFFIX = ".class";
 
 	/**
 	 * Factory method. Returns a ClassCollection containing all top-level classes in the provided package.
@@ -30,24 +47,289 @@ public class ClassMap extends NamedMap<ClassWrapper> implements Named {
 	 * @return a ClassCollection containing all top-level classes in the provided package.
 	 * @throws IOException If ClassPath cannot access the top level classes of pkg.
 	 */
+	@SuppressWarnings("WeakerAccess")
+	public static ClassMap buildFromPackage(
+			@NonNull final ClassLoader classLoader,
+			@NonNull final String pkg
+	) throws IOException {
+		return buildFromPackage(classLoader, pkg, 1);
+	}
+
+	/**
+	 * Factory method. Returns a ClassCollection containing all top-level classes in the provided package. Classes are
+	 * loaded and wrapped, and their members extracted, by up to parallelism threads at once. The returned
+	 * ClassCollection is equal to the one built by buildFromPackage(classLoader, pkg) regardless of parallelism.
+	 *
+	 * @param classLoader The classloader to scan and load classes with. Should be parallel capable (see
+	 *                    ClassLoader.registerAsParallelCapable()) when parallelism is greater than 1, otherwise
+	 *                    loading is serialized by the classloader.
+	 * @param pkg         The name of the package to build the ClassCollection from.
+	 * @param parallelism The maximum number of classes to load and wrap at once. 1 builds the ClassCollection on the
+	 *                    calling thread.
+	 * @return a ClassCollection containing all top-level classes in the provided package.
+	 * @throws IOException If ClassPath cannot access the top level classes of pkg.
+	 */
 	@SuppressWarnings({"UnstableApiUsage", "WeakerAccess"})
 	// ClassPath is marked as @Beta, so it's fine for applications
 	public static ClassMap buildFromPackage(
 			@NonNull final ClassLoader classLoader,
-			@NonNull final String pkg
+			@NonNull final String pkg,
+			final int parallelism
 	) throws IOException {
 		final ClassPath classPath = ClassPath.from(classLoader);
+		final List<String> classNames = classPath.getTopLevelClassesRecursive(pkg).stream()
+				.map(ClassInfo::getName)
+				.collect(Collectors.toList());
+
+		try {
+			return buildFromWrappers(pkg, loadAndWrap(classLoader, classNames, parallelism));
+		} catch (ClassNotFoundException e) {
+			// ClassPath found the class through classLoader, so this is the same failure ClassInfo.load() reports
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Factory method. Returns a ClassCollection containing all top-level classes in the provided package of the
+	 * provided jar. Unlike buildFromPackage, only the entries of jar are scanned, so the cost of discovery depends on
+	 * the size of the jar rather than the size of classLoader's classpath.
+	 *
+	 * @param classLoader The classloader to load the discovered classes with. Should be able to see the contents of jar.
+	 * @param jar         The jar to scan for classes.
+	 * @param pkg         The name of the package to build the ClassCollection from.
+	 * @return a ClassCollection containing all top-level classes in the provided package of jar.
+	 * @throws IOException            If jar cannot be read.
+	 * @throws ClassNotFoundException If classLoader cannot load a class found in jar.
+	 */
+	public static ClassMap buildFromJar(
+			@NonNull final ClassLoader classLoader,
+			@NonNull final Path jar,
+			@NonNull final String pkg
+	) throws IOException, ClassNotFoundException {
+		return buildFromJar(classLoader, jar, pkg, 1);
+	}
+
+	/**
+	 * Factory method. Returns a ClassCollection containing all top-level classes in the provided package of the
+	 * provided jar, loading and wrapping up to parallelism classes at once. See buildFromPackage(ClassLoader, String,
+	 * int).
+	 *
+	 * @param classLoader The classloader to load the discovered classes with. Should be able to see the contents of jar,
+	 *                    and should be parallel capable when parallelism is greater than 1.
+	 * @param jar         The jar to scan for classes.
+	 * @param pkg         The name of the package to build the ClassCollection from.
+	 * @param parallelism The maximum number of classes to load and wrap at once.
+	 * @return a ClassCollection containing all top-level classes in the provided package of jar.
+	 * @throws IOException            If jar cannot be read.
+	 * @throws ClassNotFoundException If classLoader cannot load a class found in jar.
+	 */
+	public static ClassMap buildFromJar(
+			@NonNull final ClassLoader classLoader,
+			@NonNull final Path jar,
+			@NonNull final String pkg,
+			final int parallelism
+	) throws IOException, ClassNotFoundException {
+		final String pkgPrefix = pkg.isEmpty() ? "" : pkg.replace('.', '/') + "/";
+		final List<String> classNames = new ArrayList<>();
+
+		try (JarFile jarFile = new JarFile(jar.toFile())) {
+			final Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				final String entryName = entries.nextElement().getName();
+				if (isTopLevelClassEntry(entryName, pkgPrefix)) {
+					classNames.add(entryName
+							.substring(0, entryName.length() - CLASS_FILE_SUFFIX.length())
+							.replace('/', '.'));
+				}
+			}
+		}
+
+		return buildFromWrappers(pkg, loadAndWrap(classLoader, classNames, parallelism));
+	}
+
+	/**
+	 * Factory method. Loads all top-level classes in the provided package of the provided jar with a new
+	 * SubmissionClassLoader, takes a detached snapshot of them, then closes the classloader. The returned ClassCollection doesn't reference
+	 * any loaded classes, so the classloader can be collected before the ClassCollection is graded.
+	 *
+	 * @param parentClassLoader The parent of the classloader the jar is loaded with.
+	 * @param jar               The jar to load classes from.
+	 * @param pkg               The name of the package to build the ClassCollection from.
+	 * @return a ClassCollection containing snapshots of all top-level classes in the provided package of jar.
+	 * @throws IOException            If jar cannot be read.
+	 * @throws ClassNotFoundException If a class found in jar cannot be loaded.
+	 */
+	public static ClassMap buildSnapshotFromJar(
+			@NonNull final ClassLoader parentClassLoader,
+			@NonNull final Path jar,
+			@NonNull final String pkg
+	) throws IOException, ClassNotFoundException {
+		try (SubmissionClassLoader classLoader = new SubmissionClassLoader(jar, parentClassLoader)) {
+			return snapshotOf(buildFromJar(classLoader, jar, pkg));
+		}
+	}
+
+	/**
+	 * Takes a detached snapshot of every class in a ClassCollection. See DetachedClassWrapper.snapshotOf(ClassWrapper).
+	 *
+	 * @param classMap The ClassCollection to take a snapshot of.
+	 * @return a ClassCollection with the same name and keys as classMap, holding snapshots of its classes.
+	 */
+	public static ClassMap snapshotOf(@NonNull final NamedMap<ClassWrapper> classMap) {
+		return buildFromWrappers(
+				classMap.getName(),
+				classMap.getItems().values().stream()
+						.<ClassWrapper>map(DetachedClassWrapper::snapshotOf)
+						.collect(Collectors.toList())
+		);
+	}
+
+	/**
+	 * Factory method. Returns a ClassCollection containing all top-level classes in the provided package of the
+	 * provided source, read directly from their class files. No classes are loaded, so the returned ClassCollection
+	 * holds DetachedClassWrappers rather than wrappers of loaded classes.
+	 *
+	 * @param source The source to read class files from, such as a jar or directory.
+	 * @param pkg    The name of the package to build the ClassCollection from.
+	 * @return a ClassCollection containing all top-level classes in the provided package of source.
+	 * @throws IOException If source can't be listed, or one of the class files can't be read.
+	 */
+	public static ClassMap buildFromClassFiles(
+			@NonNull final ClassFileSource source,
+			@NonNull final String pkg
+	) throws IOException {
+		final String pkgPrefix = pkg.isEmpty() ? "" : pkg.replace('.', '/') + "/";
+
+		final List<ClassWrapper> classWrappers = new ArrayList<>();
+		for (final String classFileName : source.getClassFileNames(pkgPrefix)) {
+			if (isTopLevelClassEntry(classFileName, pkgPrefix)) {
+				classWrappers.add(DetachedClassBuilder.build(
+						source,
+						classFileName.substring(0, classFileName.length() - CLASS_FILE_SUFFIX.length())
+				));
+			}
+		}
+		return buildFromWrappers(pkg, classWrappers);
+	}
+
+	/**
+	 * Loads and wraps each of the named classes. When parallelism is greater than 1 the work is done on a dedicated
+	 * ForkJoinPool, so it neither competes with nor is limited by the common pool, and the members of each class are
+	 * extracted on the thread that wrapped it rather than lazily by whichever thread visits the class first.
+	 *
+	 * @param classLoader The classloader to load the classes with.
+	 * @param classNames  The binary names of the classes to load.
+	 * @param parallelism The maximum number of classes to load and wrap at once.
+	 * @return a ClassWrapper for each of classNames, in the same order.
+	 * @throws ClassNotFoundException If classLoader can't load one of classNames.
+	 */
+	private static List<ClassWrapper> loadAndWrap(
+			@NonNull final ClassLoader classLoader,
+			@NonNull final List<String> classNames,
+			final int parallelism
+	) throws ClassNotFoundException {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+		}
+
+		if (parallelism == 1 || classNames.size() < 2) {
+			final List<ClassWrapper> classWrappers = new ArrayList<>(classNames.size());
+			for (final String className : classNames) {
+				classWrappers.add(new ClassWrapper(classLoader.loadClass(className)));
+			}
+			return classWrappers;
+		}
+
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+		try {
+			return forkJoinPool.submit(() -> classNames.parallelStream()
+					.map(className -> {
+						try {
+							return extractMembers(new ClassWrapper(classLoader.loadClass(className)));
+						} catch (ClassNotFoundException e) {
+							throw new CompletionException(e);
+						}
+					})
+					.collect(Collectors.toList())
+			).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading classes", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			while (cause instanceof CompletionException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof ClassNotFoundException) {
+				throw (ClassNotFoundException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+	}
+
+	/**
+	 * Forces the lazily extracted members of classWrapper and its declared classes to be extracted.
+	 *
+	 * @param classWrapper The ClassWrapper to extract the members of.
+	 * @return classWrapper.
+	 */
+	private static ClassWrapper extractMembers(@NonNull final ClassWrapper classWrapper) {
+		classWrapper.getFields();
+		classWrapper.getMethods();
+		classWrapper.getConstructors();
+		classWrapper.getInterfaces();
+		classWrapper.getDeclaredClasses().getItems().values().forEach(ClassMap::extractMembers);
+		return classWrapper;
+	}
 
-		// Get a map of all of the classes in pkg, where the key is the class's name and the value is
+	/**
+	 * Checks if entryName is the class file of a top-level class in the package denoted by pkgPrefix, or one of its
+	 * subpackages. As with Guava's ClassPath, classes whose names contain '$' are assumed to be nested.
+	 *
+	 * @param entryName The name of the jar entry to check.
+	 * @param pkgPrefix The package to check for, in resource form with a trailing slash (ex. "edu/test/").
+	 * @return true if entryName is the class file of a top-level class under pkgPrefix.
+	 */
+	private static boolean isTopLevelClassEntry(
+			@NonNull final String entryName,
+			@NonNull final String pkgPrefix
+	) {
+		if (!entryName.startsWith(pkgPrefix) || !entryName.endsWith(CLASS_FILE_SUFFIX)) {
+			return false;
+		}
+		final String simpleName = entryName.substring(
+				entryName.lastIndexOf('/') + 1,
+				entryName.length() - CLASS_FILE_SUFFIX.length()
+		);
+		return !simpleName.contains("$")
+				&& !simpleName.equals("package-info")
+				&& !simpleName.equals("module-info");
+	}
+
+	/**
+	 * Builds a ClassCollection with the provided name from the provided ClassWrappers.
+	 *
+	 * @param name          The name of the ClassCollection.
+	 * @param classWrappers The ClassWrappers to put in the ClassCollection.
+	 * @return a ClassCollection containing classWrappers.
+	 */
+	private static ClassMap buildFromWrappers(
+			@NonNull final String name,
+			@NonNull final List<ClassWrapper> classWrappers
+	) {
+		// Get a map of all of the classes, where the key is the class's name and the value is
 		// a ClassStructure representing the class.
-		final Map<String, ClassWrapper> declaredClasses =
-				classPath.getTopLevelClassesRecursive(pkg).stream()
-						.map(ClassInfo::load)
-						.map(ClassWrapper::new)
-						.collect(Collectors.toMap(
-								ClassWrapper::getName, Function.identity())
-						);
-
-		return ClassMap.builder().items(declaredClasses).name(pkg).build();
+		final Map<String, ClassWrapper> declaredClasses = classWrappers.stream()
+				.collect(Collectors.toMap(
+						ClassWrapper::getName, Function.identity())
+				);
+
+		return ClassMap.builder().items(declaredClasses).name(name).build();
 	}
 }
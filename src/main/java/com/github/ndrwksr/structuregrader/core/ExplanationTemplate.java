@@ -0,0 +1,151 @@
+package com.github.ndrwksr.structuregrader.core;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A Noncompliance explanation parsed into literal segments and the template keys from TemplateKeys which separate them.
+ * Each distinct explanation is parsed once, and rendering it is a single pass appending the segments to a reused
+ * builder. The values are inserted literally, so they may contain anything.
+ */
+public class ExplanationTemplate {
+	/**
+	 * The number of distinct explanations kept parsed. Explanations often include the name of the element they're for,
+	 * so there can be one per element of a large suite.
+	 */
+	private static final int MAX_CACHED_TEMPLATES = 4096;
+
+	/**
+	 * The largest builder kept for a thread to render into.
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+	private static final LoadingCache<String, ExplanationTemplate> TEMPLATES = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_TEMPLATES)
+			.build(CacheLoader.from(ExplanationTemplate::new));
+
+	/**
+	 * The builder each thread renders into, so that rendering doesn't grow a new builder every time.
+	 */
+	private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(StringBuilder::new);
+
+	/**
+	 * The segment standing for the expected value.
+	 */
+	private static final Object EXPECTED = new Object();
+
+	/**
+	 * The segment standing for the actual value.
+	 */
+	private static final Object ACTUAL = new Object();
+
+	/**
+	 * The literal Strings of the template, interleaved with EXPECTED and ACTUAL wherever the values are inserted.
+	 */
+	@NonNull
+	private final ImmutableList<Object> segments;
+
+	/**
+	 * The number of characters in the literal segments.
+	 */
+	private final int literalLength;
+
+	/**
+	 * Whether the template inserts the expected value.
+	 */
+	@Getter
+	private final boolean expectedUsed;
+
+	/**
+	 * Whether the template inserts the actual value.
+	 */
+	@Getter
+	private final boolean actualUsed;
+
+	private ExplanationTemplate(@NonNull final String explanation) {
+		final ImmutableList.Builder<Object> segments = ImmutableList.builder();
+		boolean expectedUsed = false;
+		boolean actualUsed = false;
+		int literalLength = 0;
+
+		int start = 0;
+		int keyStart = nextKey(explanation, 0);
+		while (keyStart >= 0) {
+			if (keyStart > start) {
+				segments.add(explanation.substring(start, keyStart));
+				literalLength += keyStart - start;
+			}
+			if (explanation.startsWith(TemplateKeys.EXPECTED_TEMPLATE, keyStart)) {
+				segments.add(EXPECTED);
+				expectedUsed = true;
+				start = keyStart + TemplateKeys.EXPECTED_TEMPLATE.length();
+			} else {
+				segments.add(ACTUAL);
+				actualUsed = true;
+				start = keyStart + TemplateKeys.ACTUAL_TEMPLATE.length();
+			}
+			keyStart = nextKey(explanation, start);
+		}
+		if (start < explanation.length()) {
+			segments.add(explanation.substring(start));
+			literalLength += explanation.length() - start;
+		}
+
+		this.segments = segments.build();
+		this.literalLength = literalLength;
+		this.expectedUsed = expectedUsed;
+		this.actualUsed = actualUsed;
+	}
+
+	/**
+	 * @return the index of the first template key at or after from, or -1 if there isn't one.
+	 */
+	private static int nextKey(@NonNull final String explanation, final int from) {
+		final int expectedStart = explanation.indexOf(TemplateKeys.EXPECTED_TEMPLATE, from);
+		final int actualStart = explanation.indexOf(TemplateKeys.ACTUAL_TEMPLATE, from);
+		if (expectedStart < 0 || actualStart < 0) {
+			return Math.max(expectedStart, actualStart);
+		}
+		return Math.min(expectedStart, actualStart);
+	}
+
+	/**
+	 * @param explanation The explanation to parse.
+	 * @return the parsed template of explanation, parsing it if it hasn't been recently.
+	 */
+	public static ExplanationTemplate of(@NonNull final String explanation) {
+		return TEMPLATES.getUnchecked(explanation);
+	}
+
+	/**
+	 * @param expected The text to insert for the expected value. Only used if isExpectedUsed().
+	 * @param actual   The text to insert for the actual value. Only used if isActualUsed().
+	 * @return the explanation with the values inserted.
+	 */
+	public String render(@NonNull final String expected, @NonNull final String actual) {
+		final StringBuilder builder = BUILDER.get();
+		builder.setLength(0);
+		builder.ensureCapacity(literalLength
+				+ (expectedUsed ? expected.length() : 0)
+				+ (actualUsed ? actual.length() : 0));
+		for (final Object segment : segments) {
+			if (segment == EXPECTED) {
+				builder.append(expected);
+			} else if (segment == ACTUAL) {
+				builder.append(actual);
+			} else {
+				builder.append((String) segment);
+			}
+		}
+		final String rendered = builder.toString();
+		if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+			// Don't keep a huge builder alive on the thread because of a single huge explanation
+			BUILDER.remove();
+		}
+		return rendered;
+	}
+}
@@ -6,4 +6,13 @@ import com.github.ndrwksr.structuregrader.core.visitor.Spec;
 public interface HasChildMap<K> {
 	@JsonIgnore
 	NamedSpecMap<K, ? extends Spec> getChildMap();
+
+	/**
+	 * @return the kind of the items of the child map, such as "fields", which is a segment of the paths of their
+	 * specifications (see SpecIndex).
+	 */
+	@JsonIgnore
+	default String getChildKind() {
+		return "items";
+	}
 }
@@ -0,0 +1,214 @@
+package com.github.ndrwksr.structuregrader.core;
+
+import com.github.ndrwksr.structuregrader.core.wrapper.MethodWrapper;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The methods of a class, indexed so that overloaded methods can be told apart. Each method is keyed by its name if
+ * no other method of the class shares it, and by its name and descriptor (see keyOf) if one does, so the keys of a
+ * class without overloads are just the names of its methods. Methods can also be looked up by name and descriptor, or
+ * by name for all of their overloads, without allocating.
+ * <p>
+ * Bridge methods, which the compiler adds for covariant return types and generic parameters, aren't declared in the
+ * source and must be left out of the methods indexed, as ClassWrapper and DetachedClassBuilder do.
+ */
+public class MethodIndex extends NamedMap<MethodWrapper> {
+	/**
+	 * The methods, by name and then by descriptor.
+	 */
+	@NonNull
+	private final ImmutableMap<String, ImmutableMap<String, MethodWrapper>> methodsByName;
+
+	private MethodIndex(
+			@NonNull final String name,
+			@NonNull final ImmutableMap<String, MethodWrapper> items,
+			@NonNull final ImmutableMap<String, ImmutableMap<String, MethodWrapper>> methodsByName
+	) {
+		super(NamedMap.<MethodWrapper>builder().name(name).items(items));
+		this.methodsByName = methodsByName;
+	}
+
+	/**
+	 * @param name    The name of the collection, usually the name of the class declaring the methods.
+	 * @param methods The methods to index.
+	 * @return an index of methods.
+	 */
+	@NonNull
+	public static MethodIndex of(@NonNull final String name, @NonNull final Collection<? extends MethodWrapper> methods) {
+		final Map<String, Map<String, MethodWrapper>> overloadsByName = new LinkedHashMap<>();
+		for (final MethodWrapper method : methods) {
+			overloadsByName.computeIfAbsent(method.getName(), methodName -> new LinkedHashMap<>())
+					.merge(method.getDescriptor(), method, (existing, added) -> existing.isSynthetic() ? added : existing);
+		}
+
+		final ImmutableMap.Builder<String, MethodWrapper> items = ImmutableMap.builder();
+		final ImmutableMap.Builder<String, ImmutableMap<String, MethodWrapper>> methodsByName = ImmutableMap.builder();
+		for (final Map.Entry<String, Map<String, MethodWrapper>> overloads : overloadsByName.entrySet()) {
+			putKeyed(items, overloads.getKey(), overloads.getValue(), overloads.getValue().size() > 1);
+			methodsByName.put(overloads.getKey(), ImmutableMap.copyOf(overloads.getValue()));
+		}
+		return new MethodIndex(name, items.build(), methodsByName.build());
+	}
+
+	/**
+	 * Puts the overloads of a method into items, keyed by name and descriptor if byDescriptor is true, else by name.
+	 */
+	private static void putKeyed(
+			@NonNull final ImmutableMap.Builder<String, MethodWrapper> items,
+			@NonNull final String name,
+			@NonNull final Map<String, MethodWrapper> overloads,
+			final boolean byDescriptor
+	) {
+		for (final Map.Entry<String, MethodWrapper> overload : overloads.entrySet()) {
+			items.put(byDescriptor ? keyOf(name, overload.getKey()) : name, overload.getValue());
+		}
+	}
+
+	/**
+	 * @param name       The name of a method.
+	 * @param descriptor The descriptor of the method, see MethodWrapper.getDescriptor().
+	 * @return the key of the method if it is overloaded (ex. "compareTo(Card)").
+	 */
+	@NonNull
+	public static String keyOf(@NonNull final String name, @NonNull final String descriptor) {
+		return name + '(' + descriptor + ')';
+	}
+
+	/**
+	 * @param keys The keys of an index.
+	 * @return the names of the methods which are keyed by name and descriptor in keys.
+	 */
+	@NonNull
+	public static ImmutableSet<String> overloadedNamesOf(@NonNull final Collection<String> keys) {
+		final ImmutableSet.Builder<String> overloadedNames = ImmutableSet.builder();
+		for (final String key : keys) {
+			final int descriptorStart = key.indexOf('(');
+			if (descriptorStart >= 0) {
+				overloadedNames.add(key.substring(0, descriptorStart));
+			}
+		}
+		return overloadedNames.build();
+	}
+
+	/**
+	 * @param name       The name of the method.
+	 * @param descriptor The descriptor of the method, see MethodWrapper.getDescriptor().
+	 * @return the method with the given name and descriptor, or null if there isn't one.
+	 */
+	@Nullable
+	public MethodWrapper get(@NonNull final String name, @NonNull final String descriptor) {
+		final ImmutableMap<String, MethodWrapper> overloads = methodsByName.get(name);
+		return overloads != null ? overloads.get(descriptor) : null;
+	}
+
+	/**
+	 * @param name The name of the method.
+	 * @return every overload of the method with the given name, which is empty if there isn't one.
+	 */
+	@NonNull
+	public ImmutableCollection<MethodWrapper> getOverloads(@NonNull final String name) {
+		final ImmutableMap<String, MethodWrapper> overloads = methodsByName.get(name);
+		return overloads != null ? overloads.values() : ImmutableList.of();
+	}
+
+	/**
+	 * @return the descriptor of each method which isn't overloaded, by name.
+	 */
+	@NonNull
+	public ImmutableMap<String, String> getDescriptorsByName() {
+		final ImmutableMap.Builder<String, String> descriptors = ImmutableMap.builder();
+		for (final Map.Entry<String, ImmutableMap<String, MethodWrapper>> overloads : methodsByName.entrySet()) {
+			if (overloads.getValue().size() == 1) {
+				descriptors.put(overloads.getKey(), overloads.getValue().keySet().iterator().next());
+			}
+		}
+		return descriptors.build();
+	}
+
+	/**
+	 * Keys these methods the way another index, such as the oracle's, keys them, so that the keys of the two can be
+	 * compared. Methods are keyed by name and descriptor if they're overloaded in either index, except that if only
+	 * this index overloads a method, the overload with the other index's descriptor is keyed by name, as the other
+	 * index keys it.
+	 *
+	 * @param overloadedNames The names of the methods the other index keys by name and descriptor, see
+	 *                        overloadedNamesOf(Collection).
+	 * @param descriptors     The descriptors of the methods the other index keys by name, by name (see
+	 *                        getDescriptorsByName()), or null if they aren't known, in which case every overload of a
+	 *                        method only this index overloads is keyed by name and descriptor.
+	 * @return these methods keyed as the other index keys them, which is this index itself unless a key changes.
+	 */
+	@NonNull
+	public NamedMap<MethodWrapper> keyedFor(
+			@NonNull final Set<String> overloadedNames,
+			@Nullable final Map<String, String> descriptors
+	) {
+		if (!keysChangeFor(overloadedNames, descriptors)) {
+			return this;
+		}
+
+		final ImmutableMap.Builder<String, MethodWrapper> items = ImmutableMap.builder();
+		for (final Map.Entry<String, ImmutableMap<String, MethodWrapper>> overloads : methodsByName.entrySet()) {
+			final String name = overloads.getKey();
+			final MethodWrapper keyedByName = oracleOverload(name, overloads.getValue(), overloadedNames, descriptors);
+			for (final Map.Entry<String, MethodWrapper> overload : overloads.getValue().entrySet()) {
+				final boolean byDescriptor = overload.getValue() != keyedByName
+						&& (overloads.getValue().size() > 1 || overloadedNames.contains(name));
+				items.put(byDescriptor ? keyOf(name, overload.getKey()) : name, overload.getValue());
+			}
+		}
+		return NamedMap.<MethodWrapper>builder().name(getName()).items(items.build()).build();
+	}
+
+	/**
+	 * @return whether keyedFor(overloadedNames, descriptors) keys any method differently than this index does.
+	 */
+	private boolean keysChangeFor(
+			@NonNull final Set<String> overloadedNames,
+			@Nullable final Map<String, String> descriptors
+	) {
+		for (final String overloadedName : overloadedNames) {
+			final ImmutableMap<String, MethodWrapper> overloads = methodsByName.get(overloadedName);
+			if (overloads != null && overloads.size() == 1) {
+				return true;
+			}
+		}
+		if (descriptors != null) {
+			for (final Map.Entry<String, String> descriptor : descriptors.entrySet()) {
+				final ImmutableMap<String, MethodWrapper> overloads = methodsByName.get(descriptor.getKey());
+				if (overloads != null && overloads.size() > 1 && overloads.containsKey(descriptor.getValue())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the overload of a method which only this index overloads that has the other index's descriptor, or null
+	 * if there isn't one.
+	 */
+	@Nullable
+	private static MethodWrapper oracleOverload(
+			@NonNull final String name,
+			@NonNull final ImmutableMap<String, MethodWrapper> overloads,
+			@NonNull final Set<String> overloadedNames,
+			@Nullable final Map<String, String> descriptors
+	) {
+		if (descriptors == null || overloads.size() < 2 || overloadedNames.contains(name)) {
+			return null;
+		}
+		final String descriptor = descriptors.get(name);
+		return descriptor != null ? overloads.get(descriptor) : null;
+	}
+}
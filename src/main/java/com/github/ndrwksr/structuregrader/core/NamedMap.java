@@ -1,10 +1,15 @@
 package com.github.ndrwksr.structuregrader.core;
 
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
 import com.github.ndrwksr.structuregrader.core.property.Named;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 
 /**
@@ -26,4 +31,14 @@ public class NamedMap<ITEM> implements Named {
 	 */
 	@NonNull
 	protected final Map<String, ITEM> items;
+
+	/**
+	 * The structural fingerprint of the collection, or null if its items aren't Fingerprinted. Computed on first use
+	 * and shared by every caller. See StructuralFingerprints.
+	 */
+	@Nullable
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Long fingerprint = StructuralFingerprints.ofMapIfFingerprinted(this);
 }
@@ -1,10 +1,15 @@
 package com.github.ndrwksr.structuregrader.core;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Analogous to an Exception, and is constructed by a specification any time said specification
@@ -32,20 +37,48 @@ public class Noncompliance<T> {
 	 * A human-readable explanation of what went wrong. In order to access the values of expected and
 	 * actual, the template keys EXPECTED_TEMPLATE and ACTUAL_TEMPLATE from the TemplateKeys class
 	 * should be used wherever expected or actual are desired. This templating operation is performed
-	 * during construction.
+	 * the first time getExplanation() is called.
 	 */
 	@NonNull
 	protected final String explanation;
 
+	/**
+	 * The explanation with expected and actual inserted, once it has been rendered.
+	 */
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final AtomicReference<String> renderedExplanation = new AtomicReference<>();
+
+	/**
+	 * @return the explanation before expected and actual are inserted into it.
+	 */
+	public String getExplanationTemplate() {
+		return explanation;
+	}
+
+	/**
+	 * @return the explanation with the template keys replaced by expected and actual. Rendered once and then cached.
+	 */
 	public String getExplanation() {
-		// Replace EXPECTED_TEMPLATE and ACTUAL_TEMPLATE with expected and actual, respectively
-		return explanation.replaceAll(
-				TemplateKeys.EXPECTED_TEMPLATE,
-				expected != null ? expected.toString() : "null"
-		).replaceAll(
-				TemplateKeys.ACTUAL_TEMPLATE,
-				actual != null ? actual.toString() : "null"
-		);
+		String rendered = renderedExplanation.get();
+		if (rendered == null) {
+			final ExplanationTemplate template = ExplanationTemplate.of(explanation);
+			rendered = template.render(
+					template.isExpectedUsed() ? describe(expected) : "",
+					template.isActualUsed() ? describe(actual) : ""
+			);
+			renderedExplanation.compareAndSet(null, rendered);
+		}
+		return rendered;
+	}
+
+	/**
+	 * @param value The expected or actual value.
+	 * @return the text to insert into the explanation for value.
+	 */
+	protected String describe(@Nullable final T value) {
+		return value != null ? value.toString() : "null";
 	}
 
 	/**
@@ -0,0 +1,136 @@
+package com.github.ndrwksr.structuregrader.core;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+
+/**
+ * The kinds of noncompliance the built-in specifications report. A noncompliance is reported as its kind, the names
+ * it's about and references to its expected and actual values, and is only made into a Noncompliance if something
+ * wants one. The specification which reports a kind registers how to make its Noncompliance, so a kind is always
+ * registered by the time it's reported.
+ */
+public enum NoncomplianceKind {
+	/**
+	 * A Modified had the wrong modifiers. Expected and actual are ints. Registered by ModifiedSpec.
+	 */
+	MODIFIERS,
+
+	/**
+	 * A Typed had the wrong type. The subject is the name of the Typed, and expected and actual are type names.
+	 * Registered by TypedSpec.
+	 */
+	TYPE,
+
+	/**
+	 * A Typed had the wrong generic type. The subject is the name of the Typed, and expected and actual are type names.
+	 * Registered by TypedSpec.
+	 */
+	GENERIC_TYPE,
+
+	/**
+	 * A collection was missing items. The subject is the plural of the type of the items, and expected and actual are
+	 * immutable Sets. Registered by MissingExtraHelper.
+	 */
+	MISSING,
+
+	/**
+	 * A collection had extra items. The subject is the plural of the type of the items, and expected and actual are
+	 * immutable Sets. Registered by MissingExtraHelper.
+	 */
+	EXTRA,
+
+	/**
+	 * An item of an ordered collection was at the wrong index. The subject is the name of the item, and expected and
+	 * actual are ints. Registered by OrderedListSpec.
+	 */
+	ORDER,
+
+	/**
+	 * A class had the wrong superclass. The subject is the name of the class, and expected and actual are the names of
+	 * the superclasses, or null if there wasn't one. Registered by SuperclassSpec.
+	 */
+	SUPERCLASS,
+
+	/**
+	 * A noncompliance which a specification made itself, because it doesn't have a kind of its own. The subject is its
+	 * explanation template, and expected and actual are its own. It's materialized as a plain Noncompliance.
+	 */
+	OTHER;
+
+	static {
+		OTHER.registerMaterializer((parentName, subject, expected, actual) -> Noncompliance.builder()
+				.parentName(parentName)
+				.expected(expected)
+				.actual(actual)
+				.explanation(subject != null ? subject : "")
+				.build());
+	}
+
+	/**
+	 * Makes the Noncompliances of this kind, or null until the reporting specification has registered it.
+	 */
+	@Nullable
+	private volatile NoncomplianceMaterializer materializer;
+
+	/**
+	 * Registers how to make the Noncompliances of this kind. Called once by the specification which reports it, when
+	 * the specification's class is initialized.
+	 *
+	 * @param materializer Makes the Noncompliances of this kind.
+	 */
+	public void registerMaterializer(@NonNull final NoncomplianceMaterializer materializer) {
+		this.materializer = materializer;
+	}
+
+	/**
+	 * @return the materializer of this kind.
+	 * @throws IllegalStateException If no specification has registered this kind.
+	 */
+	@NonNull
+	private NoncomplianceMaterializer materializer() {
+		final NoncomplianceMaterializer registered = materializer;
+		if (registered == null) {
+			throw new IllegalStateException("No materializer is registered for noncompliances of kind " + this);
+		}
+		return registered;
+	}
+
+	/**
+	 * Makes the Noncompliance for a noncompliance of this kind.
+	 *
+	 * @param parentName The name of the parent of the noncompliant element.
+	 * @param subject    The name the explanation is about, as described by each kind.
+	 * @param expected   The expected value, as described by each kind.
+	 * @param actual     The actual value, as described by each kind.
+	 * @return the Noncompliance the reporting specification would have made.
+	 */
+	@NonNull
+	public Noncompliance<?> materialize(
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			@Nullable final Object expected,
+			@Nullable final Object actual
+	) {
+		return materializer().materialize(parentName, subject, expected, actual);
+	}
+
+	/**
+	 * Makes the Noncompliance for a noncompliance of this kind whose expected and actual values are ints.
+	 *
+	 * @param parentName The name of the parent of the noncompliant element.
+	 * @param subject    The name the explanation is about, as described by each kind.
+	 * @param expected   The expected value.
+	 * @param actual     The actual value.
+	 * @return the Noncompliance the reporting specification would have made.
+	 */
+	@NonNull
+	public Noncompliance<?> materialize(
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			final int expected,
+			final int actual
+	) {
+		return materializer().materialize(parentName, subject, expected, actual);
+	}
+}
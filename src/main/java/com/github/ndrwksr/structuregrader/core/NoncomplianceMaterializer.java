@@ -0,0 +1,48 @@
+package com.github.ndrwksr.structuregrader.core;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+
+/**
+ * Makes the Noncompliance for a noncompliance of some kind from the values it was reported with. Each specification
+ * registers one for the kinds it reports, see NoncomplianceKind.registerMaterializer(...), so that the kinds don't
+ * depend on the specifications' Noncompliance classes.
+ */
+@FunctionalInterface
+public interface NoncomplianceMaterializer {
+	/**
+	 * @param parentName The name of the parent of the noncompliant element.
+	 * @param subject    The name the explanation is about, as described by the kind.
+	 * @param expected   The expected value, as described by the kind.
+	 * @param actual     The actual value, as described by the kind.
+	 * @return the Noncompliance the reporting specification would have made.
+	 */
+	@NonNull
+	Noncompliance<?> materialize(
+			@NonNull String parentName,
+			@Nullable String subject,
+			@Nullable Object expected,
+			@Nullable Object actual
+	);
+
+	/**
+	 * Makes the Noncompliance for a kind whose expected and actual values are ints. The values are only boxed here,
+	 * once the Noncompliance is wanted.
+	 *
+	 * @param parentName The name of the parent of the noncompliant element.
+	 * @param subject    The name the explanation is about, as described by the kind.
+	 * @param expected   The expected value.
+	 * @param actual     The actual value.
+	 * @return the Noncompliance the reporting specification would have made.
+	 */
+	@NonNull
+	default Noncompliance<?> materialize(
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			final int expected,
+			final int actual
+	) {
+		return materialize(parentName, subject, (Object) expected, (Object) actual);
+	}
+}
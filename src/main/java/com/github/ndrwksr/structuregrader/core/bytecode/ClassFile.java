@@ -0,0 +1,168 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * The parts of a parsed class file that are needed to describe the structure of a class. All names are internal names
+ * (ex. "java/lang/String"), and all annotations are stored as the descriptors of their types (ex.
+ * "Ljava/lang/Deprecated;").
+ */
+@Data
+@Builder
+public class ClassFile {
+	/**
+	 * The access flags of the class, as they appear in the class file.
+	 */
+	private final int accessFlags;
+
+	/**
+	 * The internal name of the class.
+	 */
+	@NonNull
+	private final String name;
+
+	/**
+	 * The internal name of the superclass, or null if the class has no superclass (only true of java/lang/Object and
+	 * module-info).
+	 */
+	@Nullable
+	private final String superName;
+
+	/**
+	 * The internal names of the interfaces the class directly implements.
+	 */
+	@NonNull
+	private final List<String> interfaceNames;
+
+	/**
+	 * The generic signature of the class, or null if it has none.
+	 */
+	@Nullable
+	private final String signature;
+
+	/**
+	 * The descriptors of the runtime-visible annotations on the class.
+	 */
+	@NonNull
+	private final List<String> annotationDescriptors;
+
+	/**
+	 * The fields declared by the class.
+	 */
+	@NonNull
+	private final List<MemberInfo> fields;
+
+	/**
+	 * The methods declared by the class, including constructors and static initializers.
+	 */
+	@NonNull
+	private final List<MemberInfo> methods;
+
+	/**
+	 * The entries of the class's InnerClasses attribute.
+	 */
+	@NonNull
+	private final List<InnerClassInfo> innerClasses;
+
+	/**
+	 * A field or method in a class file.
+	 */
+	@Data
+	@Builder
+	public static class MemberInfo {
+		/**
+		 * The access flags of the member, as they appear in the class file.
+		 */
+		private final int accessFlags;
+
+		/**
+		 * The name of the member.
+		 */
+		@NonNull
+		private final String name;
+
+		/**
+		 * The descriptor of the member (ex. "I" or "(Ljava/lang/String;)V").
+		 */
+		@NonNull
+		private final String descriptor;
+
+		/**
+		 * The generic signature of the member, or null if it has none.
+		 */
+		@Nullable
+		private final String signature;
+
+		/**
+		 * The descriptors of the runtime-visible annotations on the member.
+		 */
+		@NonNull
+		private final List<String> annotationDescriptors;
+
+		/**
+		 * The descriptors of the runtime-visible annotations on each parameter of a method. May have fewer entries than
+		 * the method has parameters, in which case the entries belong to the last parameters. Always empty for fields.
+		 */
+		@NonNull
+		private final List<List<String>> parameterAnnotationDescriptors;
+
+		/**
+		 * The entries of the method's MethodParameters attribute, or null if it has none.
+		 */
+		@Nullable
+		private final List<ParameterInfo> parameters;
+	}
+
+	/**
+	 * An entry of a MethodParameters attribute.
+	 */
+	@Data
+	@Builder
+	public static class ParameterInfo {
+		/**
+		 * The name of the parameter, or null if the entry has no name.
+		 */
+		@Nullable
+		private final String name;
+
+		/**
+		 * The access flags of the parameter.
+		 */
+		private final int accessFlags;
+	}
+
+	/**
+	 * An entry of an InnerClasses attribute.
+	 */
+	@Data
+	@Builder
+	public static class InnerClassInfo {
+		/**
+		 * The internal name of the nested class.
+		 */
+		@NonNull
+		private final String innerName;
+
+		/**
+		 * The internal name of the class the nested class is a member of, or null if it isn't a member class.
+		 */
+		@Nullable
+		private final String outerName;
+
+		/**
+		 * The simple name of the nested class, or null if it is anonymous.
+		 */
+		@Nullable
+		private final String simpleName;
+
+		/**
+		 * The access flags of the nested class as declared in source.
+		 */
+		private final int accessFlags;
+	}
+}
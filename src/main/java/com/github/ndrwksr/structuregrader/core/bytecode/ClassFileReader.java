@@ -0,0 +1,333 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the structure of a class from the bytes of its class file without loading it. Only the parts of the class file
+ * described by ClassFile are read, everything else (code, constant values, debug info, etc.) is skipped.
+ */
+public class ClassFileReader {
+	/**
+	 * The magic number every class file starts with.
+	 */
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELD_REF = 9;
+	private static final int CONSTANT_METHOD_REF = 10;
+	private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	private static final String SIGNATURE = "Signature";
+	private static final String INNER_CLASSES = "InnerClasses";
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+	private static final String RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS = "RuntimeVisibleParameterAnnotations";
+	private static final String METHOD_PARAMETERS = "MethodParameters";
+
+	/**
+	 * The stream over the class file being read.
+	 */
+	private final DataInputStream in;
+
+	/**
+	 * The UTF8 entries of the constant pool, by index. Null for entries of other types.
+	 */
+	private String[] utf8Entries;
+
+	/**
+	 * For each Class entry of the constant pool, the index of the UTF8 entry holding its name. 0 for entries of other
+	 * types.
+	 */
+	private int[] classNameIndices;
+
+	private ClassFileReader(@NonNull final byte[] classFileBytes) {
+		this.in = new DataInputStream(new ByteArrayInputStream(classFileBytes));
+	}
+
+	/**
+	 * Reads the structure of a class from the bytes of its class file.
+	 *
+	 * @param classFileBytes The contents of the class file.
+	 * @return the structure of the class.
+	 * @throws IOException If classFileBytes is not a valid class file.
+	 */
+	public static ClassFile read(@NonNull final byte[] classFileBytes) throws IOException {
+		return new ClassFileReader(classFileBytes).readClassFile();
+	}
+
+	private ClassFile readClassFile() throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a class file, magic number is missing");
+		}
+		// Minor and major version
+		in.readUnsignedShort();
+		in.readUnsignedShort();
+
+		readConstantPool();
+
+		final ClassFile.ClassFileBuilder builder = ClassFile.builder()
+				.accessFlags(in.readUnsignedShort())
+				.name(readClassName())
+				.superName(readClassName());
+
+		final int interfaceCount = in.readUnsignedShort();
+		final List<String> interfaceNames = new ArrayList<>(interfaceCount);
+		for (int i = 0; i < interfaceCount; i++) {
+			interfaceNames.add(readClassName());
+		}
+
+		final List<ClassFile.MemberInfo> fields = readMembers();
+		final List<ClassFile.MemberInfo> methods = readMembers();
+
+		String signature = null;
+		List<String> annotationDescriptors = Collections.emptyList();
+		List<ClassFile.InnerClassInfo> innerClasses = Collections.emptyList();
+
+		final int attributeCount = in.readUnsignedShort();
+		for (int i = 0; i < attributeCount; i++) {
+			final String attributeName = readUtf8();
+			final int attributeLength = in.readInt();
+			switch (attributeName) {
+				case SIGNATURE:
+					signature = readUtf8();
+					break;
+				case RUNTIME_VISIBLE_ANNOTATIONS:
+					annotationDescriptors = readAnnotations();
+					break;
+				case INNER_CLASSES:
+					innerClasses = readInnerClasses();
+					break;
+				default:
+					in.skipNBytes(attributeLength);
+			}
+		}
+
+		return builder
+				.interfaceNames(interfaceNames)
+				.fields(fields)
+				.methods(methods)
+				.signature(signature)
+				.annotationDescriptors(annotationDescriptors)
+				.innerClasses(innerClasses)
+				.build();
+	}
+
+	private void readConstantPool() throws IOException {
+		final int constantPoolCount = in.readUnsignedShort();
+		utf8Entries = new String[constantPoolCount];
+		classNameIndices = new int[constantPoolCount];
+
+		for (int i = 1; i < constantPoolCount; i++) {
+			final int tag = in.readUnsignedByte();
+			switch (tag) {
+				case CONSTANT_UTF8:
+					utf8Entries[i] = in.readUTF();
+					break;
+				case CONSTANT_CLASS:
+					classNameIndices[i] = in.readUnsignedShort();
+					break;
+				case CONSTANT_LONG:
+				case CONSTANT_DOUBLE:
+					in.skipNBytes(8);
+					// Longs and doubles take up two entries
+					i++;
+					break;
+				case CONSTANT_INTEGER:
+				case CONSTANT_FLOAT:
+				case CONSTANT_FIELD_REF:
+				case CONSTANT_METHOD_REF:
+				case CONSTANT_INTERFACE_METHOD_REF:
+				case CONSTANT_NAME_AND_TYPE:
+				case CONSTANT_DYNAMIC:
+				case CONSTANT_INVOKE_DYNAMIC:
+					in.skipNBytes(4);
+					break;
+				case CONSTANT_METHOD_HANDLE:
+					in.skipNBytes(3);
+					break;
+				case CONSTANT_STRING:
+				case CONSTANT_METHOD_TYPE:
+				case CONSTANT_MODULE:
+				case CONSTANT_PACKAGE:
+					in.skipNBytes(2);
+					break;
+				default:
+					throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+			}
+		}
+	}
+
+	private List<ClassFile.MemberInfo> readMembers() throws IOException {
+		final int memberCount = in.readUnsignedShort();
+		final List<ClassFile.MemberInfo> members = new ArrayList<>(memberCount);
+
+		for (int i = 0; i < memberCount; i++) {
+			final ClassFile.MemberInfo.MemberInfoBuilder builder = ClassFile.MemberInfo.builder()
+					.accessFlags(in.readUnsignedShort())
+					.name(readUtf8())
+					.descriptor(readUtf8());
+
+			String signature = null;
+			List<String> annotationDescriptors = Collections.emptyList();
+			List<List<String>> parameterAnnotationDescriptors = Collections.emptyList();
+			List<ClassFile.ParameterInfo> parameters = null;
+
+			final int attributeCount = in.readUnsignedShort();
+			for (int j = 0; j < attributeCount; j++) {
+				final String attributeName = readUtf8();
+				final int attributeLength = in.readInt();
+				switch (attributeName) {
+					case SIGNATURE:
+						signature = readUtf8();
+						break;
+					case RUNTIME_VISIBLE_ANNOTATIONS:
+						annotationDescriptors = readAnnotations();
+						break;
+					case RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS:
+						parameterAnnotationDescriptors = readParameterAnnotations();
+						break;
+					case METHOD_PARAMETERS:
+						parameters = readMethodParameters();
+						break;
+					default:
+						in.skipNBytes(attributeLength);
+				}
+			}
+
+			members.add(builder
+					.signature(signature)
+					.annotationDescriptors(annotationDescriptors)
+					.parameterAnnotationDescriptors(parameterAnnotationDescriptors)
+					.parameters(parameters)
+					.build());
+		}
+
+		return members;
+	}
+
+	private List<ClassFile.InnerClassInfo> readInnerClasses() throws IOException {
+		final int innerClassCount = in.readUnsignedShort();
+		final List<ClassFile.InnerClassInfo> innerClasses = new ArrayList<>(innerClassCount);
+		for (int i = 0; i < innerClassCount; i++) {
+			innerClasses.add(ClassFile.InnerClassInfo.builder()
+					.innerName(readClassName())
+					.outerName(readClassName())
+					.simpleName(readUtf8())
+					.accessFlags(in.readUnsignedShort())
+					.build());
+		}
+		return innerClasses;
+	}
+
+	private List<ClassFile.ParameterInfo> readMethodParameters() throws IOException {
+		final int parameterCount = in.readUnsignedByte();
+		final List<ClassFile.ParameterInfo> parameters = new ArrayList<>(parameterCount);
+		for (int i = 0; i < parameterCount; i++) {
+			parameters.add(ClassFile.ParameterInfo.builder()
+					.name(readUtf8())
+					.accessFlags(in.readUnsignedShort())
+					.build());
+		}
+		return parameters;
+	}
+
+	private List<List<String>> readParameterAnnotations() throws IOException {
+		final int parameterCount = in.readUnsignedByte();
+		final List<List<String>> parameterAnnotations = new ArrayList<>(parameterCount);
+		for (int i = 0; i < parameterCount; i++) {
+			parameterAnnotations.add(readAnnotations());
+		}
+		return parameterAnnotations;
+	}
+
+	/**
+	 * Reads a table of annotations, keeping only the descriptor of each annotation's type.
+	 */
+	private List<String> readAnnotations() throws IOException {
+		final int annotationCount = in.readUnsignedShort();
+		final List<String> annotationDescriptors = new ArrayList<>(annotationCount);
+		for (int i = 0; i < annotationCount; i++) {
+			annotationDescriptors.add(readAnnotation());
+		}
+		return annotationDescriptors;
+	}
+
+	private String readAnnotation() throws IOException {
+		final String typeDescriptor = readUtf8();
+		final int pairCount = in.readUnsignedShort();
+		for (int i = 0; i < pairCount; i++) {
+			// Element name
+			in.readUnsignedShort();
+			skipElementValue();
+		}
+		return typeDescriptor;
+	}
+
+	private void skipElementValue() throws IOException {
+		final char tag = (char) in.readUnsignedByte();
+		switch (tag) {
+			case 'B':
+			case 'C':
+			case 'D':
+			case 'F':
+			case 'I':
+			case 'J':
+			case 'S':
+			case 'Z':
+			case 's':
+			case 'c':
+				in.skipNBytes(2);
+				break;
+			case 'e':
+				in.skipNBytes(4);
+				break;
+			case '@':
+				readAnnotation();
+				break;
+			case '[':
+				final int valueCount = in.readUnsignedShort();
+				for (int i = 0; i < valueCount; i++) {
+					skipElementValue();
+				}
+				break;
+			default:
+				throw new IOException("Unknown annotation element value tag '" + tag + "'");
+		}
+	}
+
+	/**
+	 * Reads an index into the constant pool and returns the UTF8 entry at that index, or null if the index is 0.
+	 */
+	private String readUtf8() throws IOException {
+		final int index = in.readUnsignedShort();
+		return index == 0 ? null : utf8Entries[index];
+	}
+
+	/**
+	 * Reads an index into the constant pool and returns the name of the Class entry at that index, or null if the
+	 * index is 0.
+	 */
+	private String readClassName() throws IOException {
+		final int index = in.readUnsignedShort();
+		return index == 0 ? null : utf8Entries[classNameIndices[index]];
+	}
+}
@@ -0,0 +1,47 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A place to read class files from, such as a jar or a directory of compiled classes.
+ */
+public interface ClassFileSource extends Closeable {
+	/**
+	 * Lists the class files under a package and all of its subpackages.
+	 *
+	 * @param pkgPrefix The package to list, in resource form with a trailing slash (ex. "edu/test/"), or the empty
+	 *                  string for the whole source.
+	 * @return the resource names of the class files under pkgPrefix (ex. "edu/test/Example.class").
+	 * @throws IOException If the source can't be listed.
+	 */
+	@NonNull
+	List<String> getClassFileNames(@NonNull final String pkgPrefix) throws IOException;
+
+	/**
+	 * Reads the contents of a class file.
+	 *
+	 * @param internalName The internal name of the class (ex. "edu/test/Example").
+	 * @return the contents of the class's class file, or null if the source doesn't contain the class.
+	 * @throws IOException If the class file exists but can't be read.
+	 */
+	@Nullable
+	byte[] readClassFile(@NonNull final String internalName) throws IOException;
+
+	/**
+	 * Opens a jar or a directory of compiled classes as a ClassFileSource.
+	 *
+	 * @param path The path of the jar or directory.
+	 * @return a ClassFileSource over the jar or directory. Must be closed by the caller.
+	 * @throws IOException If the jar can't be opened.
+	 */
+	static ClassFileSource open(@NonNull final Path path) throws IOException {
+		return Files.isDirectory(path) ? new DirectoryClassFileSource(path) : new JarClassFileSource(path);
+	}
+}
@@ -0,0 +1,310 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.MethodIndex;
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.NamedSet;
+import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.ConstructorWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedConstructorWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedFieldWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedMethodWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedParameterWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.FieldWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.MethodWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.NamedType;
+import com.github.ndrwksr.structuregrader.core.wrapper.ParameterWrapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds DetachedClassWrappers from class files, so that classes can be specified and graded without being loaded.
+ * The wrappers describe their classes the same way the reflective wrappers would describe the loaded classes, so the
+ * two can be used interchangeably by the specifications.
+ */
+public class DetachedClassBuilder {
+	/**
+	 * The bits of a class's access flags which are reported by Class.getModifiers().
+	 */
+	private static final int CLASS_MODIFIERS = 0x7FFF & ~0x0020;
+
+	/**
+	 * The bits of a field's access flags which are reported by Field.getModifiers().
+	 */
+	private static final int FIELD_MODIFIERS = 0x50DF;
+
+	/**
+	 * The bits of a method's access flags which are reported by Method.getModifiers() and Constructor.getModifiers().
+	 */
+	private static final int METHOD_MODIFIERS = 0x1DFF;
+
+	/**
+	 * The access flag marking elements which were introduced by the compiler.
+	 */
+	private static final int ACC_SYNTHETIC = 0x1000;
+
+	/**
+	 * The access flag marking bridge methods, which were introduced by the compiler.
+	 */
+	private static final int ACC_BRIDGE = 0x0040;
+
+	/**
+	 * The access flag marking methods which take a variable number of arguments.
+	 */
+	private static final int ACC_VARARGS = 0x0080;
+
+	private static final String CONSTRUCTOR_NAME = "<init>";
+	private static final String STATIC_INITIALIZER_NAME = "<clinit>";
+	private static final String OBJECT_INTERNAL_NAME = "java/lang/Object";
+
+	/**
+	 * Builds a DetachedClassWrapper for a class, and for all of its member classes.
+	 *
+	 * @param source       The source to read the class file and the class files of its member classes from.
+	 * @param internalName The internal name of the class (ex. "edu/test/Example").
+	 * @return a DetachedClassWrapper describing the class.
+	 * @throws IOException If the class file or the class file of a member class is missing or can't be read.
+	 */
+	public static DetachedClassWrapper build(
+			@NonNull final ClassFileSource source,
+			@NonNull final String internalName
+	) throws IOException {
+		final byte[] classFileBytes = source.readClassFile(internalName);
+		if (classFileBytes == null) {
+			throw new IOException("Missing class file for " + internalName);
+		}
+		final ClassFile classFile = ClassFileReader.read(classFileBytes);
+
+		// A nested class's modifiers and simple name come from its own entry in its InnerClasses attribute.
+		final ClassFile.InnerClassInfo ownInnerClassInfo = classFile.getInnerClasses().stream()
+				.filter(innerClassInfo -> innerClassInfo.getInnerName().equals(classFile.getName()))
+				.findFirst()
+				.orElse(null);
+
+		final String name = ownInnerClassInfo != null && ownInnerClassInfo.getSimpleName() != null
+				? ownInnerClassInfo.getSimpleName()
+				: TypeSignatures.getSimpleName(classFile.getName());
+		final int modifiers = CLASS_MODIFIERS & (ownInnerClassInfo != null
+				? ownInnerClassInfo.getAccessFlags()
+				: classFile.getAccessFlags());
+		final String superclassName = classFile.getSuperName() == null
+				|| classFile.getSuperName().equals(OBJECT_INTERNAL_NAME)
+				? null
+				: TypeSignatures.getSimpleName(classFile.getSuperName());
+
+		final List<ClassWrapper> declaredClasses = new ArrayList<>();
+		for (final ClassFile.InnerClassInfo innerClassInfo : classFile.getInnerClasses()) {
+			if (classFile.getName().equals(innerClassInfo.getOuterName()) && innerClassInfo.getSimpleName() != null) {
+				declaredClasses.add(build(source, innerClassInfo.getInnerName()));
+			}
+		}
+
+		final List<FieldWrapper> fields = classFile.getFields().stream()
+				.map(DetachedClassBuilder::buildField)
+				.collect(Collectors.toList());
+		final List<MethodWrapper> methods = classFile.getMethods().stream()
+				.filter(method -> !method.getName().equals(CONSTRUCTOR_NAME))
+				.filter(method -> !method.getName().equals(STATIC_INITIALIZER_NAME))
+				.filter(method -> (method.getAccessFlags() & ACC_BRIDGE) == 0)
+				.map(DetachedClassBuilder::buildMethod)
+				.collect(Collectors.toList());
+		final String binaryName = classFile.getName().replace('/', '.');
+		final List<ConstructorWrapper> constructors = classFile.getMethods().stream()
+				.filter(method -> method.getName().equals(CONSTRUCTOR_NAME))
+				.map(method -> buildConstructor(method, binaryName))
+				.collect(Collectors.toList());
+		final List<ClassWrapper> interfaces = classFile.getInterfaceNames().stream()
+				.map(TypeSignatures::getSimpleName)
+				.map(DetachedClassWrapper::nameOnly)
+				.collect(Collectors.toList());
+
+		return DetachedClassWrapper.builder()
+				.name(name)
+				.modifiers(modifiers)
+				.synthetic((modifiers & ACC_SYNTHETIC) != 0)
+				.superclassName(superclassName)
+				.annotationWrappers(buildAnnotationWrappers(name, classFile.getAnnotationDescriptors()))
+				.declaredClasses(ClassMap.builder()
+						.name(name)
+						.items(toNamedItems(declaredClasses, ClassWrapper::getName))
+						.build())
+				.fields(NamedMap.<FieldWrapper>builder()
+						.name(name + "%fields")
+						.items(toNamedItems(fields, FieldWrapper::getName))
+						.build())
+				.methods(MethodIndex.of(name, methods))
+				.constructors(NamedSet.<ConstructorWrapper>builder()
+						.name(name)
+						.items(ImmutableSet.copyOf(constructors))
+						.build())
+				.interfaces(NamedSet.<ClassWrapper>builder()
+						.name(name)
+						.items(ImmutableSet.copyOf(interfaces))
+						.build())
+				.build();
+	}
+
+	private static FieldWrapper buildField(@NonNull final ClassFile.MemberInfo field) {
+		final NamedType type = new NamedType(TypeSignatures.getTypeName(field.getDescriptor()));
+		final NamedType genericType = field.getSignature() != null
+				? new NamedType(TypeSignatures.getTypeName(field.getSignature()))
+				: type;
+
+		return DetachedFieldWrapper.builder()
+				.name(field.getName())
+				.modifiers(field.getAccessFlags() & FIELD_MODIFIERS)
+				.synthetic((field.getAccessFlags() & ACC_SYNTHETIC) != 0)
+				.type(type)
+				.genericType(genericType)
+				.annotationWrappers(buildAnnotationWrappers(field.getName(), field.getAnnotationDescriptors()))
+				.build();
+	}
+
+	private static MethodWrapper buildMethod(@NonNull final ClassFile.MemberInfo method) {
+		final NamedType type = new NamedType(TypeSignatures.getReturnTypeName(method.getDescriptor()));
+		final NamedType genericType = method.getSignature() != null
+				? new NamedType(TypeSignatures.getReturnTypeName(method.getSignature()))
+				: type;
+
+		return DetachedMethodWrapper.builder()
+				.name(method.getName())
+				.modifiers(method.getAccessFlags() & METHOD_MODIFIERS)
+				.synthetic((method.getAccessFlags() & ACC_SYNTHETIC) != 0)
+				.type(type)
+				.genericType(genericType)
+				.annotationWrappers(buildAnnotationWrappers(method.getName(), method.getAnnotationDescriptors()))
+				.parameters(buildParameters(method, method.getName()))
+				.build();
+	}
+
+	private static ConstructorWrapper buildConstructor(
+			@NonNull final ClassFile.MemberInfo constructor,
+			@NonNull final String binaryName
+	) {
+		final int modifiers = constructor.getAccessFlags() & METHOD_MODIFIERS;
+		return DetachedConstructorWrapper.builder()
+				.name(binaryName)
+				.modifiers(modifiers)
+				.synthetic((modifiers & ACC_SYNTHETIC) != 0)
+				.signature(buildConstructorSignature(modifiers, getGenericParameterTypeNames(constructor)))
+				.annotationWrappers(buildAnnotationWrappers(binaryName, constructor.getAnnotationDescriptors()))
+				.parameters(buildParameters(constructor, binaryName))
+				.build();
+	}
+
+	/**
+	 * Builds the signature of a constructor in the format of ConstructorWrapper.getSignature().
+	 */
+	private static String buildConstructorSignature(
+			final int modifiers,
+			@NonNull final List<String> parameterTypeNames
+	) {
+		final String accessModifier = Modifier.toString(
+				modifiers & (Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)
+		);
+
+		final StringJoiner parameters = new StringJoiner(",", "(", ")");
+		for (int i = 0; i < parameterTypeNames.size(); i++) {
+			final String parameterTypeName = parameterTypeNames.get(i);
+			if (i == parameterTypeNames.size() - 1 && (modifiers & ACC_VARARGS) != 0) {
+				parameters.add(parameterTypeName.substring(0, parameterTypeName.length() - 2) + "...");
+			} else {
+				parameters.add(parameterTypeName);
+			}
+		}
+
+		return (accessModifier.isEmpty() ? "<package private>" : accessModifier) + " " + parameters.toString();
+	}
+
+	private static NamedMap<ParameterWrapper> buildParameters(
+			@NonNull final ClassFile.MemberInfo method,
+			@NonNull final String executableName
+	) {
+		final List<String> typeNames = TypeSignatures.getParameterTypeNames(method.getDescriptor());
+		final List<String> genericTypeNames = getGenericParameterTypeNames(method);
+		final List<ClassFile.ParameterInfo> parameterInfos = method.getParameters();
+		final List<List<String>> annotationDescriptors = method.getParameterAnnotationDescriptors();
+		// Parameter annotations may be missing for implicit leading parameters, so they are aligned from the end.
+		final int annotationOffset = typeNames.size() - annotationDescriptors.size();
+
+		final List<ParameterWrapper> parameters = new ArrayList<>(typeNames.size());
+		for (int i = 0; i < typeNames.size(); i++) {
+			final ClassFile.ParameterInfo parameterInfo = parameterInfos != null && parameterInfos.size() == typeNames.size()
+					? parameterInfos.get(i)
+					: null;
+			final String name = parameterInfo != null && parameterInfo.getName() != null
+					? parameterInfo.getName()
+					: "arg" + i;
+			final int modifiers = parameterInfo != null ? parameterInfo.getAccessFlags() : 0;
+
+			parameters.add(DetachedParameterWrapper.builder()
+					.index(i)
+					.name(name)
+					.modifiers(modifiers)
+					.synthetic((modifiers & ACC_SYNTHETIC) != 0)
+					.type(new NamedType(typeNames.get(i)))
+					.genericType(new NamedType(genericTypeNames.get(i)))
+					.annotationWrappers(buildAnnotationWrappers(
+							name,
+							i >= annotationOffset ? annotationDescriptors.get(i - annotationOffset) : List.of()
+					))
+					.build());
+		}
+
+		return NamedMap.<ParameterWrapper>builder()
+				.name(executableName + "#fields")
+				.items(toNamedItems(parameters, ParameterWrapper::getName))
+				.build();
+	}
+
+	/**
+	 * Returns the generic type names of a method's parameters. If the method's signature doesn't describe every
+	 * parameter (as with the implicit parameters of some constructors), the erased types are used instead.
+	 */
+	private static List<String> getGenericParameterTypeNames(@NonNull final ClassFile.MemberInfo method) {
+		final List<String> typeNames = TypeSignatures.getParameterTypeNames(method.getDescriptor());
+		if (method.getSignature() == null) {
+			return typeNames;
+		}
+		final List<String> genericTypeNames = TypeSignatures.getParameterTypeNames(method.getSignature());
+		return genericTypeNames.size() == typeNames.size() ? genericTypeNames : typeNames;
+	}
+
+	private static NamedMap<AnnotationWrapper> buildAnnotationWrappers(
+			@NonNull final String annotatedName,
+			@NonNull final List<String> annotationDescriptors
+	) {
+		final List<AnnotationWrapper> annotationWrappers = annotationDescriptors.stream()
+				// "Ledu/test/Example;" -> "Example"
+				.map(descriptor -> TypeSignatures.getSimpleName(descriptor.substring(1, descriptor.length() - 1)))
+				.map(AnnotationWrapper::new)
+				.collect(Collectors.toList());
+
+		return NamedMap.<AnnotationWrapper>builder()
+				.name(annotatedName)
+				.items(toNamedItems(annotationWrappers, AnnotationWrapper::getName))
+				.build();
+	}
+
+	/**
+	 * Maps items by name. Like the reflective wrappers, throws if two items share a name.
+	 */
+	private static <ITEM> Map<String, ITEM> toNamedItems(
+			@NonNull final List<ITEM> items,
+			@NonNull final Function<ITEM, String> nameFunction
+	) {
+		return items.stream().collect(ImmutableMap.toImmutableMap(nameFunction, Function.identity()));
+	}
+}
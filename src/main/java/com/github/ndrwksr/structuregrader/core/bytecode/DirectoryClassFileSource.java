@@ -0,0 +1,57 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A ClassFileSource which reads class files from a directory of compiled classes, such as a build output directory.
+ */
+public class DirectoryClassFileSource implements ClassFileSource {
+	/**
+	 * The root of the directory, which holds the directories of the top-level packages.
+	 */
+	private final Path root;
+
+	/**
+	 * @param root The root of the directory, which holds the directories of the top-level packages.
+	 */
+	public DirectoryClassFileSource(@NonNull final Path root) {
+		this.root = root;
+	}
+
+	@Override
+	@NonNull
+	public List<String> getClassFileNames(@NonNull final String pkgPrefix) throws IOException {
+		final Path pkgDir = root.resolve(pkgPrefix);
+		if (!Files.isDirectory(pkgDir)) {
+			return Collections.emptyList();
+		}
+		try (Stream<Path> files = Files.walk(pkgDir)) {
+			return files
+					.filter(Files::isRegularFile)
+					.map(file -> root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"))
+					.filter(name -> name.endsWith(".class"))
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Override
+	@Nullable
+	public byte[] readClassFile(@NonNull final String internalName) throws IOException {
+		final Path classFile = root.resolve(internalName + ".class");
+		return Files.isRegularFile(classFile) ? Files.readAllBytes(classFile) : null;
+	}
+
+	@Override
+	public void close() {
+		// Nothing is held open
+	}
+}
@@ -0,0 +1,62 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * A ClassFileSource which reads class files from a jar. The jar is held open until the source is closed.
+ */
+public class JarClassFileSource implements ClassFileSource {
+	/**
+	 * The jar class files are read from.
+	 */
+	private final JarFile jarFile;
+
+	/**
+	 * @param jar The path of the jar to read class files from.
+	 * @throws IOException If the jar can't be opened.
+	 */
+	public JarClassFileSource(@NonNull final Path jar) throws IOException {
+		this.jarFile = new JarFile(jar.toFile());
+	}
+
+	@Override
+	@NonNull
+	public List<String> getClassFileNames(@NonNull final String pkgPrefix) {
+		final List<String> classFileNames = new ArrayList<>();
+		final Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			final String entryName = entries.nextElement().getName();
+			if (entryName.startsWith(pkgPrefix) && entryName.endsWith(".class")) {
+				classFileNames.add(entryName);
+			}
+		}
+		return classFileNames;
+	}
+
+	@Override
+	@Nullable
+	public byte[] readClassFile(@NonNull final String internalName) throws IOException {
+		final JarEntry entry = jarFile.getJarEntry(internalName + ".class");
+		if (entry == null) {
+			return null;
+		}
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			return inputStream.readAllBytes();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		jarFile.close();
+	}
+}
@@ -0,0 +1,235 @@
+package com.github.ndrwksr.structuregrader.core.bytecode;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Converts descriptors and generic signatures from class files into type names. Type names are formatted the same way
+ * as Type.getTypeName() formats them for the reflective types they describe (ex. "int[]", "java.util.Map$Entry" or
+ * "java.util.List<? extends T>"), so that types read from class files can be compared with types read via reflection.
+ */
+public class TypeSignatures {
+	/**
+	 * The type name of the implicit upper bound of unbounded wildcards and type variables.
+	 */
+	private static final String OBJECT_TYPE_NAME = "java.lang.Object";
+
+	/**
+	 * The descriptor or signature being parsed.
+	 */
+	private final String signature;
+
+	/**
+	 * The index of the next character of signature to parse.
+	 */
+	private int position;
+
+	private TypeSignatures(@NonNull final String signature) {
+		this.signature = signature;
+	}
+
+	/**
+	 * @param fieldSignature A field descriptor or field type signature (ex. "Ljava/util/List<Ljava/lang/String;>;").
+	 * @return the type name of the type (ex. "java.util.List<java.lang.String>").
+	 */
+	public static String getTypeName(@NonNull final String fieldSignature) {
+		return new TypeSignatures(fieldSignature).parseType();
+	}
+
+	/**
+	 * @param methodSignature A method descriptor or method type signature.
+	 * @return the type names of the method's parameters, in order.
+	 */
+	public static List<String> getParameterTypeNames(@NonNull final String methodSignature) {
+		final TypeSignatures parser = new TypeSignatures(methodSignature);
+		parser.skipTypeParameters();
+		parser.expect('(');
+
+		final List<String> parameterTypeNames = new ArrayList<>();
+		while (parser.peek() != ')') {
+			parameterTypeNames.add(parser.parseType());
+		}
+		return parameterTypeNames;
+	}
+
+	/**
+	 * @param methodSignature A method descriptor or method type signature.
+	 * @return the type name of the method's return type, "void" if it has none.
+	 */
+	public static String getReturnTypeName(@NonNull final String methodSignature) {
+		final TypeSignatures parser = new TypeSignatures(methodSignature);
+		parser.position = methodSignature.indexOf(')') + 1;
+		return parser.parseType();
+	}
+
+	/**
+	 * Returns the simple name of a class from its internal or binary name. Like Class.getSimpleName(), the simple name of
+	 * a nested class doesn't include the names of its enclosing classes (ex. "java/util/Map$Entry" becomes "Entry").
+	 *
+	 * @param className The internal or binary name of the class.
+	 * @return the simple name of the class.
+	 */
+	public static String getSimpleName(@NonNull final String className) {
+		final String unqualifiedName = className.substring(
+				Math.max(className.lastIndexOf('/'), className.lastIndexOf('.')) + 1
+		);
+		return unqualifiedName.substring(unqualifiedName.lastIndexOf('$') + 1);
+	}
+
+	private String parseType() {
+		final char tag = next();
+		switch (tag) {
+			case 'B':
+				return "byte";
+			case 'C':
+				return "char";
+			case 'D':
+				return "double";
+			case 'F':
+				return "float";
+			case 'I':
+				return "int";
+			case 'J':
+				return "long";
+			case 'S':
+				return "short";
+			case 'Z':
+				return "boolean";
+			case 'V':
+				return "void";
+			case '[':
+				return parseType() + "[]";
+			case 'T':
+				return readUntil(';');
+			case 'L':
+				return parseClassType();
+			default:
+				throw new IllegalArgumentException(
+						"Unexpected '" + tag + "' at index " + (position - 1) + " of signature " + signature
+				);
+		}
+	}
+
+	/**
+	 * Parses a class type signature, starting just after the leading 'L' and ending just after the trailing ';'. The
+	 * owners of inner classes are separated from the inner class with '$', as ParameterizedType.getTypeName() does.
+	 */
+	private String parseClassType() {
+		final StringBuilder typeName = new StringBuilder(readIdentifier().replace('/', '.'));
+		appendTypeArguments(typeName);
+
+		while (peek() == '.') {
+			position++;
+			typeName.append('$').append(readIdentifier());
+			appendTypeArguments(typeName);
+		}
+
+		expect(';');
+		return typeName.toString();
+	}
+
+	private void appendTypeArguments(@NonNull final StringBuilder typeName) {
+		if (peek() != '<') {
+			return;
+		}
+		position++;
+
+		final StringJoiner typeArguments = new StringJoiner(", ", "<", ">");
+		while (peek() != '>') {
+			typeArguments.add(parseTypeArgument());
+		}
+		position++;
+
+		typeName.append(typeArguments.toString());
+	}
+
+	private String parseTypeArgument() {
+		switch (peek()) {
+			case '*':
+				position++;
+				return "?";
+			case '+':
+				position++;
+				final String upperBound = parseType();
+				return upperBound.equals(OBJECT_TYPE_NAME) ? "?" : "? extends " + upperBound;
+			case '-':
+				position++;
+				return "? super " + parseType();
+			default:
+				return parseType();
+		}
+	}
+
+	/**
+	 * Skips the formal type parameters of a method signature (ex. "<T:Ljava/lang/Object;>"), if there are any.
+	 */
+	private void skipTypeParameters() {
+		if (peek() != '<') {
+			return;
+		}
+		position++;
+
+		while (peek() != '>') {
+			// Type parameter name
+			readUntil(':');
+			// Class bound, which may be empty, followed by any number of interface bounds
+			if (peek() != ':') {
+				parseType();
+			}
+			while (peek() == ':') {
+				position++;
+				parseType();
+			}
+		}
+		position++;
+	}
+
+	/**
+	 * Reads a class name or inner class name, stopping before the '<', '.' or ';' that follows it.
+	 */
+	private String readIdentifier() {
+		final int start = position;
+		while (peek() != '<' && peek() != '.' && peek() != ';') {
+			position++;
+		}
+		return signature.substring(start, position);
+	}
+
+	/**
+	 * Reads up to the next occurrence of terminator, consuming but not including the terminator.
+	 */
+	private String readUntil(final char terminator) {
+		final int end = signature.indexOf(terminator, position);
+		if (end < 0) {
+			throw new IllegalArgumentException("Expected '" + terminator + "' after index " + position + " of " + signature);
+		}
+		final String token = signature.substring(position, end);
+		position = end + 1;
+		return token;
+	}
+
+	private void expect(final char expected) {
+		final char actual = next();
+		if (actual != expected) {
+			throw new IllegalArgumentException(
+					"Expected '" + expected + "' but found '" + actual + "' at index " + (position - 1) + " of " + signature
+			);
+		}
+	}
+
+	private char peek() {
+		if (position >= signature.length()) {
+			throw new IllegalArgumentException("Unexpected end of signature " + signature);
+		}
+		return signature.charAt(position);
+	}
+
+	private char next() {
+		final char c = peek();
+		position++;
+		return c;
+	}
+}
@@ -0,0 +1,612 @@
+package com.github.ndrwksr.structuregrader.core.compiled;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.property.Modified;
+import com.github.ndrwksr.structuregrader.core.property.Annotated;
+import com.github.ndrwksr.structuregrader.core.property.Parameterized;
+import com.github.ndrwksr.structuregrader.core.property.Typed;
+import com.github.ndrwksr.structuregrader.core.specification.base.MapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.base.MapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.AnnotatedClassSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassSuite;
+import com.github.ndrwksr.structuregrader.core.specification.collection.MissingExtraHelper;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NameIndex;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraClassesMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingClassesMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.common.AnnotatedSuite;
+import com.github.ndrwksr.structuregrader.core.specification.common.ModifiedSpec;
+import com.github.ndrwksr.structuregrader.core.specification.common.TypedSpec;
+import com.github.ndrwksr.structuregrader.core.specification.executable.ConstructorSetSuite;
+import com.github.ndrwksr.structuregrader.core.specification.executable.MethodMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.FieldMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.ParameterMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.VariableMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.VariableSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.ClassMapVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
+import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationIndex;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.google.common.collect.ImmutableSet;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A ClassMapSuite compiled into a flat program. The nested suites (ClassSuite, the member map suites, VariableSuite,
+ * ConstructorSetSuite and AnnotatedSuite) are unrolled into a single array of instructions: each item suite becomes a
+ * pre-resolved lookup of its key into a register slot, fingerprint checks become jumps over the instructions of the
+ * subtree, and the leaf checks are done inline. Modifiers are compared against expected values held in a primitive
+ * array, types against the TypeTrees their specs parsed, and the keys of a collection against the NameIndex of its
+ * NoMissingMapSpec or NoExtraMapSpec. Any other spec is called directly from the program, so the noncompliances
+ * produced are the same as visiting the suite, though they may be reported in a different order.
+ * <p>
+ * Only the exact suite and spec classes above are compiled, so subclasses which override visit keep their own
+ * behaviour. The
+ * program shares the suite's leaf specs, so noncompliances reach the same consumers, and like the suite it can be
+ * visited by several threads at once.
+ */
+public class CompiledSuite implements ClassMapVisitor {
+	/**
+	 * Jumps if the ClassWrapper in the source slot has the fingerprint in fingerprints.
+	 */
+	private static final int SKIP_CLASS_IF_FINGERPRINT = 0;
+
+	/**
+	 * Jumps if the NamedMap in the source slot has the fingerprint in fingerprints.
+	 */
+	private static final int SKIP_MAP_IF_FINGERPRINT = 1;
+
+	/**
+	 * Loads the item with the key in constants from the NamedMap in the source slot, jumping if it's absent.
+	 */
+	private static final int LOAD_ITEM = 2;
+
+	/**
+	 * Loads the member map named by operands from the ClassWrapper or Parameterized in the source slot, jumping if the
+	 * source is null.
+	 */
+	private static final int LOAD_MEMBERS = 3;
+
+	/**
+	 * Compares the modifiers of the Modified in the source slot against the expected modifiers in operands, reporting
+	 * for the ModifiedSpec in constants.
+	 */
+	private static final int CHECK_MODIFIERS = 4;
+
+	/**
+	 * Visits the item in the source slot with the ItemVisitor in constants.
+	 */
+	private static final int VISIT_ITEM = 5;
+
+	/**
+	 * Visits the NamedMap in the source slot with the MapVisitor in constants.
+	 */
+	private static final int VISIT_MAP = 6;
+
+	/**
+	 * Starts visiting a class, scoping the context to it until the EXIT_CLASS at the jump.
+	 */
+	private static final int ENTER_CLASS = 7;
+
+	/**
+	 * Finishes visiting a class, restoring the context the class was entered with.
+	 */
+	private static final int EXIT_CLASS = 8;
+
+	/**
+	 * Compares the type of the Typed in the source slot against the expected type of the TypedSpec in constants.
+	 */
+	private static final int CHECK_TYPE = 9;
+
+	/**
+	 * Compares the generic type of the Typed in the source slot against the expected type of the TypedSpec in constants.
+	 */
+	private static final int CHECK_GENERIC_TYPE = 10;
+
+	/**
+	 * Checks the collection in the source slot for missing keys with the CollectionCheck in constants.
+	 */
+	private static final int CHECK_MISSING = 11;
+
+	/**
+	 * Checks the collection in the source slot for extra keys with the CollectionCheck in constants.
+	 */
+	private static final int CHECK_EXTRA = 12;
+
+	private static final int DECLARED_CLASSES = 0;
+	private static final int FIELDS = 1;
+	private static final int METHODS = 2;
+	private static final int PARAMETERS = 3;
+	private static final int CONSTRUCTORS = 4;
+	private static final int ANNOTATIONS = 5;
+
+	/**
+	 * The MapSuite classes whose visit of a NamedMap is MapSuite's own, and so can be unrolled.
+	 */
+	private static final ImmutableSet<Class<?>> MAP_SUITE_CLASSES = ImmutableSet.of(
+			MapSuite.class,
+			VariableMapSuite.class,
+			ClassMapSuite.class,
+			FieldMapSuite.class,
+			MethodMapSuite.class,
+			ParameterMapSuite.class
+	);
+
+	private final int[] opcodes;
+	private final int[] sourceSlots;
+	private final int[] targetSlots;
+	private final int[] jumps;
+	private final int[] operands;
+	private final long[] fingerprints;
+	private final Object[] constants;
+
+	/**
+	 * The number of register slots the program needs, one per level of nesting. Classes are at most nested this deep.
+	 */
+	private final int slotCount;
+
+	/**
+	 * The name of the parent of the specified element.
+	 */
+	@NonNull
+	@Getter
+	private final String parentName;
+
+	private CompiledSuite(@NonNull final Compiler compiler, @NonNull final String parentName) {
+		final int size = compiler.instructions.size();
+		this.opcodes = new int[size];
+		this.sourceSlots = new int[size];
+		this.targetSlots = new int[size];
+		this.jumps = new int[size];
+		this.operands = new int[size];
+		this.fingerprints = new long[size];
+		this.constants = new Object[size];
+		for (int i = 0; i < size; i++) {
+			final Instruction instruction = compiler.instructions.get(i);
+			opcodes[i] = instruction.opcode;
+			sourceSlots[i] = instruction.sourceSlot;
+			targetSlots[i] = instruction.targetSlot;
+			jumps[i] = instruction.jump;
+			operands[i] = instruction.operand;
+			fingerprints[i] = instruction.fingerprint;
+			constants[i] = instruction.constant;
+		}
+		this.slotCount = compiler.slotCount;
+		this.parentName = parentName;
+	}
+
+	/**
+	 * @param classMapSuite The suite to compile.
+	 * @return a program which produces the same noncompliances as visiting classMapSuite.
+	 */
+	public static CompiledSuite compile(@NonNull final ClassMapSuite classMapSuite) {
+		final Compiler compiler = new Compiler();
+		compiler.compileMap(classMapSuite, 0);
+		return new CompiledSuite(compiler, classMapSuite.getParentName());
+	}
+
+	/**
+	 * @return the number of instructions in the program.
+	 */
+	public int getInstructionCount() {
+		return opcodes.length;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void visit(@CheckForNull final NamedMap<ClassWrapper> classMap, @NonNull final GradingContext context) {
+		if (classMap == null) {
+			return;
+		}
+		final Object[] slots = new Object[slotCount];
+		slots[0] = classMap;
+
+		// The contexts of the classes being visited, and the EXIT_CLASS instructions which end them
+		final GradingContext[] classContexts = new GradingContext[slotCount + 1];
+		final int[] classExits = new int[slotCount + 1];
+		int classDepth = 0;
+		classContexts[0] = context;
+		GradingContext current = context;
+
+		int pc = 0;
+		while (pc < opcodes.length) {
+			if (current.isCancelled()) {
+				if (classDepth == 0 || current.isRunCancelled()) {
+					return;
+				}
+				// The class reached its own limit, so abandon the rest of it
+				pc = classExits[classDepth] + 1;
+				current = classContexts[--classDepth];
+				continue;
+			}
+			final Object source = slots[sourceSlots[pc]];
+			switch (opcodes[pc]) {
+				case ENTER_CLASS:
+					current = current.forClass();
+					classContexts[++classDepth] = current;
+					classExits[classDepth] = jumps[pc];
+					break;
+				case EXIT_CLASS:
+					current = classContexts[--classDepth];
+					break;
+				case SKIP_CLASS_IF_FINGERPRINT:
+					if (source != null && ((ClassWrapper) source).getFingerprint() == fingerprints[pc]) {
+						current.recordSkippedSubtree();
+						pc = jumps[pc];
+						continue;
+					}
+					break;
+				case SKIP_MAP_IF_FINGERPRINT:
+					final Long mapFingerprint = ((NamedMap<?>) source).getFingerprint();
+					if (mapFingerprint != null && mapFingerprint == fingerprints[pc]) {
+						current.recordSkippedSubtree();
+						pc = jumps[pc];
+						continue;
+					}
+					break;
+				case LOAD_ITEM:
+					final Object item = ((NamedMap<?>) source).getItems().get(constants[pc]);
+					if (item == null) {
+						pc = jumps[pc];
+						continue;
+					}
+					slots[targetSlots[pc]] = item;
+					break;
+				case LOAD_MEMBERS:
+					if (source == null) {
+						pc = jumps[pc];
+						continue;
+					}
+					slots[targetSlots[pc]] = loadMembers(source, operands[pc], constants[pc]);
+					break;
+				case CHECK_MODIFIERS:
+					if (source != null) {
+						final Modified modified = (Modified) source;
+						final int actualModifiers = modified.getModifiers();
+						if (actualModifiers != operands[pc]) {
+							final ModifiedSpec<?> spec = (ModifiedSpec<?>) constants[pc];
+							current.report(
+									spec,
+									NoncomplianceKind.MODIFIERS,
+									modified.getName(),
+									null,
+									operands[pc],
+									actualModifiers,
+									spec.getNoncomplianceConsumer()
+							);
+						}
+					}
+					break;
+				case CHECK_TYPE:
+					if (source != null) {
+						final Typed typed = (Typed) source;
+						final TypedSpec<?> spec = (TypedSpec<?>) constants[pc];
+						//noinspection ConstantConditions -- a spec of the non-generic type always has an expected type
+						if (!spec.getExpectedType().matches(typed.getType())) {
+							current.report(
+									spec,
+									NoncomplianceKind.TYPE,
+									spec.getParentName(),
+									typed.getName(),
+									spec.getTypeName(),
+									typed.getType().getTypeName(),
+									spec.getNoncomplianceConsumer()
+							);
+						}
+					}
+					break;
+				case CHECK_GENERIC_TYPE:
+					if (source != null) {
+						final Typed typed = (Typed) source;
+						final TypedSpec<?> spec = (TypedSpec<?>) constants[pc];
+						final Type actualGenericType = typed.getGenericType();
+						final boolean matches = actualGenericType == null ?
+								spec.getExpectedType() == null :
+								spec.getExpectedType() != null && spec.getExpectedType().matches(actualGenericType);
+						if (!matches) {
+							current.report(
+									spec,
+									NoncomplianceKind.GENERIC_TYPE,
+									spec.getParentName(),
+									typed.getName(),
+									spec.getGenericTypeName(),
+									actualGenericType != null ? actualGenericType.getTypeName() : null,
+									spec.getNoncomplianceConsumer()
+							);
+						}
+					}
+					break;
+				case CHECK_MISSING:
+					if (source != null) {
+						((CollectionCheck) constants[pc]).checkForMissing(source, current);
+					}
+					break;
+				case CHECK_EXTRA:
+					if (source != null) {
+						((CollectionCheck) constants[pc]).checkForExtra(source, current);
+					}
+					break;
+				case VISIT_ITEM:
+					((ItemVisitor<Object>) constants[pc]).visit(source, current);
+					break;
+				case VISIT_MAP:
+					((MapVisitor<Object>) constants[pc]).visit((NamedMap<Object>) source, current);
+					break;
+				default:
+					throw new IllegalStateException("Unknown opcode " + opcodes[pc] + " at " + pc);
+			}
+			pc++;
+		}
+	}
+
+	/**
+	 * @param methodMapSuite For METHODS, the suite the methods are keyed for, see MethodMapSuite.keyedAsOracle.
+	 * @return the member map, which for ANNOTATIONS is the unnamed map of an AnnotationIndex.
+	 */
+	private static Object loadMembers(
+			@NonNull final Object source,
+			final int members,
+			@Nullable final Object methodMapSuite
+	) {
+		switch (members) {
+			case DECLARED_CLASSES:
+				return ((ClassWrapper) source).getDeclaredClasses();
+			case FIELDS:
+				return ((ClassWrapper) source).getFields();
+			case METHODS:
+				return ((MethodMapSuite) methodMapSuite).keyedAsOracle(((ClassWrapper) source).getMethods());
+			case PARAMETERS:
+				return ((Parameterized) source).getParameters();
+			case CONSTRUCTORS:
+				return ((ClassWrapper) source).getConstructorsBySignature();
+			case ANNOTATIONS:
+				return ((Annotated) source).getAnnotationIndex().getItems();
+			default:
+				throw new IllegalStateException("Unknown member map " + members);
+		}
+	}
+
+	@Override
+	public String getSpecDescription() {
+		return "A specification for a map of classes, compiled from a ClassMapSuite.";
+	}
+
+	/**
+	 * A NoMissingMapSpec or NoExtraMapSpec with everything its check reads resolved when the program is compiled.
+	 */
+	private static class CollectionCheck {
+		@NonNull
+		private final MapSpec<?, String> spec;
+
+		@NonNull
+		private final NameIndex<String> expectedItemNames;
+
+		@NonNull
+		private final String itemTypePlural;
+
+		/**
+		 * The name to report the collection by if the checked source is a plain Map, or null if it is a NamedMap and
+		 * has its own name.
+		 */
+		@Nullable
+		private final String declaringName;
+
+		private CollectionCheck(
+				@NonNull final MapSpec<?, String> spec,
+				@NonNull final String itemTypePlural,
+				@Nullable final String declaringName
+		) {
+			this.spec = spec;
+			this.expectedItemNames = spec.getNameIndex();
+			this.itemTypePlural = itemTypePlural;
+			this.declaringName = declaringName;
+		}
+
+		private void checkForMissing(@NonNull final Object source, @NonNull final GradingContext context) {
+			MissingExtraHelper.checkMapForMissing(
+					spec,
+					declaringNameOf(source),
+					expectedItemNames,
+					itemsOf(source),
+					itemTypePlural,
+					context,
+					spec.getNoncomplianceConsumer()
+			);
+		}
+
+		private void checkForExtra(@NonNull final Object source, @NonNull final GradingContext context) {
+			MissingExtraHelper.checkMapForExtra(
+					spec,
+					declaringNameOf(source),
+					expectedItemNames,
+					itemsOf(source),
+					itemTypePlural,
+					context,
+					spec.getNoncomplianceConsumer()
+			);
+		}
+
+		private String declaringNameOf(@NonNull final Object source) {
+			return declaringName != null ? declaringName : ((NamedMap<?>) source).getName();
+		}
+
+		@SuppressWarnings("unchecked")
+		private Map<String, ?> itemsOf(@NonNull final Object source) {
+			return declaringName != null ? (Map<String, ?>) source : ((NamedMap<?>) source).getItems();
+		}
+	}
+
+	/**
+	 * A single instruction, only used while compiling.
+	 */
+	private static class Instruction {
+		private int opcode;
+		private int sourceSlot;
+		private int targetSlot;
+		private int jump;
+		private int operand;
+		private long fingerprint;
+		private Object constant;
+	}
+
+	/**
+	 * Unrolls a suite into a list of instructions. The slot an element is loaded into is one more than the slot of its
+	 * parent, so siblings reuse the same slot.
+	 */
+	private static class Compiler {
+		private final List<Instruction> instructions = new ArrayList<>();
+		private int slotCount = 1;
+
+		private Instruction emit(final int opcode, final int sourceSlot) {
+			final Instruction instruction = new Instruction();
+			instruction.opcode = opcode;
+			instruction.sourceSlot = sourceSlot;
+			instructions.add(instruction);
+			return instruction;
+		}
+
+		private Instruction emitLoad(final int opcode, final int sourceSlot) {
+			final Instruction instruction = emit(opcode, sourceSlot);
+			instruction.targetSlot = sourceSlot + 1;
+			slotCount = Math.max(slotCount, sourceSlot + 2);
+			return instruction;
+		}
+
+		private void compileMap(@NonNull final MapSuite<?, ?> mapSuite, final int slot) {
+			final Long oracleFingerprint = mapSuite.getOracleFingerprint();
+			final Instruction skip = oracleFingerprint != null ? emit(SKIP_MAP_IF_FINGERPRINT, slot) : null;
+			if (skip != null) {
+				skip.fingerprint = oracleFingerprint;
+			}
+
+			mapSuite.getCollectionSpecs().forEach(spec -> compileMapVisitor(spec, slot));
+			for (final Map.Entry<String, ? extends ItemVisitor<?>> entry : mapSuite.getItemSuites().entrySet()) {
+				final Instruction load = emitLoad(LOAD_ITEM, slot);
+				load.constant = entry.getKey();
+				compileItem(entry.getValue(), slot + 1);
+				load.jump = instructions.size();
+			}
+
+			if (skip != null) {
+				skip.jump = instructions.size();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void compileMapVisitor(@NonNull final MapVisitor<?> visitor, final int slot) {
+			if (MAP_SUITE_CLASSES.contains(visitor.getClass())) {
+				compileMap((MapSuite<?, ?>) visitor, slot);
+			} else if (isCollectionSpec(visitor)) {
+				compileCollectionSpec((MapSpec<?, String>) visitor, slot, null);
+			} else {
+				emit(VISIT_MAP, slot).constant = visitor;
+			}
+		}
+
+		private static boolean isCollectionSpec(@NonNull final Object visitor) {
+			final Class<?> visitorClass = visitor.getClass();
+			return visitorClass == NoMissingMapSpec.class || visitorClass == NoMissingClassesMapSpec.class ||
+					visitorClass == NoExtraMapSpec.class || visitorClass == NoExtraClassesMapSpec.class;
+		}
+
+		/**
+		 * @param declaringName The name of the collection in the slot if it is a plain Map, or null if it is a NamedMap.
+		 */
+		private void compileCollectionSpec(
+				@NonNull final MapSpec<?, String> spec,
+				final int slot,
+				@Nullable final String declaringName
+		) {
+			if (spec instanceof NoMissingMapSpec) {
+				final String itemTypePlural = ((NoMissingMapSpec<?>) spec).getItemTypePlural();
+				emit(CHECK_MISSING, slot).constant = new CollectionCheck(spec, itemTypePlural, declaringName);
+			} else {
+				final String itemTypePlural = ((NoExtraMapSpec<?>) spec).getItemTypePlural();
+				emit(CHECK_EXTRA, slot).constant = new CollectionCheck(spec, itemTypePlural, declaringName);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void compileItem(@NonNull final ItemVisitor<?> visitor, final int slot) {
+			final Class<?> visitorClass = visitor.getClass();
+			if (visitorClass == ClassSuite.class) {
+				final ClassSuite classSuite = (ClassSuite) visitor;
+				final Long oracleFingerprint = classSuite.getOracleFingerprint();
+				final Instruction skip = oracleFingerprint != null ? emit(SKIP_CLASS_IF_FINGERPRINT, slot) : null;
+				if (skip != null) {
+					skip.fingerprint = oracleFingerprint;
+				}
+				final Instruction enter = emit(ENTER_CLASS, slot);
+				classSuite.getSpecifiedClassVisitors().forEach(classVisitor -> compileItem(classVisitor, slot));
+				enter.jump = instructions.size();
+				emit(EXIT_CLASS, slot);
+				if (skip != null) {
+					skip.jump = instructions.size();
+				}
+			} else if (visitorClass == VariableSuite.class) {
+				((VariableSuite<?>) visitor).getSpecs().forEach(spec -> compileItem(spec, slot));
+			} else if (visitorClass == ModifiedSpec.class) {
+				final ModifiedSpec<?> modifiedSpec = (ModifiedSpec<?>) visitor;
+				final Instruction check = emit(CHECK_MODIFIERS, slot);
+				check.operand = modifiedSpec.getExpectedModifiers();
+				check.constant = modifiedSpec;
+			} else if (visitorClass == TypedSpec.class) {
+				final TypedSpec<?> typedSpec = (TypedSpec<?>) visitor;
+				emit(typedSpec.isUseGenericTypeName() ? CHECK_GENERIC_TYPE : CHECK_TYPE, slot).constant = typedSpec;
+			} else if (visitorClass == NoMissingClassesMapSpec.class || visitorClass == NoExtraClassesMapSpec.class) {
+				final Instruction load = emitLoad(LOAD_MEMBERS, slot);
+				load.operand = DECLARED_CLASSES;
+				compileCollectionSpec((MapSpec<?, String>) visitor, slot + 1, null);
+				load.jump = instructions.size();
+			} else if (visitorClass == ConstructorSetSuite.class) {
+				final Instruction load = emitLoad(LOAD_MEMBERS, slot);
+				load.operand = CONSTRUCTORS;
+				((ConstructorSetSuite) visitor).getMapVisitors()
+						.forEach(mapVisitor -> compileMapVisitor(mapVisitor, slot + 1));
+				load.jump = instructions.size();
+			} else if ((visitorClass == AnnotatedSuite.class || visitorClass == AnnotatedClassSuite.class) &&
+					((AnnotatedSuite<?>) visitor).getCollectionSpecs().stream().allMatch(Compiler::isCollectionSpec)) {
+				final AnnotatedSuite<?> annotatedSuite = (AnnotatedSuite<?>) visitor;
+				final String declaringName = AnnotationIndex.collectionNameOf(annotatedSuite.getParentName());
+				final Instruction load = emitLoad(LOAD_MEMBERS, slot);
+				load.operand = ANNOTATIONS;
+				annotatedSuite.getCollectionSpecs().forEach(spec -> compileCollectionSpec(spec, slot + 1, declaringName));
+				load.jump = instructions.size();
+			} else if (visitorClass == ClassMapSuite.class) {
+				compileMembers((MapSuite<?, ?>) visitor, DECLARED_CLASSES, slot);
+			} else if (visitorClass == FieldMapSuite.class) {
+				compileMembers((MapSuite<?, ?>) visitor, FIELDS, slot);
+			} else if (visitorClass == MethodMapSuite.class) {
+				compileMembers((MapSuite<?, ?>) visitor, METHODS, slot).constant = visitor;
+			} else if (visitorClass == ParameterMapSuite.class) {
+				compileMembers((MapSuite<?, ?>) visitor, PARAMETERS, slot);
+			} else {
+				emit(VISIT_ITEM, slot).constant = visitor;
+			}
+		}
+
+		private Instruction compileMembers(
+				@NonNull final MapSuite<?, ?> mapSuite,
+				final int members,
+				final int slot
+		) {
+			final Instruction load = emitLoad(LOAD_MEMBERS, slot);
+			load.operand = members;
+			compileMap(mapSuite, slot + 1);
+			load.jump = instructions.size();
+			return load;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package com.github.ndrwksr.structuregrader.core.fingerprint;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.NamedSet;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
+import com.github.ndrwksr.structuregrader.core.property.Variable;
+import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.ConstructorWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.MethodWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.ParameterWrapper;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.NonNull;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes structural fingerprints of wrappers. A fingerprint covers everything the specifications read from an
+ * element: its name, modifiers, type names, the names of its annotations and, for classes and executables, the
+ * fingerprints of its members. Fingerprints are combined bottom-up like a Merkle tree, so the fingerprint of a class
+ * only changes if something in it or one of its nested classes does, and two elements with the same fingerprint are
+ * structurally identical as far as the specifications can tell.
+ * <p>
+ * Suites made by the built-in factories record the fingerprint of the oracle element they were made from, and skip
+ * elements with the same fingerprint. A custom specification which reads something that isn't fingerprinted (such as
+ * the values of an annotation) must therefore not be placed under such a suite.
+ * <p>
+ * Fingerprints are computed from the getters of the wrappers, so a DetachedClassWrapper has the same fingerprint as
+ * the ClassWrapper it is a snapshot of. They are stable between runs, but not between versions of this class.
+ */
+public final class StructuralFingerprints {
+	/*
+	 * Each kind of element starts its fingerprint with its own tag, so that elements of different kinds which happen
+	 * to have the same properties have different fingerprints.
+	 */
+	private static final int CLASS_TAG = 1;
+	private static final int FIELD_TAG = 2;
+	private static final int METHOD_TAG = 3;
+	private static final int CONSTRUCTOR_TAG = 4;
+	private static final int PARAMETER_TAG = 5;
+	private static final int ANNOTATION_TAG = 6;
+	private static final int MAP_TAG = 7;
+	private static final int SET_TAG = 8;
+
+	private StructuralFingerprints() {
+	}
+
+	/**
+	 * @param classWrapper The class to fingerprint.
+	 * @return the fingerprint of the class, including its annotations, superclass, interfaces, fields, methods,
+	 * constructors and declared classes.
+	 */
+	public static long of(@NonNull final ClassWrapper classWrapper) {
+		final String[] interfaceNames = classWrapper.getInterfaces().getItems().stream()
+				.map(ClassWrapper::getName)
+				.sorted()
+				.toArray(String[]::new);
+
+		final Hasher hasher = newHasher(CLASS_TAG);
+		putString(hasher, classWrapper.getName());
+		hasher.putInt(classWrapper.getModifiers());
+		hasher.putBoolean(classWrapper.isSynthetic());
+		putString(hasher, classWrapper.getSuperclassName());
+		hasher.putInt(interfaceNames.length);
+		Arrays.stream(interfaceNames).forEach(interfaceName -> putString(hasher, interfaceName));
+		hasher.putLong(ofMap(classWrapper.getAnnotationWrappers()));
+		hasher.putLong(ofMap(classWrapper.getFields()));
+		hasher.putLong(ofMap(classWrapper.getMethods()));
+		hasher.putLong(ofSet(classWrapper.getConstructors()));
+		hasher.putLong(ofMap(classWrapper.getDeclaredClasses()));
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * @param variable The field or parameter to fingerprint.
+	 * @return the fingerprint of the variable, including its type and annotations.
+	 */
+	public static long of(@NonNull final Variable variable) {
+		final Hasher hasher = newHasher(variable instanceof ParameterWrapper ? PARAMETER_TAG : FIELD_TAG);
+		putVariable(hasher, variable);
+		if (variable instanceof ParameterWrapper) {
+			hasher.putInt(((ParameterWrapper) variable).getIndex());
+		}
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * @param methodWrapper The method to fingerprint.
+	 * @return the fingerprint of the method, including its return type, annotations and parameters.
+	 */
+	public static long of(@NonNull final MethodWrapper methodWrapper) {
+		final Hasher hasher = newHasher(METHOD_TAG);
+		putVariable(hasher, methodWrapper);
+		hasher.putLong(ofMap(methodWrapper.getParameters()));
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * Constructors are identified by their signatures (see ConstructorSetSuite), so their names aren't fingerprinted.
+	 * The name of a constructor is the binary name of its class, which would make the fingerprint depend on the package.
+	 *
+	 * @param constructorWrapper The constructor to fingerprint.
+	 * @return the fingerprint of the constructor, including its signature, annotations and parameters.
+	 */
+	public static long of(@NonNull final ConstructorWrapper constructorWrapper) {
+		final Hasher hasher = newHasher(CONSTRUCTOR_TAG);
+		putString(hasher, constructorWrapper.getSignature());
+		hasher.putInt(constructorWrapper.getModifiers());
+		hasher.putBoolean(constructorWrapper.isSynthetic());
+		hasher.putLong(ofMap(constructorWrapper.getAnnotationWrappers()));
+		hasher.putLong(ofMap(constructorWrapper.getParameters()));
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * @param annotationWrapper The annotation to fingerprint.
+	 * @return the fingerprint of the annotation. Annotations are identified by name alone, see AnnotationWrapper.
+	 */
+	public static long of(@NonNull final AnnotationWrapper annotationWrapper) {
+		final Hasher hasher = newHasher(ANNOTATION_TAG);
+		putString(hasher, annotationWrapper.getName());
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * The fingerprint of a map covers its keys and the fingerprints of its values, but not its name, which is derived
+	 * from the name of its parent.
+	 *
+	 * @param namedMap The map to fingerprint.
+	 * @return the fingerprint of namedMap, or null if any of its values aren't Fingerprinted.
+	 */
+	@Nullable
+	public static Long ofMapIfFingerprinted(@NonNull final NamedMap<?> namedMap) {
+		if (!namedMap.getItems().values().stream().allMatch(item -> item instanceof Fingerprinted)) {
+			return null;
+		}
+
+		// Sort by key, so that the order of the map doesn't affect its fingerprint
+		final Map<String, ?> sortedItems = new TreeMap<>(namedMap.getItems());
+		final Hasher hasher = newHasher(MAP_TAG);
+		hasher.putInt(sortedItems.size());
+		sortedItems.forEach((key, item) -> {
+			putString(hasher, key);
+			hasher.putLong(((Fingerprinted) item).getFingerprint());
+		});
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * @param namedMap The map of Fingerprinted values to fingerprint.
+	 * @return the fingerprint of namedMap.
+	 */
+	private static long ofMap(@NonNull final NamedMap<? extends Fingerprinted> namedMap) {
+		//noinspection ConstantConditions -- every value is Fingerprinted
+		return namedMap.getFingerprint();
+	}
+
+	/**
+	 * @param namedSet The set of Fingerprinted items to fingerprint.
+	 * @return the fingerprint of namedSet, which covers the fingerprints of its items but not its name.
+	 */
+	private static long ofSet(@NonNull final NamedSet<? extends Fingerprinted> namedSet) {
+		final long[] itemFingerprints = namedSet.getItems().stream()
+				.mapToLong(Fingerprinted::getFingerprint)
+				.sorted()
+				.toArray();
+
+		final Hasher hasher = newHasher(SET_TAG);
+		hasher.putInt(itemFingerprints.length);
+		Arrays.stream(itemFingerprints).forEach(hasher::putLong);
+		return hasher.hash().asLong();
+	}
+
+	private static void putVariable(@NonNull final Hasher hasher, @NonNull final Variable variable) {
+		putString(hasher, variable.getName());
+		hasher.putInt(variable.getModifiers());
+		hasher.putBoolean(variable.isSynthetic());
+		putString(hasher, variable.getType().getTypeName());
+		putString(hasher, getTypeName(variable.getGenericType()));
+		hasher.putLong(ofMap(variable.getAnnotationWrappers()));
+	}
+
+	@Nullable
+	private static String getTypeName(@CheckForNull final Type type) {
+		return type != null ? type.getTypeName() : null;
+	}
+
+	private static Hasher newHasher(final int tag) {
+		return Hashing.murmur3_128().newHasher().putInt(tag);
+	}
+
+	/**
+	 * Strings are length-prefixed so that consecutive strings can't run into each other, and null is distinguished
+	 * from every string.
+	 */
+	private static void putString(@NonNull final Hasher hasher, @CheckForNull final String string) {
+		if (string == null) {
+			hasher.putInt(-1);
+		} else {
+			hasher.putInt(string.length()).putString(string, StandardCharsets.UTF_8);
+		}
+	}
+}
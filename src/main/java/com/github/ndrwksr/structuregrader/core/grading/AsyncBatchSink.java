@@ -0,0 +1,386 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import lombok.Builder;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Hands the items it accepts, such as noncompliances, to a consumer on a thread of its own in batches, so that a slow
+ * consumer doesn't stall the visit reporting them. Items are held in a bounded buffer until a batch is full, until
+ * flushInterval has passed since the first item of the batch, or until drain() is called. What happens when the buffer
+ * is full is decided by the backpressure policy.
+ * <p>
+ * The batch consumer is never called by more than one thread at once, and gets the items in the order they were
+ * accepted, except that items delivered by CALLER_RUNS may overtake items buffered by other threads. A batch consumer
+ * which throws doesn't stop later batches from being delivered; the first exception is rethrown by close(). Items are
+ * either accepted before close() or rejected, never lost in between.
+ *
+ * @param <T> The type of the items accepted.
+ */
+public class AsyncBatchSink<T> implements Consumer<T>, AutoCloseable {
+	/**
+	 * What a thread accepting an item does when the buffer is full.
+	 */
+	public enum BackpressurePolicy {
+		/**
+		 * Wait for space in the buffer.
+		 */
+		BLOCK,
+
+		/**
+		 * Drop the item, counting it in getDroppedCount().
+		 */
+		DROP,
+
+		/**
+		 * Deliver the buffered items and the item to the batch consumer on the accepting thread.
+		 */
+		CALLER_RUNS
+	}
+
+	/**
+	 * Put into the buffer by drain() to have the batch being collected delivered straight away.
+	 */
+	private static final Object FLUSH = new Object();
+
+	/**
+	 * Put into the buffer by close(), after every accepted item, to stop the delivery thread once they're delivered.
+	 */
+	private static final Object STOP = new Object();
+
+	/**
+	 * Consumes each batch of items.
+	 */
+	@NonNull
+	private final Consumer<List<T>> batchConsumer;
+
+	/**
+	 * The most items in a batch.
+	 */
+	private final int flushSize;
+
+	/**
+	 * The longest an item waits in the buffer for its batch to fill, in nanoseconds.
+	 */
+	private final long flushIntervalNanos;
+
+	/**
+	 * What a thread accepting an item does when the buffer is full.
+	 */
+	@NonNull
+	private final BackpressurePolicy backpressurePolicy;
+
+	/**
+	 * The items waiting to be delivered, any FLUSH requests, and the STOP once closed.
+	 */
+	@NonNull
+	private final BlockingQueue<Object> buffer;
+
+	/**
+	 * The thread delivering the batches.
+	 */
+	@NonNull
+	private final Thread deliveryThread;
+
+	/**
+	 * Held while a batch is delivered, so the batch consumer is only ever called by one thread at once. Also notified
+	 * whenever deliveredCount changes.
+	 */
+	private final Object deliveryLock = new Object();
+
+	/**
+	 * The number of items accepted without being dropped.
+	 */
+	private final AtomicLong acceptedCount = new AtomicLong();
+
+	/**
+	 * The number of items handed to the batch consumer. Guarded by deliveryLock.
+	 */
+	private long deliveredCount;
+
+	/**
+	 * The number of items dropped because the buffer was full.
+	 */
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	/**
+	 * The first exception thrown by the batch consumer.
+	 */
+	private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+	/**
+	 * Held for reading while an item is accepted and for writing while the sink is closed, so that no item is accepted
+	 * once the STOP has been put into the buffer.
+	 */
+	private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Whether close() has been called. Guarded by stateLock.
+	 */
+	private boolean closed;
+
+	/**
+	 * @param batchConsumer      Consumes each batch of items. The batch is its own to keep.
+	 * @param capacity           The most items the buffer holds, 4096 if null.
+	 * @param flushSize          The most items in a batch, 256 if null.
+	 * @param flushInterval      The longest an item waits for its batch to fill, 100ms if null.
+	 * @param backpressurePolicy What a thread accepting an item does when the buffer is full, BLOCK if null.
+	 */
+	@Builder
+	private AsyncBatchSink(
+			@NonNull final Consumer<List<T>> batchConsumer,
+			@Nullable final Integer capacity,
+			@Nullable final Integer flushSize,
+			@Nullable final Duration flushInterval,
+			@Nullable final BackpressurePolicy backpressurePolicy
+	) {
+		this.batchConsumer = batchConsumer;
+		this.flushSize = checkPositive("flushSize", flushSize != null ? flushSize : 256);
+		this.flushIntervalNanos = (flushInterval != null ? flushInterval : Duration.ofMillis(100)).toNanos();
+		this.backpressurePolicy = backpressurePolicy != null ? backpressurePolicy : BackpressurePolicy.BLOCK;
+		this.buffer = new ArrayBlockingQueue<>(checkPositive("capacity", capacity != null ? capacity : 4096));
+
+		if (flushIntervalNanos <= 0) {
+			throw new IllegalArgumentException("flushInterval must be positive, was " + flushInterval);
+		}
+
+		this.deliveryThread = new ThreadFactoryBuilder()
+				.setNameFormat("async-batch-sink-%d")
+				.setDaemon(true)
+				.build()
+				.newThread(this::deliverBatches);
+		deliveryThread.start();
+	}
+
+	private static int checkPositive(@NonNull final String name, final int value) {
+		if (value < 1) {
+			throw new IllegalArgumentException(name + " must be at least 1, was " + value);
+		}
+		return value;
+	}
+
+	/**
+	 * Buffers an item to be delivered, applying the backpressure policy if the buffer is full.
+	 *
+	 * @param item The item to deliver.
+	 * @throws IllegalStateException If this sink has been closed, or if the thread is interrupted while blocked.
+	 */
+	@Override
+	public void accept(@NonNull final T item) {
+		stateLock.readLock().lock();
+		try {
+			if (closed) {
+				throw new IllegalStateException("This sink has been closed");
+			}
+			buffer(item);
+		} finally {
+			stateLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Buffers an item to be delivered, applying the backpressure policy if the buffer is full. Must hold the read lock
+	 * of stateLock.
+	 */
+	private void buffer(@NonNull final T item) {
+		if (buffer.offer(item)) {
+			acceptedCount.incrementAndGet();
+			return;
+		}
+
+		switch (backpressurePolicy) {
+			case BLOCK:
+				try {
+					buffer.put(item);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for space in the buffer", e);
+				}
+				acceptedCount.incrementAndGet();
+				break;
+			case DROP:
+				droppedCount.incrementAndGet();
+				break;
+			case CALLER_RUNS:
+				acceptedCount.incrementAndGet();
+				synchronized (deliveryLock) {
+					// Deliver what's already buffered first, so this item doesn't overtake it. The STOP can't be
+					// buffered yet, since the sink can't be closed while an item is being accepted
+					final List<T> batch = new ArrayList<>();
+					takeBuffered(batch, buffer.size());
+					batch.add(item);
+					deliver(batch);
+				}
+				break;
+		}
+	}
+
+	/**
+	 * Waits until every item accepted before this call has been handed to the batch consumer. Call at the end of each
+	 * submission so that its items have all been consumed before its result is used.
+	 *
+	 * @throws InterruptedException If the current thread is interrupted while waiting.
+	 */
+	public void drain() throws InterruptedException {
+		final long target = acceptedCount.get();
+		synchronized (deliveryLock) {
+			if (deliveredCount >= target) {
+				return;
+			}
+		}
+
+		buffer.put(FLUSH);
+		synchronized (deliveryLock) {
+			while (deliveredCount < target) {
+				deliveryLock.wait();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of items dropped because the buffer was full.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Stops accepting items, then waits for every item accepted so far to be delivered and for the delivery thread to
+	 * stop. If the current thread is interrupted while waiting, this returns with its interrupt status set, and the
+	 * delivery thread finishes delivering the items on its own.
+	 *
+	 * @throws IllegalStateException If the batch consumer threw, with the first exception it threw as its cause.
+	 */
+	@Override
+	public void close() {
+		final boolean wasClosed;
+		stateLock.writeLock().lock();
+		try {
+			wasClosed = closed;
+			closed = true;
+		} finally {
+			stateLock.writeLock().unlock();
+		}
+
+		if (!wasClosed) {
+			// The delivery thread is always taking from the buffer, so this only waits for it to make room
+			Uninterruptibles.putUninterruptibly(buffer, STOP);
+		}
+		try {
+			deliveryThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		final RuntimeException firstFailure = failure.get();
+		if (firstFailure != null) {
+			throw new IllegalStateException("The batch consumer failed", firstFailure);
+		}
+	}
+
+	/**
+	 * The body of the delivery thread, which collects batches from the buffer and delivers them until it finds the
+	 * STOP.
+	 */
+	private void deliverBatches() {
+		boolean stopped = false;
+		while (!stopped) {
+			final List<T> batch = new ArrayList<>(flushSize);
+			stopped = collectBatch(batch);
+			synchronized (deliveryLock) {
+				deliver(batch);
+			}
+		}
+	}
+
+	/**
+	 * Collects items from the buffer into batch until it's full, until flushInterval has passed since its first item,
+	 * or until a FLUSH or the STOP is found. The batch is left empty if a FLUSH is found first, and is delivered anyway
+	 * so that waiting drains are woken.
+	 *
+	 * @return whether the STOP was found, so that no more items will be buffered.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean collectBatch(@NonNull final List<T> batch) {
+		final Object first = Uninterruptibles.takeUninterruptibly(buffer);
+		if (first == STOP) {
+			return true;
+		}
+		if (first == FLUSH) {
+			return false;
+		}
+		batch.add((T) first);
+
+		final long deadline = System.nanoTime() + flushIntervalNanos;
+		while (batch.size() < flushSize) {
+			final long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				break;
+			}
+			final Object next;
+			try {
+				next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				// Only the STOP stops this thread, so an interrupt just delivers the batch early
+				break;
+			}
+			if (next == STOP) {
+				return true;
+			}
+			if (next == null || next == FLUSH) {
+				break;
+			}
+			batch.add((T) next);
+		}
+		return false;
+	}
+
+	/**
+	 * Takes up to maxItems items from the buffer into batch, discarding any FLUSH requests, since the caller is about to
+	 * deliver anyway. Must hold deliveryLock.
+	 */
+	@SuppressWarnings("unchecked")
+	private void takeBuffered(@NonNull final List<T> batch, final int maxItems) {
+		for (int i = 0; i < maxItems; i++) {
+			final Object item = buffer.poll();
+			if (item == null) {
+				return;
+			}
+			if (item != FLUSH) {
+				batch.add((T) item);
+			}
+		}
+	}
+
+	/**
+	 * Hands batch to the batch consumer, then wakes any drains waiting for it. Must hold deliveryLock.
+	 */
+	private void deliver(@NonNull final List<T> batch) {
+		try {
+			if (!batch.isEmpty()) {
+				batchConsumer.accept(batch);
+			}
+		} catch (RuntimeException e) {
+			failure.compareAndSet(null, e);
+		} finally {
+			deliveredCount += batch.size();
+			deliveryLock.notifyAll();
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.loader.SubmissionClassLoaderPool;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.type.TypeTable;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Grades many submission jars against a single, prebuilt ClassMapSuite. Each submission is loaded by its own isolated
+ * classloader leased from loaderPool, and submissions are graded in parallel on a bounded executor. Each submission
+ * is snapshotted (see DetachedClassWrapper) and its classloader closed before it is graded.
+ * <p>
+ * Every submission is visited with its own GradingContext, so the suite is shared by every worker thread and the
+ * consumer it was built with is never used. Suites made just for batch grading can be made with
+ * GradingContext.contextOnlyConsumer(). The contexts of a batch share a single TypeTable, so the suite's expected
+ * types are only interned once per batch.
+ * <p>
+ * Submissions within a batch are grouped by the structural fingerprint of their snapshots (see
+ * StructuralFingerprints). Only the first submission of each group is visited, and its result is copied to the rest
+ * of the group, which wait for it if it's still being graded. Identical submissions, such as unchanged starter code, are
+ * therefore only graded once per batch.
+ * <p>
+ * Noncompliances can also be streamed to a slow consumer, such as one which writes them to a database, through an
+ * AsyncBatchSink. The sink is drained at the end of each submission, so by the time a submission's result is returned
+ * all of its noncompliances have been consumed.
+ */
+@Builder
+public class BatchGrader {
+	/**
+	 * The suite every submission is graded against.
+	 */
+	@NonNull
+	private final ClassMapSuite classMapSuite;
+
+	/**
+	 * The package to grade in each submission.
+	 */
+	@NonNull
+	private final String pkg;
+
+	/**
+	 * The number of submissions to grade at once.
+	 */
+	@Builder.Default
+	private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The number of submissions allowed to wait for a worker. Once the queue is full the submitting thread grades
+	 * submissions itself, which keeps the number of outstanding submissions bounded.
+	 */
+	@Builder.Default
+	private final int queueCapacity = 64;
+
+	/**
+	 * The pool submission classloaders are leased from. Bounds the number of submissions loaded at once.
+	 */
+	@NonNull
+	@Builder.Default
+	private final SubmissionClassLoaderPool loaderPool = SubmissionClassLoaderPool.builder().build();
+
+	/**
+	 * Whether structurally identical submissions in a batch should only be graded once.
+	 */
+	@Builder.Default
+	private final boolean deduplicate = true;
+
+	/**
+	 * The most noncompliances to report for each submission, or null to report them all. A limit of one only finds out
+	 * whether each submission is compliant.
+	 */
+	@Nullable
+	private final Long maxNoncompliances;
+
+	/**
+	 * The most noncompliances to report for each class of each submission, or null to report them all.
+	 */
+	@Nullable
+	private final Long maxNoncompliancesPerClass;
+
+	/**
+	 * Also receives every noncompliance of every submission, or null if they are only returned in the results. Isn't
+	 * closed by the BatchGrader.
+	 */
+	@Nullable
+	private final AsyncBatchSink<SubmissionNoncompliance> noncomplianceSink;
+
+	/**
+	 * Grades every jar in submissionDir, in order of file name.
+	 *
+	 * @param submissionDir The directory containing the submission jars.
+	 * @return the results of grading every jar in submissionDir.
+	 * @throws IOException          If submissionDir can't be listed.
+	 * @throws InterruptedException If the current thread is interrupted while waiting for submissions to be graded.
+	 */
+	public BatchResult gradeDirectory(@NonNull final Path submissionDir) throws IOException, InterruptedException {
+		final List<Path> submissionJars;
+		try (Stream<Path> files = Files.list(submissionDir)) {
+			submissionJars = files
+					.filter(Files::isRegularFile)
+					.filter(path -> path.getFileName().toString().endsWith(".jar"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		return gradeAll(submissionJars);
+	}
+
+	/**
+	 * Grades every jar in submissionJars.
+	 *
+	 * @param submissionJars The submission jars to grade.
+	 * @return the results of grading every jar in submissionJars, in the same order.
+	 * @throws InterruptedException If the current thread is interrupted while waiting for submissions to be graded.
+	 */
+	public BatchResult gradeAll(@NonNull final List<Path> submissionJars) throws InterruptedException {
+		final long startNanos = System.nanoTime();
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				parallelism,
+				parallelism,
+				0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new ThreadFactoryBuilder().setNameFormat("batch-grader-%d").setDaemon(true).build(),
+				new ThreadPoolExecutor.CallerRunsPolicy()
+		);
+
+		// The graded result of each distinct submission in this batch, keyed by fingerprint
+		final ConcurrentMap<Long, CompletableFuture<CohortResult>> cohortResults =
+				deduplicate ? new ConcurrentHashMap<>() : null;
+		final TypeTable typeTable = new TypeTable();
+
+		try {
+			final List<Future<SubmissionResult>> futures = new ArrayList<>(submissionJars.size());
+			for (final Path submissionJar : submissionJars) {
+				futures.add(executor.submit(() -> gradeSubmission(submissionJar, cohortResults, typeTable)));
+			}
+
+			final List<SubmissionResult> submissionResults = new ArrayList<>(futures.size());
+			for (final Future<SubmissionResult> future : futures) {
+				try {
+					submissionResults.add(future.get());
+				} catch (ExecutionException e) {
+					// gradeSubmission captures everything a submission can reasonably cause, so anything left is fatal.
+					Throwables.throwIfUnchecked(e.getCause());
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+
+			return BatchResult.builder()
+					.submissionResults(submissionResults)
+					.elapsedNanos(System.nanoTime() - startNanos)
+					.build();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Grades a single submission jar on the current thread. The classloader used to load the submission is closed
+	 * before the submission is graded.
+	 *
+	 * @param submissionJar The submission jar to grade.
+	 * @return the result of grading submissionJar. Problems loading the submission are reported through the result's
+	 * error rather than thrown.
+	 */
+	public SubmissionResult gradeSubmission(@NonNull final Path submissionJar) {
+		return gradeSubmission(submissionJar, null, new TypeTable());
+	}
+
+	/**
+	 * Grades a single submission jar on the current thread, or copies the result of a structurally identical
+	 * submission from cohortResults.
+	 *
+	 * @param submissionJar The submission jar to grade.
+	 * @param cohortResults The results of the distinct submissions graded so far, or null to always grade.
+	 * @param typeTable     The TypeTable shared by the submissions of the batch.
+	 * @return the result of grading submissionJar.
+	 */
+	private SubmissionResult gradeSubmission(
+			@NonNull final Path submissionJar,
+			@Nullable final ConcurrentMap<Long, CompletableFuture<CohortResult>> cohortResults,
+			@NonNull final TypeTable typeTable
+	) {
+		final long startNanos = System.nanoTime();
+		final List<Noncompliance> noncompliances = new ArrayList<>();
+		Throwable error = null;
+		Path representative = null;
+
+		try {
+			// The submission's classloader is closed before grading starts, only the snapshot is graded.
+			final ClassMap classMap;
+			try (SubmissionClassLoaderPool.Lease lease = loaderPool.acquire(submissionJar)) {
+				classMap = ClassMap.snapshotOf(ClassMap.buildFromJar(lease.getClassLoader(), submissionJar, pkg));
+			}
+
+			final CompletableFuture<CohortResult> cohortResult = new CompletableFuture<>();
+			final CompletableFuture<CohortResult> existingCohortResult = cohortResults != null ?
+					cohortResults.putIfAbsent(classMap.getFingerprint(), cohortResult) :
+					null;
+
+			if (existingCohortResult == null) {
+				final Consumer<Noncompliance> sink = noncomplianceSink == null ?
+						noncompliances::add :
+						noncompliance -> {
+							noncompliances.add(noncompliance);
+							noncomplianceSink.accept(new SubmissionNoncompliance(submissionJar, noncompliance));
+						};
+				try {
+					classMapSuite.visit(
+							classMap,
+							GradingContext.builder()
+									.noncomplianceSink(sink)
+									.maxNoncompliances(maxNoncompliances)
+									.maxNoncompliancesPerClass(maxNoncompliancesPerClass)
+									.typeTable(typeTable)
+									.build()
+					);
+				} catch (RuntimeException | LinkageError e) {
+					error = e;
+				} finally {
+					// Always complete the result, so that the rest of the cohort never waits forever
+					cohortResult.complete(new CohortResult(submissionJar, new ArrayList<>(noncompliances), error));
+				}
+			} else {
+				final CohortResult graded = existingCohortResult.get();
+				noncompliances.addAll(graded.getNoncompliances());
+				error = graded.getError();
+				representative = graded.getRepresentative();
+				if (noncomplianceSink != null) {
+					for (final Noncompliance noncompliance : noncompliances) {
+						noncomplianceSink.accept(new SubmissionNoncompliance(submissionJar, noncompliance));
+					}
+				}
+			}
+
+			if (noncomplianceSink != null) {
+				noncomplianceSink.drain();
+			}
+		} catch (IOException | ClassNotFoundException | RuntimeException | LinkageError e) {
+			error = e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error = e;
+		} catch (ExecutionException e) {
+			// Cohort results are never completed exceptionally
+			throw new IllegalStateException(e.getCause());
+		}
+
+		return SubmissionResult.builder()
+				.submission(submissionJar)
+				.noncompliances(noncompliances)
+				.error(error)
+				.representative(representative)
+				.elapsedNanos(System.nanoTime() - startNanos)
+				.build();
+	}
+
+	/**
+	 * The result of visiting the first submission of a group of structurally identical submissions.
+	 */
+	@Value
+	private static class CohortResult {
+		/**
+		 * The submission that was visited.
+		 */
+		@NonNull
+		Path representative;
+
+		/**
+		 * The noncompliances generated while visiting representative.
+		 */
+		@NonNull
+		List<Noncompliance> noncompliances;
+
+		/**
+		 * The error thrown while visiting representative, or null if there wasn't one.
+		 */
+		@Nullable
+		Throwable error;
+	}
+}
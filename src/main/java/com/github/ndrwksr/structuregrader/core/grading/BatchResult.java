@@ -0,0 +1,36 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of grading a batch of submissions, along with the time it took to grade them.
+ */
+@Data
+@Builder
+public class BatchResult {
+	/**
+	 * The results for each submission, in the same order the submissions were provided.
+	 */
+	@NonNull
+	private final List<SubmissionResult> submissionResults;
+
+	/**
+	 * The wall-clock time spent grading the whole batch, in nanoseconds.
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 * @return the number of submissions graded per second of wall-clock time, or 0 if no time elapsed.
+	 */
+	public double getSubmissionsPerSecond() {
+		if (elapsedNanos <= 0) {
+			return 0;
+		}
+		return submissionResults.size() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+}
@@ -0,0 +1,271 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite.ClassMapSuiteFactory;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.Builder;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An on-disk cache of ClassMapSuites built from oracle jars. Suites are keyed by a hash of the oracle jar's contents,
+ * the package the suite was built from and the configuration of the factory that built it, so a cached suite is only
+ * reused when rebuilding it would produce the same suite. A cache directory can be shared by any number of runs and
+ * worker processes.
+ * <p>
+ * Factory graphs whose configuration can't be fully described, such as those containing lambdas or fields that can't
+ * be read, are never cached: their suites are rebuilt on every call, since two different configurations could
+ * otherwise share a key.
+ */
+@Builder
+public class ClassMapSuiteCache {
+	/**
+	 * Incremented whenever the serialized form of suites changes, so that suites cached by older versions are rebuilt.
+	 */
+	private static final int CACHE_VERSION = 3;
+
+	/**
+	 * The file extension of cached suites.
+	 */
+	private static final String CACHE_FILE_SUFFIX = ".suite.json";
+
+	/**
+	 * The directory cached suites are stored in. Created if it doesn't exist.
+	 */
+	@NonNull
+	private final Path cacheDir;
+
+	/**
+	 * The factory suites are built with on a cache miss.
+	 */
+	@NonNull
+	@Builder.Default
+	private final ClassMapSuiteFactory classMapSuiteFactory = ClassMapSuiteFactory.getDefaultInst();
+
+	/**
+	 * The parent of the classloaders oracle jars are loaded with on a cache miss.
+	 */
+	@NonNull
+	@Builder.Default
+	private final ClassLoader parentClassLoader = ClassLoader.getPlatformClassLoader();
+
+	/**
+	 * Returns the suite for an oracle jar, loading it from the cache if it has already been built and building and
+	 * caching it otherwise. Cached suites which can't be read are rebuilt. If the configuration of the factory can't be
+	 * described the suite is always built, and the cache is neither read nor written.
+	 *
+	 * @param oracleJar             The oracle jar to build the suite from.
+	 * @param pkg                   The package of the oracle jar to build the suite from.
+	 * @param noncomplianceConsumer The noncompliance consumer for the suite.
+	 * @return the suite for oracleJar.
+	 * @throws IOException            If oracleJar can't be read or the suite can't be written to the cache.
+	 * @throws ClassNotFoundException If a class in oracleJar can't be loaded on a cache miss.
+	 */
+	public ClassMapSuite getOrBuild(
+			@NonNull final Path oracleJar,
+			@NonNull final String pkg,
+			@NonNull final Consumer<Noncompliance> noncomplianceConsumer
+	) throws IOException, ClassNotFoundException {
+		final Path cacheFile = getCacheFile(oracleJar, pkg);
+
+		if (cacheFile != null && Files.isRegularFile(cacheFile)) {
+			try {
+				return ClassMapSuite.JsonHelper.fromJson(cacheFile, noncomplianceConsumer);
+			} catch (JsonProcessingException e) {
+				// The cached suite is corrupt or from an incompatible version, so fall through and replace it
+			}
+		}
+
+		final ClassMap oracleClassMap = ClassMap.buildSnapshotFromJar(parentClassLoader, oracleJar, pkg);
+		final ClassMapSuite classMapSuite = classMapSuiteFactory.buildFromCollection(
+				oracleClassMap,
+				pkg,
+				noncomplianceConsumer
+		);
+		if (cacheFile != null) {
+			write(cacheFile, classMapSuite);
+		}
+		return classMapSuite;
+	}
+
+	/**
+	 * @param oracleJar The oracle jar the suite is built from.
+	 * @param pkg       The package of the oracle jar the suite is built from.
+	 * @return the file the suite for oracleJar and pkg is cached in, whether or not it exists yet, or null if the
+	 * configuration of the factory can't be described, in which case the suite is never cached.
+	 * @throws IOException If oracleJar can't be read.
+	 */
+	@Nullable
+	public Path getCacheFile(
+			@NonNull final Path oracleJar,
+			@NonNull final String pkg
+	) throws IOException {
+		final String configuration = describeConfiguration(classMapSuiteFactory);
+		if (configuration == null) {
+			return null;
+		}
+
+		final Hasher hasher = Hashing.sha256().newHasher()
+				.putInt(CACHE_VERSION);
+
+		try (InputStream inputStream = Files.newInputStream(oracleJar)) {
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				hasher.putBytes(buffer, 0, read);
+			}
+		}
+
+		final String key = hasher
+				.putString(pkg, StandardCharsets.UTF_8)
+				.putString(configuration, StandardCharsets.UTF_8)
+				.hash()
+				.toString();
+		return cacheDir.resolve(key + CACHE_FILE_SUFFIX);
+	}
+
+	/**
+	 * Writes a cached suite so that readers never see a partially written file, even if several processes build the
+	 * same suite at once.
+	 */
+	private void write(
+			@NonNull final Path cacheFile,
+			@NonNull final ClassMapSuite classMapSuite
+	) throws IOException {
+		Files.createDirectories(cacheDir);
+		final Path tempFile = Files.createTempFile(cacheDir, cacheFile.getFileName().toString(), ".tmp");
+		try {
+			ClassMapSuite.JsonHelper.toJson(classMapSuite, tempFile);
+			Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * Describes the configuration of a factory graph as a string, so that two graphs with the same configuration have
+	 * the same description. Objects are described by their class and fields, recursively. Factories can refer back to
+	 * one another (such as ClassSuiteFactory and ClassMapSuiteFactory), so objects that were already described are
+	 * referred to by the order in which they were first seen.
+	 * <p>
+	 * Lambdas and other synthetic classes can't be described, since neither their names nor their captured state
+	 * identify them across runs, and neither can fields that can't be read. Graphs containing any of these have no
+	 * description.
+	 *
+	 * @param factory The root of the factory graph.
+	 * @return a description of the configuration of the factory graph, or null if it can't be described.
+	 */
+	@Nullable
+	static String describeConfiguration(@NonNull final Object factory) {
+		final StringBuilder description = new StringBuilder();
+		return describe(factory, description, new IdentityHashMap<>()) ? description.toString() : null;
+	}
+
+	/**
+	 * @return true if value was described, false if it (or anything it refers to) can't be described.
+	 */
+	private static boolean describe(
+			final Object value,
+			@NonNull final StringBuilder description,
+			@NonNull final Map<Object, Integer> seen
+	) {
+		if (value == null) {
+			description.append("null");
+			return true;
+		}
+
+		final Class<?> valueClass = value.getClass();
+		if (value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum) {
+			description.append(valueClass.getName()).append(':').append(value);
+			return true;
+		}
+		if (valueClass.isSynthetic() || valueClass.getName().contains("$$Lambda")) {
+			// Two lambdas from the same class are indistinguishable by name, and their captured state isn't readable
+			return false;
+		}
+
+		final Integer seenIndex = seen.get(value);
+		if (seenIndex != null) {
+			description.append("#").append(seenIndex);
+			return true;
+		}
+		seen.put(value, seen.size());
+
+		if (value instanceof Collection) {
+			description.append('[');
+			for (final Object element : (Collection<?>) value) {
+				if (!describe(element, description, seen)) {
+					return false;
+				}
+				description.append(',');
+			}
+			description.append(']');
+		} else if (value instanceof Map) {
+			description.append('{');
+			for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!describe(entry.getKey(), description, seen)) {
+					return false;
+				}
+				description.append('=');
+				if (!describe(entry.getValue(), description, seen)) {
+					return false;
+				}
+				description.append(',');
+			}
+			description.append('}');
+		} else {
+			description.append(valueClass.getName()).append('(');
+			for (final Field field : getInstanceFields(valueClass)) {
+				description.append(field.getName()).append('=');
+				final Object fieldValue;
+				try {
+					field.setAccessible(true);
+					fieldValue = field.get(value);
+				} catch (RuntimeException | IllegalAccessException e) {
+					// Fields of JDK classes can't always be accessed, and their string forms aren't stable across runs
+					return false;
+				}
+				if (!describe(fieldValue, description, seen)) {
+					return false;
+				}
+				description.append(',');
+			}
+			description.append(')');
+		}
+		return true;
+	}
+
+	private static List<Field> getInstanceFields(@NonNull final Class<?> clazz) {
+		final List<Field> fields = new ArrayList<>();
+		for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+			Arrays.stream(current.getDeclaredFields())
+					.filter(field -> !Modifier.isStatic(field.getModifiers()))
+					.filter(field -> !field.isSynthetic())
+					.sorted(Comparator.comparing(Field::getName))
+					.forEach(fields::add);
+		}
+		return fields;
+	}
+}
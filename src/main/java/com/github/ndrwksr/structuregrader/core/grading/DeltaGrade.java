@@ -0,0 +1,67 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * The outcome of grading one submission with a DeltaGrader, kept per class so that a later resubmission only has to
+ * regrade the classes which changed.
+ */
+@Value
+@Builder
+public class DeltaGrade {
+	/**
+	 * The suite the submission was graded against. A grade is only reused by a DeltaGrader with the same suite.
+	 */
+	@NonNull
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	ClassMapSuite classMapSuite;
+
+	/**
+	 * The structural fingerprints of the submission's top-level classes, by name.
+	 */
+	@NonNull
+	ImmutableMap<String, Long> classFingerprints;
+
+	/**
+	 * The noncompliances generated by each of the submission's top-level classes and their members, by class name.
+	 */
+	@NonNull
+	ImmutableMap<String, ImmutableList<Noncompliance>> classNoncompliances;
+
+	/**
+	 * The noncompliances generated by the specifications for the package as a whole, such as missing or extra classes.
+	 */
+	@NonNull
+	ImmutableList<Noncompliance> packageNoncompliances;
+
+	/**
+	 * The number of classes which were visited for this grade, rather than reused from the previous one.
+	 */
+	int regradedClassCount;
+
+	/**
+	 * @return every noncompliance of the submission, those of the package first and then those of each class.
+	 */
+	public ImmutableList<Noncompliance> getNoncompliances() {
+		final ImmutableList.Builder<Noncompliance> noncompliances = ImmutableList.builder();
+		noncompliances.addAll(packageNoncompliances);
+		classNoncompliances.values().forEach(noncompliances::addAll);
+		return noncompliances.build();
+	}
+
+	/**
+	 * @return true if no noncompliances were generated.
+	 */
+	public boolean isCompliant() {
+		return packageNoncompliances.isEmpty() && classNoncompliances.values().stream().allMatch(ImmutableList::isEmpty);
+	}
+}
@@ -0,0 +1,128 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.Builder;
+import lombok.NonNull;
+
+import javax.annotation.CheckForNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Grades resubmissions against a student's previous submission. The noncompliances of each top-level class are kept
+ * alongside the class's structural fingerprint (see StructuralFingerprints), and on a resubmission only the ClassSuites
+ * of classes whose fingerprint changed are visited. The results of the rest are reused, so the time taken to regrade
+ * depends on the size of the change rather than the size of the assignment. The specifications for the package as a
+ * whole are cheap, and are always visited.
+ * <p>
+ * Like the suite, a DeltaGrader can be used by several threads at once, though each submitter's submissions should be
+ * graded one at a time.
+ */
+@Builder
+public class DeltaGrader {
+	/**
+	 * The suite every submission is graded against.
+	 */
+	@NonNull
+	private final ClassMapSuite classMapSuite;
+
+	/**
+	 * The latest grade of each submitter, by the key they were graded with.
+	 */
+	@NonNull
+	@Builder.Default
+	private final ConcurrentMap<String, DeltaGrade> latestGrades = new ConcurrentHashMap<>();
+
+	/**
+	 * Grades a submission against the submitter's previous one, and keeps the grade for their next.
+	 *
+	 * @param submitter The key identifying the submitter, such as their student ID.
+	 * @param classMap  The submission's classes, usually a snapshot.
+	 * @return the grade of the submission.
+	 */
+	public DeltaGrade grade(@NonNull final String submitter, @NonNull final ClassMap classMap) {
+		final DeltaGrade grade = grade(classMap, latestGrades.get(submitter));
+		latestGrades.put(submitter, grade);
+		return grade;
+	}
+
+	/**
+	 * @param submitter The key identifying the submitter.
+	 * @return the grade of the submitter's latest submission, or null if they haven't submitted.
+	 */
+	@CheckForNull
+	public DeltaGrade getLatestGrade(@NonNull final String submitter) {
+		return latestGrades.get(submitter);
+	}
+
+	/**
+	 * Forgets the submitter's latest grade, so their next submission is graded in full.
+	 *
+	 * @param submitter The key identifying the submitter.
+	 */
+	public void forget(@NonNull final String submitter) {
+		latestGrades.remove(submitter);
+	}
+
+	/**
+	 * Grades a submission, reusing the results of the classes which haven't changed since the previous grade.
+	 *
+	 * @param classMap The submission's classes, usually a snapshot.
+	 * @param previous The grade of the previous submission, or null to grade every class. Ignored if it was graded
+	 *                 against a different suite.
+	 * @return the grade of the submission.
+	 */
+	public DeltaGrade grade(@NonNull final ClassMap classMap, @CheckForNull final DeltaGrade previous) {
+		final DeltaGrade reusable = previous != null && previous.getClassMapSuite() == classMapSuite ? previous : null;
+
+		final List<Noncompliance> packageNoncompliances = new ArrayList<>();
+		final GradingContext packageContext = GradingContext.builder()
+				.noncomplianceSink(packageNoncompliances::add)
+				.build();
+		for (final MapVisitor<ClassWrapper> spec : classMapSuite.getCollectionSpecs()) {
+			spec.visit(classMap, packageContext);
+		}
+
+		final ImmutableMap.Builder<String, Long> classFingerprints = ImmutableMap.builder();
+		final ImmutableMap.Builder<String, ImmutableList<Noncompliance>> classNoncompliances = ImmutableMap.builder();
+		int regradedClassCount = 0;
+		for (final Map.Entry<String, ClassWrapper> entry : classMap.getItems().entrySet()) {
+			final String name = entry.getKey();
+			final ClassSuite classSuite = classMapSuite.getItemSuites().get(name);
+			if (classSuite == null) {
+				continue;
+			}
+
+			final long fingerprint = entry.getValue().getFingerprint();
+			classFingerprints.put(name, fingerprint);
+			final Long previousFingerprint = reusable != null ? reusable.getClassFingerprints().get(name) : null;
+			if (previousFingerprint != null && previousFingerprint == fingerprint) {
+				classNoncompliances.put(name, reusable.getClassNoncompliances().get(name));
+			} else {
+				final List<Noncompliance> noncompliances = new ArrayList<>();
+				classSuite.visit(entry.getValue(), GradingContext.builder().noncomplianceSink(noncompliances::add).build());
+				classNoncompliances.put(name, ImmutableList.copyOf(noncompliances));
+				regradedClassCount++;
+			}
+		}
+
+		return DeltaGrade.builder()
+				.classMapSuite(classMapSuite)
+				.classFingerprints(classFingerprints.build())
+				.classNoncompliances(classNoncompliances.build())
+				.packageNoncompliances(ImmutableList.copyOf(packageNoncompliances))
+				.regradedClassCount(regradedClassCount)
+				.build();
+	}
+}
@@ -0,0 +1,287 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.NoncomplianceSink;
+import com.github.ndrwksr.structuregrader.core.visitor.Spec;
+import com.github.ndrwksr.structuregrader.core.visitor.SpecIndex;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores a submission as it is graded, by deducting the weight of each noncompliance from a maximum score. Only the
+ * running deductions are kept, so grading a submission with many noncompliances doesn't keep any of them unless asked
+ * to.
+ * <p>
+ * The weight of a noncompliance is the weight of the type of the reporting specification (see Spec.specTypeName())
+ * multiplied by the weight of its path (see SpecIndex), both of which are 1 unless given. A path weight applies to
+ * everything under the path, and the weight of the longest matching path is used, so "Card" can be given one weight
+ * and "Card/methods/toString" another. The weights of every specification are worked out when the sink is made, so
+ * scoring a noncompliance is a couple of array lookups.
+ * <p>
+ * Noncompliances are deducted from the innermost class their specification is under, which is named by the path of
+ * that class (ex. "Card" or "Card/classes/Suit"), and the deduction of each class can be capped. A nested class is
+ * capped on its own, not as part of the class declaring it. Noncompliances from specifications which aren't under a
+ * class, such as missing top level classes, and from specifications which aren't in the index are deducted without a
+ * cap, the latter with a weight of 1.
+ * <p>
+ * A sink scores a single run at a time and isn't thread-safe. It can be reused for the next run once reset.
+ */
+public class ScoringSink implements NoncomplianceSink {
+	/**
+	 * The score of a submission without any noncompliances.
+	 */
+	@Getter
+	private final double maxScore;
+
+	/**
+	 * The weight of the noncompliances of each specification, by spec id.
+	 */
+	@NonNull
+	private final double[] weights;
+
+	/**
+	 * The class slot of each specification, by spec id, or -1 if it isn't under a class.
+	 */
+	@NonNull
+	private final int[] classSlots;
+
+	/**
+	 * The path of each class, by class slot.
+	 */
+	@NonNull
+	private final ImmutableList<String> classPaths;
+
+	/**
+	 * The most which is deducted for each class, by class slot.
+	 */
+	@NonNull
+	private final double[] classCaps;
+
+	/**
+	 * The noncompliances of the current run, or null if they aren't kept.
+	 */
+	@Nullable
+	private final List<Noncompliance> noncompliances;
+
+	/**
+	 * The uncapped deduction of each class in the current run, by class slot.
+	 */
+	@NonNull
+	private final double[] classDeductions;
+
+	/**
+	 * The deduction of the current run for noncompliances which aren't under a class.
+	 */
+	private double unattributedDeduction;
+
+	/**
+	 * The number of noncompliances in the current run.
+	 */
+	@Getter
+	private long noncomplianceCount;
+
+	/**
+	 * @param specIndex            The index of the suite being scored, which the runs scored must report with.
+	 * @param specTypeWeights      The weight of each type of specification, by specTypeName(). 1 if not given.
+	 * @param pathWeights          The weight of everything under each path. 1 if not given.
+	 * @param maxScore             The score of a submission without any noncompliances, 100 if null.
+	 * @param maxDeductionPerClass The most deducted for any class, or null for no limit.
+	 * @param classDeductionCaps   The most deducted for particular classes, by path, overriding maxDeductionPerClass.
+	 * @param keepNoncompliances   Whether to materialize and keep the noncompliances of each run.
+	 */
+	@Builder
+	private ScoringSink(
+			@NonNull final SpecIndex specIndex,
+			@Singular final Map<String, Double> specTypeWeights,
+			@Singular final Map<String, Double> pathWeights,
+			@Nullable final Double maxScore,
+			@Nullable final Double maxDeductionPerClass,
+			@Singular final Map<String, Double> classDeductionCaps,
+			final boolean keepNoncompliances
+	) {
+		this.maxScore = maxScore != null ? maxScore : 100;
+		this.weights = new double[specIndex.size()];
+		this.classSlots = new int[specIndex.size()];
+
+		final Map<String, Integer> slotsByClassPath = new HashMap<>();
+		final ImmutableList.Builder<String> classPaths = ImmutableList.builder();
+		for (int id = 0; id < specIndex.size(); id++) {
+			final Spec spec = specIndex.getSpec(id);
+			final String path = specIndex.getPath(id);
+			weights[id] = specTypeWeights.getOrDefault(spec.specTypeName(), 1.0) * pathWeight(pathWeights, path);
+
+			final String classPath = classPath(path);
+			if (classPath == null) {
+				classSlots[id] = -1;
+			} else {
+				classSlots[id] = slotsByClassPath.computeIfAbsent(classPath, newPath -> {
+					classPaths.add(newPath);
+					return slotsByClassPath.size();
+				});
+			}
+		}
+		this.classPaths = classPaths.build();
+
+		this.classCaps = new double[this.classPaths.size()];
+		for (int slot = 0; slot < classCaps.length; slot++) {
+			final Double cap = classDeductionCaps.getOrDefault(this.classPaths.get(slot), maxDeductionPerClass);
+			classCaps[slot] = cap != null ? cap : Double.POSITIVE_INFINITY;
+		}
+
+		this.classDeductions = new double[classCaps.length];
+		this.noncompliances = keepNoncompliances ? new ArrayList<>() : null;
+	}
+
+	/**
+	 * @return the weight of the longest path in pathWeights which path is under, or 1 if there isn't one.
+	 */
+	private static double pathWeight(@NonNull final Map<String, Double> pathWeights, @NonNull final String path) {
+		String prefix = path;
+		while (true) {
+			final Double weight = pathWeights.get(prefix);
+			if (weight != null) {
+				return weight;
+			}
+			if (prefix.isEmpty()) {
+				return 1;
+			}
+			final int separator = prefix.lastIndexOf(SpecIndex.PATH_SEPARATOR);
+			prefix = separator < 0 ? "" : prefix.substring(0, separator);
+		}
+	}
+
+	/**
+	 * @return the path of the innermost class a specification with the given path is under, or null if it isn't under
+	 * one.
+	 */
+	@Nullable
+	private static String classPath(@NonNull final String path) {
+		if (path.isEmpty()) {
+			return null;
+		}
+		// Paths alternate between keys and the kinds of the keys after the first, which is always a class
+		final String[] segments = path.split(String.valueOf(SpecIndex.PATH_SEPARATOR));
+		int classPathLength = segments[0].length();
+		int length = classPathLength;
+		for (int kind = 1; kind + 1 < segments.length; kind += 2) {
+			length += segments[kind].length() + segments[kind + 1].length() + 2;
+			if (segments[kind].equals(ClassMapSuite.ClassMapSuiteFactory.ITEM_TYPE_PLURAL)) {
+				classPathLength = length;
+			}
+		}
+		return path.substring(0, classPathLength);
+	}
+
+	@Override
+	public void accept(
+			final int specId,
+			@NonNull final NoncomplianceKind kind,
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			@Nullable final Object expected,
+			@Nullable final Object actual
+	) {
+		deduct(specId);
+		if (noncompliances != null) {
+			noncompliances.add(kind.materialize(parentName, subject, expected, actual));
+		}
+	}
+
+	@Override
+	public void accept(
+			final int specId,
+			@NonNull final NoncomplianceKind kind,
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			final int expected,
+			final int actual
+	) {
+		deduct(specId);
+		if (noncompliances != null) {
+			noncompliances.add(kind.materialize(parentName, subject, expected, actual));
+		}
+	}
+
+	/**
+	 * Counts a noncompliance and deducts the weight of the specification with the given id.
+	 */
+	private void deduct(final int specId) {
+		noncomplianceCount++;
+		if (specId == SpecIndex.UNKNOWN_ID) {
+			unattributedDeduction += 1;
+		} else if (classSlots[specId] < 0) {
+			unattributedDeduction += weights[specId];
+		} else {
+			classDeductions[classSlots[specId]] += weights[specId];
+		}
+	}
+
+	/**
+	 * @return the total deducted in the current run, with the deduction of each class capped.
+	 */
+	public double getDeduction() {
+		double deduction = unattributedDeduction;
+		for (int slot = 0; slot < classDeductions.length; slot++) {
+			deduction += Math.min(classDeductions[slot], classCaps[slot]);
+		}
+		return deduction;
+	}
+
+	/**
+	 * @return the score of the current run, which is never less than 0.
+	 */
+	public double getScore() {
+		return Math.max(0, maxScore - getDeduction());
+	}
+
+	/**
+	 * @return the capped deduction of each class in the current run which has had something deducted, by path.
+	 */
+	@NonNull
+	public ImmutableMap<String, Double> getClassDeductions() {
+		final ImmutableMap.Builder<String, Double> deductions = ImmutableMap.builder();
+		for (int slot = 0; slot < classDeductions.length; slot++) {
+			if (classDeductions[slot] > 0) {
+				deductions.put(classPaths.get(slot), Math.min(classDeductions[slot], classCaps[slot]));
+			}
+		}
+		return deductions.build();
+	}
+
+	/**
+	 * @return the noncompliances of the current run.
+	 * @throws IllegalStateException If this sink wasn't made to keep noncompliances.
+	 */
+	@NonNull
+	public List<Noncompliance> getNoncompliances() {
+		if (noncompliances == null) {
+			throw new IllegalStateException("This ScoringSink doesn't keep noncompliances");
+		}
+		return noncompliances;
+	}
+
+	/**
+	 * Clears the deductions and noncompliances of the current run, so the next run can be scored.
+	 */
+	public void reset() {
+		Arrays.fill(classDeductions, 0);
+		unattributedDeduction = 0;
+		noncomplianceCount = 0;
+		if (noncompliances != null) {
+			noncompliances.clear();
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * A noncompliance of a single submission, as handed to BatchGrader's noncomplianceSink.
+ */
+@Value
+public class SubmissionNoncompliance {
+	/**
+	 * The submission the noncompliance was found in.
+	 */
+	@NonNull
+	Path submission;
+
+	/**
+	 * The noncompliance.
+	 */
+	@NonNull
+	Noncompliance noncompliance;
+}
@@ -0,0 +1,55 @@
+package com.github.ndrwksr.structuregrader.core.grading;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The outcome of grading a single submission.
+ */
+@Data
+@Builder
+public class SubmissionResult {
+	/**
+	 * The submission that was graded.
+	 */
+	@NonNull
+	private final Path submission;
+
+	/**
+	 * The noncompliances generated while visiting the submission, in the order they were generated.
+	 */
+	@NonNull
+	private final List<Noncompliance> noncompliances;
+
+	/**
+	 * The error that prevented the submission from being graded, or null if it was graded successfully. If an error is
+	 * present, noncompliances holds whatever was generated before the error occurred.
+	 */
+	@Nullable
+	private final Throwable error;
+
+	/**
+	 * The structurally identical submission whose result was copied to this one, or null if this submission was
+	 * visited itself. See BatchGrader.
+	 */
+	@Nullable
+	private final Path representative;
+
+	/**
+	 * The wall-clock time spent grading the submission, in nanoseconds.
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 * @return true if the submission was graded successfully and no noncompliances were generated.
+	 */
+	public boolean isCompliant() {
+		return error == null && noncompliances.isEmpty();
+	}
+}
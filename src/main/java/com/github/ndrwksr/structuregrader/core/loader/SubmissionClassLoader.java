@@ -0,0 +1,123 @@
+package com.github.ndrwksr.structuregrader.core.loader;
+
+import com.google.common.collect.ImmutableSet;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * A classloader for a single submission jar. Classes are loaded child-first, so a submission's classes are always
+ * its own even if a class with the same name is visible to the grader, except for classes in parentFirstPrefixes
+ * (the JDK and the grader itself), which always come from the parent. Must be closed once the submission's classes are
+ * no longer needed, which releases the jar.
+ */
+public class SubmissionClassLoader extends URLClassLoader {
+	static {
+		registerAsParallelCapable();
+	}
+
+	/**
+	 * Prefixes of class names which are always loaded by the parent, so that submissions can't replace the JDK or the
+	 * grader.
+	 */
+	public static final Set<String> DEFAULT_PARENT_FIRST_PREFIXES = ImmutableSet.of(
+			"java.",
+			"javax.",
+			"jdk.",
+			"sun.",
+			"com.sun.",
+			"org.w3c.",
+			"org.xml.",
+			"com.github.ndrwksr.structuregrader."
+	);
+
+	/**
+	 * The submission jar this classloader loads from.
+	 */
+	@Getter
+	private final Path jar;
+
+	/**
+	 * Prefixes of class names which are loaded by the parent before looking in the jar.
+	 */
+	private final Set<String> parentFirstPrefixes;
+
+	/**
+	 * @param jar                 The submission jar to load from.
+	 * @param parent              The classloader to delegate to for classes the jar doesn't contain, and for classes
+	 *                            matching parentFirstPrefixes.
+	 * @param parentFirstPrefixes Prefixes of class names which are loaded by the parent before looking in the jar.
+	 * @throws IOException If the path of jar can't be converted to a URL.
+	 */
+	public SubmissionClassLoader(
+			@NonNull final Path jar,
+			@NonNull final ClassLoader parent,
+			@NonNull final Set<String> parentFirstPrefixes
+	) throws IOException {
+		super("submission:" + jar.getFileName(), new URL[]{jar.toUri().toURL()}, parent);
+		this.jar = jar;
+		this.parentFirstPrefixes = ImmutableSet.copyOf(parentFirstPrefixes);
+	}
+
+	/**
+	 * @param jar    The submission jar to load from.
+	 * @param parent The classloader to delegate to for classes the jar doesn't contain, and for classes matching
+	 *               DEFAULT_PARENT_FIRST_PREFIXES.
+	 * @throws IOException If the path of jar can't be converted to a URL.
+	 */
+	public SubmissionClassLoader(
+			@NonNull final Path jar,
+			@NonNull final ClassLoader parent
+	) throws IOException {
+		this(jar, parent, DEFAULT_PARENT_FIRST_PREFIXES);
+	}
+
+	@Override
+	protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+		if (isParentFirst(name)) {
+			return super.loadClass(name, resolve);
+		}
+
+		synchronized (getClassLoadingLock(name)) {
+			Class<?> loadedClass = findLoadedClass(name);
+			if (loadedClass == null) {
+				try {
+					loadedClass = findClass(name);
+				} catch (ClassNotFoundException e) {
+					// Not in the submission, so fall back to the parent
+					loadedClass = getParent().loadClass(name);
+				}
+			}
+			if (resolve) {
+				resolveClass(loadedClass);
+			}
+			return loadedClass;
+		}
+	}
+
+	@Override
+	public URL getResource(final String name) {
+		final String className = name.replace('/', '.');
+		if (!isParentFirst(className)) {
+			final URL resource = findResource(name);
+			if (resource != null) {
+				return resource;
+			}
+		}
+		return super.getResource(name);
+	}
+
+	private boolean isParentFirst(@NonNull final String className) {
+		for (final String prefix : parentFirstPrefixes) {
+			if (className.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
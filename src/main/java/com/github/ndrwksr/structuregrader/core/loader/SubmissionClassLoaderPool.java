@@ -0,0 +1,197 @@
+package com.github.ndrwksr.structuregrader.core.loader;
+
+import lombok.Builder;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages the lifecycle of SubmissionClassLoaders. At most maxLiveLoaders loaders may be leased at once, so the number
+ * of open jars and loaded submissions (and with them, metaspace) stays bounded no matter how many submissions are
+ * graded. Every loader is closed when its lease is closed, after which the pool tracks it until it has been garbage
+ * collected, so callers can verify that nothing is still holding on to a submission's classes.
+ * <p>
+ * Loaders themselves are never reused: a loader's classes can't be unloaded, so a loader is only good for one jar.
+ */
+public class SubmissionClassLoaderPool {
+	/**
+	 * How long to wait for a closed loader to be collected between requests for garbage collection.
+	 */
+	private static final long COLLECTION_POLL_MILLIS = 50;
+
+	/**
+	 * The maximum number of loaders that may be leased at once.
+	 */
+	private final int maxLiveLoaders;
+
+	/**
+	 * The parent of every loader.
+	 */
+	private final ClassLoader parentClassLoader;
+
+	/**
+	 * Prefixes of class names every loader loads parent-first, see SubmissionClassLoader.
+	 */
+	private final Set<String> parentFirstPrefixes;
+
+	/**
+	 * One permit per loader that may be leased.
+	 */
+	private final Semaphore permits;
+
+	/**
+	 * Receives the references in unreclaimedLoaders once their loaders are collected.
+	 */
+	private final ReferenceQueue<SubmissionClassLoader> collectedLoaders = new ReferenceQueue<>();
+
+	/**
+	 * References to loaders which have been closed but not yet collected.
+	 */
+	private final Set<Reference<? extends SubmissionClassLoader>> unreclaimedLoaders = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param maxLiveLoaders      The maximum number of loaders that may be leased at once. If null, the number of
+	 *                            available processors is used.
+	 * @param parentClassLoader   The parent of every loader. If null, the platform classloader is used so that classes
+	 *                            on the grader's classpath aren't visible to submissions.
+	 * @param parentFirstPrefixes Prefixes of class names every loader loads parent-first. If null,
+	 *                            SubmissionClassLoader.DEFAULT_PARENT_FIRST_PREFIXES is used.
+	 */
+	@Builder
+	public SubmissionClassLoaderPool(
+			@Nullable final Integer maxLiveLoaders,
+			@Nullable final ClassLoader parentClassLoader,
+			@Nullable final Set<String> parentFirstPrefixes
+	) {
+		this.maxLiveLoaders = maxLiveLoaders != null ? maxLiveLoaders : Runtime.getRuntime().availableProcessors();
+		this.parentClassLoader = parentClassLoader != null ? parentClassLoader : ClassLoader.getPlatformClassLoader();
+		this.parentFirstPrefixes = parentFirstPrefixes != null ?
+				parentFirstPrefixes :
+				SubmissionClassLoader.DEFAULT_PARENT_FIRST_PREFIXES;
+		this.permits = new Semaphore(this.maxLiveLoaders, true);
+	}
+
+	/**
+	 * Leases a new loader for a submission jar, waiting until a lease is available if maxLiveLoaders loaders are
+	 * already leased.
+	 *
+	 * @param jar The submission jar to load.
+	 * @return a lease on a new loader for jar. Must be closed once the submission's classes are no longer needed.
+	 * @throws InterruptedException If the current thread is interrupted while waiting for a lease.
+	 * @throws IOException          If the loader can't be created.
+	 */
+	public Lease acquire(@NonNull final Path jar) throws InterruptedException, IOException {
+		permits.acquire();
+		try {
+			return new Lease(new SubmissionClassLoader(jar, parentClassLoader, parentFirstPrefixes));
+		} catch (IOException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the number of loaders currently leased.
+	 */
+	public int getLiveLoaderCount() {
+		return maxLiveLoaders - permits.availablePermits();
+	}
+
+	/**
+	 * @return the number of loaders which have been closed but not yet garbage collected.
+	 */
+	public int getUnreclaimedLoaderCount() {
+		expungeCollectedLoaders();
+		return unreclaimedLoaders.size();
+	}
+
+	/**
+	 * Waits for every closed loader to be garbage collected, requesting collection while waiting. A loader which is
+	 * never collected is still reachable from somewhere, usually a wrapper that wasn't snapshotted or a thread that
+	 * was started by the submission.
+	 *
+	 * @param timeout The maximum time to wait.
+	 * @param unit    The unit of timeout.
+	 * @return true if every closed loader was collected, false if some were still reachable when timeout elapsed.
+	 * @throws InterruptedException If the current thread is interrupted while waiting.
+	 */
+	public boolean awaitUnreachable(final long timeout, @NonNull final TimeUnit unit) throws InterruptedException {
+		final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+		while (getUnreclaimedLoaderCount() > 0) {
+			if (System.nanoTime() >= deadlineNanos) {
+				return false;
+			}
+			System.gc();
+			final Reference<? extends SubmissionClassLoader> collected = collectedLoaders.remove(COLLECTION_POLL_MILLIS);
+			if (collected != null) {
+				unreclaimedLoaders.remove(collected);
+			}
+		}
+		return true;
+	}
+
+	private void expungeCollectedLoaders() {
+		Reference<? extends SubmissionClassLoader> collected;
+		while ((collected = collectedLoaders.poll()) != null) {
+			unreclaimedLoaders.remove(collected);
+		}
+	}
+
+	/**
+	 * A lease on a single SubmissionClassLoader. Closing the lease closes the loader, drops the lease's reference to it
+	 * and returns the lease's permit to the pool.
+	 */
+	public class Lease implements AutoCloseable {
+		/**
+		 * The leased loader, or null once the lease is closed.
+		 */
+		private volatile SubmissionClassLoader classLoader;
+
+		/**
+		 * Whether or not the lease has been closed.
+		 */
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private Lease(@NonNull final SubmissionClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+
+		/**
+		 * @return the leased loader.
+		 * @throws IllegalStateException If the lease has been closed.
+		 */
+		public SubmissionClassLoader getClassLoader() {
+			final SubmissionClassLoader leasedLoader = classLoader;
+			if (leasedLoader == null) {
+				throw new IllegalStateException("Lease has already been closed");
+			}
+			return leasedLoader;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed.compareAndSet(false, true)) {
+				return;
+			}
+
+			final SubmissionClassLoader leasedLoader = classLoader;
+			classLoader = null;
+			try {
+				leasedLoader.close();
+			} finally {
+				unreclaimedLoaders.add(new WeakReference<>(leasedLoader, collectedLoaders));
+				permits.release();
+			}
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.github.ndrwksr.structuregrader.core.property;
 
 import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationIndex;
 import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationWrapper;
 import lombok.NonNull;
 
@@ -30,6 +31,14 @@ public interface Annotated extends Named {
 	@Nullable
 	<A extends Annotation> A getAnnotation(final Class<A> annotationClass);
 
+	/**
+	 * @return the annotations on the source element, indexed by name. The wrappers resolve it once and share it.
+	 */
+	@NonNull
+	default AnnotationIndex getAnnotationIndex() {
+		return AnnotationIndex.of(getAnnotationWrappers().getItems().values());
+	}
+
 	@NonNull
 	default NamedMap<AnnotationWrapper> getAnnotationWrappers() {
 		return NamedMap.<AnnotationWrapper>builder()
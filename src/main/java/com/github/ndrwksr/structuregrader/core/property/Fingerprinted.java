@@ -0,0 +1,13 @@
+package com.github.ndrwksr.structuregrader.core.property;
+
+/**
+ * Interface for wrappers to provide a structural fingerprint of their source elements. Two elements with the same
+ * fingerprint have the same name, modifiers, types, annotations and members, so a specification made from one of them
+ * can't find anything wrong with the other. See StructuralFingerprints.
+ */
+public interface Fingerprinted {
+	/**
+	 * @return the structural fingerprint of the source element.
+	 */
+	long getFingerprint();
+}
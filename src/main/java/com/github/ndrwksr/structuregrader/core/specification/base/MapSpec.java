@@ -2,9 +2,14 @@ package com.github.ndrwksr.structuregrader.core.specification.base;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NameIndex;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
+import com.google.common.collect.ImmutableSet;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 import java.util.Set;
@@ -35,7 +40,28 @@ public abstract class MapSpec<ITEM, EXPECTED> implements MapVisitor<ITEM> {
 	protected final String parentName;
 
 	/**
-	 * The set of expected values for the collection.
+	 * The set of expected values for the collection, copied into an ImmutableSet as it is set.
 	 */
 	protected final Set<EXPECTED> expectedItemNames;
+
+	/**
+	 * The index of expectedItemNames, made the first time the spec is visited. Since expectedItemNames is immutable, the
+	 * index can't go out of date.
+	 */
+	@JsonIgnore
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final NameIndex<EXPECTED> nameIndex = NameIndex.of(expectedItemNames);
+
+	/**
+	 * Copies expectedItemNames as they are set, so that the names a spec was indexed with can't be changed.
+	 */
+	public static abstract class MapSpecBuilder<ITEM, EXPECTED, C extends MapSpec<ITEM, EXPECTED>,
+			B extends MapSpecBuilder<ITEM, EXPECTED, C, B>> {
+		public B expectedItemNames(@NonNull final Set<EXPECTED> expectedItemNames) {
+			this.expectedItemNames = ImmutableSet.copyOf(expectedItemNames);
+			return self();
+		}
+	}
 }
@@ -4,11 +4,13 @@ import com.github.ndrwksr.structuregrader.core.*;
 import com.github.ndrwksr.structuregrader.core.property.Named;
 import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraMapSpec;
 import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingMapSpec;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitorFactory;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableMap;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
@@ -49,29 +51,56 @@ public class MapSuite<ITEM, SUITE extends ItemVisitor<ITEM>> implements MapVisit
 	protected final String parentName;
 
 	/**
-	 * @param collectionSpecs The specifications for the map as a whole.
-	 * @param itemSuites      The suites for the individual values in the map.
-	 * @param parentName      The name of the parent of the element being specified.
+	 * The structural fingerprint of the map this suite was made from, or null if it wasn't recorded. Maps with the
+	 * same fingerprint aren't visited, see StructuralFingerprints. This is only sound while the suite's specifications
+	 * are the ones made from that map, so suites hold immutable copies of their specifications: a suite with edited
+	 * specifications is a new suite, and must be made without the fingerprint.
+	 */
+	@CheckForNull
+	protected final Long oracleFingerprint;
+
+	/**
+	 * @param collectionSpecs   The specifications for the map as a whole.
+	 * @param itemSuites        The suites for the individual values in the map.
+	 * @param parentName        The name of the parent of the element being specified.
+	 * @param oracleFingerprint The structural fingerprint of the map the suite was made from, or null.
 	 */
 	public MapSuite(
 			final Set<MapVisitor<ITEM>> collectionSpecs,
 			final Map<String, SUITE> itemSuites,
-			final String parentName
+			final String parentName,
+			@CheckForNull final Long oracleFingerprint
 	) {
-		this.collectionSpecs = collectionSpecs;
-		this.itemSuites = itemSuites;
+		this.collectionSpecs = ImmutableSet.copyOf(collectionSpecs);
+		this.itemSuites = ImmutableMap.copyOf(itemSuites);
 		this.parentName = parentName;
+		this.oracleFingerprint = oracleFingerprint;
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedMap<ITEM> collection) {
+	public void visit(@CheckForNull final NamedMap<ITEM> collection, @NonNull final GradingContext context) {
 		if (collection != null) {
-			collectionSpecs.forEach(spec -> spec.visit(collection));
-			collection.getItems().forEach((name, item) -> {
-				if (itemSuites.containsKey(name)) {
-					itemSuites.get(name).visit(item);
+			final Long fingerprint = collection.getFingerprint();
+			if (oracleFingerprint != null && fingerprint != null && oracleFingerprint.longValue() == fingerprint) {
+				// The map is structurally identical to the oracle's, so none of the specs could find anything wrong
+				context.recordSkippedSubtree();
+				return;
+			}
+			for (final MapVisitor<ITEM> spec : collectionSpecs) {
+				if (context.isCancelled()) {
+					return;
+				}
+				spec.visit(collection, context);
+			}
+			for (final Map.Entry<String, ITEM> entry : collection.getItems().entrySet()) {
+				if (context.isCancelled()) {
+					return;
+				}
+				final SUITE itemSuite = itemSuites.get(entry.getKey());
+				if (itemSuite != null) {
+					itemSuite.visit(entry.getValue(), context);
 				}
-			});
+			}
 		}
 	}
 
@@ -179,7 +208,7 @@ public class MapSuite<ITEM, SUITE extends ItemVisitor<ITEM>> implements MapVisit
 					)
 					.collect(Collectors.toSet());
 
-			return new MapSuite<>(collectionSpecs, itemSuites, parentName);
+			return new MapSuite<>(collectionSpecs, itemSuites, parentName, namedMap.getFingerprint());
 		}
 	}
 }
@@ -5,8 +5,10 @@ import com.github.ndrwksr.structuregrader.core.HasChildSet;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.NamedSet;
 import com.github.ndrwksr.structuregrader.core.NamedSpecSet;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.SetVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
+import com.google.common.collect.ImmutableSet;
 import lombok.Data;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
@@ -38,6 +40,17 @@ public abstract class SetSuite<ITEM> implements SetVisitor<ITEM>, HasChildSet {
 	@NonNull
 	private final Set<MapVisitor<ITEM>> mapVisitors;
 
+	/**
+	 * Copies mapVisitors as they are set, so that a suite's specifications can't be edited in place, see
+	 * MapSuite.oracleFingerprint.
+	 */
+	public static abstract class SetSuiteBuilder<ITEM, C extends SetSuite<ITEM>, B extends SetSuiteBuilder<ITEM, C, B>> {
+		public B mapVisitors(@NonNull final Set<MapVisitor<ITEM>> mapVisitors) {
+			this.mapVisitors = ImmutableSet.copyOf(mapVisitors);
+			return self();
+		}
+	}
+
 	@Override
 	public NamedSpecSet getChildSet() {
 		return NamedSpecSet.<MapVisitor<ITEM>>builder()
@@ -47,15 +60,32 @@ public abstract class SetSuite<ITEM> implements SetVisitor<ITEM>, HasChildSet {
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedSet<ITEM> collection) {
+	public void visit(@CheckForNull final NamedSet<ITEM> collection, @NonNull final GradingContext context) {
 		if (collection != null) {
 			final Map<String, ITEM> itemValuesMap = collection.getItems().stream()
 					.collect(Collectors.toMap(itemValueFunction, Function.identity()));
-			final NamedMap<ITEM> namedItemValuesMap = NamedMap.<ITEM>builder()
-					.name(collection.getName())
-					.items(itemValuesMap)
-					.build();
-			mapVisitors.forEach(visitor -> visitor.visit(namedItemValuesMap));
+			visitMap(
+					NamedMap.<ITEM>builder()
+							.name(collection.getName())
+							.items(itemValuesMap)
+							.build(),
+					context
+			);
 		}
 	}
+
+	/**
+	 * Visits a map of the items of a collection, keyed by itemValueFunction, with all of mapVisitors. For subclasses
+	 * whose visited items already keep such a map, so that it isn't made again on every visit.
+	 *
+	 * @param namedItemValuesMap The items, keyed by itemValueFunction and named as their collection is.
+	 * @param context            The context of the grading run.
+	 */
+	protected void visitMap(@NonNull final NamedMap<ITEM> namedItemValuesMap, @NonNull final GradingContext context) {
+		mapVisitors.forEach(visitor -> {
+			if (!context.isCancelled()) {
+				visitor.visit(namedItemValuesMap, context);
+			}
+		});
+	}
 }
@@ -3,18 +3,51 @@ package com.github.ndrwksr.structuregrader.core.specification.clazz;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.specification.base.MapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraClassesMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraSetSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingClassesMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingMapSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingSetSpec;
+import com.github.ndrwksr.structuregrader.core.specification.collection.OrderedListSpec;
+import com.github.ndrwksr.structuregrader.core.specification.common.AnnotatedSuite;
+import com.github.ndrwksr.structuregrader.core.specification.common.ModifiedSpec;
+import com.github.ndrwksr.structuregrader.core.specification.common.TypedSpec;
+import com.github.ndrwksr.structuregrader.core.specification.executable.ConstructorSetSuite;
+import com.github.ndrwksr.structuregrader.core.specification.executable.MethodMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.FieldMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.ParameterMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.VariableMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.variable.VariableSuite;
 import com.github.ndrwksr.structuregrader.core.visitor.*;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -23,9 +56,23 @@ import lombok.NonNull;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 
 /**
@@ -37,23 +84,30 @@ import java.util.function.Consumer;
 public class ClassMapSuite extends MapSuite<ClassWrapper, ClassSuite> implements ClassHierarchyVisitor {
 
 	/**
-	 * @param collectionSpecs The specifications for the map of classes as a whole.
-	 * @param itemSuites      The suites for the individual classes in the map.
-	 * @param parentName      The name of the package or class to which these the specified map of classes belongs.
+	 * @param collectionSpecs   The specifications for the map of classes as a whole.
+	 * @param itemSuites        The suites for the individual classes in the map.
+	 * @param parentName        The name of the package or class to which these the specified map of classes belongs.
+	 * @param oracleFingerprint The structural fingerprint of the map the suite was made from, or null.
 	 */
 	@Builder
 	@JsonCreator
 	public ClassMapSuite(
 			@NonNull @JsonProperty("collectionSpecs") final Set<MapVisitor<ClassWrapper>> collectionSpecs,
 			@NonNull @JsonProperty("itemSuites") final Map<String, ClassSuite> itemSuites,
-			@NonNull @JsonProperty("parentName") final String parentName
+			@NonNull @JsonProperty("parentName") final String parentName,
+			@CheckForNull @JsonProperty("oracleFingerprint") final Long oracleFingerprint
 	) {
-		super(collectionSpecs, itemSuites, parentName);
+		super(collectionSpecs, itemSuites, parentName, oracleFingerprint);
 	}
 
 	@Override
-	public void visit(@Nullable final ClassWrapper classWrapper) {
-		super.visit(classWrapper != null ? classWrapper.getDeclaredClasses() : null);
+	public void visit(@Nullable final ClassWrapper classWrapper, @NonNull final GradingContext context) {
+		super.visit(classWrapper != null ? classWrapper.getDeclaredClasses() : null, context);
+	}
+
+	@Override
+	public String getChildKind() {
+		return ClassMapSuiteFactory.ITEM_TYPE_PLURAL;
 	}
 
 	@Override
@@ -67,6 +121,8 @@ public class ClassMapSuite extends MapSuite<ClassWrapper, ClassSuite> implements
 	 */
 	public static class ClassMapSuiteFactory extends MapSuiteFactory<ClassWrapper, ClassSuite> {
 
+		public static final String ITEM_TYPE_PLURAL = "classes";
+
 		/**
 		 * @param collectionVisitorFactories The factories to be used to populate ClassMapSuite.collectionSpecs.
 		 * @param itemSuiteFactory           The factories to be used to populate ClassMapSuite.itemSuites.
@@ -76,7 +132,7 @@ public class ClassMapSuite extends MapSuite<ClassWrapper, ClassSuite> implements
 				@CheckForNull final ImmutableSet<MapVisitorFactory<ClassWrapper, ?>> collectionVisitorFactories,
 				@CheckForNull final ItemVisitorFactory<ClassWrapper, ClassSuite> itemSuiteFactory
 		) {
-			super(collectionVisitorFactories, itemSuiteFactory, "classes");
+			super(collectionVisitorFactories, itemSuiteFactory, ITEM_TYPE_PLURAL);
 		}
 
 		/**
@@ -107,17 +163,123 @@ public class ClassMapSuite extends MapSuite<ClassWrapper, ClassSuite> implements
 			return new ClassMapSuite(
 					superSuite.getCollectionSpecs(),
 					superSuite.getItemSuites(),
-					parentName
+					parentName,
+					superSuite.getOracleFingerprint()
 			);
 		}
 	}
 
+	/**
+	 * Serializes and deserializes ClassMapSuites. The mapper is configured once and shared, along with the readers and
+	 * writers made from it, so every call after the first reuses warm serializer caches, and calls from any number of
+	 * threads are safe.
+	 * <p>
+	 * Suites are written as a header giving the format version, followed by the suite. Specifications, suites and common
+	 * collections are named by short registered type ids rather than by their fully qualified class names, which keeps
+	 * suites small and quick to parse. Suites written before the header was introduced (format version 1) have no header
+	 * and name every type by its class name; they can still be read.
+	 */
 	public static class JsonHelper {
-		private static ObjectMapper getMapper(
-				@Nullable final Consumer<Noncompliance> noncomplianceConsumer
-		) {
+		/**
+		 * The version of the format suites are written in. Incremented whenever the registered type ids change.
+		 */
+		public static final int FORMAT_VERSION = 2;
+
+		/**
+		 * The header field giving the format version of a suite.
+		 */
+		private static final String FORMAT_FIELD = "format";
+
+		/**
+		 * The header field holding the suite itself.
+		 */
+		private static final String SUITE_FIELD = "suite";
+
+		/**
+		 * The specifications and suites which are named by their simple names.
+		 */
+		private static final ImmutableList<Class<?>> REGISTERED_SPECS = ImmutableList.of(
+				AnnotatedClassSuite.class,
+				AnnotatedSuite.class,
+				ClassMapSuite.class,
+				ClassSuite.class,
+				ConstructorSetSuite.class,
+				FieldMapSuite.class,
+				InterfaceSetSuite.class,
+				MapSuite.class,
+				MethodMapSuite.class,
+				ModifiedSpec.class,
+				NoExtraClassesMapSpec.class,
+				NoExtraMapSpec.class,
+				NoExtraSetSpec.class,
+				NoMissingClassesMapSpec.class,
+				NoMissingMapSpec.class,
+				NoMissingSetSpec.class,
+				OrderedListSpec.class,
+				ParameterMapSuite.class,
+				SuperclassSpec.class,
+				TypedSpec.class,
+				VariableMapSuite.class,
+				VariableSuite.class
+		);
+
+		/**
+		 * The class each registered type id is read as.
+		 */
+		private static final ImmutableBiMap<String, String> TYPE_NAMES = ImmutableBiMap.<String, String>builder()
+				.putAll(REGISTERED_SPECS.stream()
+						.collect(ImmutableMap.toImmutableMap(Class::getSimpleName, Class::getName)))
+				.put("ArrayList", ArrayList.class.getName())
+				.put("HashMap", HashMap.class.getName())
+				.put("HashSet", HashSet.class.getName())
+				.put("LinkedHashMap", LinkedHashMap.class.getName())
+				.put("LinkedHashSet", LinkedHashSet.class.getName())
+				.put("TreeMap", TreeMap.class.getName())
+				.put("TreeSet", TreeSet.class.getName())
+				.put("ImmutableList", ImmutableList.class.getName())
+				.put("ImmutableMap", ImmutableMap.class.getName())
+				.put("ImmutableSet", ImmutableSet.class.getName())
+				.build();
+
+		/**
+		 * The registered type id written for each class, by the class name which would otherwise be written. Guava's
+		 * immutable collections are written as the public type they implement, since their implementations are internal.
+		 */
+		private static final ImmutableMap<String, String> TYPE_IDS = ImmutableMap.<String, String>builder()
+				.putAll(TYPE_NAMES.inverse())
+				.put("com.google.common.collect.RegularImmutableList", "ImmutableList")
+				.put("com.google.common.collect.SingletonImmutableList", "ImmutableList")
+				.put("com.google.common.collect.RegularImmutableMap", "ImmutableMap")
+				.put("com.google.common.collect.SingletonImmutableBiMap", "ImmutableMap")
+				.put("com.google.common.collect.RegularImmutableSet", "ImmutableSet")
+				.put("com.google.common.collect.SingletonImmutableSet", "ImmutableSet")
+				.build();
+
+		/**
+		 * The mapper every reader and writer is made from. Fully configured before it is shared, and never changed
+		 * afterwards, so it and its serializer caches are shared by every thread.
+		 */
+		private static final ObjectMapper MAPPER = buildMapper();
+
+		/**
+		 * Reads ClassMapSuites. Injectable values are bound to a copy of it for each call.
+		 */
+		private static final ObjectReader READER = MAPPER.readerFor(ClassMapSuite.class);
+
+		/**
+		 * Writes ClassMapSuites. Indented if the generator it writes to is.
+		 */
+		private static final ObjectWriter WRITER = MAPPER.writer();
+
+		private static ObjectMapper buildMapper() {
 			final ObjectMapper objectMapper = new ObjectMapper()
 					.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+					// Derived values such as getSpecDescription() and getChildSet() aren't part of a suite's state
+					.setVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE)
+					.setVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE)
+					// Streams belong to the caller, who closes them
+					.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+					.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)
 					.registerModule(new GuavaModule());
 			objectMapper.registerSubtypes(ClassMapSuite.class);
 
@@ -129,31 +291,238 @@ public class ClassMapSuite extends MapSuite<ClassWrapper, ClassSuite> implements
 					.allowIfSubType(MapVisitor.class)
 					.allowIfSubType(SetVisitor.class)
 					.build();
-			objectMapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
+			objectMapper.setDefaultTyping(new CompactTypeResolverBuilder(ptv));
+
+			return objectMapper;
+		}
+
+		/**
+		 * @return a reader which injects noncomplianceConsumer into the specifications it reads.
+		 */
+		private static ObjectReader readerFor(@NonNull final Consumer<Noncompliance> noncomplianceConsumer) {
+			return READER.with(new InjectableValues.Std(Map.of("noncomplianceConsumer", noncomplianceConsumer)));
+		}
 
-			if (noncomplianceConsumer != null) {
-				InjectableValues injectableValues = new InjectableValues.Std(
-						Map.of("noncomplianceConsumer", noncomplianceConsumer)
-				);
-				objectMapper.setInjectableValues(injectableValues);
+		/**
+		 * Writes the header, then classMapSuite.
+		 *
+		 * @param classMapSuite The suite to serialize.
+		 * @param generator     The generator to write the suite to. Isn't closed.
+		 * @throws IOException If classMapSuite can't be serialized or generator can't be written to.
+		 */
+		private static void write(
+				@NonNull final ClassMapSuite classMapSuite,
+				@NonNull final JsonGenerator generator
+		) throws IOException {
+			generator.writeStartObject();
+			generator.writeNumberField(FORMAT_FIELD, FORMAT_VERSION);
+			generator.writeFieldName(SUITE_FIELD);
+			WRITER.writeValue(generator, classMapSuite);
+			generator.writeEndObject();
+		}
+
+		/**
+		 * Reads a suite written in any supported format version.
+		 *
+		 * @param parser                The parser to read the suite from, before its first token. Isn't closed.
+		 * @param noncomplianceConsumer The noncompliance consumer for the suite.
+		 * @return the suite read from parser.
+		 * @throws JsonProcessingException If parser doesn't hold the JSON of a suite in a supported format version.
+		 * @throws IOException             If parser can't be read.
+		 */
+		private static ClassMapSuite read(
+				@NonNull final JsonParser parser,
+				@NonNull final Consumer<Noncompliance> noncomplianceConsumer
+		) throws IOException {
+			final ObjectReader reader = readerFor(noncomplianceConsumer);
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				// Format version 1 has no header, so the suite starts straight away
+				return reader.readValue(parser);
 			}
 
-			return objectMapper;
+			expectField(parser, FORMAT_FIELD);
+			final int formatVersion = parser.nextToken() == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : -1;
+			if (formatVersion < 2 || formatVersion > FORMAT_VERSION) {
+				throw JsonMappingException.from(parser, "Unsupported suite format version: " + parser.getText());
+			}
+
+			expectField(parser, SUITE_FIELD);
+			parser.nextToken();
+			final ClassMapSuite classMapSuite = reader.readValue(parser);
+			if (parser.nextToken() != JsonToken.END_OBJECT) {
+				throw JsonMappingException.from(parser, "Expected the end of the suite, found " + parser.currentToken());
+			}
+			return classMapSuite;
 		}
 
+		/**
+		 * @throws JsonProcessingException If the next token of parser isn't the name of the field fieldName.
+		 */
+		private static void expectField(
+				@NonNull final JsonParser parser,
+				@NonNull final String fieldName
+		) throws IOException {
+			if (parser.nextToken() != JsonToken.FIELD_NAME || !fieldName.equals(parser.getCurrentName())) {
+				throw JsonMappingException.from(parser, "Expected field \"" + fieldName + "\" of the suite header");
+			}
+		}
+
+		/**
+		 * @param classMapSuite The suite to serialize.
+		 * @return classMapSuite as indented JSON.
+		 * @throws JsonProcessingException If classMapSuite can't be serialized.
+		 */
 		public static String toJson(
 				@NonNull final ClassMapSuite classMapSuite
 		) throws JsonProcessingException {
-			return getMapper(null)
-					.writerWithDefaultPrettyPrinter()
-					.writeValueAsString(classMapSuite);
+			final StringWriter stringWriter = new StringWriter();
+			try (JsonGenerator generator = MAPPER.getFactory().createGenerator(stringWriter)) {
+				write(classMapSuite, generator.useDefaultPrettyPrinter());
+			} catch (JsonProcessingException e) {
+				throw e;
+			} catch (IOException e) {
+				// A StringWriter is never the cause
+				throw JsonMappingException.fromUnexpectedIOE(e);
+			}
+			return stringWriter.toString();
+		}
+
+		/**
+		 * Serializes a suite straight to a stream, without making a string of it first.
+		 *
+		 * @param classMapSuite The suite to serialize.
+		 * @param outputStream  The stream to write the JSON to as UTF-8. Isn't closed.
+		 * @throws IOException If classMapSuite can't be serialized or outputStream can't be written to.
+		 */
+		public static void toJson(
+				@NonNull final ClassMapSuite classMapSuite,
+				@NonNull final OutputStream outputStream
+		) throws IOException {
+			try (JsonGenerator generator = MAPPER.getFactory().createGenerator(outputStream)) {
+				write(classMapSuite, generator);
+			}
 		}
 
+		/**
+		 * Serializes a suite straight to a file, replacing it if it exists.
+		 *
+		 * @param classMapSuite The suite to serialize.
+		 * @param path          The file to write the JSON to as UTF-8.
+		 * @throws IOException If classMapSuite can't be serialized or path can't be written to.
+		 */
+		public static void toJson(
+				@NonNull final ClassMapSuite classMapSuite,
+				@NonNull final Path path
+		) throws IOException {
+			try (OutputStream outputStream = Files.newOutputStream(path)) {
+				toJson(classMapSuite, outputStream);
+			}
+		}
+
+		/**
+		 * @param json                  The JSON of a suite.
+		 * @param noncomplianceConsumer The noncompliance consumer for the suite.
+		 * @return the suite json describes.
+		 * @throws JsonProcessingException If json isn't the JSON of a suite.
+		 */
 		public static ClassMapSuite fromJson(
 				@NonNull final String json,
 				@NonNull final Consumer<Noncompliance> noncomplianceConsumer
 		) throws JsonProcessingException {
-			return getMapper(noncomplianceConsumer).readValue(json, ClassMapSuite.class);
+			try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+				return read(parser, noncomplianceConsumer);
+			} catch (JsonProcessingException e) {
+				throw e;
+			} catch (IOException e) {
+				// A string is never the cause
+				throw JsonMappingException.fromUnexpectedIOE(e);
+			}
+		}
+
+		/**
+		 * Deserializes a suite straight from a stream, without reading it into a string first.
+		 *
+		 * @param inputStream           The stream to read the JSON of a suite from. Isn't closed.
+		 * @param noncomplianceConsumer The noncompliance consumer for the suite.
+		 * @return the suite read from inputStream.
+		 * @throws JsonProcessingException If inputStream doesn't hold the JSON of a suite.
+		 * @throws IOException             If inputStream can't be read.
+		 */
+		public static ClassMapSuite fromJson(
+				@NonNull final InputStream inputStream,
+				@NonNull final Consumer<Noncompliance> noncomplianceConsumer
+		) throws IOException {
+			try (JsonParser parser = MAPPER.getFactory().createParser(inputStream)) {
+				return read(parser, noncomplianceConsumer);
+			}
+		}
+
+		/**
+		 * Deserializes a suite straight from a file.
+		 *
+		 * @param path                  The file to read the JSON of a suite from.
+		 * @param noncomplianceConsumer The noncompliance consumer for the suite.
+		 * @return the suite read from path.
+		 * @throws JsonProcessingException If path doesn't hold the JSON of a suite.
+		 * @throws IOException             If path can't be read.
+		 */
+		public static ClassMapSuite fromJson(
+				@NonNull final Path path,
+				@NonNull final Consumer<Noncompliance> noncomplianceConsumer
+		) throws IOException {
+			try (InputStream inputStream = Files.newInputStream(path)) {
+				return fromJson(inputStream, noncomplianceConsumer);
+			}
+		}
+
+		/**
+		 * Applies default typing as ObjectMapper.activateDefaultTyping does, naming types with CompactTypeIdResolvers.
+		 */
+		private static class CompactTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+			private static final long serialVersionUID = 1L;
+
+			private CompactTypeResolverBuilder(@NonNull final PolymorphicTypeValidator ptv) {
+				super(ObjectMapper.DefaultTyping.NON_FINAL, ptv);
+				init(JsonTypeInfo.Id.CLASS, null);
+				inclusion(JsonTypeInfo.As.WRAPPER_ARRAY);
+			}
+
+			@Override
+			protected TypeIdResolver idResolver(
+					final MapperConfig<?> config,
+					final JavaType baseType,
+					final PolymorphicTypeValidator subtypeValidator,
+					final Collection<NamedType> subtypes,
+					final boolean forSer,
+					final boolean forDeser
+			) {
+				return new CompactTypeIdResolver(baseType, config.getTypeFactory(), subtypeValidator);
+			}
+		}
+
+		/**
+		 * Names registered types by their registered type ids, and all other types by their class names. Reads either,
+		 * so suites written in format version 1 are read by it too.
+		 */
+		private static class CompactTypeIdResolver extends ClassNameIdResolver {
+			private CompactTypeIdResolver(
+					@NonNull final JavaType baseType,
+					@NonNull final TypeFactory typeFactory,
+					@NonNull final PolymorphicTypeValidator ptv
+			) {
+				super(baseType, typeFactory, ptv);
+			}
+
+			@Override
+			protected String _idFrom(final Object value, final Class<?> cls, final TypeFactory typeFactory) {
+				final String className = super._idFrom(value, cls, typeFactory);
+				return TYPE_IDS.getOrDefault(className, className);
+			}
+
+			@Override
+			protected JavaType _typeFromId(final String id, final DatabindContext ctxt) throws IOException {
+				return super._typeFromId(TYPE_NAMES.getOrDefault(id, id), ctxt);
+			}
 		}
 	}
 }
@@ -12,6 +12,7 @@ import com.github.ndrwksr.structuregrader.core.specification.variable.FieldMapSu
 import com.google.common.collect.ImmutableSet;
 import com.github.ndrwksr.structuregrader.core.specification.clazz.AnnotatedClassSuite.AnnotatedClassSuiteFactory;
 import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite.ClassMapSuiteFactory;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
@@ -44,18 +45,40 @@ public class ClassSuite implements ClassVisitor, HasChildSet {
 	@NonNull
 	private final String parentName;
 
+	/**
+	 * The structural fingerprint of the class this suite was made from, or null if it wasn't recorded. Classes with the
+	 * same fingerprint aren't visited, see StructuralFingerprints. Only sound while the suite's specifications are the
+	 * ones made from that class, see MapSuite.oracleFingerprint; ClassSuite.builder() leaves it out unless it is set.
+	 */
+	@CheckForNull
+	private final Long oracleFingerprint;
+
 	@Builder
 	public ClassSuite(
 			@NonNull @JsonProperty("specifiedClassVisitors") final Set<ClassVisitor> specifiedClassVisitors,
-			@NonNull @JsonProperty("parentName") final String parentName
+			@NonNull @JsonProperty("parentName") final String parentName,
+			@CheckForNull @JsonProperty("oracleFingerprint") final Long oracleFingerprint
 	) {
-		this.specifiedClassVisitors = specifiedClassVisitors;
+		this.specifiedClassVisitors = ImmutableSet.copyOf(specifiedClassVisitors);
 		this.parentName = parentName;
+		this.oracleFingerprint = oracleFingerprint;
 	}
 
 	@Override
-	public void visit(@Nullable final ClassWrapper classWrapper) {
-		specifiedClassVisitors.forEach(visitor -> visitor.visit(classWrapper));
+	public void visit(@Nullable final ClassWrapper classWrapper, @NonNull final GradingContext context) {
+		if (classWrapper != null && oracleFingerprint != null && oracleFingerprint == classWrapper.getFingerprint()) {
+			// The class is structurally identical to the oracle's, so none of the specs could find anything wrong
+			context.recordSkippedSubtree();
+			return;
+		}
+		// Noncompliances in this class count towards its own limit, which abandons the rest of its visitors when reached
+		final GradingContext classContext = context.forClass();
+		for (final ClassVisitor visitor : specifiedClassVisitors) {
+			if (classContext.isCancelled()) {
+				break;
+			}
+			visitor.visit(classWrapper, classContext);
+		}
 	}
 
 	@Override
@@ -154,6 +177,7 @@ public class ClassSuite implements ClassVisitor, HasChildSet {
 			return ClassSuite.builder()
 					.specifiedClassVisitors(classVisitors)
 					.parentName(parentName)
+					.oracleFingerprint(classWrapper.getFingerprint())
 					.build();
 		}
 	}
@@ -1,32 +1,42 @@
 package com.github.ndrwksr.structuregrader.core.specification.clazz;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.HasChildSet;
 import com.github.ndrwksr.structuregrader.core.NamedSet;
 import com.github.ndrwksr.structuregrader.core.NamedSpecSet;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraSetSpec;
 import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraSetSpec.NoExtraSetSpecFactory;
 import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingSetSpec;
+import com.github.ndrwksr.structuregrader.core.type.InternedTypes;
+import com.github.ndrwksr.structuregrader.core.type.TypeTable;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.visitor.SetVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.SetVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
 import com.google.common.collect.ImmutableSet;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Specifies the set of names of the interfaces that a class is expected to implement.
+ * <p>
+ * When the only set visitors are NoMissingSetSpecs and NoExtraSetSpecs expecting the same names, the names of the
+ * interfaces are first compared by their ids in the run's TypeTable, and the set of names is only made for the set
+ * visitors if they differ.
  */
-@Builder
 @Getter
 public class InterfaceSetSuite implements SetVisitor<ClassWrapper>, ClassVisitor, HasChildSet {
 	/**
@@ -41,17 +51,85 @@ public class InterfaceSetSuite implements SetVisitor<ClassWrapper>, ClassVisitor
 	@NonNull
 	private final String parentName;
 
+	/**
+	 * The interface names every set visitor expects, interned in the table of each run, or null if the set visitors
+	 * don't only check that the interfaces are exactly some set of names.
+	 */
+	@Nullable
+	@JsonIgnore
+	@Getter(AccessLevel.NONE)
+	private final InternedTypes expectedInterfaces;
+
+	@Builder
 	public InterfaceSetSuite(
 			@NonNull @JsonProperty("setVisitors") final Set<SetVisitor<String>> setVisitors,
 			@NonNull @JsonProperty("parentName") final String parentName
 	) {
-		this.setVisitors = setVisitors;
+		this.setVisitors = ImmutableSet.copyOf(setVisitors);
 		this.parentName = parentName;
+		this.expectedInterfaces = internExpectedInterfaces(this.setVisitors);
+	}
+
+	/**
+	 * @return the names expected by setVisitors if they are all NoMissingSetSpecs and NoExtraSetSpecs expecting the same
+	 * names, or null if not.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static InternedTypes internExpectedInterfaces(@NonNull final Set<SetVisitor<String>> setVisitors) {
+		Set<String> expectedNames = null;
+		for (final SetVisitor<String> setVisitor : setVisitors) {
+			final Set<String> visitorNames;
+			if (setVisitor instanceof NoMissingSetSpec) {
+				visitorNames = ((NoMissingSetSpec<String>) setVisitor).getExpectedItemNames();
+			} else if (setVisitor instanceof NoExtraSetSpec) {
+				visitorNames = ((NoExtraSetSpec<String>) setVisitor).getExpectedItemNames();
+			} else {
+				return null;
+			}
+
+			if (expectedNames == null) {
+				expectedNames = visitorNames;
+			} else if (!expectedNames.equals(visitorNames)) {
+				return null;
+			}
+		}
+		return expectedNames != null ? InternedTypes.of(expectedNames) : null;
+	}
+
+	/**
+	 * @return true if the names of interfaces are exactly the expected interface names.
+	 */
+	private boolean matchesExpectedInterfaces(
+			@NonNull final NamedSet<ClassWrapper> interfaces,
+			@NonNull final TypeTable typeTable
+	) {
+		//noinspection ConstantConditions -- only called when expectedInterfaces isn't null
+		final int[] expectedIds = expectedInterfaces.idsIn(typeTable);
+		final Set<ClassWrapper> actualInterfaces = interfaces.getItems();
+		if (actualInterfaces.size() != expectedIds.length) {
+			return false;
+		}
+
+		// Interfaces in different packages can share a name, so each expected name must be matched only once
+		final boolean[] matched = new boolean[expectedIds.length];
+		for (final ClassWrapper actualInterface : actualInterfaces) {
+			final int index = Arrays.binarySearch(expectedIds, typeTable.intern(actualInterface.getName()));
+			if (index < 0 || matched[index]) {
+				return false;
+			}
+			matched[index] = true;
+		}
+		return true;
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedSet<ClassWrapper> interfaces) {
+	public void visit(@CheckForNull final NamedSet<ClassWrapper> interfaces, @NonNull final GradingContext context) {
 		if (interfaces != null) {
+			if (expectedInterfaces != null && matchesExpectedInterfaces(interfaces, context.getTypeTable())) {
+				return;
+			}
+
 			NamedSet<String> actualNameSet = NamedSet.<String>builder()
 					.name(interfaces.getName())
 					.items(interfaces.getItems().stream()
@@ -60,14 +138,18 @@ public class InterfaceSetSuite implements SetVisitor<ClassWrapper>, ClassVisitor
 					)
 					.build();
 
-			setVisitors.forEach(setVisitor -> setVisitor.visit(actualNameSet));
+			setVisitors.forEach(setVisitor -> {
+				if (!context.isCancelled()) {
+					setVisitor.visit(actualNameSet, context);
+				}
+			});
 		}
 	}
 
 	@Override
-	public void visit(@CheckForNull final ClassWrapper classWrapper) {
+	public void visit(@CheckForNull final ClassWrapper classWrapper, @NonNull final GradingContext context) {
 		if (classWrapper != null) {
-			this.visit(classWrapper.getInterfaces());
+			this.visit(classWrapper.getInterfaces(), context);
 		}
 	}
 
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
@@ -46,6 +48,21 @@ public class SuperclassSpec implements ClassVisitor {
 	@JsonIgnore
 	private final Consumer<Noncompliance> noncomplianceConsumer;
 
+	static {
+		NoncomplianceKind.SUPERCLASS.registerMaterializer((parentName, subject, expected, actual) -> {
+			final String explanation = "Expected class " + subject + " to have " +
+					(expected == null ? NO_SUPERCLASS : "superclass %E") + ", but had " +
+					(actual == null ? NO_SUPERCLASS : "superclass %A.");
+
+			return Noncompliance.builder()
+					.parentName(parentName)
+					.expected(expected)
+					.actual(actual)
+					.explanation(explanation)
+					.build();
+		});
+	}
+
 	public SuperclassSpec(
 			@Nullable @JsonProperty("expectedSuperclassName") final String expectedSuperclassName,
 			@NonNull @JsonProperty("parentName") final String parentName,
@@ -56,45 +73,20 @@ public class SuperclassSpec implements ClassVisitor {
 		this.noncomplianceConsumer = noncomplianceConsumer;
 	}
 
-	/**
-	 * Returns the name of the Class. If the Class is Object, null is returned instead.
-	 *
-	 * @param clazz The Class whose name should be returned.
-	 * @return the name of the Class. If the Class is Object, null is returned instead.
-	 */
-	private static String getNameFromSuperclass(@Nullable final Class clazz) {
-		final String name;
-
-		if (clazz == null) {
-			name = null;
-		} else {
-			if (clazz.equals(Object.class)) {
-				name = null;
-			} else {
-				name = clazz.getSimpleName();
-			}
-		}
-
-		return name;
-	}
-
 	@Override
-	public void visit(@Nullable final ClassWrapper classWrapper) {
+	public void visit(@Nullable final ClassWrapper classWrapper, @NonNull final GradingContext context) {
 		if (classWrapper != null) {
-			final String actualSuperclassName = getNameFromSuperclass(classWrapper.getSuperclass());
+			final String actualSuperclassName = classWrapper.getSuperclassName();
 
 			if (!Objects.equals(expectedSuperclassName, actualSuperclassName)) {
-				final String explanation = "Expected class " + classWrapper.getName() + " to have " +
-						(expectedSuperclassName == null ? NO_SUPERCLASS : "superclass %E") + ", but had " +
-						(actualSuperclassName == null ? NO_SUPERCLASS : "superclass %A.");
-
-				noncomplianceConsumer.accept(
-						Noncompliance.builder()
-								.parentName(classWrapper.getName())
-								.expected(expectedSuperclassName)
-								.actual(actualSuperclassName)
-								.explanation(explanation)
-								.build()
+				context.report(
+						this,
+						NoncomplianceKind.SUPERCLASS,
+						classWrapper.getName(),
+						classWrapper.getName(),
+						expectedSuperclassName,
+						actualSuperclassName,
+						noncomplianceConsumer
 				);
 			}
 		}
@@ -125,7 +117,7 @@ public class SuperclassSpec implements ClassVisitor {
 				@NonNull final String parentName,
 				@NonNull final Consumer<Noncompliance> noncomplianceConsumer
 		) {
-			final String checkedSuperclassName = getNameFromSuperclass(classWrapper.getSuperclass());
+			final String checkedSuperclassName = classWrapper.getSuperclassName();
 
 			return SuperclassSpec.builder()
 					.expectedSuperclassName(checkedSuperclassName)
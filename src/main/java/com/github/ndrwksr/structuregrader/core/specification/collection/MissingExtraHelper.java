@@ -1,21 +1,24 @@
 package com.github.ndrwksr.structuregrader.core.specification.collection;
 
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
 import com.github.ndrwksr.structuregrader.core.TemplateKeys;
-import com.google.common.collect.Sets;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.visitor.Spec;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
-import java.util.List;
+import javax.annotation.Nullable;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * Helper class for determining if there are missing or extra elements in a map, given a list of the
- * String keys that the map is expected to have.
+ * String keys that the map is expected to have. Specifications index their expected keys once with a NameIndex, so a
+ * check is a single pass over the actual keys into a bitset, and reports at most one noncompliance. The actual values
+ * are reported as their NameIndex.Presence, which shares the expected values with the index and only copies the values
+ * which weren't expected.
  */
 public class MissingExtraHelper {
 	// TODO [ndrwksr | 12/6/19]: There's some duplication that would be easy to clean up in this file.
@@ -36,9 +39,32 @@ public class MissingExtraHelper {
 
 	}
 
+	static {
+		NoncomplianceKind.MISSING.registerMaterializer((parentName, subject, expected, actual) ->
+				MissingNoncompliance.builder()
+						.parentName(parentName)
+						.expected((Set<?>) expected)
+						.actual((Set<?>) actual)
+						.explanation("Found missing " + subject + '!' +
+								" Expected to have " + TemplateKeys.EXPECTED_TEMPLATE +
+								", but got " + TemplateKeys.ACTUAL_TEMPLATE)
+						.build()
+		);
+		NoncomplianceKind.EXTRA.registerMaterializer((parentName, subject, expected, actual) ->
+				ExtraNoncompliance.builder()
+						.parentName(parentName)
+						.expected((Set<?>) expected)
+						.actual((Set<?>) actual)
+						.explanation("Found extra " + subject + '!' +
+								" Expected to have " + TemplateKeys.EXPECTED_TEMPLATE +
+								", but got " + TemplateKeys.ACTUAL_TEMPLATE)
+						.build()
+		);
+	}
+
 	/**
 	 * Checks the items map for any entries whose keys aren't in expectedItemNames. If any extra keys
-	 * are found, noncompliances are created and fed into the provided Consumer.
+	 * are found, a noncompliance is created and fed into the provided Consumer.
 	 *
 	 * @param declaringName         The name of the parent of the items map. Used to provide additional
 	 *                              context for Noncompliances.
@@ -54,34 +80,23 @@ public class MissingExtraHelper {
 			@NonNull final String itemTypePlural,
 			@NonNull final Consumer<Noncompliance> noncomplianceConsumer
 	) {
-		// Filter out entries whose keys aren't in expectedItemNames
-		final Map<String, T> extraItems = items.entrySet().stream()
-				.filter(entry -> !expectedItemNames.contains(entry.getKey()))
-				.collect(Collectors.toMap(Entry::getKey, Entry::getValue));
-
-		// If any such entries remain,
-		if (extraItems.size() > 0) {
-			final Set<String> actualItemNames = Sets.newHashSet(items.keySet());
-
-			noncomplianceConsumer.accept(ExtraNoncompliance.builder()
-					.parentName(declaringName)
-					.expected(expectedItemNames)
-					.actual(actualItemNames)
-					.explanation("Found extra " + itemTypePlural + '!'
-							+ " Expected to have " + TemplateKeys.EXPECTED_TEMPLATE
-							+ ", but got " + TemplateKeys.ACTUAL_TEMPLATE)
-					.build()
-			);
-		}
+		checkMapForExtra(
+				null,
+				declaringName,
+				NameIndex.of(expectedItemNames),
+				items,
+				itemTypePlural,
+				GradingContext.specConsumers(),
+				noncomplianceConsumer
+		);
 	}
 
-
 	/**
 	 * Checks the expectedItemNames list for any keys which don't appear in the items map. If any
-	 * missing keys are found, noncompliances are created and fed into the provided Consumer.
+	 * missing keys are found, a noncompliance is created and fed into the provided Consumer.
 	 *
 	 * @param declaringName         The name of the parent of the items map. Used to provide additional
-	 *                              * context for Noncompliances.
+	 *                              context for Noncompliances.
 	 * @param expectedItemNames     The expected String keys for the items map.
 	 * @param items                 The map of items to check for missing entries.
 	 * @param noncomplianceConsumer The consumer for any generated Noncompliances.
@@ -94,30 +109,20 @@ public class MissingExtraHelper {
 			@NonNull final String itemTypePlural,
 			@NonNull final Consumer<Noncompliance> noncomplianceConsumer
 	) {
-		// Find names of any entries in expectedItemNames that aren't also keys in items
-		final List<String> missingItemNames = expectedItemNames.stream()
-				.filter(name -> !items.containsKey(name))
-				.collect(Collectors.toList());
-
-		// If any such names found,
-		if (missingItemNames.size() > 0) {
-			final Set<String> actualItemNames = Sets.newHashSet(items.keySet());
-
-			noncomplianceConsumer.accept(MissingNoncompliance.builder()
-					.parentName(declaringName)
-					.expected(expectedItemNames)
-					.actual(actualItemNames)
-					.explanation("Found missing "+ itemTypePlural + '!'
-							+ " Expected to have " + TemplateKeys.EXPECTED_TEMPLATE
-							+ ", but got " + TemplateKeys.ACTUAL_TEMPLATE)
-					.build()
-			);
-		}
+		checkMapForMissing(
+				null,
+				declaringName,
+				NameIndex.of(expectedItemNames),
+				items,
+				itemTypePlural,
+				GradingContext.specConsumers(),
+				noncomplianceConsumer
+		);
 	}
 
 	/**
 	 * Checks the actualValues set for any items which don't appear in expectedValues. If any
-	 * extra items are found, noncompliances are created and fed into the provided Consumer.
+	 * extra items are found, a noncompliance is created and fed into the provided Consumer.
 	 *
 	 * @param declaringName         The name of the parent of the set. Used to provide additional
 	 *                              context for Noncompliances.
@@ -133,24 +138,20 @@ public class MissingExtraHelper {
 			@NonNull final String itemTypePlural,
 			@NonNull final Consumer<Noncompliance> noncomplianceConsumer
 	) {
-		actualValues.forEach(actualValue -> {
-			if (!expectedValues.contains(actualValue)) {
-				noncomplianceConsumer.accept(
-						ExtraNoncompliance.builder()
-								.expected(expectedValues)
-								.actual(actualValues)
-								.explanation("Found missing "+ itemTypePlural + '!'
-										+ " Expected to have " + TemplateKeys.EXPECTED_TEMPLATE
-										+ ", but got " + TemplateKeys.ACTUAL_TEMPLATE)
-								.parentName(declaringName).build()
-				);
-			}
-		});
+		checkSetForExtra(
+				null,
+				declaringName,
+				NameIndex.of(expectedValues),
+				actualValues,
+				itemTypePlural,
+				GradingContext.specConsumers(),
+				noncomplianceConsumer
+		);
 	}
 
 	/**
 	 * Checks the expectedValues set for any items which don't appear in actualValues. If any
-	 * missing items are found, noncompliances are created and fed into the provided Consumer.
+	 * missing items are found, a noncompliance is created and fed into the provided Consumer.
 	 *
 	 * @param declaringName         The name of the parent of the set. Used to provide additional
 	 *                              context for Noncompliances.
@@ -166,18 +167,161 @@ public class MissingExtraHelper {
 			@NonNull final String itemTypePlural,
 			@NonNull final Consumer<Noncompliance> noncomplianceConsumer
 	) {
-		expectedValues.forEach(actualValue -> {
-			if (!actualValues.contains(actualValue)) {
-				noncomplianceConsumer.accept(
-						MissingNoncompliance.builder()
-								.expected(expectedValues)
-								.actual(actualValues)
-								.explanation("Found missing "+ itemTypePlural + '!'
-										+ " Expected to have " + TemplateKeys.EXPECTED_TEMPLATE
-										+ ", but got " + TemplateKeys.ACTUAL_TEMPLATE)
-								.parentName(declaringName).build()
-				);
-			}
-		});
+		checkSetForMissing(
+				null,
+				declaringName,
+				NameIndex.of(expectedValues),
+				actualValues,
+				itemTypePlural,
+				GradingContext.specConsumers(),
+				noncomplianceConsumer
+		);
+	}
+
+	/**
+	 * Checks the items map for any entries whose keys aren't in the index of expected names. If any extra keys
+	 * are found, a noncompliance is reported to context, without copying the keys unless it is materialized.
+	 *
+	 * @param spec              The reporting specification, or null if there isn't one.
+	 * @param declaringName     The name of the parent of the items map. Used to provide additional
+	 *                          context for Noncompliances.
+	 * @param expectedItemNames The index of the expected String keys for the items map.
+	 * @param items             The map of items to check for extra entries.
+	 * @param context           The context of the grading run to report to.
+	 * @param specConsumer      The consumer spec was made with, used if context has no sink.
+	 * @param <T>               The type of the elements in items.
+	 */
+	public static <T> void checkMapForExtra(
+			@Nullable final Spec spec,
+			@NonNull final String declaringName,
+			@NonNull final NameIndex<String> expectedItemNames,
+			@NonNull final Map<String, T> items,
+			@NonNull final String itemTypePlural,
+			@NonNull final GradingContext context,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		final NameIndex<?>.Presence presence = expectedItemNames.presenceOf(items.keySet());
+		if (presence.hasExtra()) {
+			context.report(
+					spec,
+					NoncomplianceKind.EXTRA,
+					declaringName,
+					itemTypePlural,
+					expectedItemNames.getValues(),
+					presence,
+					specConsumer
+			);
+		}
+	}
+
+	/**
+	 * Checks the index of expected names for any keys which don't appear in the items map. If any
+	 * missing keys are found, a noncompliance is reported to context, without copying the keys unless it is
+	 * materialized.
+	 *
+	 * @param spec              The reporting specification, or null if there isn't one.
+	 * @param declaringName     The name of the parent of the items map. Used to provide additional
+	 *                          context for Noncompliances.
+	 * @param expectedItemNames The index of the expected String keys for the items map.
+	 * @param items             The map of items to check for missing entries.
+	 * @param context           The context of the grading run to report to.
+	 * @param specConsumer      The consumer spec was made with, used if context has no sink.
+	 * @param <T>               The type of the elements in items.
+	 */
+	public static <T> void checkMapForMissing(
+			@Nullable final Spec spec,
+			@NonNull final String declaringName,
+			@NonNull final NameIndex<String> expectedItemNames,
+			@NonNull final Map<String, T> items,
+			@NonNull final String itemTypePlural,
+			@NonNull final GradingContext context,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		final NameIndex<?>.Presence presence = expectedItemNames.presenceOf(items.keySet());
+		if (presence.hasMissing()) {
+			context.report(
+					spec,
+					NoncomplianceKind.MISSING,
+					declaringName,
+					itemTypePlural,
+					expectedItemNames.getValues(),
+					presence,
+					specConsumer
+			);
+		}
+	}
+
+	/**
+	 * Checks the actualValues set for any items which don't appear in the index of expected values. If any
+	 * extra items are found, a noncompliance is reported to context, without copying actualValues unless it is
+	 * materialized.
+	 *
+	 * @param spec           The reporting specification, or null if there isn't one.
+	 * @param declaringName  The name of the parent of the set. Used to provide additional
+	 *                       context for Noncompliances.
+	 * @param expectedValues The index of the expected items.
+	 * @param actualValues   The set to check for extra items.
+	 * @param context        The context of the grading run to report to.
+	 * @param specConsumer   The consumer spec was made with, used if context has no sink.
+	 * @param <T>            The type of the items in the sets.
+	 */
+	public static <T> void checkSetForExtra(
+			@Nullable final Spec spec,
+			@NonNull final String declaringName,
+			@NonNull final NameIndex<T> expectedValues,
+			@NonNull final Set<T> actualValues,
+			@NonNull final String itemTypePlural,
+			@NonNull final GradingContext context,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		final NameIndex<?>.Presence presence = expectedValues.presenceOf(actualValues);
+		if (presence.hasExtra()) {
+			context.report(
+					spec,
+					NoncomplianceKind.EXTRA,
+					declaringName,
+					itemTypePlural,
+					expectedValues.getValues(),
+					presence,
+					specConsumer
+			);
+		}
+	}
+
+	/**
+	 * Checks the index of expected values for any items which don't appear in actualValues. If any
+	 * missing items are found, a noncompliance is reported to context, without copying actualValues unless it is
+	 * materialized.
+	 *
+	 * @param spec           The reporting specification, or null if there isn't one.
+	 * @param declaringName  The name of the parent of the set. Used to provide additional
+	 *                       context for Noncompliances.
+	 * @param expectedValues The index of the expected items.
+	 * @param actualValues   The set to check for missing items.
+	 * @param context        The context of the grading run to report to.
+	 * @param specConsumer   The consumer spec was made with, used if context has no sink.
+	 * @param <T>            The type of the items in the sets.
+	 */
+	public static <T> void checkSetForMissing(
+			@Nullable final Spec spec,
+			@NonNull final String declaringName,
+			@NonNull final NameIndex<T> expectedValues,
+			@NonNull final Set<T> actualValues,
+			@NonNull final String itemTypePlural,
+			@NonNull final GradingContext context,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		final NameIndex<?>.Presence presence = expectedValues.presenceOf(actualValues);
+		if (presence.hasMissing()) {
+			context.report(
+					spec,
+					NoncomplianceKind.MISSING,
+					declaringName,
+					itemTypePlural,
+					expectedValues.getValues(),
+					presence,
+					specConsumer
+			);
+		}
 	}
 }
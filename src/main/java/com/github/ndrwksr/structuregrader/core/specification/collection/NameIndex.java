@@ -0,0 +1,198 @@
+package com.github.ndrwksr.structuregrader.core.specification.collection;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Indexes a set of expected values to dense ints, so that which of them are present in a collection can be recorded in
+ * a bitset of one bit per value. Missing and extra values are then found with a few word-wise operations instead of
+ * set lookups in both directions. Made once when a specification is made, and shared by every visit.
+ * <p>
+ * The presence of a collection is itself a Set of the collection's values, which shares the expected values with the
+ * index and only copies the values which aren't expected. A noncompliance can keep it instead of a copy of the
+ * collection.
+ *
+ * @param <T> The type of the expected values.
+ */
+public class NameIndex<T> {
+	/**
+	 * The expected values, in the order of their indices.
+	 */
+	@NonNull
+	@Getter
+	private final ImmutableSet<T> values;
+
+	/**
+	 * The index of each expected value.
+	 */
+	@NonNull
+	private final ImmutableMap<T, Integer> indices;
+
+	/**
+	 * The bitset with the bit of every expected value set.
+	 */
+	@NonNull
+	private final long[] allPresent;
+
+	private NameIndex(@NonNull final ImmutableSet<T> values) {
+		this.values = values;
+
+		final ImmutableMap.Builder<T, Integer> indices = ImmutableMap.builderWithExpectedSize(values.size());
+		int index = 0;
+		for (final T value : values) {
+			indices.put(value, index++);
+		}
+		this.indices = indices.build();
+
+		this.allPresent = new long[wordCount(values.size())];
+		for (int i = 0; i < values.size(); i++) {
+			allPresent[i >>> 6] |= 1L << i;
+		}
+	}
+
+	/**
+	 * @param values The expected values, which are copied unless they are already an ImmutableSet.
+	 * @param <T>    The type of the expected values.
+	 * @return an index of values.
+	 */
+	public static <T> NameIndex<T> of(@NonNull final Set<T> values) {
+		return new NameIndex<>(ImmutableSet.copyOf(values));
+	}
+
+	private static int wordCount(final int bitCount) {
+		return (bitCount + 63) >>> 6;
+	}
+
+	/**
+	 * @return the number of expected values.
+	 */
+	public int size() {
+		return indices.size();
+	}
+
+	/**
+	 * @param value The value to look up.
+	 * @return the index of value, or -1 if it isn't expected.
+	 */
+	public int indexOf(@NonNull final Object value) {
+		final Integer index = indices.get(value);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Records which expected values are present in actualValues, and copies the values which aren't expected.
+	 *
+	 * @param actualValues The distinct actual values, such as the keys of a map or the items of a set.
+	 * @return the presence of actualValues, which is an immutable Set of the same values.
+	 */
+	public Presence presenceOf(@NonNull final Collection<?> actualValues) {
+		final long[] present = new long[allPresent.length];
+		List<Object> extraValues = null;
+		for (final Object actualValue : actualValues) {
+			final Integer index = indices.get(actualValue);
+			if (index != null) {
+				present[index >>> 6] |= 1L << index;
+			} else {
+				if (extraValues == null) {
+					extraValues = new ArrayList<>();
+				}
+				extraValues.add(actualValue);
+			}
+		}
+		return new Presence(present, extraValues != null ? ImmutableList.copyOf(extraValues) : ImmutableList.of());
+	}
+
+	/**
+	 * Which of the expected values are present in a collection, and the collection's values which aren't expected. Is
+	 * an immutable Set of the collection's values.
+	 */
+	public class Presence extends AbstractSet<Object> {
+		private final long[] present;
+
+		/**
+		 * The actual values which aren't expected.
+		 */
+		@NonNull
+		private final ImmutableList<Object> extraValues;
+
+		private Presence(@NonNull final long[] present, @NonNull final ImmutableList<Object> extraValues) {
+			this.present = present;
+			this.extraValues = extraValues;
+		}
+
+		/**
+		 * @return the number of actual values which aren't expected.
+		 */
+		public int getExtraCount() {
+			return extraValues.size();
+		}
+
+		private boolean isPresent(final int index) {
+			return (present[index >>> 6] & 1L << index) != 0;
+		}
+
+		@Override
+		public boolean contains(final Object value) {
+			if (value == null) {
+				return false;
+			}
+			final int index = indexOf(value);
+			return index >= 0 ? isPresent(index) : extraValues.contains(value);
+		}
+
+		@Override
+		public int size() {
+			return values.size() - getMissingCount() + extraValues.size();
+		}
+
+		@Override
+		public Iterator<Object> iterator() {
+			final Iterator<T> presentValues = Iterators.filter(
+					values.iterator(),
+					value -> isPresent(indices.get(value))
+			);
+			return Iterators.unmodifiableIterator(Iterators.concat(presentValues, extraValues.iterator()));
+		}
+
+		/**
+		 * @return true if any actual value isn't expected.
+		 */
+		public boolean hasExtra() {
+			return !extraValues.isEmpty();
+		}
+
+		/**
+		 * @return true if any expected value isn't present.
+		 */
+		public boolean hasMissing() {
+			for (int i = 0; i < present.length; i++) {
+				if ((allPresent[i] & ~present[i]) != 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @return the number of expected values which aren't present.
+		 */
+		public int getMissingCount() {
+			int missingCount = 0;
+			for (int i = 0; i < present.length; i++) {
+				missingCount += Long.bitCount(allPresent[i] & ~present[i]);
+			}
+			return missingCount;
+		}
+	}
+}
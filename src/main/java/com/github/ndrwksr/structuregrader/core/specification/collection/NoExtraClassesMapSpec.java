@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassHierarchyVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ClassHierarchyVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
@@ -41,8 +42,8 @@ public class NoExtraClassesMapSpec extends NoExtraMapSpec<ClassWrapper> implemen
 	}
 
 	@Override
-	public void visit(@Nullable final ClassWrapper classWrapper) {
-		super.visit(classWrapper != null ? classWrapper.getDeclaredClasses() : null);
+	public void visit(@Nullable final ClassWrapper classWrapper, @NonNull final GradingContext context) {
+		super.visit(classWrapper != null ? classWrapper.getDeclaredClasses() : null, context);
 	}
 
 	@Override
@@ -7,10 +7,12 @@ import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.property.Named;
 import com.github.ndrwksr.structuregrader.core.specification.base.MapSpec;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitorFactory;
 import com.google.common.collect.Sets;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
@@ -26,7 +28,9 @@ import java.util.function.Consumer;
 @SuperBuilder
 @EqualsAndHashCode(callSuper = true)
 public class NoExtraMapSpec<ITEM extends Named> extends MapSpec<ITEM, String> {
-	@NonNull private final String itemTypePlural;
+	@NonNull
+	@Getter
+	private final String itemTypePlural;
 
 	@JsonCreator
 	public static <ITEM extends Named> NoExtraMapSpec<ITEM> jsonCreate(
@@ -44,13 +48,15 @@ public class NoExtraMapSpec<ITEM extends Named> extends MapSpec<ITEM, String> {
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedMap<ITEM> namedMap) {
+	public void visit(@CheckForNull final NamedMap<ITEM> namedMap, @NonNull final GradingContext context) {
 		if (namedMap != null) {
 			MissingExtraHelper.checkMapForExtra(
+					this,
 					namedMap.getName(),
-					getExpectedItemNames(),
+					getNameIndex(),
 					namedMap.getItems(),
 					itemTypePlural,
+					context,
 					getNoncomplianceConsumer()
 			);
 		}
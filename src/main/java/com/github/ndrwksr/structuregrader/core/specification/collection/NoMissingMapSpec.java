@@ -5,12 +5,14 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitorFactory;
 import com.google.common.collect.Sets;
 import com.github.ndrwksr.structuregrader.core.property.Named;
 import com.github.ndrwksr.structuregrader.core.specification.base.MapSpec;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
@@ -26,6 +28,7 @@ import java.util.function.Consumer;
 @SuperBuilder
 @EqualsAndHashCode(callSuper = true)
 public class NoMissingMapSpec<ITEM extends Named> extends MapSpec<ITEM, String> {
+	@Getter
 	private final String itemTypePlural;
 
 	@JsonCreator
@@ -44,13 +47,15 @@ public class NoMissingMapSpec<ITEM extends Named> extends MapSpec<ITEM, String>
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedMap<ITEM> namedMap) {
+	public void visit(@CheckForNull final NamedMap<ITEM> namedMap, @NonNull final GradingContext context) {
 		if (namedMap != null) {
 			MissingExtraHelper.checkMapForMissing(
+					this,
 					namedMap.getName(),
-					getExpectedItemNames(),
+					getNameIndex(),
 					namedMap.getItems(),
 					itemTypePlural,
+					context,
 					getNoncomplianceConsumer()
 			);
 		}
@@ -6,8 +6,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.NamedSet;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.SetVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.SetVisitorFactory;
+import com.google.common.collect.ImmutableSet;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -25,8 +27,16 @@ public class NoMissingSetSpec<ITEM> implements SetVisitor<ITEM> {
 	/**
 	 * The minimum set of items allowed in the specified set.
 	 */
+	@Getter
 	private final Set<ITEM> expectedItemNames;
 
+	/**
+	 * The index of expectedItemNames.
+	 */
+	@NonNull
+	@JsonIgnore
+	private final NameIndex<ITEM> nameIndex;
+
 	/**
 	 * Accepts any generated noncompliances, decoupling the consumption of noncompliances from their
 	 * creation.
@@ -52,20 +62,23 @@ public class NoMissingSetSpec<ITEM> implements SetVisitor<ITEM> {
 			@NonNull @JsonProperty("parentName") final String parentName,
 			@NonNull @JacksonInject("noncomplianceConsumer") final Consumer<Noncompliance> noncomplianceConsumer
 	) {
-		this.expectedItemNames = expectedItemNames;
+		this.expectedItemNames = ImmutableSet.copyOf(expectedItemNames);
+		this.nameIndex = NameIndex.of(this.expectedItemNames);
 		this.itemTypePlural = itemTypePlural;
 		this.parentName = parentName;
 		this.noncomplianceConsumer = noncomplianceConsumer;
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedSet<ITEM> collection) {
+	public void visit(@CheckForNull final NamedSet<ITEM> collection, @NonNull final GradingContext context) {
 		if (collection != null) {
 			MissingExtraHelper.checkSetForMissing(
+					this,
 					collection.getName(),
-					expectedItemNames,
+					nameIndex,
 					collection.getItems(),
 					itemTypePlural,
+					context,
 					noncomplianceConsumer
 			);
 		}
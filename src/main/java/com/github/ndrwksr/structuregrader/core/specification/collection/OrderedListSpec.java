@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitorFactory;
 import com.google.common.collect.ImmutableList;
 import com.github.ndrwksr.structuregrader.core.property.Ordinal;
@@ -48,6 +50,17 @@ public class OrderedListSpec<ITEM extends Ordinal> implements MapVisitor<ITEM> {
 	@JsonIgnore
 	private final Consumer<Noncompliance> noncomplianceConsumer;
 
+	static {
+		NoncomplianceKind.ORDER.registerMaterializer((parentName, subject, expected, actual) ->
+				OrdinalNoncompliance.builder()
+						.parentName(parentName)
+						.expected(expected)
+						.actual(actual)
+						.explanation("Expected item with name " + subject + " to be at index %E, but was at index %A")
+						.build()
+		);
+	}
+
 	@JsonCreator
 	@Builder
 	public OrderedListSpec(
@@ -61,7 +74,7 @@ public class OrderedListSpec<ITEM extends Ordinal> implements MapVisitor<ITEM> {
 	}
 
 	@Override
-	public void visit(@CheckForNull final NamedMap<ITEM> namedMap) {
+	public void visit(@CheckForNull final NamedMap<ITEM> namedMap, @NonNull final GradingContext context) {
 		if (namedMap != null) {
 			final Map<String, ITEM> items = namedMap.getItems();
 
@@ -72,12 +85,15 @@ public class OrderedListSpec<ITEM extends Ordinal> implements MapVisitor<ITEM> {
 				final String expectedName = expectedOrder.get(expectedIndex);
 				final Integer actualIndex = actualNameToIndexMap.get(expectedName);
 				if (actualIndex != null && actualIndex != expectedIndex) {
-					noncomplianceConsumer.accept(OrdinalNoncompliance.builder()
-							.expected(expectedIndex)
-							.actual(actualIndex)
-							.parentName(parentName)
-							.explanation("Expected item with name " + expectedName + " to be at index %E, but was at index %A")
-							.build());
+					context.report(
+							this,
+							NoncomplianceKind.ORDER,
+							parentName,
+							expectedName,
+							expectedIndex,
+							(int) actualIndex,
+							noncomplianceConsumer
+					);
 				}
 			}
 		}
@@ -1,28 +1,33 @@
 package com.github.ndrwksr.structuregrader.core.specification.common;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.HasChildSet;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.NamedSpecSet;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.specification.collection.NoMissingMapSpec;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitorFactory;
+import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationIndex;
 import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationWrapper;
 import com.google.common.collect.ImmutableSet;
 import com.github.ndrwksr.structuregrader.core.property.Annotated;
 import com.github.ndrwksr.structuregrader.core.specification.base.MapSpec;
 import com.github.ndrwksr.structuregrader.core.specification.collection.NoExtraMapSpec;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
-import java.lang.annotation.Annotation;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -48,6 +53,17 @@ public class AnnotatedSuite<ITEM extends Annotated> implements ItemVisitor<ITEM>
 	@NonNull
 	private final String parentName;
 
+	/**
+	 * The annotations of an element without any, named as they are for this suite's specifications. Shared by every
+	 * visit of such an element.
+	 */
+	@NonNull
+	@JsonIgnore
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	@Getter(AccessLevel.NONE)
+	private final NamedMap<AnnotationWrapper> noAnnotations;
+
 	/**
 	 * @param collectionSpecs       The set of specifications for the map as a whole.
 	 * @param parentName            The name of the parent of the specified object.
@@ -58,26 +74,30 @@ public class AnnotatedSuite<ITEM extends Annotated> implements ItemVisitor<ITEM>
 			@NonNull @JsonProperty("collectionSpecs") final Set<MapSpec<AnnotationWrapper, String>> collectionSpecs,
 			@NonNull @JsonProperty("parentName") final String parentName
 	) {
-		this.collectionSpecs = collectionSpecs;
+		this.collectionSpecs = ImmutableSet.copyOf(collectionSpecs);
 		this.parentName = parentName;
+		this.noAnnotations = AnnotationIndex.EMPTY.toNamedMap(parentName);
 	}
 
 	/**
-	 * Extracts the Annotations from the provided Annotated item, maps said annotations into AnnotationWrappers, and
-	 * visits those AnnotationWrappers with all specifications in collectionSpecs.
+	 * Reads the annotations of the provided Annotated item from its AnnotationIndex and visits them with all
+	 * specifications in collectionSpecs.
 	 *
 	 * @param annotated The specified Annotated item.
 	 */
 	@Override
-	public void visit(@CheckForNull final ITEM annotated) {
+	public void visit(@CheckForNull final ITEM annotated, @NonNull final GradingContext context) {
 		if (annotated != null) {
-			final Annotation[] annotations = annotated.getDeclaredAnnotations();
-			final NamedMap<AnnotationWrapper> namedAnnotations = AnnotationWrapper.buildCollectionFrom(
-					parentName,
-					annotations
-			);
-
-			collectionSpecs.forEach(spec -> spec.visit(namedAnnotations));
+			final AnnotationIndex annotationIndex = annotated.getAnnotationIndex();
+			final NamedMap<AnnotationWrapper> namedAnnotations = annotationIndex.isEmpty() ?
+					noAnnotations :
+					annotationIndex.toNamedMap(parentName);
+
+			collectionSpecs.forEach(spec -> {
+				if (!context.isCancelled()) {
+					spec.visit(namedAnnotations, context);
+				}
+			});
 		}
 	}
 
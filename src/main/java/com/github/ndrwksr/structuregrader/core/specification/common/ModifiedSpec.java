@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.property.Modified;
@@ -26,6 +28,7 @@ public class ModifiedSpec<MODIFIED extends Modified> implements ItemVisitor<MODI
 	/**
 	 * The expected value of the modifiers.
 	 */
+	@Getter
 	private final int expectedModifiers;
 
 	/**
@@ -41,8 +44,16 @@ public class ModifiedSpec<MODIFIED extends Modified> implements ItemVisitor<MODI
 	 */
 	@NonNull
 	@JsonIgnore
+	@Getter
 	private final Consumer<Noncompliance> noncomplianceConsumer;
 
+	static {
+		NoncomplianceKind.MODIFIERS.registerMaterializer((parentName, subject, expected, actual) ->
+				//noinspection ConstantConditions -- MODIFIERS are always reported with both values
+				ModifiedNoncompliance.of(parentName, (Integer) actual, (Integer) expected)
+		);
+	}
+
 	@Builder
 	public ModifiedSpec(
 			@JsonProperty("expectedModifiers") final int expectedModifiers,
@@ -55,18 +66,19 @@ public class ModifiedSpec<MODIFIED extends Modified> implements ItemVisitor<MODI
 	}
 
 	@Override
-	public void visit(@CheckForNull final MODIFIED modified) {
+	public void visit(@CheckForNull final MODIFIED modified, @NonNull final GradingContext context) {
 		if (modified != null) {
 			final int actualModifiers = modified.getModifiers();
 
 			if (actualModifiers != expectedModifiers) {
-				noncomplianceConsumer.accept(
-						ModifiedNoncompliance.builder()
-								.parentName(modified.getName())
-								.actual(actualModifiers)
-								.expected(expectedModifiers)
-								.explanation("Expected Member to have modifiers %E, but had %A")
-								.build()
+				context.report(
+						this,
+						NoncomplianceKind.MODIFIERS,
+						modified.getName(),
+						null,
+						expectedModifiers,
+						actualModifiers,
+						noncomplianceConsumer
 				);
 			}
 		}
@@ -112,6 +124,23 @@ public class ModifiedSpec<MODIFIED extends Modified> implements ItemVisitor<MODI
 	 */
 	@SuperBuilder
 	public static class ModifiedNoncompliance extends Noncompliance<Integer> {
-
+		/**
+		 * @param parentName The name of the Modified which had the wrong modifiers.
+		 * @param actual     The modifiers the Modified had.
+		 * @param expected   The modifiers the Modified was expected to have.
+		 * @return a noncompliance describing the mismatch.
+		 */
+		public static ModifiedNoncompliance of(
+				@NonNull final String parentName,
+				final int actual,
+				final int expected
+		) {
+			return ModifiedNoncompliance.builder()
+					.parentName(parentName)
+					.actual(actual)
+					.expected(expected)
+					.explanation("Expected Member to have modifiers %E, but had %A")
+					.build();
+		}
 	}
 }
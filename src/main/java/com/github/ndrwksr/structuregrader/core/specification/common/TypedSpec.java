@@ -5,10 +5,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
-import com.github.ndrwksr.structuregrader.core.TemplateKeys;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.property.Typed;
+import com.github.ndrwksr.structuregrader.core.type.TypeTree;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -16,13 +18,14 @@ import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import java.lang.reflect.Type;
-import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
  * A specification for checking the type of an implementor of Typed. Can check just the normal type, or the generic
- * type.
+ * type. The expected type is parsed into a TypeTree once, which is compared against the type of each visited element
+ * structurally, so that multiple, nested and wildcard type arguments are all compared.
  *
  * @param <TYPED> The type of the Typed implementor the specification is for.
  */
@@ -32,18 +35,31 @@ public class TypedSpec<TYPED extends Typed> implements ItemVisitor<TYPED> {
 	 * The simple name of the <b>non-generic</b> type being specified.
 	 */
 	@CheckForNull
+	@Getter
 	private final String typeName;
 
 	/**
 	 * The simple name of the <b>generic</b> type being specified.
 	 */
 	@CheckForNull
+	@Getter
 	private final String genericTypeName;
 
+	/**
+	 * The structure of the type being specified, typeName or genericTypeName depending on useGenericTypeName, or null
+	 * if it is null.
+	 */
+	@CheckForNull
+	@JsonIgnore
+	@EqualsAndHashCode.Exclude
+	@Getter
+	private final TypeTree expectedType;
+
 	/**
 	 * True if genericTypeName should be used and the generic value of the visitee should be evaluated, false if the
 	 * non-generic type name should be used instead.
 	 */
+	@Getter
 	private final boolean useGenericTypeName;
 
 	/**
@@ -59,8 +75,28 @@ public class TypedSpec<TYPED extends Typed> implements ItemVisitor<TYPED> {
 	 */
 	@NonNull
 	@JsonIgnore
+	@Getter
 	private final Consumer<Noncompliance> noncomplianceConsumer;
 
+	static {
+		NoncomplianceKind.TYPE.registerMaterializer((parentName, subject, expected, actual) ->
+				TypedNoncompliance.builder()
+						.parentName(parentName)
+						.expected((String) expected)
+						.actual((String) actual)
+						.explanation("Incorrect type! Expected " + subject + " to have type %E, but had type %A.")
+						.build()
+		);
+		NoncomplianceKind.GENERIC_TYPE.registerMaterializer((parentName, subject, expected, actual) ->
+				TypedNoncompliance.builder()
+						.parentName(parentName)
+						.expected((String) expected)
+						.actual((String) actual)
+						.explanation("Incorrect type! Expected " + subject + " to have generic type %E, but had type %A.")
+						.build()
+		);
+	}
+
 	@Builder
 	@JsonCreator
 	public TypedSpec(
@@ -75,64 +111,56 @@ public class TypedSpec<TYPED extends Typed> implements ItemVisitor<TYPED> {
 		this.useGenericTypeName = useGenericTypeName;
 		this.parentName = parentName;
 		this.noncomplianceConsumer = noncomplianceConsumer;
+
+		final String expectedTypeName = useGenericTypeName ? genericTypeName : typeName;
+		this.expectedType = expectedTypeName != null ? TypeTree.parse(expectedTypeName) : null;
 	}
 
 	@Override
-	public void visit(@CheckForNull final Typed typed) {
+	public void visit(@CheckForNull final Typed typed, @NonNull final GradingContext context) {
 		if (typed != null) {
 			if (!useGenericTypeName) {
 				// Compare types
 				//noinspection ConstantConditions -- typed.typeName can't be null, else useGenericTypeName would be true
-				if (!typeName.equals(unlocateTypeString(typed.getType().getTypeName()))) {
-					noncomplianceConsumer.accept(TypedNoncompliance.builder()
-							.parentName(parentName)
-							.expected(typeName)
-							.actual(typed.getType().getTypeName())
-							.explanation("Incorrect type! Expected " + typed.getName() + " to have type %E, but had type %A.")
-							.build());
+				if (!expectedType.matches(typed.getType())) {
+					context.report(
+							this,
+							NoncomplianceKind.TYPE,
+							parentName,
+							typed.getName(),
+							typeName,
+							typed.getType().getTypeName(),
+							noncomplianceConsumer
+					);
 				}
 			} else {
 				// Compare generic types
-				final Optional<String> expectedGenericTypeName = Optional.ofNullable(genericTypeName);
-				final Optional<String> actualGenericTypeName = Optional.ofNullable(typed.getGenericType())
-						.map(Type::getTypeName)
-						.map(TypedSpec::unlocateTypeString);
-
-				if (!expectedGenericTypeName.equals(actualGenericTypeName)) {
-					noncomplianceConsumer.accept(TypedNoncompliance.builder()
-							.parentName(parentName)
-							.expected(genericTypeName)
-							.actual(typed.getGenericType().getTypeName())
-							.explanation("Incorrect type! Expected " + typed.getName() + " to have generic type %E, but had type %A.")
-							.build());
+				final Type actualGenericType = typed.getGenericType();
+				final boolean matches = actualGenericType == null ?
+						expectedType == null :
+						expectedType != null && expectedType.matches(actualGenericType);
+
+				if (!matches) {
+					context.report(
+							this,
+							NoncomplianceKind.GENERIC_TYPE,
+							parentName,
+							typed.getName(),
+							genericTypeName,
+							actualGenericType != null ? actualGenericType.getTypeName() : null,
+							noncomplianceConsumer
+					);
 				}
 			}
 		}
 	}
 
-	private static String unlocateTypeString(@NonNull final String rawTypeName) {
-		// rawTypeName: "java.util.List<java.lang.String>"
-
-		// ["java.util.List", "java.lang.String>"]
-		final String[] splitRawName = rawTypeName.split("<");
-
-		// ["java", "util", "List"]
-		final String[] typeTokens = splitRawName[0].split("\\.");
-		// "List"
-		final String unlocatedType = typeTokens[typeTokens.length - 1];
-
-		final String genericParam;
-		if (splitRawName.length >= 2) {
-			// ["java", "lang", "String>"]
-			final String[] genericParamTokens = splitRawName[1].split("\\.");
-			// "<String>"
-			genericParam = '<' + genericParamTokens[genericParamTokens.length - 1];
-		} else {
-			genericParam = "";
-		}
-
-		// List<String>
-		return unlocatedType + genericParam;
+	/**
+	 * @param typeName The name of a type, formatted as Type.getTypeName() formats it.
+	 * @return typeName with the packages of its classes left out.
+	 */
+	private static String unlocateTypeString(@NonNull final String typeName) {
+		return TypeTree.parse(typeName).toString();
 	}
 
 	@Override
@@ -146,14 +174,8 @@ public class TypedSpec<TYPED extends Typed> implements ItemVisitor<TYPED> {
 	@SuperBuilder
 	public static class TypedNoncompliance extends Noncompliance<String> {
 		@Override
-		public String getExplanation() {
-			return explanation.replaceAll(
-					TemplateKeys.EXPECTED_TEMPLATE,
-					expected != null ? unlocateTypeString(expected) : "null"
-			).replaceAll(
-					TemplateKeys.ACTUAL_TEMPLATE,
-					actual != null ? unlocateTypeString(actual) : "null"
-			);
+		protected String describe(@Nullable final String typeName) {
+			return typeName != null ? unlocateTypeString(typeName) : "null";
 		}
 	}
 
@@ -192,13 +214,13 @@ public class TypedSpec<TYPED extends Typed> implements ItemVisitor<TYPED> {
 			TypedSpec.TypedSpecBuilder<TYPED> builder = TypedSpec.builder();
 
 			if (!useGenericTypeName) {
-				builder.typeName(unlocateTypeString(typed.getType().getTypeName()));
+				builder.typeName(TypeTree.of(typed.getType()).toString());
 			} else {
 				final String genericTypeName;
 				if (genericType == null) {
 					genericTypeName = null;
 				} else {
-					genericTypeName = unlocateTypeString(genericType.getTypeName());
+					genericTypeName = TypeTree.of(genericType).toString();
 				}
 
 				builder.genericTypeName(genericTypeName);
@@ -18,7 +18,6 @@ import lombok.experimental.SuperBuilder;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -26,7 +25,9 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Specifies a list of constructors using MapVisitors and a function which maps the items in said list to strings.
+ * Specifies a list of constructors using MapVisitors and a function which maps the items in said list to strings. The
+ * constructors are keyed by their signatures, so a visited class's own map of its constructors by signature is visited
+ * rather than one made from its set of constructors.
  */
 // TODO [ndrwksr | 12/4/19]: Refactor to use NamedSet and Set instead of maps
 @SuperBuilder
@@ -47,14 +48,9 @@ public class ConstructorSetSuite extends SetSuite<ConstructorWrapper> implements
 	}
 
 	@Override
-	public void visit(@CheckForNull final ClassWrapper classWrapper) {
+	public void visit(@CheckForNull final ClassWrapper classWrapper, @NonNull final GradingContext context) {
 		if (classWrapper != null) {
-			super.visit(
-					NamedSet.<ConstructorWrapper>builder()
-							.items(new HashSet<>(classWrapper.getConstructors().getItems()))
-							.name(classWrapper.getConstructors().getName())
-							.build()
-			);
+			visitMap(classWrapper.getConstructorsBySignature(), context);
 		}
 	}
 
@@ -1,7 +1,10 @@
 package com.github.ndrwksr.structuregrader.core.specification.executable;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.ndrwksr.structuregrader.core.MethodIndex;
+import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.specification.base.MapSuite;
 import com.github.ndrwksr.structuregrader.core.specification.variable.VariableMapSuite;
@@ -9,8 +12,10 @@ import com.github.ndrwksr.structuregrader.core.specification.variable.VariableSu
 import com.github.ndrwksr.structuregrader.core.visitor.*;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
 import com.github.ndrwksr.structuregrader.core.wrapper.MethodWrapper;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
 
 import javax.annotation.CheckForNull;
@@ -22,30 +27,75 @@ import java.util.function.Consumer;
 /**
  * A suite for a map of methods. Contains specifications for the map of methods as a whole, and suites for the
  * individual methods in the map.
+ * <p>
+ * Methods are keyed as in MethodIndex, so overloaded methods are keyed by name and descriptor. The methods of a visited
+ * class are keyed the same way as the oracle's before they are compared (see keyedAsOracle), so a method which is
+ * overloaded in only one of them still matches.
  */
 public class MethodMapSuite extends VariableMapSuite<MethodWrapper> implements ClassVisitor {
-	// TODO: Handle overloading
 	/**
-	 * @param collectionSpecs The specifications for the collection as a whole.
-	 * @param itemSuites      The suites for each individual Variable.
-	 * @param parentName      The name of the parent of the specified element.
+	 * The names of the methods which are overloaded in the oracle.
+	 */
+	@NonNull
+	@JsonIgnore
+	@Getter
+	private final ImmutableSet<String> overloadedNames;
+
+	/**
+	 * The descriptors of the oracle's methods which aren't overloaded, by name, or null if the suite was made without
+	 * them. See MethodIndex.getDescriptorsByName().
+	 */
+	@CheckForNull
+	private final ImmutableMap<String, String> descriptors;
+
+	/**
+	 * @param collectionSpecs   The specifications for the collection as a whole.
+	 * @param itemSuites        The suites for each individual Variable.
+	 * @param parentName        The name of the parent of the specified element.
+	 * @param oracleFingerprint The structural fingerprint of the map the suite was made from, or null.
+	 * @param descriptors       The descriptors of the oracle's methods which aren't overloaded, by name, or null.
 	 */
 	@JsonCreator
 	protected MethodMapSuite(
 			@NonNull @JsonProperty("collectionSpecs") final Set<MapVisitor<MethodWrapper>> collectionSpecs,
 			@NonNull @JsonProperty("itemSuites") final Map<String, VariableSuite<MethodWrapper>> itemSuites,
-			@NonNull @JsonProperty("parentName") final String parentName
+			@NonNull @JsonProperty("parentName") final String parentName,
+			@CheckForNull @JsonProperty("oracleFingerprint") final Long oracleFingerprint,
+			@CheckForNull @JsonProperty("descriptors") final Map<String, String> descriptors
 	) {
-		super(collectionSpecs, itemSuites, parentName);
+		super(collectionSpecs, itemSuites, parentName, oracleFingerprint);
+		this.overloadedNames = MethodIndex.overloadedNamesOf(itemSuites.keySet());
+		this.descriptors = descriptors != null ? ImmutableMap.copyOf(descriptors) : null;
+	}
+
+	@Override
+	public void visit(@CheckForNull final NamedMap<MethodWrapper> methods, @NonNull final GradingContext context) {
+		super.visit(methods != null ? keyedAsOracle(methods) : null, context);
+	}
+
+	/**
+	 * @param methods The methods of a visited class.
+	 * @return methods keyed the way the oracle's methods are, see MethodIndex.keyedFor(Set, Map).
+	 */
+	@NonNull
+	public NamedMap<MethodWrapper> keyedAsOracle(@NonNull final NamedMap<MethodWrapper> methods) {
+		return methods instanceof MethodIndex ?
+				((MethodIndex) methods).keyedFor(overloadedNames, descriptors) :
+				methods;
 	}
 
 	@Override
-	public void visit(@CheckForNull final ClassWrapper classWrapper) {
+	public void visit(@CheckForNull final ClassWrapper classWrapper, @NonNull final GradingContext context) {
 		if (classWrapper != null) {
-			super.visit(classWrapper.getMethods());
+			this.visit(classWrapper.getMethods(), context);
 		}
 	}
 
+	@Override
+	public String getChildKind() {
+		return MethodMapSuiteFactory.ITEM_TYPE_PLURAL;
+	}
+
 	/**
 	 * A factory for MethodMapSuites. Has a default suite factory for making VariableSuites for MethodWrappers.
 	 */
@@ -87,7 +137,13 @@ public class MethodMapSuite extends VariableMapSuite<MethodWrapper> implements C
 			final MapSuite<MethodWrapper, VariableSuite<MethodWrapper>> superSuite =
 					super.buildFromCollection(classWrapper.getMethods(), parentName, noncomplianceConsumer);
 
-			return new MethodMapSuite(superSuite.getCollectionSpecs(), superSuite.getItemSuites(), parentName);
+			return new MethodMapSuite(
+					superSuite.getCollectionSpecs(),
+					superSuite.getItemSuites(),
+					parentName,
+					superSuite.getOracleFingerprint(),
+					classWrapper.getMethods().getDescriptorsByName()
+			);
 		}
 	}
 }
@@ -26,23 +26,30 @@ public class FieldMapSuite extends VariableMapSuite<FieldWrapper> implements Cla
 	 * @param collectionSpecs The specifications for the map of fields as a whole.
 	 * @param itemSuites The suites for the individual fields in the map.
 	 * @param parentName The name of the class to which these fields belong.
+	 * @param oracleFingerprint The structural fingerprint of the map the suite was made from, or null.
 	 */
 	@JsonCreator
 	public FieldMapSuite(
 			@NonNull @JsonProperty("collectionSpecs") final Set<MapVisitor<FieldWrapper>> collectionSpecs,
 			@NonNull @JsonProperty("itemSuites") final Map<String, VariableSuite<FieldWrapper>> itemSuites,
-			@NonNull @JsonProperty("parentName") final String parentName
+			@NonNull @JsonProperty("parentName") final String parentName,
+			@CheckForNull @JsonProperty("oracleFingerprint") final Long oracleFingerprint
 	) {
-		super(collectionSpecs, itemSuites, parentName);
+		super(collectionSpecs, itemSuites, parentName, oracleFingerprint);
 	}
 
 	@Override
-	public void visit(@CheckForNull final ClassWrapper classWrapper) {
+	public void visit(@CheckForNull final ClassWrapper classWrapper, @NonNull final GradingContext context) {
 		if (classWrapper != null) {
-			super.visit(classWrapper.getFields());
+			super.visit(classWrapper.getFields(), context);
 		}
 	}
 
+	@Override
+	public String getChildKind() {
+		return FieldMapSuiteFactory.ITEM_TYPE_PLURAL;
+	}
+
 	/**
 	 * A factory for FieldMapSuites. Has a default suite factory for making VariableSuites for FieldWrappers.
 	 */
@@ -84,7 +91,12 @@ public class FieldMapSuite extends VariableMapSuite<FieldWrapper> implements Cla
 			final MapSuite<FieldWrapper, VariableSuite<FieldWrapper>> superSuite =
 					super.buildFromCollection(classWrapper.getFields(), parentName, noncomplianceConsumer);
 
-			return new FieldMapSuite(superSuite.getCollectionSpecs(), superSuite.getItemSuites(), parentName);
+			return new FieldMapSuite(
+					superSuite.getCollectionSpecs(),
+					superSuite.getItemSuites(),
+					parentName,
+					superSuite.getOracleFingerprint()
+			);
 		}
 	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.github.ndrwksr.structuregrader.core.specification.variable;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.visitor.MapVisitorFactory;
@@ -30,26 +31,33 @@ import static com.github.ndrwksr.structuregrader.core.specification.collection.O
  */
 public class ParameterMapSuite<PARAM extends Parameterized> extends VariableMapSuite<ParameterWrapper> implements ItemVisitor<PARAM> {
 	/**
-	 * @param collectionSpecs The specifications for the collection as a whole.
-	 * @param itemSuites      The suites for each individual Variable.
-	 * @param parentName      The name of the parent of the specified element.
+	 * @param collectionSpecs   The specifications for the collection as a whole.
+	 * @param itemSuites        The suites for each individual Variable.
+	 * @param parentName        The name of the parent of the specified element.
+	 * @param oracleFingerprint The structural fingerprint of the map the suite was made from, or null.
 	 */
 	@JsonCreator
 	protected ParameterMapSuite(
 			@NonNull @JsonProperty("collectionSpecs") final Set<MapVisitor<ParameterWrapper>> collectionSpecs,
 			@NonNull @JsonProperty("itemSuites") final Map<String, VariableSuite<ParameterWrapper>> itemSuites,
-			@NonNull @JsonProperty("parentName") final String parentName
+			@NonNull @JsonProperty("parentName") final String parentName,
+			@CheckForNull @JsonProperty("oracleFingerprint") final Long oracleFingerprint
 	) {
-		super(collectionSpecs, itemSuites, parentName);
+		super(collectionSpecs, itemSuites, parentName, oracleFingerprint);
 	}
 
 	@Override
-	public void visit(@CheckForNull final Parameterized parameterized) {
+	public void visit(@CheckForNull final Parameterized parameterized, @NonNull final GradingContext context) {
 		if (parameterized != null) {
-			super.visit(parameterized.getParameters());
+			super.visit(parameterized.getParameters(), context);
 		}
 	}
 
+	@Override
+	public String getChildKind() {
+		return ParameterMapSuiteFactory.ITEM_TYPE_PLURAL;
+	}
+
 	/**
 	 * A factory for ParameterMapSuites. Has a default VariableSuite factory for making ParameterWrapper suites and has
 	 * a default OrderedListFactory for ensuring that the order of parameters is correct.
@@ -108,7 +116,12 @@ public class ParameterMapSuite<PARAM extends Parameterized> extends VariableMapS
 			final MapSuite<ParameterWrapper, VariableSuite<ParameterWrapper>> superSuite =
 					super.buildFromCollection(parameterized.getParameters(), parentName, noncomplianceConsumer);
 
-			return new ParameterMapSuite<>(superSuite.getCollectionSpecs(), superSuite.getItemSuites(), parentName);
+			return new ParameterMapSuite<>(
+					superSuite.getCollectionSpecs(),
+					superSuite.getItemSuites(),
+					parentName,
+					superSuite.getOracleFingerprint()
+			);
 		}
 	}
 }
@@ -28,15 +28,17 @@ public class VariableMapSuite<ITEM extends Variable> extends MapSuite<ITEM, Vari
 	 * @param collectionSpecs The specifications for the collection as a whole.
 	 * @param itemSuites The suites for each individual Variable.
 	 * @param parentName The name of the parent of the specified element.
+	 * @param oracleFingerprint The structural fingerprint of the map the suite was made from, or null.
 	 */
 	@Builder
 	@JsonCreator
 	protected VariableMapSuite(
 			@NonNull @JsonProperty("collectionSpecs") final Set<MapVisitor<ITEM>> collectionSpecs,
 			@NonNull @JsonProperty("itemSuites") final Map<String, VariableSuite<ITEM>> itemSuites,
-			@NonNull @JsonProperty("parentName") final String parentName
+			@NonNull @JsonProperty("parentName") final String parentName,
+			@CheckForNull @JsonProperty("oracleFingerprint") final Long oracleFingerprint
 	) {
-		super(collectionSpecs, itemSuites, parentName);
+		super(collectionSpecs, itemSuites, parentName, oracleFingerprint);
 	}
 
 	/**
@@ -66,7 +68,12 @@ public class VariableMapSuite<ITEM extends Variable> extends MapSuite<ITEM, Vari
 			final MapSuite<ITEM, VariableSuite<ITEM>> superSuite =
 					super.buildFromCollection(namedMap, parentName, noncomplianceConsumer);
 
-			return new VariableMapSuite<>(superSuite.getCollectionSpecs(), superSuite.getItemSuites(), parentName);
+			return new VariableMapSuite<>(
+					superSuite.getCollectionSpecs(),
+					superSuite.getItemSuites(),
+					parentName,
+					superSuite.getOracleFingerprint()
+			);
 		}
 	}
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.ndrwksr.structuregrader.core.HasChildSet;
 import com.github.ndrwksr.structuregrader.core.NamedSpecSet;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
 import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitorFactory;
 import com.github.ndrwksr.structuregrader.core.wrapper.MethodWrapper;
@@ -45,8 +46,28 @@ public class VariableSuite<ITEM extends Variable> implements ItemVisitor<ITEM>,
 	protected final String parentName;
 
 	@Override
-	public void visit(@CheckForNull final ITEM item) {
-		specs.forEach(spec -> spec.visit(item));
+	public void visit(@CheckForNull final ITEM item, @NonNull final GradingContext context) {
+		for (final ItemVisitor<ITEM> spec : specs) {
+			if (context.isCancelled()) {
+				break;
+			}
+			spec.visit(item, context);
+		}
+	}
+
+	/**
+	 * Copies specs as they are set, so that a suite's specifications can't be edited in place, see
+	 * MapSuite.oracleFingerprint.
+	 */
+	public static abstract class VariableSuiteBuilder<
+			ITEM extends Variable,
+			C extends VariableSuite<ITEM>,
+			B extends VariableSuiteBuilder<ITEM, C, B>
+	> {
+		public B specs(@NonNull final Set<ItemVisitor<ITEM>> specs) {
+			this.specs = ImmutableSet.copyOf(specs);
+			return self();
+		}
 	}
 
 	@JsonCreator
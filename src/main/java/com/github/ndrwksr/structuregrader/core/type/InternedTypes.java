@@ -0,0 +1,73 @@
+package com.github.ndrwksr.structuregrader.core.type;
+
+import com.google.common.collect.ImmutableList;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The expected descriptors of a specification, along with their ids in the TypeTable the specification was last
+ * visited with. The descriptors are only interned again when the specification is visited with a different table, so
+ * within a run the ids are a single read away.
+ */
+public class InternedTypes {
+	/**
+	 * The descriptors.
+	 */
+	@NonNull
+	private final ImmutableList<String> descriptors;
+
+	/**
+	 * The ids of the descriptors in the table last asked for, or null if none has been.
+	 */
+	private volatile Resolution resolution;
+
+	private InternedTypes(@NonNull final ImmutableList<String> descriptors) {
+		this.descriptors = descriptors;
+	}
+
+	/**
+	 * @param descriptors The descriptors to intern.
+	 * @return the InternedTypes of descriptors.
+	 */
+	@NonNull
+	public static InternedTypes of(@NonNull final Collection<String> descriptors) {
+		return new InternedTypes(ImmutableList.copyOf(descriptors));
+	}
+
+	/**
+	 * @param typeTable The table of the current run.
+	 * @return the ids of the descriptors in typeTable, in ascending order. Must not be modified.
+	 */
+	@NonNull
+	public int[] idsIn(@NonNull final TypeTable typeTable) {
+		Resolution current = resolution;
+		if (current == null || current.typeTable != typeTable) {
+			final int[] ids = new int[descriptors.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = typeTable.intern(descriptors.get(i));
+			}
+			Arrays.sort(ids);
+			current = new Resolution(typeTable, ids);
+			resolution = current;
+		}
+		return current.ids;
+	}
+
+	/**
+	 * The ids of the descriptors in a particular table.
+	 */
+	private static class Resolution {
+		@NonNull
+		private final TypeTable typeTable;
+
+		@NonNull
+		private final int[] ids;
+
+		private Resolution(@NonNull final TypeTable typeTable, @NonNull final int[] ids) {
+			this.typeTable = typeTable;
+			this.ids = ids;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.github.ndrwksr.structuregrader.core.type;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns the descriptors of the types seen during grading, giving each distinct descriptor a dense int id, so that
+ * sets of types can be compared as ints. A descriptor is the name a specification compares a type by, such as the name
+ * of an interface. Ids are only meaningful within the table that gave them. A table should be shared by every run
+ * grading the same suite, such as the runs of a batch (see BatchGrader), since the suite's expected descriptors are
+ * interned again in every new table. It is dropped with the batch, so it doesn't grow with every submission ever
+ * graded.
+ * <p>
+ * Specifications intern their expected descriptors once per table (see InternedTypes), and the descriptors of the
+ * visited elements as they're seen. Descriptors are only looked up again to describe a type in a report.
+ */
+public class TypeTable {
+	/**
+	 * The id of each descriptor.
+	 */
+	private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * The descriptors, by id. Guarded by this.
+	 */
+	private final List<String> descriptors = new ArrayList<>();
+
+	/**
+	 * @param descriptor The descriptor of a type.
+	 * @return the id of descriptor, giving it the next id if it hasn't been seen before.
+	 */
+	public int intern(@NonNull final String descriptor) {
+		final Integer id = ids.get(descriptor);
+		if (id != null) {
+			return id;
+		}
+		synchronized (this) {
+			return ids.computeIfAbsent(descriptor, newDescriptor -> {
+				descriptors.add(newDescriptor);
+				return descriptors.size() - 1;
+			});
+		}
+	}
+
+	/**
+	 * @param id The id of a descriptor in this table.
+	 * @return the descriptor with the given id.
+	 */
+	@NonNull
+	public synchronized String getDescriptor(final int id) {
+		return descriptors.get(id);
+	}
+
+	/**
+	 * @return the number of descriptors interned.
+	 */
+	public synchronized int size() {
+		return descriptors.size();
+	}
+}
@@ -0,0 +1,481 @@
+package com.github.ndrwksr.structuregrader.core.type;
+
+import com.google.common.collect.ImmutableList;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * The structure of a type with the packages of its classes left out, such as "Map<String, List<? extends Number>>".
+ * Made once from the expected type of a specification, and compared directly against the reflective Types of the
+ * visited elements, or against the names of Types which are only known by name (see NamedType), without making a
+ * String for them. Strings are only made to describe a type, such as when a mismatch is reported.
+ * <p>
+ * Classes are named by their binary names without their packages (ex. "Map$Entry"), which can't be told apart from
+ * type variables, so both are NAMED. A parameterized class nested in a parameterized class has the outer class as its
+ * owner, and is named without it, as ParameterizedType.getTypeName() does (ex. "Outer<T>$Inner<S>").
+ */
+@Getter
+@EqualsAndHashCode
+public final class TypeTree {
+	/**
+	 * The kinds of type in a TypeTree.
+	 */
+	public enum Kind {
+		/**
+		 * A class, possibly parameterized, or a type variable.
+		 */
+		NAMED,
+
+		/**
+		 * An array of component.
+		 */
+		ARRAY,
+
+		/**
+		 * A wildcard, with or without a bound.
+		 */
+		WILDCARD
+	}
+
+	private static final String EXTENDS = " extends ";
+	private static final String SUPER = " super ";
+
+	/**
+	 * The kind of this type.
+	 */
+	@NonNull
+	private final Kind kind;
+
+	/**
+	 * The name of a NAMED type, without its package or owner, otherwise null.
+	 */
+	@CheckForNull
+	private final String name;
+
+	/**
+	 * The type arguments of a NAMED type, empty if it isn't parameterized.
+	 */
+	@NonNull
+	private final ImmutableList<TypeTree> arguments;
+
+	/**
+	 * The parameterized owner of a NAMED type, or null if it doesn't have one.
+	 */
+	@CheckForNull
+	private final TypeTree owner;
+
+	/**
+	 * The component type of an ARRAY, or the bound of a bounded WILDCARD, otherwise null.
+	 */
+	@CheckForNull
+	private final TypeTree component;
+
+	/**
+	 * True if this is a WILDCARD whose bound is a lower bound ("? super").
+	 */
+	private final boolean lowerBound;
+
+	private TypeTree(
+			@NonNull final Kind kind,
+			@Nullable final String name,
+			@NonNull final ImmutableList<TypeTree> arguments,
+			@Nullable final TypeTree owner,
+			@Nullable final TypeTree component,
+			final boolean lowerBound
+	) {
+		this.kind = kind;
+		this.name = name;
+		this.arguments = arguments;
+		this.owner = owner;
+		this.component = component;
+		this.lowerBound = lowerBound;
+	}
+
+	private static TypeTree named(
+			@NonNull final String name,
+			@NonNull final ImmutableList<TypeTree> arguments,
+			@Nullable final TypeTree owner
+	) {
+		return new TypeTree(Kind.NAMED, name, arguments, owner, null, false);
+	}
+
+	private static TypeTree array(@NonNull final TypeTree component) {
+		return new TypeTree(Kind.ARRAY, null, ImmutableList.of(), null, component, false);
+	}
+
+	private static TypeTree wildcard(@Nullable final TypeTree bound, final boolean lowerBound) {
+		return new TypeTree(Kind.WILDCARD, null, ImmutableList.of(), null, bound, lowerBound);
+	}
+
+	/**
+	 * @param type The type to describe.
+	 * @return the TypeTree of type.
+	 */
+	@NonNull
+	public static TypeTree of(@NonNull final Type type) {
+		if (type instanceof Class) {
+			final Class<?> clazz = (Class<?>) type;
+			if (clazz.isArray()) {
+				return array(of(clazz.getComponentType()));
+			}
+			return named(unlocate(clazz.getName()), ImmutableList.of(), null);
+		} else if (type instanceof ParameterizedType) {
+			final ParameterizedType parameterizedType = (ParameterizedType) type;
+			final String rawName = ((Class<?>) parameterizedType.getRawType()).getName();
+			final ImmutableList.Builder<TypeTree> arguments = ImmutableList.builder();
+			for (final Type argument : parameterizedType.getActualTypeArguments()) {
+				arguments.add(of(argument));
+			}
+
+			final Type ownerType = parameterizedType.getOwnerType();
+			if (ownerType instanceof ParameterizedType) {
+				final String ownerRawName = ((Class<?>) ((ParameterizedType) ownerType).getRawType()).getName();
+				return named(rawName.substring(ownerRawName.length() + 1), arguments.build(), of(ownerType));
+			}
+			return named(unlocate(rawName), arguments.build(), null);
+		} else if (type instanceof GenericArrayType) {
+			return array(of(((GenericArrayType) type).getGenericComponentType()));
+		} else if (type instanceof WildcardType) {
+			final WildcardType wildcardType = (WildcardType) type;
+			final Type[] lowerBounds = wildcardType.getLowerBounds();
+			if (lowerBounds.length > 0) {
+				return wildcard(of(lowerBounds[0]), true);
+			}
+			final Type[] upperBounds = wildcardType.getUpperBounds();
+			if (upperBounds.length > 0 && upperBounds[0] != Object.class) {
+				return wildcard(of(upperBounds[0]), false);
+			}
+			return wildcard(null, false);
+		} else if (type instanceof TypeVariable) {
+			return named(((TypeVariable<?>) type).getName(), ImmutableList.of(), null);
+		}
+		return parse(type.getTypeName());
+	}
+
+	/**
+	 * Parses a type name, formatted as Type.getTypeName() formats it, with or without packages (ex.
+	 * "java.util.List<java.lang.String>" or "List<String>"). Type arguments left unclosed at the end of the name are
+	 * closed.
+	 *
+	 * @param typeName The type name to parse.
+	 * @return the TypeTree of the named type.
+	 * @throws IllegalArgumentException If typeName isn't a type name.
+	 */
+	@NonNull
+	public static TypeTree parse(@NonNull final String typeName) {
+		final Parser parser = new Parser(typeName);
+		final TypeTree typeTree = parser.parseType();
+		if (parser.pos != typeName.length()) {
+			throw new IllegalArgumentException("Unexpected '" + typeName.charAt(parser.pos) + "' at index "
+					+ parser.pos + " of type name " + typeName);
+		}
+		return typeTree;
+	}
+
+	/**
+	 * @param type The type to compare against.
+	 * @return true if type has the structure of this TypeTree.
+	 */
+	public boolean matches(@NonNull final Type type) {
+		if (type instanceof Class) {
+			final Class<?> clazz = (Class<?>) type;
+			if (clazz.isArray()) {
+				return kind == Kind.ARRAY && component.matches(clazz.getComponentType());
+			}
+			return kind == Kind.NAMED && owner == null && arguments.isEmpty() && nameMatchesUnlocated(clazz.getName());
+		} else if (type instanceof ParameterizedType) {
+			if (kind != Kind.NAMED) {
+				return false;
+			}
+			final ParameterizedType parameterizedType = (ParameterizedType) type;
+			final String rawName = ((Class<?>) parameterizedType.getRawType()).getName();
+			final Type ownerType = parameterizedType.getOwnerType();
+			if (ownerType instanceof ParameterizedType) {
+				final String ownerRawName = ((Class<?>) ((ParameterizedType) ownerType).getRawType()).getName();
+				final int nameStart = ownerRawName.length() + 1;
+				if (owner == null
+						|| rawName.length() - nameStart != name.length()
+						|| !rawName.regionMatches(nameStart, name, 0, name.length())
+						|| !owner.matches(ownerType)) {
+					return false;
+				}
+			} else if (owner != null || !nameMatchesUnlocated(rawName)) {
+				return false;
+			}
+
+			final Type[] actualArguments = parameterizedType.getActualTypeArguments();
+			if (actualArguments.length != arguments.size()) {
+				return false;
+			}
+			for (int i = 0; i < actualArguments.length; i++) {
+				if (!arguments.get(i).matches(actualArguments[i])) {
+					return false;
+				}
+			}
+			return true;
+		} else if (type instanceof GenericArrayType) {
+			return kind == Kind.ARRAY && component.matches(((GenericArrayType) type).getGenericComponentType());
+		} else if (type instanceof WildcardType) {
+			if (kind != Kind.WILDCARD) {
+				return false;
+			}
+			final WildcardType wildcardType = (WildcardType) type;
+			final Type[] lowerBounds = wildcardType.getLowerBounds();
+			if (lowerBounds.length > 0) {
+				return lowerBound && component.matches(lowerBounds[0]);
+			}
+			final Type[] upperBounds = wildcardType.getUpperBounds();
+			if (upperBounds.length > 0 && upperBounds[0] != Object.class) {
+				return !lowerBound && component != null && component.matches(upperBounds[0]);
+			}
+			return component == null;
+		} else if (type instanceof TypeVariable) {
+			return kind == Kind.NAMED && owner == null && arguments.isEmpty()
+					&& name.equals(((TypeVariable<?>) type).getName());
+		}
+		return matches(type.getTypeName());
+	}
+
+	/**
+	 * @param typeName A type name, formatted as Type.getTypeName() formats it, with or without packages.
+	 * @return true if typeName names a type with the structure of this TypeTree.
+	 */
+	public boolean matches(@NonNull final String typeName) {
+		return match(typeName, 0) == typeName.length();
+	}
+
+	/**
+	 * Matches this type against the type name starting at pos.
+	 *
+	 * @return the index just after the matched type, or -1 if it didn't match.
+	 */
+	private int match(@NonNull final String typeName, final int pos) {
+		switch (kind) {
+			case ARRAY: {
+				final int end = component.match(typeName, pos);
+				return end >= 0 && typeName.startsWith("[]", end) ? end + 2 : -1;
+			}
+			case WILDCARD: {
+				if (!typeName.startsWith("?", pos)) {
+					return -1;
+				}
+				if (component == null) {
+					return typeName.startsWith(EXTENDS, pos + 1) || typeName.startsWith(SUPER, pos + 1) ? -1 : pos + 1;
+				}
+				final String boundKeyword = lowerBound ? SUPER : EXTENDS;
+				return typeName.startsWith(boundKeyword, pos + 1) ?
+						component.match(typeName, pos + 1 + boundKeyword.length()) :
+						-1;
+			}
+			default: {
+				int end;
+				if (owner != null) {
+					final int ownerEnd = owner.match(typeName, pos);
+					if (ownerEnd < 0 || !typeName.startsWith("$", ownerEnd)) {
+						return -1;
+					}
+					end = nameEnd(typeName, ownerEnd + 1);
+					if (end - ownerEnd - 1 != name.length() || !typeName.regionMatches(ownerEnd + 1, name, 0, name.length())) {
+						return -1;
+					}
+				} else {
+					end = nameEnd(typeName, pos);
+					final int simpleStart = Math.max(pos, typeName.lastIndexOf('.', end - 1) + 1);
+					if (end - simpleStart != name.length() || !typeName.regionMatches(simpleStart, name, 0, name.length())) {
+						return -1;
+					}
+				}
+
+				if (arguments.isEmpty()) {
+					return typeName.startsWith("<", end) ? -1 : end;
+				}
+				if (!typeName.startsWith("<", end)) {
+					return -1;
+				}
+				end++;
+				for (int i = 0; i < arguments.size(); i++) {
+					if (i > 0) {
+						if (!typeName.startsWith(",", end)) {
+							return -1;
+						}
+						end = skipSpaces(typeName, end + 1);
+					}
+					end = arguments.get(i).match(typeName, end);
+					if (end < 0) {
+						return -1;
+					}
+				}
+				return typeName.startsWith(">", end) ? end + 1 : -1;
+			}
+		}
+	}
+
+	/**
+	 * @return true if name is the same as binaryName with its package left out.
+	 */
+	private boolean nameMatchesUnlocated(@NonNull final String binaryName) {
+		final int simpleStart = binaryName.lastIndexOf('.') + 1;
+		return binaryName.length() - simpleStart == name.length()
+				&& binaryName.regionMatches(simpleStart, name, 0, name.length());
+	}
+
+	private static String unlocate(@NonNull final String binaryName) {
+		return binaryName.substring(binaryName.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * @return the index of the end of the possibly qualified name starting at pos, which may include '$'.
+	 */
+	private static int nameEnd(@NonNull final String typeName, final int pos) {
+		int end = pos;
+		while (end < typeName.length()) {
+			final char c = typeName.charAt(end);
+			if (c == '<' || c == '>' || c == ',' || c == '[' || c == ' ') {
+				break;
+			}
+			end++;
+		}
+		return end;
+	}
+
+	private static int skipSpaces(@NonNull final String typeName, final int pos) {
+		int end = pos;
+		while (end < typeName.length() && typeName.charAt(end) == ' ') {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * @return the name of this type without packages, formatted as Type.getTypeName() formats it.
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		appendTo(builder);
+		return builder.toString();
+	}
+
+	private void appendTo(@NonNull final StringBuilder builder) {
+		switch (kind) {
+			case ARRAY:
+				component.appendTo(builder);
+				builder.append("[]");
+				break;
+			case WILDCARD:
+				builder.append('?');
+				if (component != null) {
+					builder.append(lowerBound ? SUPER : EXTENDS);
+					component.appendTo(builder);
+				}
+				break;
+			default:
+				if (owner != null) {
+					owner.appendTo(builder);
+					builder.append('$');
+				}
+				builder.append(name);
+				if (!arguments.isEmpty()) {
+					builder.append('<');
+					for (int i = 0; i < arguments.size(); i++) {
+						if (i > 0) {
+							builder.append(", ");
+						}
+						arguments.get(i).appendTo(builder);
+					}
+					builder.append('>');
+				}
+		}
+	}
+
+	/**
+	 * Parses type names into TypeTrees.
+	 */
+	private static class Parser {
+		@NonNull
+		private final String typeName;
+
+		/**
+		 * The index of the next character of typeName to parse.
+		 */
+		private int pos;
+
+		private Parser(@NonNull final String typeName) {
+			this.typeName = typeName;
+		}
+
+		private TypeTree parseType() {
+			TypeTree type;
+			if (typeName.startsWith("?", pos)) {
+				pos++;
+				if (typeName.startsWith(EXTENDS, pos)) {
+					pos += EXTENDS.length();
+					type = wildcard(parseType(), false);
+				} else if (typeName.startsWith(SUPER, pos)) {
+					pos += SUPER.length();
+					type = wildcard(parseType(), true);
+				} else {
+					type = wildcard(null, false);
+				}
+			} else {
+				type = parseNamed(null);
+			}
+
+			while (typeName.startsWith("[]", pos)) {
+				pos += 2;
+				type = array(type);
+			}
+			return type;
+		}
+
+		private TypeTree parseNamed(@Nullable final TypeTree owner) {
+			final int start = pos;
+			pos = nameEnd(typeName, pos);
+			if (pos == start) {
+				throw new IllegalArgumentException("Expected a name at index " + start + " of type name " + typeName);
+			}
+			String name = typeName.substring(start, pos);
+			if (owner == null) {
+				name = unlocate(name);
+			}
+
+			if (!typeName.startsWith("<", pos)) {
+				return named(name, ImmutableList.of(), owner);
+			}
+
+			pos++;
+			final ImmutableList.Builder<TypeTree> arguments = ImmutableList.builder();
+			while (pos < typeName.length()) {
+				pos = skipSpaces(typeName, pos);
+				arguments.add(parseType());
+				if (typeName.startsWith(",", pos)) {
+					pos++;
+				} else {
+					break;
+				}
+			}
+			if (typeName.startsWith(">", pos)) {
+				pos++;
+			} else if (pos < typeName.length()) {
+				throw new IllegalArgumentException("Expected '>' at index " + pos + " of type name " + typeName);
+			}
+			final TypeTree parameterized = named(name, arguments.build(), owner);
+
+			if (typeName.startsWith("$", pos)) {
+				// A class nested in a parameterized class
+				pos++;
+				return parseNamed(parameterized);
+			}
+			return parameterized;
+		}
+	}
+}
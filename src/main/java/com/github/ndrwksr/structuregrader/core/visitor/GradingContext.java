@@ -0,0 +1,407 @@
+package com.github.ndrwksr.structuregrader.core.visitor;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.type.TypeTable;
+import lombok.Builder;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The state of a single grading run, passed down through a suite as it is visited instead of being captured by the
+ * specifications when they are made. Because a suite doesn't hold any per-run state, one suite can be visited by any
+ * number of threads at once, each with its own context.
+ * <p>
+ * A context without a noncompliance sink reports each noncompliance to the consumer its specification was made with,
+ * which is how visit(ITEM) behaves. Suites which are only ever visited with a sink can be made with
+ * contextOnlyConsumer().
+ * <p>
+ * A context can instead have a NoncomplianceSink, which is given the values each noncompliance was found from rather
+ * than a Noncompliance, so that runs which only count or score noncompliances don't make them. Its SpecIndex, if it has
+ * one, identifies the reporting specifications.
+ * <p>
+ * A context can limit how many noncompliances are reported, either for the whole run or for each class. Once the run's
+ * limit is reached the run is cancelled, and once a class's limit is reached the rest of that class's specifications
+ * are abandoned. A limit of one makes a fail-fast run, which only finds out whether a submission is compliant.
+ * <p>
+ * Each run has a TypeTable, which the specifications comparing sets of types intern their types in, so that they
+ * compare ints. Runs made without one get a table of their own, in which the suite's expected types are interned all
+ * over again, so callers grading many submissions against one suite should share one table across their runs.
+ */
+public class GradingContext {
+	/**
+	 * Accepts the noncompliances generated during this run, or null to report them to the consumers the
+	 * specifications were made with.
+	 */
+	@Nullable
+	private final Consumer<Noncompliance> noncomplianceSink;
+
+	/**
+	 * Accepts the noncompliances generated during this run without them being materialized, or null if they are
+	 * reported as Noncompliances.
+	 */
+	@Nullable
+	private final NoncomplianceSink structuredSink;
+
+	/**
+	 * Identifies the reporting specifications to the structured sink, or null if they aren't identified.
+	 */
+	@Nullable
+	private final SpecIndex specIndex;
+
+	/**
+	 * The most noncompliances reported during this run before it is cancelled.
+	 */
+	private final long maxNoncompliances;
+
+	/**
+	 * The most noncompliances reported for a single class before the rest of its specifications are abandoned.
+	 */
+	private final long maxNoncompliancesPerClass;
+
+	/**
+	 * The number of noncompliances reported during this run.
+	 */
+	private final AtomicLong noncomplianceCount;
+
+	/**
+	 * The number of subtrees skipped during this run because they matched the oracle's fingerprint.
+	 */
+	private final LongAdder skippedSubtreeCount;
+
+	/**
+	 * Whether this run has been cancelled.
+	 */
+	private final AtomicBoolean cancelled;
+
+	/**
+	 * The number of noncompliances reported for the class this context is scoped to, or null if it isn't scoped to one.
+	 */
+	@Nullable
+	private final AtomicLong classNoncomplianceCount;
+
+	/**
+	 * Interns the types compared during this run.
+	 */
+	@NonNull
+	private final TypeTable typeTable;
+
+	/**
+	 * @param noncomplianceSink         Accepts the noncompliances generated during this run, or null to report them
+	 *                                  to the consumers the specifications were made with.
+	 * @param structuredSink            Accepts the noncompliances generated during this run without them being
+	 *                                  materialized. Can't be given with noncomplianceSink.
+	 * @param specIndex                 Identifies the reporting specifications to structuredSink, or null to report
+	 *                                  them all as SpecIndex.UNKNOWN_ID.
+	 * @param maxNoncompliances         The most noncompliances to report during this run, or null for no limit.
+	 * @param maxNoncompliancesPerClass The most noncompliances to report for each class, or null for no limit.
+	 * @param typeTable                 Interns the types compared during this run, or null for a new table. Should be
+	 *                                  shared by runs grading the same suite, so its types are only interned once.
+	 */
+	@Builder
+	public GradingContext(
+			@Nullable final Consumer<Noncompliance> noncomplianceSink,
+			@Nullable final NoncomplianceSink structuredSink,
+			@Nullable final SpecIndex specIndex,
+			@Nullable final Long maxNoncompliances,
+			@Nullable final Long maxNoncompliancesPerClass,
+			@Nullable final TypeTable typeTable
+	) {
+		this(
+				checkSinks(noncomplianceSink, structuredSink),
+				structuredSink,
+				specIndex,
+				checkLimit(maxNoncompliances),
+				checkLimit(maxNoncompliancesPerClass),
+				new AtomicLong(),
+				new LongAdder(),
+				new AtomicBoolean(),
+				null,
+				typeTable != null ? typeTable : new TypeTable()
+		);
+	}
+
+	private GradingContext(
+			@Nullable final Consumer<Noncompliance> noncomplianceSink,
+			@Nullable final NoncomplianceSink structuredSink,
+			@Nullable final SpecIndex specIndex,
+			final long maxNoncompliances,
+			final long maxNoncompliancesPerClass,
+			@NonNull final AtomicLong noncomplianceCount,
+			@NonNull final LongAdder skippedSubtreeCount,
+			@NonNull final AtomicBoolean cancelled,
+			@Nullable final AtomicLong classNoncomplianceCount,
+			@NonNull final TypeTable typeTable
+	) {
+		this.noncomplianceSink = noncomplianceSink;
+		this.structuredSink = structuredSink;
+		this.specIndex = specIndex;
+		this.maxNoncompliances = maxNoncompliances;
+		this.maxNoncompliancesPerClass = maxNoncompliancesPerClass;
+		this.noncomplianceCount = noncomplianceCount;
+		this.skippedSubtreeCount = skippedSubtreeCount;
+		this.cancelled = cancelled;
+		this.classNoncomplianceCount = classNoncomplianceCount;
+		this.typeTable = typeTable;
+	}
+
+	@Nullable
+	private static Consumer<Noncompliance> checkSinks(
+			@Nullable final Consumer<Noncompliance> noncomplianceSink,
+			@Nullable final NoncomplianceSink structuredSink
+	) {
+		if (noncomplianceSink != null && structuredSink != null) {
+			throw new IllegalArgumentException("A GradingContext can't have both a noncompliance sink and a structured sink");
+		}
+		return noncomplianceSink;
+	}
+
+	private static long checkLimit(@Nullable final Long limit) {
+		if (limit == null) {
+			return Long.MAX_VALUE;
+		}
+		if (limit < 1) {
+			throw new IllegalArgumentException("Noncompliance limits must be at least 1, was " + limit);
+		}
+		return limit;
+	}
+
+	/**
+	 * @return a new context which reports noncompliances to the consumers the specifications were made with.
+	 */
+	@NonNull
+	public static GradingContext specConsumers() {
+		return GradingContext.builder().build();
+	}
+
+	/**
+	 * @param noncomplianceSink Accepts the noncompliance found, or null to report it to its specification's consumer.
+	 * @return a new context whose run is cancelled as soon as the first noncompliance is reported.
+	 */
+	@NonNull
+	public static GradingContext failFast(@Nullable final Consumer<Noncompliance> noncomplianceSink) {
+		return GradingContext.builder().noncomplianceSink(noncomplianceSink).maxNoncompliances(1L).build();
+	}
+
+	/**
+	 * @return a noncompliance consumer for making suites which are only visited with a noncompliance sink. It throws
+	 * IllegalStateException if a suite made with it is visited without one.
+	 */
+	@NonNull
+	public static Consumer<Noncompliance> contextOnlyConsumer() {
+		return noncompliance -> {
+			throw new IllegalStateException(
+					"This specification can only be visited with a GradingContext that has a noncompliance sink"
+			);
+		};
+	}
+
+	/**
+	 * Reports a noncompliance generated during this run. Noncompliances reported once the run is cancelled, or once
+	 * the limit of the run or of this context's class has been reached, are dropped.
+	 *
+	 * @param noncompliance The noncompliance to report.
+	 * @param specConsumer  The consumer the reporting specification was made with, used if this context has no sink.
+	 */
+	public void report(
+			@NonNull final Noncompliance noncompliance,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		if (isCancelled() || !tryCount()) {
+			return;
+		}
+		if (structuredSink != null) {
+			structuredSink.accept(
+					SpecIndex.UNKNOWN_ID,
+					NoncomplianceKind.OTHER,
+					noncompliance.getParentName(),
+					noncompliance.getExplanationTemplate(),
+					noncompliance.getExpected(),
+					noncompliance.getActual()
+			);
+		} else {
+			(noncomplianceSink != null ? noncomplianceSink : specConsumer).accept(noncompliance);
+		}
+	}
+
+	/**
+	 * Reports a noncompliance generated during this run by its kind and the values it was found from, only making a
+	 * Noncompliance of it if this context has no structured sink. Noncompliances reported once the run is cancelled, or
+	 * once the limit of the run or of this context's class has been reached, are dropped.
+	 *
+	 * @param spec         The reporting specification, or null if there isn't one.
+	 * @param kind         The kind of the noncompliance, which describes what the other arguments are.
+	 * @param parentName   The name of the parent of the noncompliant element.
+	 * @param subject      The name the explanation is about, as described by kind.
+	 * @param expected     The expected value, as described by kind.
+	 * @param actual       The actual value, as described by kind.
+	 * @param specConsumer The consumer the reporting specification was made with, used if this context has no sink.
+	 */
+	public void report(
+			@Nullable final Spec spec,
+			@NonNull final NoncomplianceKind kind,
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			@Nullable final Object expected,
+			@Nullable final Object actual,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		if (isCancelled() || !tryCount()) {
+			return;
+		}
+		if (structuredSink != null) {
+			final int specId = specIndex != null && spec != null ? specIndex.idOf(spec) : SpecIndex.UNKNOWN_ID;
+			structuredSink.accept(specId, kind, parentName, subject, expected, actual);
+		} else {
+			(noncomplianceSink != null ? noncomplianceSink : specConsumer)
+					.accept(kind.materialize(parentName, subject, expected, actual));
+		}
+	}
+
+	/**
+	 * Reports a noncompliance whose expected and actual values are ints, such as modifiers or indices, without boxing
+	 * them unless it's materialized. Otherwise the same as report(Spec, NoncomplianceKind, String, String, Object,
+	 * Object, Consumer).
+	 *
+	 * @param spec         The reporting specification, or null if there isn't one.
+	 * @param kind         The kind of the noncompliance, which describes what the other arguments are.
+	 * @param parentName   The name of the parent of the noncompliant element.
+	 * @param subject      The name the explanation is about, as described by kind.
+	 * @param expected     The expected value.
+	 * @param actual       The actual value.
+	 * @param specConsumer The consumer the reporting specification was made with, used if this context has no sink.
+	 */
+	public void report(
+			@Nullable final Spec spec,
+			@NonNull final NoncomplianceKind kind,
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			final int expected,
+			final int actual,
+			@NonNull final Consumer<Noncompliance> specConsumer
+	) {
+		if (isCancelled() || !tryCount()) {
+			return;
+		}
+		if (structuredSink != null) {
+			final int specId = specIndex != null && spec != null ? specIndex.idOf(spec) : SpecIndex.UNKNOWN_ID;
+			structuredSink.accept(specId, kind, parentName, subject, expected, actual);
+		} else {
+			(noncomplianceSink != null ? noncomplianceSink : specConsumer)
+					.accept(kind.materialize(parentName, subject, expected, actual));
+		}
+	}
+
+	/**
+	 * Counts a noncompliance against the limits of the run and of this context's class, cancelling the run if its limit
+	 * has been reached.
+	 *
+	 * @return true if neither limit had already been reached, so the noncompliance should be reported.
+	 */
+	private boolean tryCount() {
+		if (classNoncomplianceCount != null
+				&& classNoncomplianceCount.incrementAndGet() > maxNoncompliancesPerClass) {
+			return false;
+		}
+		final long count = noncomplianceCount.incrementAndGet();
+		if (count > maxNoncompliances) {
+			noncomplianceCount.decrementAndGet();
+			return false;
+		}
+		if (count == maxNoncompliances) {
+			cancel();
+		}
+		return true;
+	}
+
+	/**
+	 * @return a context for visiting a single class, which shares this run's sink, counts, cancellation and type table,
+	 * but has its own count of noncompliances for the per-class limit.
+	 */
+	@NonNull
+	public GradingContext forClass() {
+		if (maxNoncompliancesPerClass == Long.MAX_VALUE) {
+			// Without a per-class limit there's nothing for the class to keep track of
+			return this;
+		}
+		return new GradingContext(
+				noncomplianceSink,
+				structuredSink,
+				specIndex,
+				maxNoncompliances,
+				maxNoncompliancesPerClass,
+				noncomplianceCount,
+				skippedSubtreeCount,
+				cancelled,
+				new AtomicLong(),
+				typeTable
+		);
+	}
+
+	/**
+	 * @param specConsumer The consumer the reporting specification was made with, used if this context has no sink.
+	 * @return a consumer which reports the noncompliances it accepts to this context.
+	 */
+	@NonNull
+	public Consumer<Noncompliance> sinkFor(@NonNull final Consumer<Noncompliance> specConsumer) {
+		return noncompliance -> report(noncompliance, specConsumer);
+	}
+
+	/**
+	 * Records that a subtree of the suite was skipped because it matched the oracle's fingerprint.
+	 */
+	public void recordSkippedSubtree() {
+		skippedSubtreeCount.increment();
+	}
+
+	/**
+	 * @return the number of noncompliances reported during this run so far.
+	 */
+	public long getNoncomplianceCount() {
+		return noncomplianceCount.get();
+	}
+
+	/**
+	 * @return the table the types compared during this run are interned in.
+	 */
+	@NonNull
+	public TypeTable getTypeTable() {
+		return typeTable;
+	}
+
+	/**
+	 * @return the number of subtrees skipped during this run so far.
+	 */
+	public long getSkippedSubtreeCount() {
+		return skippedSubtreeCount.sum();
+	}
+
+	/**
+	 * Cancels this run. Suites stop visiting their children once they notice, so a cancelled visit returns early with
+	 * only some of its noncompliances reported. May be called from any thread.
+	 */
+	public void cancel() {
+		cancelled.set(true);
+	}
+
+	/**
+	 * @return true if this run has been cancelled, or if this context's class has reached its limit, in which case the
+	 * rest of the class's specifications should be abandoned.
+	 */
+	public boolean isCancelled() {
+		return cancelled.get()
+				|| (classNoncomplianceCount != null && classNoncomplianceCount.get() >= maxNoncompliancesPerClass);
+	}
+
+	/**
+	 * @return true if the run itself has been cancelled, regardless of the limit of this context's class.
+	 */
+	public boolean isRunCancelled() {
+		return cancelled.get();
+	}
+}
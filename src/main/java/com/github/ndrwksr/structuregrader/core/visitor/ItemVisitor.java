@@ -1,5 +1,7 @@
 package com.github.ndrwksr.structuregrader.core.visitor;
 
+import lombok.NonNull;
+
 import javax.annotation.CheckForNull;
 
 /**
@@ -9,9 +11,19 @@ import javax.annotation.CheckForNull;
  */
 public interface ItemVisitor<ITEM> extends Spec {
 	/**
-	 * Visits the provided item.
+	 * Visits the provided item, reporting noncompliances to the consumers the specifications were made with.
 	 *
 	 * @param item The item to visit.
 	 */
-	void visit(@CheckForNull final ITEM item);
+	default void visit(@CheckForNull final ITEM item) {
+		visit(item, GradingContext.specConsumers());
+	}
+
+	/**
+	 * Visits the provided item as part of the grading run described by context.
+	 *
+	 * @param item    The item to visit.
+	 * @param context The grading run the visit is part of.
+	 */
+	void visit(@CheckForNull final ITEM item, @NonNull final GradingContext context);
 }
@@ -1,6 +1,7 @@
 package com.github.ndrwksr.structuregrader.core.visitor;
 
 import com.github.ndrwksr.structuregrader.core.NamedMap;
+import lombok.NonNull;
 
 import javax.annotation.CheckForNull;
 
@@ -10,5 +11,16 @@ import javax.annotation.CheckForNull;
  * @param <ITEM> The type of item in the collection.
  */
 public interface MapVisitor<ITEM> extends Spec {
-	void visit(@CheckForNull final NamedMap<ITEM> collection);
+	/**
+	 * @param collection The NamedMap of type ITEM being visited.
+	 */
+	default void visit(@CheckForNull final NamedMap<ITEM> collection) {
+		visit(collection, GradingContext.specConsumers());
+	}
+
+	/**
+	 * @param collection The NamedMap of type ITEM being visited.
+	 * @param context    The grading run the visit is part of.
+	 */
+	void visit(@CheckForNull final NamedMap<ITEM> collection, @NonNull final GradingContext context);
 }
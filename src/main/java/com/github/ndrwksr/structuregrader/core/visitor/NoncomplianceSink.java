@@ -0,0 +1,72 @@
+package com.github.ndrwksr.structuregrader.core.visitor;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+
+/**
+ * Accepts the noncompliances of a grading run as the values they were found from, without making a Noncompliance for
+ * each of them. Sinks which only count or score noncompliances don't need their explanations, so nothing is allocated
+ * for them. Sinks which do want Noncompliances can make them with NoncomplianceKind.materialize(...), or be made with
+ * materializing(...).
+ * <p>
+ * The values passed to a sink may be views of the graded item, and so should only be kept once materialized.
+ */
+@FunctionalInterface
+public interface NoncomplianceSink {
+	/**
+	 * Accepts a noncompliance.
+	 *
+	 * @param specId     The id of the reporting specification in the run's SpecIndex, or SpecIndex.UNKNOWN_ID if the
+	 *                   run has no index or the specification isn't in it.
+	 * @param kind       The kind of the noncompliance, which describes what the other arguments are.
+	 * @param parentName The name of the parent of the noncompliant element.
+	 * @param subject    The name the explanation is about, as described by kind.
+	 * @param expected   The expected value, as described by kind.
+	 * @param actual     The actual value, as described by kind.
+	 */
+	void accept(
+			int specId,
+			@NonNull NoncomplianceKind kind,
+			@NonNull String parentName,
+			@Nullable String subject,
+			@Nullable Object expected,
+			@Nullable Object actual
+	);
+
+	/**
+	 * Accepts a noncompliance whose expected and actual values are ints. Sinks which don't keep the values can override
+	 * this so that they're never boxed.
+	 *
+	 * @param specId     The id of the reporting specification in the run's SpecIndex, or SpecIndex.UNKNOWN_ID if the
+	 *                   run has no index or the specification isn't in it.
+	 * @param kind       The kind of the noncompliance, which describes what the other arguments are.
+	 * @param parentName The name of the parent of the noncompliant element.
+	 * @param subject    The name the explanation is about, as described by kind.
+	 * @param expected   The expected value.
+	 * @param actual     The actual value.
+	 */
+	default void accept(
+			final int specId,
+			@NonNull final NoncomplianceKind kind,
+			@NonNull final String parentName,
+			@Nullable final String subject,
+			final int expected,
+			final int actual
+	) {
+		accept(specId, kind, parentName, subject, (Object) expected, (Object) actual);
+	}
+
+	/**
+	 * @param noncomplianceConsumer Accepts the materialized noncompliances.
+	 * @return a sink which materializes every noncompliance it accepts and passes it on to noncomplianceConsumer.
+	 */
+	@NonNull
+	static NoncomplianceSink materializing(@NonNull final Consumer<Noncompliance> noncomplianceConsumer) {
+		return (specId, kind, parentName, subject, expected, actual) ->
+				noncomplianceConsumer.accept(kind.materialize(parentName, subject, expected, actual));
+	}
+}
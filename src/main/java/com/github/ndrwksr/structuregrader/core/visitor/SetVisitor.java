@@ -1,6 +1,7 @@
 package com.github.ndrwksr.structuregrader.core.visitor;
 
 import com.github.ndrwksr.structuregrader.core.NamedSet;
+import lombok.NonNull;
 
 import javax.annotation.CheckForNull;
 
@@ -13,5 +14,13 @@ public interface SetVisitor<ITEM> extends Spec {
 	/**
 	 * @param collection The NamedList of type ITEM being visited.
 	 */
-	void visit(@CheckForNull final NamedSet<ITEM> collection);
+	default void visit(@CheckForNull final NamedSet<ITEM> collection) {
+		visit(collection, GradingContext.specConsumers());
+	}
+
+	/**
+	 * @param collection The NamedList of type ITEM being visited.
+	 * @param context    The grading run the visit is part of.
+	 */
+	void visit(@CheckForNull final NamedSet<ITEM> collection, @NonNull final GradingContext context);
 }
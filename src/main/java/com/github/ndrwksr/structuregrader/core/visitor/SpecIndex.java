@@ -0,0 +1,159 @@
+package com.github.ndrwksr.structuregrader.core.visitor;
+
+import com.github.ndrwksr.structuregrader.core.HasChildMap;
+import com.github.ndrwksr.structuregrader.core.HasChildSet;
+import com.google.common.collect.ImmutableList;
+import lombok.NonNull;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbers every specification of a suite, so that a NoncomplianceSink can be told which specification reported a
+ * noncompliance as an int. Specifications are numbered depth first from the root, which is 0, visiting the items of
+ * suite maps in the order of their keys and the items of suite sets in the order of their specTypeName(), so a suite
+ * built twice from the same classes is numbered the same way. Made once per suite and shared by every run of it.
+ * <p>
+ * Each specification also has a path, the keys of the suite maps leading to it joined by PATH_SEPARATOR, each key
+ * after the first preceded by the kind of its map (see HasChildMap.getChildKind()). The suites of a class are under the
+ * class's name, and those of its members under the member's kind and name, so "Card/methods/toString" is the path of
+ * the suite of Card's toString method and of every specification in it, and "Card/classes/Suit" that of its nested
+ * class Suit. Specifications which aren't in any map, such as the root and the collection specifications of the root,
+ * have the empty path.
+ */
+public class SpecIndex {
+	/**
+	 * The id given for specifications which aren't in an index.
+	 */
+	public static final int UNKNOWN_ID = -1;
+
+	/**
+	 * Separates the keys of a path.
+	 */
+	public static final char PATH_SEPARATOR = '/';
+
+	/**
+	 * The specifications, by id.
+	 */
+	@NonNull
+	private final ImmutableList<Spec> specs;
+
+	/**
+	 * The path of each specification, by id.
+	 */
+	@NonNull
+	private final ImmutableList<String> paths;
+
+	/**
+	 * The id of each specification. Specifications are compared by identity, since equal specifications can appear in
+	 * more than one place in a suite.
+	 */
+	@NonNull
+	private final IdentityHashMap<Spec, Integer> ids;
+
+	private SpecIndex(
+			@NonNull final ImmutableList<Spec> specs,
+			@NonNull final ImmutableList<String> paths,
+			@NonNull final IdentityHashMap<Spec, Integer> ids
+	) {
+		this.specs = specs;
+		this.paths = paths;
+		this.ids = ids;
+	}
+
+	/**
+	 * @param root The suite to index.
+	 * @return an index of root and every specification beneath it.
+	 */
+	@NonNull
+	public static SpecIndex of(@NonNull final Spec root) {
+		final ImmutableList.Builder<Spec> specs = ImmutableList.builder();
+		final ImmutableList.Builder<String> paths = ImmutableList.builder();
+		final IdentityHashMap<Spec, Integer> ids = new IdentityHashMap<>();
+
+		// Pushed and popped together, each path being that of the spec pushed with it
+		final Deque<Spec> toIndex = new ArrayDeque<>();
+		final Deque<String> toIndexPaths = new ArrayDeque<>();
+		toIndex.push(root);
+		toIndexPaths.push("");
+		while (!toIndex.isEmpty()) {
+			final Spec spec = toIndex.pop();
+			final String path = toIndexPaths.pop();
+			if (ids.containsKey(spec)) {
+				continue;
+			}
+			ids.put(spec, ids.size());
+			specs.add(spec);
+			paths.add(path);
+
+			if (spec instanceof HasChildMap) {
+				final HasChildMap<?> childMap = (HasChildMap<?>) spec;
+				final String prefix = path.isEmpty() ? "" :
+						path + PATH_SEPARATOR + childMap.getChildKind() + PATH_SEPARATOR;
+				final List<Map.Entry<String, Spec>> children = new ArrayList<>();
+				for (final Map.Entry<?, ? extends Spec> child : childMap.getChildMap().entrySet()) {
+					children.add(new AbstractMap.SimpleImmutableEntry<>(String.valueOf(child.getKey()), child.getValue()));
+				}
+				// Pushed in reverse, so that they're popped in the order of their keys
+				children.sort(Map.Entry.<String, Spec>comparingByKey().reversed());
+				for (final Map.Entry<String, Spec> child : children) {
+					toIndex.push(child.getValue());
+					toIndexPaths.push(prefix + child.getKey());
+				}
+			}
+			if (spec instanceof HasChildSet) {
+				final List<Spec> children = new ArrayList<>();
+				for (final Object child : ((HasChildSet) spec).getChildSet()) {
+					children.add((Spec) child);
+				}
+				children.sort(Comparator.comparing(Spec::specTypeName).reversed());
+				for (final Spec child : children) {
+					toIndex.push(child);
+					toIndexPaths.push(path);
+				}
+			}
+		}
+
+		return new SpecIndex(specs.build(), paths.build(), ids);
+	}
+
+	/**
+	 * @param spec The specification to look up.
+	 * @return the id of spec, or UNKNOWN_ID if it isn't in this index.
+	 */
+	public int idOf(@NonNull final Spec spec) {
+		final Integer id = ids.get(spec);
+		return id != null ? id : UNKNOWN_ID;
+	}
+
+	/**
+	 * @param id The id of a specification in this index.
+	 * @return the specification with the given id.
+	 */
+	@NonNull
+	public Spec getSpec(final int id) {
+		return specs.get(id);
+	}
+
+	/**
+	 * @param id The id of a specification in this index.
+	 * @return the path of the specification with the given id.
+	 */
+	@NonNull
+	public String getPath(final int id) {
+		return paths.get(id);
+	}
+
+	/**
+	 * @return the number of specifications in this index.
+	 */
+	public int size() {
+		return specs.size();
+	}
+}
@@ -0,0 +1,89 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.google.common.collect.ImmutableMap;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * The annotations on an element, resolved to their names once so that they can be read by every suite visiting the
+ * element without being wrapped again. Most elements have no annotations, and share EMPTY.
+ */
+@EqualsAndHashCode
+@ToString
+public final class AnnotationIndex {
+	/**
+	 * The index of an element without annotations.
+	 */
+	public static final AnnotationIndex EMPTY = new AnnotationIndex(ImmutableMap.of());
+
+	/**
+	 * The annotations, by name.
+	 */
+	@NonNull
+	@Getter
+	private final ImmutableMap<String, AnnotationWrapper> items;
+
+	private AnnotationIndex(@NonNull final ImmutableMap<String, AnnotationWrapper> items) {
+		this.items = items;
+	}
+
+	/**
+	 * @param annotationWrappers The annotations to index.
+	 * @return an index of annotationWrappers, which is EMPTY if there are none.
+	 * @throws IllegalArgumentException If two of the annotations have the same name.
+	 */
+	@NonNull
+	public static AnnotationIndex of(@NonNull final Collection<AnnotationWrapper> annotationWrappers) {
+		if (annotationWrappers.isEmpty()) {
+			return EMPTY;
+		}
+		final ImmutableMap.Builder<String, AnnotationWrapper> items = ImmutableMap.builder();
+		for (final AnnotationWrapper annotationWrapper : annotationWrappers) {
+			items.put(annotationWrapper.getName(), annotationWrapper);
+		}
+		return new AnnotationIndex(items.build());
+	}
+
+	/**
+	 * @param parentName The name of the parent of the annotations, such as the name of the annotated element.
+	 * @return the name of the collection of the annotations of parentName.
+	 */
+	@NonNull
+	public static String collectionNameOf(@NonNull final String parentName) {
+		return parentName + " annotations";
+	}
+
+	/**
+	 * @return true if there are no annotations.
+	 */
+	public boolean isEmpty() {
+		return items.isEmpty();
+	}
+
+	/**
+	 * @param name The simple name of the type of an annotation.
+	 * @return the annotation with the given name, or null if there isn't one.
+	 */
+	@Nullable
+	public AnnotationWrapper get(@NonNull final String name) {
+		return items.get(name);
+	}
+
+	/**
+	 * @param parentName The name of the parent of the annotations, such as the name of the annotated element.
+	 * @return the annotations as a collection named for parentName, sharing this index's map.
+	 */
+	@NonNull
+	public NamedMap<AnnotationWrapper> toNamedMap(@NonNull final String parentName) {
+		return NamedMap.<AnnotationWrapper>builder()
+				.items(items)
+				.name(collectionNameOf(parentName))
+				.build();
+	}
+}
@@ -1,21 +1,30 @@
 package com.github.ndrwksr.structuregrader.core.wrapper;
 
 import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
 import com.github.ndrwksr.structuregrader.core.property.Named;
+import com.google.common.collect.ImmutableMap;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 
+import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * A data type which represents an Annotation and implements Named.
+ * A data type which represents an Annotation and implements Named. Annotations are identified by the simple name of
+ * their type, so an AnnotationWrapper can also be made from just that name when the Annotation itself isn't available
+ * (ex. when the annotated element was read from a class file).
  */
 @Data
-public class AnnotationWrapper implements Named {
+public class AnnotationWrapper implements Named, Fingerprinted {
 
 	/**
 	 * @param annotation The annotation this wrapper represents.
@@ -23,19 +32,29 @@ public class AnnotationWrapper implements Named {
 	@Builder
 	public AnnotationWrapper(@NonNull final Annotation annotation) {
 		this.annotation = annotation;
+		this.name = annotation.annotationType().getSimpleName();
 	}
 
 	/**
-	 * The annotation this wrapper represents.
+	 * @param name The simple name of the type of the annotation this wrapper represents.
 	 */
-	@NonNull
+	public AnnotationWrapper(@NonNull final String name) {
+		this.annotation = null;
+		this.name = name;
+	}
+
+	/**
+	 * The annotation this wrapper represents, or null if this wrapper was made from just the annotation's name.
+	 */
+	@Nullable
+	@EqualsAndHashCode.Exclude
 	final Annotation annotation;
 
-	@Override
+	/**
+	 * The simple name of the type of the annotation this wrapper represents.
+	 */
 	@NonNull
-	public String getName() {
-		return annotation.annotationType().getSimpleName();
-	}
+	final String name;
 
 	/**
 	 * Builds and returns a new collection of AnnotationWrappers from an array of Annotations.
@@ -50,12 +69,80 @@ public class AnnotationWrapper implements Named {
 			@NonNull final String parentName,
 			@NonNull final Annotation[] annotations
 	) {
-		final Map<String, AnnotationWrapper> annotationWrappers = Stream.of(annotations)
-				.map(AnnotationWrapper::new)
-				.collect(Collectors.toMap(AnnotationWrapper::getName, wrapper -> wrapper));
+		return buildCollectionFrom(
+				parentName,
+				Stream.of(annotations).map(AnnotationWrapper::new).collect(Collectors.toList())
+		);
+	}
+
+	/**
+	 * Builds and returns a new collection of AnnotationWrappers from a collection of AnnotationWrappers.
+	 *
+	 * @param parentName         The name of the parent of the annotations, such as the name of the Annotated element
+	 *                           they came from.
+	 * @param annotationWrappers The AnnotationWrappers to build the collection from.
+	 * @return a new collection of AnnotationWrappers, named for parentName.
+	 */
+	@NonNull
+	public static NamedMap<AnnotationWrapper> buildCollectionFrom(
+			@NonNull final String parentName,
+			@NonNull final Collection<AnnotationWrapper> annotationWrappers
+	) {
+		return AnnotationIndex.of(annotationWrappers).toNamedMap(parentName);
+	}
+
+	/**
+	 * Takes a snapshot of a collection of AnnotationWrappers, keeping only the names of the annotations so that the
+	 * snapshot doesn't reference the annotations or their types.
+	 *
+	 * @param annotationWrappers The AnnotationWrappers to take a snapshot of.
+	 * @return a collection with the same name and keys as annotationWrappers, holding name-only AnnotationWrappers.
+	 */
+	@NonNull
+	public static NamedMap<AnnotationWrapper> snapshotOf(@NonNull final NamedMap<AnnotationWrapper> annotationWrappers) {
 		return NamedMap.<AnnotationWrapper>builder()
-				.items(annotationWrappers)
-				.name(parentName + " annotations")
+				.name(annotationWrappers.getName())
+				.items(annotationWrappers.getItems().entrySet().stream()
+						.collect(ImmutableMap.toImmutableMap(
+								Map.Entry::getKey,
+								entry -> new AnnotationWrapper(entry.getValue().getName())
+						)))
 				.build();
 	}
+
+	/**
+	 * @param annotationWrappers The AnnotationWrappers to read the annotations of.
+	 * @return the Annotations held by annotationWrappers. Wrappers made from just a name hold none, so an empty array is
+	 * returned for a snapshot.
+	 */
+	@NonNull
+	public static Annotation[] annotationsOf(@NonNull final NamedMap<AnnotationWrapper> annotationWrappers) {
+		return annotationWrappers.getItems().values().stream()
+				.map(AnnotationWrapper::getAnnotation)
+				.filter(Objects::nonNull)
+				.toArray(Annotation[]::new);
+	}
+
+	/**
+	 * @param annotationWrappers The AnnotationWrappers to search.
+	 * @param annotationClass    The class of the annotation to search for.
+	 * @param <A>                The type of the annotation to search for.
+	 * @return the Annotation of type annotationClass held by annotationWrappers, or null if there is none or its wrapper
+	 * was made from just a name.
+	 */
+	@Nullable
+	public static <A extends Annotation> A annotationOf(
+			@NonNull final NamedMap<AnnotationWrapper> annotationWrappers,
+			@NonNull final Class<A> annotationClass
+	) {
+		final AnnotationWrapper annotationWrapper = annotationWrappers.getItems().get(annotationClass.getSimpleName());
+		return annotationWrapper != null && annotationClass.isInstance(annotationWrapper.getAnnotation()) ?
+				annotationClass.cast(annotationWrapper.getAnnotation()) :
+				null;
+	}
+
+	@Override
+	public long getFingerprint() {
+		return StructuralFingerprints.of(this);
+	}
 }
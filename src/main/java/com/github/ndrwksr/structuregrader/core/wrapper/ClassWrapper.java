@@ -1,52 +1,141 @@
 package com.github.ndrwksr.structuregrader.core.wrapper;
 
 import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.MethodIndex;
 import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.NamedSet;
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
 import com.github.ndrwksr.structuregrader.core.property.Annotated;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
 import com.github.ndrwksr.structuregrader.core.property.Modified;
 import com.github.ndrwksr.structuregrader.core.property.Named;
-import lombok.AllArgsConstructor;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.ToString.Exclude;
 
+import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Stores all of the information about a class which can be accessed via reflection at runtime.
  */
 @Data
-@AllArgsConstructor
-public class ClassWrapper implements Named, Annotated, Modified {
+public class ClassWrapper implements Named, Annotated, Modified, Fingerprinted {
 
 	/**
-	 * The Class that this ClassStructure instance represents.
+	 * The Class that this ClassStructure instance represents, or null if this is a DetachedClassWrapper, which describes
+	 * a class without wrapping one.
 	 */
-	@NonNull
+	@Nullable
 	@Exclude
 	private final Class sourceClass;
 
+	/**
+	 * @param sourceClass The Class this wrapper will represent.
+	 */
+	public ClassWrapper(@NonNull final Class sourceClass) {
+		this.sourceClass = sourceClass;
+	}
+
+	/**
+	 * For DetachedClassWrapper, which overrides every method which reads from sourceClass. Package private, so that no
+	 * other subclass can make a ClassWrapper without a Class.
+	 */
+	ClassWrapper() {
+		this.sourceClass = null;
+	}
+
 	@Override
 	public <A extends Annotation> A getAnnotation(final Class<A> annotationClass) {
 		return (A) sourceClass.getAnnotation(annotationClass);
 	}
 
+	/**
+	 * The classes within this class. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final NamedMap<ClassWrapper> declaredClasses = buildDeclaredClasses();
+
+	/**
+	 * The fields of this class. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final NamedMap<FieldWrapper> fields = buildFields();
+
+	/**
+	 * The methods of this class, indexed so that overloads are told apart. Computed on first use and shared by every
+	 * caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final MethodIndex methods = buildMethods();
+
+	/**
+	 * The constructors of this class. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final NamedSet<ConstructorWrapper> constructors = buildConstructors();
+
+	/**
+	 * The constructors of this class, keyed by their signatures. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final NamedMap<ConstructorWrapper> constructorsBySignature = buildConstructorsBySignature();
+
+	/**
+	 * The interfaces this class implements. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final NamedSet<ClassWrapper> interfaces = buildInterfaces();
+
+	/**
+	 * The annotations on this class, indexed by name. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final AnnotationIndex annotationIndex = AnnotationIndex.of(getAnnotationWrappers().getItems().values());
+
+	/**
+	 * The structural fingerprint of this class. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final long fingerprint = StructuralFingerprints.of(this);
+
 	/**
 	 * @return a NamedMap of the classes within this class.
 	 */
-	public NamedMap<ClassWrapper> getDeclaredClasses() {
+	private NamedMap<ClassWrapper> buildDeclaredClasses() {
 		final Map<String, ClassWrapper> declaredClasses = Arrays.stream(sourceClass.getDeclaredClasses())
 				.map(ClassWrapper::new)
-				.collect(Collectors.toMap(ClassWrapper::getName, Function.identity()));
+				.collect(ImmutableMap.toImmutableMap(ClassWrapper::getName, Function.identity()));
 
 		return ClassMap.builder()
 				.items(declaredClasses)
@@ -54,16 +143,15 @@ public class ClassWrapper implements Named, Annotated, Modified {
 				.build();
 	}
 
-
 	/**
 	 * @return the fields of this class as a NamedMap of FieldWrappers.
 	 */
 	@NonNull
-	public NamedMap<FieldWrapper> getFields() {
+	private NamedMap<FieldWrapper> buildFields() {
 		final Field[] fields = sourceClass.getDeclaredFields();
 		final Map<String, FieldWrapper> fieldWrappers = Arrays.stream(fields)
 				.map(FieldWrapper::new)
-				.collect(Collectors.toMap(FieldWrapper::getName, Function.identity()));
+				.collect(ImmutableMap.toImmutableMap(FieldWrapper::getName, Function.identity()));
 
 		final String collectionName = getName() + "%fields";
 
@@ -74,32 +162,28 @@ public class ClassWrapper implements Named, Annotated, Modified {
 	}
 
 	/**
-	 * @return the methods of this class as a NamedMap of MethodWrappers.
+	 * @return the methods of this class as a MethodIndex, without the bridge methods the compiler added.
 	 */
 	@NonNull
-	public NamedMap<MethodWrapper> getMethods() {
+	private MethodIndex buildMethods() {
 		final Method[] methods = sourceClass.getDeclaredMethods();
-		final Map<String, MethodWrapper> methodWrappers = Arrays.stream(methods)
+		final List<MethodWrapper> methodWrappers = Arrays.stream(methods)
+				.filter(method -> !method.isBridge())
 				.map(MethodWrapper::new)
-				.collect(Collectors.toMap(MethodWrapper::getName, Function.identity()));
+				.collect(ImmutableList.toImmutableList());
 
-		final String collectionName = getName();
-
-		return NamedMap.<MethodWrapper>builder()
-				.items(methodWrappers)
-				.name(collectionName)
-				.build();
+		return MethodIndex.of(getName(), methodWrappers);
 	}
 
 	/**
 	 * @return the constructors of this class as a NamedSet of ConstructorWrappers.
 	 */
 	@NonNull
-	public NamedSet<ConstructorWrapper> getConstructors() {
+	private NamedSet<ConstructorWrapper> buildConstructors() {
 		final Constructor[] constructors = sourceClass.getDeclaredConstructors();
 		final Set<ConstructorWrapper> wrappers = Arrays.stream(constructors)
 				.map(ConstructorWrapper::new)
-				.collect(Collectors.toSet());
+				.collect(ImmutableSet.toImmutableSet());
 
 		final String collectionName = getName();
 
@@ -109,15 +193,31 @@ public class ClassWrapper implements Named, Annotated, Modified {
 				.build();
 	}
 
+	/**
+	 * @return the constructors of this class as a NamedMap of ConstructorWrappers, keyed by their signatures and named
+	 * as the set of constructors is.
+	 */
+	@NonNull
+	private NamedMap<ConstructorWrapper> buildConstructorsBySignature() {
+		final NamedSet<ConstructorWrapper> constructors = getConstructors();
+		final Map<String, ConstructorWrapper> constructorWrappers = constructors.getItems().stream()
+				.collect(ImmutableMap.toImmutableMap(ConstructorWrapper::getSignature, Function.identity()));
+
+		return NamedMap.<ConstructorWrapper>builder()
+				.items(constructorWrappers)
+				.name(constructors.getName())
+				.build();
+	}
+
 	/**
 	 * @return the interfaces this class implements as a NamedSet of ClassWrapper.
 	 */
 	@NonNull
-	public NamedSet<ClassWrapper> getInterfaces() {
+	private NamedSet<ClassWrapper> buildInterfaces() {
 		final Class[] interfaces = sourceClass.getInterfaces();
 		final Set<ClassWrapper> wrappers = Arrays.stream(interfaces)
 				.map(ClassWrapper::new)
-				.collect(Collectors.toSet());
+				.collect(ImmutableSet.toImmutableSet());
 
 		final String collectionName = getName();
 
@@ -128,12 +228,24 @@ public class ClassWrapper implements Named, Annotated, Modified {
 	}
 
 	/**
-	 * @return this class's superclass.
+	 * @return this class's superclass, or null if it has none or, for a DetachedClassWrapper, it is only described by
+	 * name. See getSuperclassName().
 	 */
+	@Nullable
 	public Class getSuperclass() {
 		return sourceClass.getSuperclass();
 	}
 
+	/**
+	 * @return the simple name of this class's superclass, or null if this class has no superclass or its superclass is
+	 * Object.
+	 */
+	@Nullable
+	public String getSuperclassName() {
+		final Class superclass = sourceClass.getSuperclass();
+		return superclass == null || superclass.equals(Object.class) ? null : superclass.getSimpleName();
+	}
+
 	@Override
 	public Annotation[] getDeclaredAnnotations() {
 		return sourceClass.getDeclaredAnnotations();
@@ -1,12 +1,15 @@
 package com.github.ndrwksr.structuregrader.core.wrapper;
 
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
+
 import java.lang.reflect.Constructor;
 
 /**
  * A wrapper for constructors which extends from ExecutableWrapper. Has a method that returns the signature of the
  * constructor.
  */
-public class ConstructorWrapper extends ExecutableWrapper<Constructor> {
+public class ConstructorWrapper extends ExecutableWrapper<Constructor> implements Fingerprinted {
 	/**
 	 * @param sourceExecutable The constructor that this wrapper represents.
 	 */
@@ -14,6 +17,14 @@ public class ConstructorWrapper extends ExecutableWrapper<Constructor> {
 		super(sourceExecutable);
 	}
 
+	/**
+	 * For subclasses which describe a constructor without wrapping a Constructor, such as DetachedConstructorWrapper.
+	 * All methods which read from sourceExecutable must be overridden by such subclasses.
+	 */
+	protected ConstructorWrapper() {
+		super(null);
+	}
+
 	/**
 	 * @return the signature of this constructor. This method starts with the generic name of the constructor
 	 * (ex. "public edu.example.Class(java.lang.String)", and removes the name of the class and the package prefix
@@ -47,4 +58,9 @@ public class ConstructorWrapper extends ExecutableWrapper<Constructor> {
 		// "public (java.lang.String)"
 		return modifier + " " + signature;
 	}
+
+	@Override
+	public long getFingerprint() {
+		return StructuralFingerprints.of(this);
+	}
 }
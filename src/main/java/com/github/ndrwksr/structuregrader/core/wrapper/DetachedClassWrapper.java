@@ -0,0 +1,218 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.MethodIndex;
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.NamedSet;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A ClassWrapper which holds a description of a class rather than wrapping a Class, so that it can be made without
+ * loading the class. Everything the specifications read from a ClassWrapper is available. There is no Class to
+ * return, so getSourceClass() and getSuperclass() return null and the superclass is described by getSuperclassName().
+ * Annotations are described by name in getAnnotationWrappers(); getAnnotation and getDeclaredAnnotations only return
+ * the Annotations which were held when the description was made, so none for a snapshot or a class read from a class
+ * file.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@ToString
+public class DetachedClassWrapper extends ClassWrapper {
+	/**
+	 * The simple name of the class.
+	 */
+	@NonNull
+	private final String name;
+
+	/**
+	 * The modifiers of the class, as returned by Class.getModifiers().
+	 */
+	private final int modifiers;
+
+	/**
+	 * Whether or not the class was introduced by the compiler.
+	 */
+	private final boolean synthetic;
+
+	/**
+	 * The simple name of the class's superclass, or null if it has no superclass or its superclass is Object.
+	 */
+	@Nullable
+	private final String superclassName;
+
+	/**
+	 * The annotations on the class.
+	 */
+	@NonNull
+	private final NamedMap<AnnotationWrapper> annotationWrappers;
+
+	/**
+	 * The member classes declared by the class.
+	 */
+	@NonNull
+	private final NamedMap<ClassWrapper> declaredClasses;
+
+	/**
+	 * The fields declared by the class.
+	 */
+	@NonNull
+	private final NamedMap<FieldWrapper> fields;
+
+	/**
+	 * The methods declared by the class.
+	 */
+	@NonNull
+	private final MethodIndex methods;
+
+	/**
+	 * The constructors declared by the class.
+	 */
+	@NonNull
+	private final NamedSet<ConstructorWrapper> constructors;
+
+	/**
+	 * The interfaces the class directly implements. These are only described by name, see nameOnly(String).
+	 */
+	@NonNull
+	private final NamedSet<ClassWrapper> interfaces;
+
+	@Builder
+	public DetachedClassWrapper(
+			@NonNull final String name,
+			final int modifiers,
+			final boolean synthetic,
+			@Nullable final String superclassName,
+			@NonNull final NamedMap<AnnotationWrapper> annotationWrappers,
+			@NonNull final NamedMap<ClassWrapper> declaredClasses,
+			@NonNull final NamedMap<FieldWrapper> fields,
+			@NonNull final MethodIndex methods,
+			@NonNull final NamedSet<ConstructorWrapper> constructors,
+			@NonNull final NamedSet<ClassWrapper> interfaces
+	) {
+		this.name = name;
+		this.modifiers = modifiers;
+		this.synthetic = synthetic;
+		this.superclassName = superclassName;
+		this.annotationWrappers = annotationWrappers;
+		this.declaredClasses = declaredClasses;
+		this.fields = fields;
+		this.methods = methods;
+		this.constructors = constructors;
+		this.interfaces = interfaces;
+	}
+
+	/**
+	 * Makes a DetachedClassWrapper which describes nothing but the name of a class, for classes which are only
+	 * referenced by name, such as the interfaces of another class.
+	 *
+	 * @param name The simple name of the class.
+	 * @return a DetachedClassWrapper with the provided name and no modifiers, annotations or members.
+	 */
+	public static DetachedClassWrapper nameOnly(@NonNull final String name) {
+		return DetachedClassWrapper.builder()
+				.name(name)
+				.annotationWrappers(NamedMap.<AnnotationWrapper>builder().name(name).items(ImmutableMap.of()).build())
+				.declaredClasses(ClassMap.builder().name(name).items(ImmutableMap.of()).build())
+				.fields(NamedMap.<FieldWrapper>builder().name(name + "%fields").items(ImmutableMap.of()).build())
+				.methods(MethodIndex.of(name, ImmutableList.of()))
+				.constructors(NamedSet.<ConstructorWrapper>builder().name(name).items(ImmutableSet.of()).build())
+				.interfaces(NamedSet.<ClassWrapper>builder().name(name).items(ImmutableSet.of()).build())
+				.build();
+	}
+
+	/**
+	 * @return null, since a detached class's superclass is only described by name. See getSuperclassName().
+	 */
+	@Nullable
+	@Override
+	public Class getSuperclass() {
+		return null;
+	}
+
+	@Override
+	@Nullable
+	public <A extends Annotation> A getAnnotation(final Class<A> annotationClass) {
+		return AnnotationWrapper.annotationOf(annotationWrappers, annotationClass);
+	}
+
+	@Override
+	public Annotation[] getDeclaredAnnotations() {
+		return AnnotationWrapper.annotationsOf(annotationWrappers);
+	}
+
+	/**
+	 * Takes a snapshot of a class in a single pass, copying everything the specifications read from it, including its
+	 * member classes, fields, methods, constructors and interfaces. The snapshot doesn't reference the Class or any of
+	 * its members, types or annotations, so once it is taken the class's classloader can be closed and collected
+	 * without affecting grading.
+	 *
+	 * @param classWrapper The class to take a snapshot of.
+	 * @return a DetachedClassWrapper describing the same class, or classWrapper itself if it is already detached.
+	 */
+	public static DetachedClassWrapper snapshotOf(@NonNull final ClassWrapper classWrapper) {
+		if (classWrapper instanceof DetachedClassWrapper) {
+			return (DetachedClassWrapper) classWrapper;
+		}
+
+		final NamedMap<ClassWrapper> declaredClasses = classWrapper.getDeclaredClasses();
+		final NamedMap<FieldWrapper> fields = classWrapper.getFields();
+		final MethodIndex methods = classWrapper.getMethods();
+		final NamedSet<ConstructorWrapper> constructors = classWrapper.getConstructors();
+		final NamedSet<ClassWrapper> interfaces = classWrapper.getInterfaces();
+
+		return DetachedClassWrapper.builder()
+				.name(classWrapper.getName())
+				.modifiers(classWrapper.getModifiers())
+				.synthetic(classWrapper.isSynthetic())
+				.superclassName(classWrapper.getSuperclassName())
+				.annotationWrappers(AnnotationWrapper.snapshotOf(classWrapper.getAnnotationWrappers()))
+				.declaredClasses(ClassMap.builder()
+						.name(declaredClasses.getName())
+						.items(snapshotValues(declaredClasses.getItems(), DetachedClassWrapper::snapshotOf))
+						.build())
+				.fields(NamedMap.<FieldWrapper>builder()
+						.name(fields.getName())
+						.items(snapshotValues(fields.getItems(), DetachedFieldWrapper::snapshotOf))
+						.build())
+				.methods(MethodIndex.of(methods.getName(), methods.getItems().values().stream()
+						.map(DetachedMethodWrapper::snapshotOf)
+						.collect(ImmutableList.toImmutableList())))
+				.constructors(NamedSet.<ConstructorWrapper>builder()
+						.name(constructors.getName())
+						.items(constructors.getItems().stream()
+								.map(DetachedConstructorWrapper::snapshotOf)
+								.collect(ImmutableSet.toImmutableSet()))
+						.build())
+				.interfaces(NamedSet.<ClassWrapper>builder()
+						.name(interfaces.getName())
+						.items(interfaces.getItems().stream()
+								.map(ClassWrapper::getName)
+								.map(DetachedClassWrapper::nameOnly)
+								.collect(ImmutableSet.toImmutableSet()))
+						.build())
+				.build();
+	}
+
+	/**
+	 * Takes a snapshot of every value of a map of wrappers.
+	 */
+	private static <ITEM> Map<String, ITEM> snapshotValues(
+			@NonNull final Map<String, ITEM> items,
+			@NonNull final Function<ITEM, ? extends ITEM> snapshotFunction
+	) {
+		return items.entrySet().stream()
+				.collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, entry -> snapshotFunction.apply(entry.getValue())));
+	}
+}
@@ -0,0 +1,108 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+
+/**
+ * A ConstructorWrapper which holds a description of a constructor rather than wrapping a Constructor, so that it can
+ * be made without loading the class that declares it. Annotations are described by name in getAnnotationWrappers();
+ * getAnnotation and getDeclaredAnnotations only return the Annotations which were held when the description was made,
+ * so none for a snapshot or a constructor read from a class file.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@ToString
+public class DetachedConstructorWrapper extends ConstructorWrapper {
+	/**
+	 * The name of the constructor, which is the binary name of its declaring class.
+	 */
+	@NonNull
+	private final String name;
+
+	/**
+	 * The modifiers of the constructor, as returned by Constructor.getModifiers().
+	 */
+	private final int modifiers;
+
+	/**
+	 * Whether or not the constructor was introduced by the compiler.
+	 */
+	private final boolean synthetic;
+
+	/**
+	 * The signature of the constructor, in the format returned by ConstructorWrapper.getSignature()
+	 * (ex. "public (java.lang.String)").
+	 */
+	@NonNull
+	private final String signature;
+
+	/**
+	 * The annotations on the constructor.
+	 */
+	@NonNull
+	private final NamedMap<AnnotationWrapper> annotationWrappers;
+
+	/**
+	 * The parameters of the constructor.
+	 */
+	@NonNull
+	private final NamedMap<ParameterWrapper> parameters;
+
+	@Builder
+	public DetachedConstructorWrapper(
+			@NonNull final String name,
+			final int modifiers,
+			final boolean synthetic,
+			@NonNull final String signature,
+			@NonNull final NamedMap<AnnotationWrapper> annotationWrappers,
+			@NonNull final NamedMap<ParameterWrapper> parameters
+	) {
+		this.name = name;
+		this.modifiers = modifiers;
+		this.synthetic = synthetic;
+		this.signature = signature;
+		this.annotationWrappers = annotationWrappers;
+		this.parameters = parameters;
+	}
+
+	@Override
+	@Nullable
+	public <A extends Annotation> A getAnnotation(final Class<A> annotationClass) {
+		return AnnotationWrapper.annotationOf(annotationWrappers, annotationClass);
+	}
+
+	@Override
+	public @NonNull Annotation[] getDeclaredAnnotations() {
+		return AnnotationWrapper.annotationsOf(annotationWrappers);
+	}
+
+	/**
+	 * Takes a snapshot of a constructor, copying everything the specifications read from it, including its parameters.
+	 * The snapshot doesn't reference the Constructor or any of its types or annotations, so it doesn't keep the
+	 * constructor's classloader reachable.
+	 *
+	 * @param constructorWrapper The constructor to take a snapshot of.
+	 * @return a DetachedConstructorWrapper describing the same constructor, or constructorWrapper itself if it is
+	 * already detached.
+	 */
+	public static DetachedConstructorWrapper snapshotOf(@NonNull final ConstructorWrapper constructorWrapper) {
+		if (constructorWrapper instanceof DetachedConstructorWrapper) {
+			return (DetachedConstructorWrapper) constructorWrapper;
+		}
+		return DetachedConstructorWrapper.builder()
+				.name(constructorWrapper.getName())
+				.modifiers(constructorWrapper.getModifiers())
+				.synthetic(constructorWrapper.isSynthetic())
+				.signature(constructorWrapper.getSignature())
+				.annotationWrappers(AnnotationWrapper.snapshotOf(constructorWrapper.getAnnotationWrappers()))
+				.parameters(DetachedParameterWrapper.snapshotOf(constructorWrapper.getParameters()))
+				.build();
+	}
+}
@@ -0,0 +1,106 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A FieldWrapper which holds a description of a field rather than wrapping a Field, so that it can be made without
+ * loading the field's class. Annotations are described by name in getAnnotationWrappers(); getAnnotation and
+ * getDeclaredAnnotations only return the Annotations which were held when the description was made, so none for a
+ * snapshot or a field read from a class file.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@ToString
+public class DetachedFieldWrapper extends FieldWrapper {
+	/**
+	 * The name of the field.
+	 */
+	@NonNull
+	private final String name;
+
+	/**
+	 * The modifiers of the field, as returned by Field.getModifiers().
+	 */
+	private final int modifiers;
+
+	/**
+	 * Whether or not the field was introduced by the compiler.
+	 */
+	private final boolean synthetic;
+
+	/**
+	 * The type of the field without generic parameters.
+	 */
+	@NonNull
+	private final Type type;
+
+	/**
+	 * The type of the field with generic parameters.
+	 */
+	@Nullable
+	private final Type genericType;
+
+	/**
+	 * The annotations on the field.
+	 */
+	@NonNull
+	private final NamedMap<AnnotationWrapper> annotationWrappers;
+
+	@Builder
+	public DetachedFieldWrapper(
+			@NonNull final String name,
+			final int modifiers,
+			final boolean synthetic,
+			@NonNull final Type type,
+			@Nullable final Type genericType,
+			@NonNull final NamedMap<AnnotationWrapper> annotationWrappers
+	) {
+		this.name = name;
+		this.modifiers = modifiers;
+		this.synthetic = synthetic;
+		this.type = type;
+		this.genericType = genericType;
+		this.annotationWrappers = annotationWrappers;
+	}
+
+	@Override
+	@Nullable
+	public <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
+		return AnnotationWrapper.annotationOf(annotationWrappers, annotationClass);
+	}
+
+	@Override
+	public Annotation[] getDeclaredAnnotations() {
+		return AnnotationWrapper.annotationsOf(annotationWrappers);
+	}
+
+	/**
+	 * Takes a snapshot of a field, copying everything the specifications read from it. The snapshot doesn't reference
+	 * the Field or any of its types or annotations, so it doesn't keep the field's classloader reachable.
+	 *
+	 * @param fieldWrapper The field to take a snapshot of.
+	 * @return a DetachedFieldWrapper describing the same field, or fieldWrapper itself if it is already detached.
+	 */
+	public static DetachedFieldWrapper snapshotOf(@NonNull final FieldWrapper fieldWrapper) {
+		if (fieldWrapper instanceof DetachedFieldWrapper) {
+			return (DetachedFieldWrapper) fieldWrapper;
+		}
+		return DetachedFieldWrapper.builder()
+				.name(fieldWrapper.getName())
+				.modifiers(fieldWrapper.getModifiers())
+				.synthetic(fieldWrapper.isSynthetic())
+				.type(NamedType.snapshotOf(fieldWrapper.getType()))
+				.genericType(NamedType.snapshotOf(fieldWrapper.getGenericType()))
+				.annotationWrappers(AnnotationWrapper.snapshotOf(fieldWrapper.getAnnotationWrappers()))
+				.build();
+	}
+}
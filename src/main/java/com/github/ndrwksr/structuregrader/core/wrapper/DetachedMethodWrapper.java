@@ -0,0 +1,116 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A MethodWrapper which holds a description of a method rather than wrapping a Method, so that it can be made without
+ * loading the class that declares it. Annotations are described by name in getAnnotationWrappers(); getAnnotation and
+ * getDeclaredAnnotations only return the Annotations which were held when the description was made, so none for a
+ * snapshot or a method read from a class file.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@ToString
+public class DetachedMethodWrapper extends MethodWrapper {
+	/**
+	 * The name of the method.
+	 */
+	@NonNull
+	private final String name;
+
+	/**
+	 * The modifiers of the method, as returned by Method.getModifiers().
+	 */
+	private final int modifiers;
+
+	/**
+	 * Whether or not the method was introduced by the compiler.
+	 */
+	private final boolean synthetic;
+
+	/**
+	 * The return type of the method without generic parameters.
+	 */
+	@NonNull
+	private final Type type;
+
+	/**
+	 * The return type of the method with generic parameters.
+	 */
+	@Nullable
+	private final Type genericType;
+
+	/**
+	 * The annotations on the method.
+	 */
+	@NonNull
+	private final NamedMap<AnnotationWrapper> annotationWrappers;
+
+	/**
+	 * The parameters of the method.
+	 */
+	@NonNull
+	private final NamedMap<ParameterWrapper> parameters;
+
+	@Builder
+	public DetachedMethodWrapper(
+			@NonNull final String name,
+			final int modifiers,
+			final boolean synthetic,
+			@NonNull final Type type,
+			@Nullable final Type genericType,
+			@NonNull final NamedMap<AnnotationWrapper> annotationWrappers,
+			@NonNull final NamedMap<ParameterWrapper> parameters
+	) {
+		this.name = name;
+		this.modifiers = modifiers;
+		this.synthetic = synthetic;
+		this.type = type;
+		this.genericType = genericType;
+		this.annotationWrappers = annotationWrappers;
+		this.parameters = parameters;
+	}
+
+	@Override
+	@Nullable
+	public <A extends Annotation> A getAnnotation(final Class<A> annotationClass) {
+		return AnnotationWrapper.annotationOf(annotationWrappers, annotationClass);
+	}
+
+	@Override
+	public @NonNull Annotation[] getDeclaredAnnotations() {
+		return AnnotationWrapper.annotationsOf(annotationWrappers);
+	}
+
+	/**
+	 * Takes a snapshot of a method, copying everything the specifications read from it, including its parameters. The
+	 * snapshot doesn't reference the Method or any of its types or annotations, so it doesn't keep the method's
+	 * classloader reachable.
+	 *
+	 * @param methodWrapper The method to take a snapshot of.
+	 * @return a DetachedMethodWrapper describing the same method, or methodWrapper itself if it is already detached.
+	 */
+	public static DetachedMethodWrapper snapshotOf(@NonNull final MethodWrapper methodWrapper) {
+		if (methodWrapper instanceof DetachedMethodWrapper) {
+			return (DetachedMethodWrapper) methodWrapper;
+		}
+		return DetachedMethodWrapper.builder()
+				.name(methodWrapper.getName())
+				.modifiers(methodWrapper.getModifiers())
+				.synthetic(methodWrapper.isSynthetic())
+				.type(NamedType.snapshotOf(methodWrapper.getType()))
+				.genericType(NamedType.snapshotOf(methodWrapper.getGenericType()))
+				.annotationWrappers(AnnotationWrapper.snapshotOf(methodWrapper.getAnnotationWrappers()))
+				.parameters(DetachedParameterWrapper.snapshotOf(methodWrapper.getParameters()))
+				.build();
+	}
+}
@@ -0,0 +1,127 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.google.common.collect.ImmutableMap;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * A ParameterWrapper which holds a description of a parameter rather than wrapping a Parameter, so that it can be made
+ * without loading the class that declares it. Annotations are described by name in getAnnotationWrappers();
+ * getAnnotation and getDeclaredAnnotations only return the Annotations which were held when the description was made,
+ * so none for a snapshot or a parameter read from a class file.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class DetachedParameterWrapper extends ParameterWrapper {
+	/**
+	 * The name of the parameter.
+	 */
+	@NonNull
+	private final String name;
+
+	/**
+	 * The modifiers of the parameter, as returned by Parameter.getModifiers().
+	 */
+	private final int modifiers;
+
+	/**
+	 * Whether or not the parameter was introduced by the compiler.
+	 */
+	private final boolean synthetic;
+
+	/**
+	 * The type of the parameter without generic parameters.
+	 */
+	@NonNull
+	private final Type type;
+
+	/**
+	 * The type of the parameter with generic parameters.
+	 */
+	@Nullable
+	private final Type genericType;
+
+	/**
+	 * The annotations on the parameter.
+	 */
+	@NonNull
+	private final NamedMap<AnnotationWrapper> annotationWrappers;
+
+	@Builder
+	public DetachedParameterWrapper(
+			final int index,
+			@NonNull final String name,
+			final int modifiers,
+			final boolean synthetic,
+			@NonNull final Type type,
+			@Nullable final Type genericType,
+			@NonNull final NamedMap<AnnotationWrapper> annotationWrappers
+	) {
+		super(index);
+		this.name = name;
+		this.modifiers = modifiers;
+		this.synthetic = synthetic;
+		this.type = type;
+		this.genericType = genericType;
+		this.annotationWrappers = annotationWrappers;
+	}
+
+	@Override
+	@Nullable
+	public <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
+		return AnnotationWrapper.annotationOf(annotationWrappers, annotationClass);
+	}
+
+	@Override
+	public Annotation[] getDeclaredAnnotations() {
+		return AnnotationWrapper.annotationsOf(annotationWrappers);
+	}
+
+	/**
+	 * Takes a snapshot of a parameter, copying everything the specifications read from it. The snapshot doesn't
+	 * reference the Parameter or any of its types or annotations, so it doesn't keep the parameter's classloader
+	 * reachable.
+	 *
+	 * @param parameterWrapper The parameter to take a snapshot of.
+	 * @return a DetachedParameterWrapper describing the same parameter, or parameterWrapper itself if it is already
+	 * detached.
+	 */
+	public static DetachedParameterWrapper snapshotOf(@NonNull final ParameterWrapper parameterWrapper) {
+		if (parameterWrapper instanceof DetachedParameterWrapper) {
+			return (DetachedParameterWrapper) parameterWrapper;
+		}
+		return DetachedParameterWrapper.builder()
+				.index(parameterWrapper.getIndex())
+				.name(parameterWrapper.getName())
+				.modifiers(parameterWrapper.getModifiers())
+				.synthetic(parameterWrapper.isSynthetic())
+				.type(NamedType.snapshotOf(parameterWrapper.getType()))
+				.genericType(NamedType.snapshotOf(parameterWrapper.getGenericType()))
+				.annotationWrappers(AnnotationWrapper.snapshotOf(parameterWrapper.getAnnotationWrappers()))
+				.build();
+	}
+
+	/**
+	 * Takes a snapshot of every parameter in a collection of parameters.
+	 *
+	 * @param parameters The parameters to take snapshots of.
+	 * @return a collection with the same name and keys as parameters, holding snapshots of its parameters.
+	 */
+	public static NamedMap<ParameterWrapper> snapshotOf(@NonNull final NamedMap<ParameterWrapper> parameters) {
+		return NamedMap.<ParameterWrapper>builder()
+				.name(parameters.getName())
+				.items(parameters.getItems().entrySet().stream()
+						.collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, entry -> snapshotOf(entry.getValue()))))
+				.build();
+	}
+}
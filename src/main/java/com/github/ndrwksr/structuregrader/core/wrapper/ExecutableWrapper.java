@@ -4,6 +4,7 @@ import com.github.ndrwksr.structuregrader.core.NamedMap;
 import com.github.ndrwksr.structuregrader.core.property.Annotated;
 import com.github.ndrwksr.structuregrader.core.property.Modified;
 import com.github.ndrwksr.structuregrader.core.property.Parameterized;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +27,12 @@ public class ExecutableWrapper<EXEC extends Executable> implements Annotated, Mo
 	 */
 	protected final EXEC sourceExecutable;
 
+	/**
+	 * The annotations on this executable, indexed by name. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	private final AnnotationIndex annotationIndex = AnnotationIndex.of(getAnnotationWrappers().getItems().values());
+
 	@Override
 	public @NonNull Annotation[] getDeclaredAnnotations() {
 		return sourceExecutable.getDeclaredAnnotations();
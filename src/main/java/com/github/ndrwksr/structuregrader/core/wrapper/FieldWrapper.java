@@ -1,8 +1,14 @@
 package com.github.ndrwksr.structuregrader.core.wrapper;
 
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
 import com.github.ndrwksr.structuregrader.core.property.Variable;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
@@ -13,12 +19,29 @@ import java.lang.reflect.Type;
  * A wrapper for Field, so that Field can implement Variable.
  */
 @Data
-public class FieldWrapper implements Variable {
+@RequiredArgsConstructor
+public class FieldWrapper implements Variable, Fingerprinted {
 	/**
 	 * The Field this wrapper represents.
 	 */
 	private final Field sourceField;
 
+	/**
+	 * The annotations on this field, indexed by name. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final AnnotationIndex annotationIndex = AnnotationIndex.of(getAnnotationWrappers().getItems().values());
+
+	/**
+	 * For subclasses which describe a field without wrapping a Field, such as DetachedFieldWrapper. All methods which
+	 * read from sourceField must be overridden by such subclasses.
+	 */
+	protected FieldWrapper() {
+		this.sourceField = null;
+	}
+
 	@Override
 	public int getModifiers() {
 		return sourceField.getModifiers();
@@ -54,4 +77,9 @@ public class FieldWrapper implements Variable {
 	public Type getGenericType() {
 		return sourceField.getGenericType();
 	}
+
+	@Override
+	public long getFingerprint() {
+		return StructuralFingerprints.of(this);
+	}
 }
@@ -1,16 +1,21 @@
 package com.github.ndrwksr.structuregrader.core.wrapper;
 
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
 import com.github.ndrwksr.structuregrader.core.property.Variable;
+import com.github.ndrwksr.structuregrader.core.type.TypeTree;
 import lombok.NonNull;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Comparator;
+import java.util.stream.Collectors;
 
 /**
  * A wrapper for Method so that Method can implement Variable, and Method can be extended (see getParameters()).
  */
-public class MethodWrapper extends ExecutableWrapper<Method> implements Variable {
+public class MethodWrapper extends ExecutableWrapper<Method> implements Variable, Fingerprinted {
 	/**
 	 * @param sourceMethod The Method this wrapper will represent.
 	 */
@@ -18,6 +23,14 @@ public class MethodWrapper extends ExecutableWrapper<Method> implements Variable
 		super(sourceMethod);
 	}
 
+	/**
+	 * For subclasses which describe a method without wrapping a Method, such as DetachedMethodWrapper. All methods
+	 * which read from sourceExecutable must be overridden by such subclasses.
+	 */
+	protected MethodWrapper() {
+		super(null);
+	}
+
 	@Override
 	public @NonNull Type getType() {
 		return sourceExecutable.getReturnType();
@@ -28,4 +41,21 @@ public class MethodWrapper extends ExecutableWrapper<Method> implements Variable
 	public Type getGenericType() {
 		return sourceExecutable.getGenericReturnType();
 	}
+
+	/**
+	 * @return the erased types of this method's parameters, in order and without packages (ex. "int, String[]"), which
+	 * tell overloads of a method apart. See MethodIndex.
+	 */
+	@NonNull
+	public String getDescriptor() {
+		return getParameters().getItems().values().stream()
+				.sorted(Comparator.comparingInt(ParameterWrapper::getIndex))
+				.map(parameter -> TypeTree.of(parameter.getType()).toString())
+				.collect(Collectors.joining(", "));
+	}
+
+	@Override
+	public long getFingerprint() {
+		return StructuralFingerprints.of(this);
+	}
 }
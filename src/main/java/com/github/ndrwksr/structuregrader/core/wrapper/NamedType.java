@@ -0,0 +1,40 @@
+package com.github.ndrwksr.structuregrader.core.wrapper;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
+
+/**
+ * A Type which is known only by its name, for elements whose types can't or shouldn't be loaded (ex. elements read
+ * from class files). The name is formatted the same way Type.getTypeName() formats it for the equivalent reflective
+ * type (ex. "java.util.List<java.lang.String>").
+ */
+@Value
+public class NamedType implements Type {
+	/**
+	 * The name of the type.
+	 */
+	@NonNull
+	String typeName;
+
+	@Override
+	public String toString() {
+		return typeName;
+	}
+
+	/**
+	 * Takes a snapshot of a type, keeping only its name.
+	 *
+	 * @param type The type to take a snapshot of.
+	 * @return a NamedType with the same name as type, or null if type is null.
+	 */
+	@Nullable
+	public static NamedType snapshotOf(@Nullable final Type type) {
+		if (type == null || type instanceof NamedType) {
+			return (NamedType) type;
+		}
+		return new NamedType(type.getTypeName());
+	}
+}
@@ -1,9 +1,15 @@
 package com.github.ndrwksr.structuregrader.core.wrapper;
 
+import com.github.ndrwksr.structuregrader.core.fingerprint.StructuralFingerprints;
+import com.github.ndrwksr.structuregrader.core.property.Fingerprinted;
 import com.github.ndrwksr.structuregrader.core.property.Ordinal;
 import com.github.ndrwksr.structuregrader.core.property.Variable;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
@@ -14,7 +20,8 @@ import java.lang.reflect.Type;
  * A wrapper for Parameter, so that Parameter can be made to implement Variable and Ordinal.
  */
 @Data
-public class ParameterWrapper implements Variable, Ordinal {
+@RequiredArgsConstructor
+public class ParameterWrapper implements Variable, Ordinal, Fingerprinted {
 	/**
 	 * The original field that this wrapper represents.
 	 */
@@ -26,6 +33,25 @@ public class ParameterWrapper implements Variable, Ordinal {
 	 */
 	private final int index;
 
+	/**
+	 * The annotations on this parameter, indexed by name. Computed on first use and shared by every caller.
+	 */
+	@Getter(lazy = true)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final AnnotationIndex annotationIndex = AnnotationIndex.of(getAnnotationWrappers().getItems().values());
+
+	/**
+	 * For subclasses which describe a parameter without wrapping a Parameter, such as DetachedParameterWrapper. All
+	 * methods which read from sourceParam must be overridden by such subclasses.
+	 *
+	 * @param index The index of the parameter in its owning method.
+	 */
+	protected ParameterWrapper(final int index) {
+		this.sourceParam = null;
+		this.index = index;
+	}
+
 	@Override
 	public int getModifiers() {
 		return sourceParam.getModifiers();
@@ -62,4 +88,9 @@ public class ParameterWrapper implements Variable, Ordinal {
 	public Type getGenericType() {
 		return sourceParam.getParameterizedType();
 	}
+
+	@Override
+	public long getFingerprint() {
+		return StructuralFingerprints.of(this);
+	}
 }
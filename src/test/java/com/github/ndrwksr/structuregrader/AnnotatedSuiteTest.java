@@ -3,6 +3,8 @@ package com.github.ndrwksr.structuregrader;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.specification.common.AnnotatedSuite;
 import com.github.ndrwksr.structuregrader.core.specification.common.AnnotatedSuite.AnnotatedSuiteFactory;
+import com.github.ndrwksr.structuregrader.core.wrapper.AnnotationIndex;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedFieldWrapper;
 import com.github.ndrwksr.structuregrader.core.wrapper.FieldWrapper;
 import edu.test.annotations.TestAnnotation1;
 import edu.test.annotations.TestAnnotation2;
@@ -12,6 +14,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -115,4 +118,15 @@ public class AnnotatedSuiteTest {
 		suite.visit(testFields.get(1));
 		assert noncompliances.size() == 1;
 	}
+
+	@Test
+	public void annotationIndexIsResolvedOnce() {
+		assert testFields.get(0).getAnnotationIndex() == AnnotationIndex.EMPTY;
+
+		final FieldWrapper manyAnnotationField = testFields.get(2);
+		final AnnotationIndex annotationIndex = manyAnnotationField.getAnnotationIndex();
+		assert manyAnnotationField.getAnnotationIndex() == annotationIndex;
+		assert annotationIndex.getItems().keySet().equals(Set.of("TestAnnotation1", "TestAnnotation2"));
+		assert DetachedFieldWrapper.snapshotOf(manyAnnotationField).getAnnotationIndex().equals(annotationIndex);
+	}
 }
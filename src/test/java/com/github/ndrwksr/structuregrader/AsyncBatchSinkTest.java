@@ -0,0 +1,140 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.grading.AsyncBatchSink;
+import com.github.ndrwksr.structuregrader.core.grading.AsyncBatchSink.BackpressurePolicy;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class AsyncBatchSinkTest {
+	@Test
+	public void testDrainDeliversEverythingInBatches() throws Exception {
+		final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncBatchSink<Integer> sink = AsyncBatchSink.<Integer>builder()
+				.batchConsumer(batches::add)
+				.flushSize(10)
+				.flushInterval(Duration.ofMinutes(1))
+				.build()) {
+			for (int i = 0; i < 95; i++) {
+				sink.accept(i);
+			}
+			sink.drain();
+
+			final List<Integer> delivered = new ArrayList<>();
+			synchronized (batches) {
+				for (final List<Integer> batch : batches) {
+					assert batch.size() <= 10;
+					delivered.addAll(batch);
+				}
+			}
+			assert delivered.size() == 95;
+			for (int i = 0; i < 95; i++) {
+				assert delivered.get(i) == i;
+			}
+		}
+	}
+
+	@Test
+	public void testFlushInterval() throws Exception {
+		final CountDownLatch delivered = new CountDownLatch(1);
+		try (AsyncBatchSink<Integer> sink = AsyncBatchSink.<Integer>builder()
+				.batchConsumer(batch -> delivered.countDown())
+				.flushSize(100)
+				.flushInterval(Duration.ofMillis(10))
+				.build()) {
+			sink.accept(1);
+			// A partial batch is delivered without a drain once the interval has passed
+			delivered.await();
+		}
+	}
+
+	@Test
+	public void testBackpressurePolicies() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+
+		try (AsyncBatchSink<Integer> sink = AsyncBatchSink.<Integer>builder()
+				.batchConsumer(batch -> {
+					blocked.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					delivered.addAll(batch);
+				})
+				.capacity(2)
+				.flushSize(1)
+				.backpressurePolicy(BackpressurePolicy.DROP)
+				.build()) {
+			// Hold the delivery thread in the consumer, then fill the buffer
+			sink.accept(0);
+			blocked.await();
+			sink.accept(1);
+			sink.accept(2);
+			sink.accept(3);
+			assert sink.getDroppedCount() == 1;
+
+			release.countDown();
+			sink.drain();
+			assert delivered.equals(List.of(0, 1, 2));
+		}
+
+		final Thread caller = Thread.currentThread();
+		final List<Thread> deliveringThreads = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncBatchSink<Integer> sink = AsyncBatchSink.<Integer>builder()
+				.batchConsumer(batch -> deliveringThreads.add(Thread.currentThread()))
+				.capacity(1)
+				.flushInterval(Duration.ofMinutes(1))
+				.backpressurePolicy(BackpressurePolicy.CALLER_RUNS)
+				.build()) {
+			for (int i = 0; i < 100; i++) {
+				sink.accept(i);
+			}
+			sink.drain();
+			assert deliveringThreads.contains(caller);
+			assert sink.getDroppedCount() == 0;
+		}
+	}
+
+	@Test
+	public void testCloseRestoresInterrupt() {
+		final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+		final AsyncBatchSink<Integer> sink = AsyncBatchSink.<Integer>builder()
+				.batchConsumer(delivered::addAll)
+				.build();
+		sink.accept(1);
+
+		Thread.currentThread().interrupt();
+		sink.close();
+		// Clear the interrupt even when assertions are disabled, so that it doesn't leak into later tests
+		final boolean interrupted = Thread.interrupted();
+		assert interrupted;
+
+		// The delivery thread still delivers what was accepted, and nothing more is accepted
+		sink.close();
+		assert delivered.equals(List.of(1));
+		try {
+			sink.accept(2);
+			assert false;
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testConsumerFailureIsRethrownOnClose() throws Exception {
+		final AsyncBatchSink<Integer> sink = AsyncBatchSink.<Integer>builder()
+				.batchConsumer(batch -> {
+					throw new IllegalArgumentException("Can't consume " + batch);
+				})
+				.build();
+		sink.accept(1);
+		sink.close();
+	}
+}
@@ -0,0 +1,151 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.grading.AsyncBatchSink;
+import com.github.ndrwksr.structuregrader.core.grading.BatchGrader;
+import com.github.ndrwksr.structuregrader.core.grading.BatchResult;
+import com.github.ndrwksr.structuregrader.core.grading.SubmissionNoncompliance;
+import com.github.ndrwksr.structuregrader.core.grading.SubmissionResult;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BatchGraderTest {
+	private static final String PKG = "edu.test.proj1";
+	private static final String PKG_DIR = "edu/test/proj1";
+	private static final String ANNOTATIONS_DIR = "edu/test/annotations";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ClassMapSuite classMapSuite;
+	private BatchGrader batchGrader;
+
+	@Before
+	public void setup() throws Exception {
+		final ClassMap expectedClassMap = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst().buildFromCollection(
+				expectedClassMap,
+				expectedClassMap.getName(),
+				GradingContext.contextOnlyConsumer()
+		);
+
+		batchGrader = BatchGrader.builder()
+				.classMapSuite(classMapSuite)
+				.pkg(PKG)
+				.parallelism(2)
+				.queueCapacity(1)
+				.build();
+	}
+
+	@Test
+	public void testCompliantSubmission() throws Exception {
+		final Path jar = TestJars.createJar(temporaryFolder.getRoot().toPath().resolve("good.jar"), PKG_DIR, ANNOTATIONS_DIR);
+
+		final SubmissionResult result = batchGrader.gradeSubmission(jar);
+		assert result.getError() == null;
+		assert result.isCompliant();
+	}
+
+	@Test
+	public void testNoncompliantSubmission() throws Exception {
+		final Path jar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("bad.jar"),
+				name -> !name.equals("SubClass"),
+				PKG_DIR,
+				ANNOTATIONS_DIR
+		);
+
+		final SubmissionResult result = batchGrader.gradeSubmission(jar);
+		assert result.getError() == null;
+		assert !result.getNoncompliances().isEmpty();
+	}
+
+	@Test
+	public void testGradeDirectory() throws Exception {
+		final Path dir = temporaryFolder.newFolder("submissions").toPath();
+		for (int i = 0; i < 4; i++) {
+			TestJars.createJar(dir.resolve("good" + i + ".jar"), PKG_DIR, ANNOTATIONS_DIR);
+		}
+		TestJars.createJar(dir.resolve("missing.jar"), name -> !name.equals("SubClass"), PKG_DIR, ANNOTATIONS_DIR);
+
+		final BatchResult batchResult = batchGrader.gradeDirectory(dir);
+		assert batchResult.getSubmissionResults().size() == 5;
+		assert batchResult.getSubmissionResults().stream().filter(SubmissionResult::isCompliant).count() == 4;
+		assert !batchResult.getSubmissionResults().get(4).isCompliant();
+		assert batchResult.getSubmissionsPerSecond() > 0;
+	}
+
+	@Test
+	public void testIdenticalSubmissionsAreGradedOnce() throws Exception {
+		final Path dir = temporaryFolder.newFolder("cohort").toPath();
+		for (int i = 0; i < 3; i++) {
+			TestJars.createJar(dir.resolve("missing" + i + ".jar"), name -> !name.equals("SubClass"), PKG_DIR, ANNOTATIONS_DIR);
+		}
+		TestJars.createJar(dir.resolve("x-good.jar"), PKG_DIR, ANNOTATIONS_DIR);
+
+		final List<SubmissionResult> results = batchGrader.gradeDirectory(dir).getSubmissionResults();
+		final List<SubmissionResult> visited = results.subList(0, 3).stream()
+				.filter(result -> result.getRepresentative() == null)
+				.collect(Collectors.toList());
+		assert visited.size() == 1;
+		for (final SubmissionResult result : results.subList(0, 3)) {
+			assert result.getNoncompliances().equals(visited.get(0).getNoncompliances());
+			assert result.getRepresentative() == null || result.getRepresentative().equals(visited.get(0).getSubmission());
+			assert !result.isCompliant();
+		}
+		assert results.get(3).getRepresentative() == null;
+		assert results.get(3).isCompliant();
+	}
+
+	@Test
+	public void testNoncompliancesAreStreamedToSink() throws Exception {
+		final Path dir = temporaryFolder.newFolder("streamed").toPath();
+		for (int i = 0; i < 3; i++) {
+			TestJars.createJar(dir.resolve("missing" + i + ".jar"), name -> !name.equals("SubClass"), PKG_DIR, ANNOTATIONS_DIR);
+		}
+
+		final List<SubmissionNoncompliance> streamed = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncBatchSink<SubmissionNoncompliance> sink = AsyncBatchSink.<SubmissionNoncompliance>builder()
+				.batchConsumer(streamed::addAll)
+				.build()) {
+			final List<SubmissionResult> results = BatchGrader.builder()
+					.classMapSuite(classMapSuite)
+					.pkg(PKG)
+					.parallelism(2)
+					.noncomplianceSink(sink)
+					.build()
+					.gradeDirectory(dir)
+					.getSubmissionResults();
+
+			// Every submission's noncompliances were consumed before its result was returned
+			for (final SubmissionResult result : results) {
+				final long streamedCount = streamed.stream()
+						.filter(noncompliance -> noncompliance.getSubmission().equals(result.getSubmission()))
+						.count();
+				assert streamedCount == result.getNoncompliances().size();
+				assert streamedCount > 0;
+			}
+		}
+	}
+
+	@Test
+	public void testUnreadableSubmissionReportsError() throws Exception {
+		final Path notAJar = temporaryFolder.newFile("broken.jar").toPath();
+		Files.write(notAJar, new byte[]{1, 2, 3});
+
+		final BatchResult batchResult = batchGrader.gradeAll(Arrays.asList(notAJar));
+		assert batchResult.getSubmissionResults().get(0).getError() != null;
+	}
+}
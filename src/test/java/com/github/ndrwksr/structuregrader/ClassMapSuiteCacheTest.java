@@ -0,0 +1,224 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.grading.ClassMapSuiteCache;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.SuperclassSpec;
+import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitorFactory;
+import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.SetVisitor;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class ClassMapSuiteCacheTest {
+	private static final String PKG = "edu.test.proj1";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final List<Noncompliance> noncompliances = new ArrayList<>();
+
+	private final Consumer<Noncompliance> noncomplianceConsumer = (noncompliance) -> {
+		noncompliances.add(noncompliance);
+		System.out.println(this.getClass().getSimpleName() + ": " + noncompliance);
+	};
+
+	private Path oracleJar;
+	private Path cacheDir;
+
+	@Before
+	public void setup() throws Exception {
+		noncompliances.clear();
+		oracleJar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("oracle.jar"),
+				"edu/test/proj1",
+				"edu/test/annotations"
+		);
+		cacheDir = temporaryFolder.getRoot().toPath().resolve("cache");
+	}
+
+	@Test
+	public void testCachedSuiteGradesLikeBuiltSuite() throws Exception {
+		final ClassMapSuiteCache cache = ClassMapSuiteCache.builder().cacheDir(cacheDir).build();
+		final Path cacheFile = cache.getCacheFile(oracleJar, PKG);
+		assert !Files.exists(cacheFile);
+
+		cache.getOrBuild(oracleJar, PKG, noncomplianceConsumer);
+		assert Files.isRegularFile(cacheFile);
+		final long lastModified = Files.getLastModifiedTime(cacheFile).toMillis();
+
+		final ClassMapSuite cachedSuite = cache.getOrBuild(oracleJar, PKG, noncomplianceConsumer);
+		assert Files.getLastModifiedTime(cacheFile).toMillis() == lastModified;
+
+		final ClassMap actual = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		cachedSuite.visit(actual);
+		assert noncompliances.size() == 0;
+
+		final Path submissionJar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("submission.jar"),
+				className -> !className.endsWith("SubClass"),
+				"edu/test/proj1",
+				"edu/test/annotations"
+		);
+		cachedSuite.visit(ClassMap.buildSnapshotFromJar(ClassLoader.getPlatformClassLoader(), submissionJar, PKG));
+		assert noncompliances.size() == 1;
+	}
+
+	@Test
+	public void testCorruptEntryIsRebuilt() throws Exception {
+		final ClassMapSuiteCache cache = ClassMapSuiteCache.builder().cacheDir(cacheDir).build();
+		final Path cacheFile = cache.getCacheFile(oracleJar, PKG);
+		Files.createDirectories(cacheDir);
+		Files.writeString(cacheFile, "{not json");
+
+		final ClassMapSuite classMapSuite = cache.getOrBuild(oracleJar, PKG, noncomplianceConsumer);
+		assert classMapSuite.getItemSuites().size() > 0;
+		assert !Files.readString(cacheFile).equals("{not json");
+	}
+
+	@Test
+	public void testKeyDependsOnPackageAndFactory() throws Exception {
+		final ClassMapSuiteCache cache = ClassMapSuiteCache.builder().cacheDir(cacheDir).build();
+		final ClassMapSuiteCache otherCache = ClassMapSuiteCache.builder().cacheDir(cacheDir).build();
+		assert cache.getCacheFile(oracleJar, PKG).equals(otherCache.getCacheFile(oracleJar, PKG));
+		assert !cache.getCacheFile(oracleJar, PKG).equals(cache.getCacheFile(oracleJar, "edu.test.proj2"));
+
+		final ClassMapSuite.ClassMapSuiteFactory classMapSuiteFactory = ClassMapSuite.ClassMapSuiteFactory.builder()
+				.itemSuiteFactory(ClassSuite.ClassSuiteFactory.builder()
+						.classVisitorFactories(ImmutableSet.of(SuperclassSpec.SuperclassSpecFactory.getDefaultInst()))
+						.build())
+				.build();
+		final ClassMapSuiteCache configuredCache = ClassMapSuiteCache.builder()
+				.cacheDir(cacheDir)
+				.classMapSuiteFactory(classMapSuiteFactory)
+				.build();
+		assert !cache.getCacheFile(oracleJar, PKG).equals(configuredCache.getCacheFile(oracleJar, PKG));
+	}
+
+	@Test
+	public void testLambdaFactoriesAreNotCached() throws Exception {
+		final ClassMapSuiteCache cache = buildCache((classWrapper, parentName, consumer) ->
+				SuperclassSpec.SuperclassSpecFactory.getDefaultInst().buildFromItem(classWrapper, parentName, consumer));
+		final ClassMapSuiteCache otherCache = buildCache((classWrapper, parentName, consumer) ->
+				new SuperclassSpec("java.lang.Thread", parentName, consumer));
+		assert cache.getCacheFile(oracleJar, PKG) == null;
+		assert otherCache.getCacheFile(oracleJar, PKG) == null;
+
+		final String json = ClassMapSuite.JsonHelper.toJson(cache.getOrBuild(oracleJar, PKG, noncomplianceConsumer));
+		// Had the first suite been cached, the second lambda would have been served it
+		final String otherJson =
+				ClassMapSuite.JsonHelper.toJson(otherCache.getOrBuild(oracleJar, PKG, noncomplianceConsumer));
+		assert !json.contains("java.lang.Thread");
+		assert otherJson.contains("java.lang.Thread");
+		assert !Files.exists(cacheDir);
+	}
+
+	private ClassMapSuiteCache buildCache(final ClassVisitorFactory<?> classVisitorFactory) {
+		return ClassMapSuiteCache.builder()
+				.cacheDir(cacheDir)
+				.classMapSuiteFactory(ClassMapSuite.ClassMapSuiteFactory.builder()
+						.itemSuiteFactory(ClassSuite.ClassSuiteFactory.builder()
+								.classVisitorFactories(ImmutableSet.of(classVisitorFactory))
+								.build())
+						.build())
+				.build();
+	}
+
+	@Test
+	public void testStreamedJsonMatchesStringJson() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, PKG, noncomplianceConsumer);
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ClassMapSuite.JsonHelper.toJson(classMapSuite, outputStream);
+		outputStream.write(' ');
+		final ClassMapSuite streamedSuite = ClassMapSuite.JsonHelper.fromJson(
+				new ByteArrayInputStream(outputStream.toByteArray()),
+				noncomplianceConsumer
+		);
+
+		assert streamedSuite.getItemSuites().keySet().equals(classMapSuite.getItemSuites().keySet());
+
+		final Map<String, ClassWrapper> items = new HashMap<>(oracle.getItems());
+		items.remove("SubClass");
+		streamedSuite.visit(ClassMap.builder().name(oracle.getName()).items(items).build());
+		assert noncompliances.size() == 1;
+	}
+
+	@Test
+	public void testFormatVersion1StillLoads() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, PKG, noncomplianceConsumer);
+
+		// Format version 1 had no header, and named every type by its class name
+		final ObjectMapper formatVersion1Mapper = new ObjectMapper()
+				.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+				.setVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE)
+				.setVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE)
+				.registerModule(new GuavaModule());
+		formatVersion1Mapper.activateDefaultTyping(
+				BasicPolymorphicTypeValidator.builder()
+						.allowIfSubType(List.class)
+						.allowIfSubType(Set.class)
+						.allowIfSubType(Map.class)
+						.allowIfSubType(ItemVisitor.class)
+						.allowIfSubType(MapVisitor.class)
+						.allowIfSubType(SetVisitor.class)
+						.build(),
+				ObjectMapper.DefaultTyping.NON_FINAL
+		);
+		final String formatVersion1Json = formatVersion1Mapper.writeValueAsString(classMapSuite);
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ClassMapSuite.JsonHelper.toJson(classMapSuite, outputStream);
+		assert outputStream.size() < formatVersion1Json.length() * 3 / 4;
+
+		final ClassMapSuite formatVersion1Suite =
+				ClassMapSuite.JsonHelper.fromJson(formatVersion1Json, noncomplianceConsumer);
+		assert formatVersion1Suite.getItemSuites().keySet().equals(classMapSuite.getItemSuites().keySet());
+
+		final Map<String, ClassWrapper> items = new HashMap<>(oracle.getItems());
+		items.remove("SubClass");
+		formatVersion1Suite.visit(ClassMap.builder().name(oracle.getName()).items(items).build());
+		assert noncompliances.size() == 1;
+	}
+
+	@Test(expected = JsonProcessingException.class)
+	public void testNewerFormatVersionIsRejected() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final String json = ClassMapSuite.JsonHelper.toJson(ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, PKG, noncomplianceConsumer));
+
+		ClassMapSuite.JsonHelper.fromJson(
+				json.replaceFirst("\"format\" : " + ClassMapSuite.JsonHelper.FORMAT_VERSION,
+						"\"format\" : " + (ClassMapSuite.JsonHelper.FORMAT_VERSION + 1)),
+				noncomplianceConsumer
+		);
+	}
+}
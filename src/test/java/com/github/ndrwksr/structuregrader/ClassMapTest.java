@@ -0,0 +1,79 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.loader.SubmissionClassLoader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+
+public class ClassMapTest {
+	private static final String PKG = "edu.test.proj1";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testBuildFromJarMatchesBuildFromPackage() throws Exception {
+		final Path jar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("proj1.jar"),
+				"edu/test/proj1",
+				"edu/test/proj2",
+				"edu/test/annotations"
+		);
+
+		final ClassMap expected = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[]{jar.toUri().toURL()},
+				ClassLoader.getPlatformClassLoader()
+		)) {
+			final ClassMap actual = ClassMap.buildFromJar(classLoader, jar, PKG);
+			assert actual.getName().equals(PKG);
+			assert actual.getItems().keySet().equals(expected.getItems().keySet());
+			assert actual.getItems().values().stream()
+					.allMatch(classWrapper -> classWrapper.getSourceClass().getClassLoader() == classLoader);
+		}
+	}
+
+	@Test
+	public void testBuildFromJarSkipsOtherPackages() throws Exception {
+		final Path jar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("annotations.jar"),
+				"edu/test/annotations"
+		);
+
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[]{jar.toUri().toURL()},
+				ClassLoader.getPlatformClassLoader()
+		)) {
+			assert ClassMap.buildFromJar(classLoader, jar, PKG).getItems().isEmpty();
+		}
+	}
+
+	@Test
+	public void testParallelBuildMatchesSequentialBuild() throws Exception {
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final ClassMap sequential = ClassMap.buildFromPackage(classLoader, PKG);
+		final ClassMap parallel = ClassMap.buildFromPackage(classLoader, PKG, 4);
+		assert parallel.equals(sequential);
+		assert parallel.getItems().keySet().equals(sequential.getItems().keySet());
+
+		final Path jar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("test.jar"),
+				"edu/test/proj1",
+				"edu/test/annotations"
+		);
+		try (SubmissionClassLoader submissionClassLoader = new SubmissionClassLoader(jar, classLoader)) {
+			final ClassMap parallelFromJar = ClassMap.buildFromJar(submissionClassLoader, jar, PKG, 4);
+			assert parallelFromJar.equals(ClassMap.buildFromJar(submissionClassLoader, jar, PKG));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelismMustBePositive() throws Exception {
+		ClassMap.buildFromPackage(getClass().getClassLoader(), PKG, 0);
+	}
+}
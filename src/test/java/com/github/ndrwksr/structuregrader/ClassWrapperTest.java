@@ -0,0 +1,35 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import edu.test.proj1.ConstructorClass;
+import edu.test.proj1.FieldClass;
+import edu.test.proj1.MethodClass;
+import org.junit.Test;
+
+public class ClassWrapperTest {
+	@Test
+	public void testMembersAreMemoized() {
+		final ClassWrapper classWrapper = new ClassWrapper(ClassWrapper.class);
+
+		assert classWrapper.getDeclaredClasses() == classWrapper.getDeclaredClasses();
+		assert classWrapper.getFields() == classWrapper.getFields();
+		assert classWrapper.getMethods() == classWrapper.getMethods();
+		assert classWrapper.getConstructors() == classWrapper.getConstructors();
+		assert classWrapper.getInterfaces() == classWrapper.getInterfaces();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMembersAreImmutable() {
+		new ClassWrapper(FieldClass.class).getFields().getItems().clear();
+	}
+
+	@Test
+	public void testEqualityIgnoresMemoizedMembers() {
+		final ClassWrapper used = new ClassWrapper(MethodClass.class);
+		used.getMethods();
+		used.getConstructors();
+
+		assert used.equals(new ClassWrapper(MethodClass.class));
+		assert !used.equals(new ClassWrapper(ConstructorClass.class));
+	}
+}
@@ -0,0 +1,70 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.compiled.CompiledSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.ClassMapVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the per-submission visit time of a ClassMapSuite against the same suite compiled into a CompiledSuite.
+ * Takes the oracle jar, the student jar, the package to scan and optionally the number of iterations as arguments.
+ */
+public class CompiledSuiteBenchmark {
+	private static final int DEFAULT_ITERATIONS = 100_000;
+
+	public static void main(String[] args) throws IOException, ClassNotFoundException {
+		if (args.length < 3) {
+			System.err.println("Usage: CompiledSuiteBenchmark <oracle.jar> <student.jar> <package> [iterations]");
+			return;
+		}
+		final String pkg = args[2];
+		final int iterations = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ITERATIONS;
+
+		final ClassMap oracleClassMap = loadSnapshot(args[0], pkg);
+		final ClassMap studentClassMap = loadSnapshot(args[1], pkg);
+
+		// Count the noncompliances instead of printing them, so that only the visit itself is measured
+		final LongAdder noncompliances = new LongAdder();
+		final ClassMapSuite suite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst().buildFromCollection(
+				oracleClassMap,
+				pkg,
+				noncompliance -> noncompliances.increment()
+		);
+		final CompiledSuite compiledSuite = CompiledSuite.compile(suite);
+		System.out.println("Compiled suite has " + compiledSuite.getInstructionCount() + " instructions");
+
+		// Warm both paths up before measuring either of them
+		run(suite, studentClassMap, iterations);
+		run(compiledSuite, studentClassMap, iterations);
+
+		noncompliances.reset();
+		final long visitorNanos = run(suite, studentClassMap, iterations);
+		final long visitorNoncompliances = noncompliances.sumThenReset();
+		final long compiledNanos = run(compiledSuite, studentClassMap, iterations);
+		final long compiledNoncompliances = noncompliances.sum();
+
+		System.out.printf("Visitor:  %.1f us/submission, %d noncompliances%n",
+				visitorNanos / 1000.0 / iterations, visitorNoncompliances / iterations);
+		System.out.printf("Compiled: %.1f us/submission, %d noncompliances%n",
+				compiledNanos / 1000.0 / iterations, compiledNoncompliances / iterations);
+		System.out.printf("Speedup:  %.2fx%n", (double) visitorNanos / compiledNanos);
+	}
+
+	private static ClassMap loadSnapshot(final String jar, final String pkg)
+			throws IOException, ClassNotFoundException {
+		return ClassMap.buildSnapshotFromJar(ClassLoader.getPlatformClassLoader(), Paths.get(jar), pkg);
+	}
+
+	private static long run(final ClassMapVisitor visitor, final ClassMap classMap, final int iterations) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			visitor.visit(classMap, GradingContext.specConsumers());
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,74 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.compiled.CompiledSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class CompiledSuiteTest {
+	private static final String ORACLE_PKG = "edu.dselent.assignment2.card.professor";
+	private static final String BAD_PKG = "edu.dselent.assignment2.card.student.bad";
+
+	private final List<Noncompliance> noncompliances = new ArrayList<>();
+
+	private final Consumer<Noncompliance> noncomplianceConsumer = noncompliances::add;
+
+	@Before
+	public void setup() {
+		noncompliances.clear();
+	}
+
+	@Test
+	public void testCompiledSuiteMatchesVisitor() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), ORACLE_PKG);
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, ORACLE_PKG, noncomplianceConsumer);
+		final CompiledSuite compiledSuite = CompiledSuite.compile(classMapSuite);
+		assert compiledSuite.getInstructionCount() > 0;
+
+		final ClassMap bad = ClassMap.snapshotOf(ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG));
+		classMapSuite.visit(bad);
+		final List<String> expected = describe(noncompliances);
+		assert !expected.isEmpty();
+
+		noncompliances.clear();
+		compiledSuite.visit(bad);
+		assert describe(noncompliances).equals(expected);
+
+		noncompliances.clear();
+		final GradingContext context = GradingContext.specConsumers();
+		compiledSuite.visit(ClassMap.snapshotOf(oracle), context);
+		assert noncompliances.isEmpty();
+		assert context.getSkippedSubtreeCount() > 0;
+	}
+
+	@Test
+	public void testCancelledProgramStops() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), ORACLE_PKG);
+		final CompiledSuite compiledSuite = CompiledSuite.compile(ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, ORACLE_PKG, noncomplianceConsumer));
+
+		final GradingContext context = GradingContext.specConsumers();
+		context.cancel();
+		compiledSuite.visit(ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG), context);
+		assert noncompliances.isEmpty();
+	}
+
+	/**
+	 * The compiled program may report in a different order than the suite, so noncompliances are compared sorted.
+	 */
+	private static List<String> describe(final List<Noncompliance> noncompliances) {
+		return noncompliances.stream()
+				.map(Noncompliance::toString)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,85 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.grading.DeltaGrade;
+import com.github.ndrwksr.structuregrader.core.grading.DeltaGrader;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class DeltaGraderTest {
+	private static final String ORACLE_PKG = "edu.dselent.assignment2.card.professor";
+	private static final String BAD_PKG = "edu.dselent.assignment2.card.student.bad";
+	private static final String PERFECT_PKG = "edu.dselent.assignment2.card.student.perfect";
+	private static final String STUDENT = "student";
+
+	private ClassMapSuite classMapSuite;
+	private DeltaGrader deltaGrader;
+
+	@Before
+	public void setup() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), ORACLE_PKG);
+		classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, ORACLE_PKG, GradingContext.contextOnlyConsumer());
+		deltaGrader = DeltaGrader.builder().classMapSuite(classMapSuite).build();
+	}
+
+	@Test
+	public void testOnlyChangedClassesAreRegraded() throws Exception {
+		final ClassMap bad = ClassMap.snapshotOf(ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG));
+		final DeltaGrade first = deltaGrader.grade(STUDENT, bad);
+		assert first.getRegradedClassCount() == first.getClassFingerprints().size();
+		assert describe(first.getNoncompliances()).equals(gradeInFull(bad));
+
+		final DeltaGrade unchanged = deltaGrader.grade(STUDENT, bad);
+		assert unchanged.getRegradedClassCount() == 0;
+		assert describe(unchanged.getNoncompliances()).equals(describe(first.getNoncompliances()));
+
+		// Fix a single class by replacing it with the perfect solution's
+		final ClassMap perfect = ClassMap.snapshotOf(ClassMap.buildFromPackage(getClass().getClassLoader(), PERFECT_PKG));
+		final Map<String, ClassWrapper> items = new HashMap<>(bad.getItems());
+		items.put("Card", perfect.getItems().get("Card"));
+		final ClassMap fixedCard = ClassMap.builder().name(bad.getName()).items(items).build();
+
+		final DeltaGrade resubmission = deltaGrader.grade(STUDENT, fixedCard);
+		assert resubmission.getRegradedClassCount() == 1;
+		assert describe(resubmission.getNoncompliances()).equals(gradeInFull(fixedCard));
+		assert deltaGrader.getLatestGrade(STUDENT) == resubmission;
+	}
+
+	@Test
+	public void testGradeFromOtherSuiteIsNotReused() throws Exception {
+		final ClassMap bad = ClassMap.snapshotOf(ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG));
+		final DeltaGrade previous = DeltaGrader.builder().classMapSuite(classMapSuite).build().grade(bad, null);
+
+		final ClassMapSuite otherSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst().buildFromCollection(
+				ClassMap.buildFromPackage(getClass().getClassLoader(), ORACLE_PKG),
+				ORACLE_PKG,
+				GradingContext.contextOnlyConsumer()
+		);
+		final DeltaGrade grade = DeltaGrader.builder().classMapSuite(otherSuite).build().grade(bad, previous);
+		assert grade.getRegradedClassCount() == previous.getRegradedClassCount();
+	}
+
+	private List<String> gradeInFull(final ClassMap classMap) {
+		final List<Noncompliance> noncompliances = new ArrayList<>();
+		classMapSuite.visit(classMap, GradingContext.builder().noncomplianceSink(noncompliances::add).build());
+		return describe(noncompliances);
+	}
+
+	private static List<String> describe(final List<Noncompliance> noncompliances) {
+		return noncompliances.stream()
+				.map(Noncompliance::toString)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,149 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.bytecode.ClassFileSource;
+import com.github.ndrwksr.structuregrader.core.bytecode.TypeSignatures;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedClassWrapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class DetachedClassBuilderTest {
+	private static final String PKG = "edu.test.proj1";
+	private static final String PKG_DIR = "edu/test/proj1";
+	private static final String ANNOTATIONS_DIR = "edu/test/annotations";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final List<Noncompliance> noncompliances = new ArrayList<>();
+
+	private final Consumer<Noncompliance> noncomplianceConsumer = (noncompliance) -> {
+		noncompliances.add(noncompliance);
+		System.out.println(this.getClass().getSimpleName() + ": " + noncompliance);
+	};
+
+	@Before
+	public void setup() {
+		noncompliances.clear();
+	}
+
+	private ClassMap buildDetached(final Path jar) throws Exception {
+		try (ClassFileSource source = ClassFileSource.open(jar)) {
+			return ClassMap.buildFromClassFiles(source, PKG);
+		}
+	}
+
+	@Test
+	public void testDetachedMatchesReflective() throws Exception {
+		final Path jar = TestJars.createJar(temporaryFolder.getRoot().toPath().resolve("good.jar"), PKG_DIR, ANNOTATIONS_DIR);
+		final ClassMap reflective = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMap detached = buildDetached(jar);
+
+		assert detached.getItems().keySet().equals(reflective.getItems().keySet());
+		assert detached.getItems().values().stream().allMatch(wrapper -> wrapper instanceof DetachedClassWrapper);
+
+		for (final ClassWrapper reflectiveClass : reflective.getItems().values()) {
+			final ClassWrapper detachedClass = detached.getItems().get(reflectiveClass.getName());
+			assert detachedClass.getModifiers() == reflectiveClass.getModifiers();
+			assert detachedClass.getFields().getItems().keySet().equals(reflectiveClass.getFields().getItems().keySet());
+			assert detachedClass.getMethods().getItems().keySet().equals(reflectiveClass.getMethods().getItems().keySet());
+			assert detachedClass.getConstructors().getItems().size() == reflectiveClass.getConstructors().getItems().size();
+		}
+	}
+
+	@Test
+	public void testDetachedClassesAnswerAnnotatedApi() throws Exception {
+		final Path jar = TestJars.createJar(temporaryFolder.getRoot().toPath().resolve("good.jar"), PKG_DIR, ANNOTATIONS_DIR);
+		final ClassMap reflective = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMap detached = buildDetached(jar);
+
+		for (final ClassWrapper reflectiveClass : reflective.getItems().values()) {
+			for (final ClassWrapper detachedClass : List.of(
+					detached.getItems().get(reflectiveClass.getName()),
+					DetachedClassWrapper.snapshotOf(reflectiveClass)
+			)) {
+				assert detachedClass.getSuperclass() == null;
+				assert detachedClass.getDeclaredAnnotations().length == 0;
+				assert detachedClass.getAnnotation(Deprecated.class) == null;
+				assert detachedClass.getAnnotationWrappers().getItems().keySet()
+						.equals(reflectiveClass.getAnnotationWrappers().getItems().keySet());
+				detachedClass.getFields().getItems().values()
+						.forEach(field -> assertNoAnnotations(field.getDeclaredAnnotations()));
+				detachedClass.getMethods().getItems().values()
+						.forEach(method -> assertNoAnnotations(method.getDeclaredAnnotations()));
+			}
+		}
+	}
+
+	private static void assertNoAnnotations(final Annotation[] annotations) {
+		assert annotations.length == 0;
+	}
+
+	@Test
+	public void testReflectiveSuiteAcceptsDetachedClasses() throws Exception {
+		final Path jar = TestJars.createJar(temporaryFolder.getRoot().toPath().resolve("good.jar"), PKG_DIR, ANNOTATIONS_DIR);
+		final ClassMap reflective = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(reflective, reflective.getName(), noncomplianceConsumer);
+		classMapSuite.visit(buildDetached(jar));
+
+		assert noncompliances.size() == 0;
+	}
+
+	@Test
+	public void testDetachedSuiteAcceptsReflectiveClasses() throws Exception {
+		final Path jar = TestJars.createJar(temporaryFolder.getRoot().toPath().resolve("good.jar"), PKG_DIR, ANNOTATIONS_DIR);
+		final ClassMap detached = buildDetached(jar);
+
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(detached, detached.getName(), noncomplianceConsumer);
+		classMapSuite.visit(ClassMap.buildFromPackage(getClass().getClassLoader(), PKG));
+
+		assert noncompliances.size() == 0;
+	}
+
+	@Test
+	public void testDetachedSuiteFindsMissingClass() throws Exception {
+		final ClassMap expected = buildDetached(
+				TestJars.createJar(temporaryFolder.getRoot().toPath().resolve("good.jar"), PKG_DIR, ANNOTATIONS_DIR)
+		);
+		final ClassMap actual = buildDetached(TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("bad.jar"),
+				name -> !name.equals("SubClass"),
+				PKG_DIR,
+				ANNOTATIONS_DIR
+		));
+
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(expected, expected.getName(), noncomplianceConsumer);
+		classMapSuite.visit(actual);
+
+		assert noncompliances.size() == 1;
+	}
+
+	@Test
+	public void testTypeSignatures() {
+		assert TypeSignatures.getTypeName("[I").equals("int[]");
+		assert TypeSignatures.getTypeName("Ljava/util/Map$Entry;").equals("java.util.Map$Entry");
+		assert TypeSignatures.getTypeName("Ljava/util/Map<Ljava/lang/String;[TT;>;")
+				.equals("java.util.Map<java.lang.String, T[]>");
+		assert TypeSignatures.getTypeName("Ljava/util/List<+Ljava/lang/Number;>;")
+				.equals("java.util.List<? extends java.lang.Number>");
+		assert TypeSignatures.getTypeName("Ljava/util/List<*>;").equals("java.util.List<?>");
+		assert TypeSignatures.getParameterTypeNames("<T:Ljava/lang/Object;>(TT;JLjava/util/List<-TT;>;)V")
+				.equals(List.of("T", "long", "java.util.List<? super T>"));
+		assert TypeSignatures.getReturnTypeName("(I)Ljava/lang/String;").equals("java.lang.String");
+	}
+}
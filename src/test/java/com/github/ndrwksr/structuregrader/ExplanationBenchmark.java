@@ -0,0 +1,95 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.TemplateKeys;
+import com.github.ndrwksr.structuregrader.core.specification.collection.MissingExtraHelper.MissingNoncompliance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Measures the cost of rendering a Noncompliance's explanation, comparing the precompiled templates against the
+ * String.replaceAll rendering they replaced. Optionally takes the number of noncompliances to render as an argument.
+ */
+public class ExplanationBenchmark {
+	private static final int DEFAULT_NONCOMPLIANCES = 200_000;
+	private static final String EXPLANATION = "Found missing methods! Expected to have "
+			+ TemplateKeys.EXPECTED_TEMPLATE + ", but got " + TemplateKeys.ACTUAL_TEMPLATE;
+
+	public static void main(String[] args) {
+		final int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NONCOMPLIANCES;
+
+		final Set<String> expected = new TreeSet<>();
+		for (int i = 0; i < 12; i++) {
+			expected.add("method" + i);
+		}
+		final Set<String> actual = new TreeSet<>(expected);
+		actual.remove("method3");
+
+		// Warm both paths up before measuring either of them
+		renderWithReplaceAll(expected, actual, count);
+		renderWithTemplates(makeNoncompliances(expected, actual, count));
+
+		final long replaceAllNanos = renderWithReplaceAll(expected, actual, count);
+		final List<Noncompliance> noncompliances = makeNoncompliances(expected, actual, count);
+		final long templateNanos = renderWithTemplates(noncompliances);
+		final long cachedNanos = renderWithTemplates(noncompliances);
+
+		System.out.printf("replaceAll: %.1f ns/noncompliance%n", (double) replaceAllNanos / count);
+		System.out.printf("Template:   %.1f ns/noncompliance%n", (double) templateNanos / count);
+		System.out.printf("Cached:     %.1f ns/noncompliance%n", (double) cachedNanos / count);
+	}
+
+	private static List<Noncompliance> makeNoncompliances(
+			final Set<String> expected,
+			final Set<String> actual,
+			final int count
+	) {
+		final List<Noncompliance> noncompliances = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			noncompliances.add(MissingNoncompliance.builder()
+					.parentName("Class" + (i % 100))
+					.expected(expected)
+					.actual(actual)
+					.explanation(EXPLANATION)
+					.build());
+		}
+		return noncompliances;
+	}
+
+	private static long renderWithTemplates(final List<Noncompliance> noncompliances) {
+		long length = 0;
+		final long start = System.nanoTime();
+		for (final Noncompliance noncompliance : noncompliances) {
+			length += noncompliance.getExplanation().length();
+		}
+		final long elapsed = System.nanoTime() - start;
+		consume(length);
+		return elapsed;
+	}
+
+	private static long renderWithReplaceAll(final Set<String> expected, final Set<String> actual, final int count) {
+		long length = 0;
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			length += EXPLANATION
+					.replaceAll(TemplateKeys.EXPECTED_TEMPLATE, expected.toString())
+					.replaceAll(TemplateKeys.ACTUAL_TEMPLATE, actual.toString())
+					.length();
+		}
+		final long elapsed = System.nanoTime() - start;
+		consume(length);
+		return elapsed;
+	}
+
+	/**
+	 * Keeps the rendered lengths from being optimised away.
+	 */
+	private static void consume(final long length) {
+		if (length == 42) {
+			System.out.println(length);
+		}
+	}
+}
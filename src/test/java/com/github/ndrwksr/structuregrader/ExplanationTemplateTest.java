@@ -0,0 +1,47 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ExplanationTemplate;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.common.TypedSpec;
+import org.junit.Test;
+
+public class ExplanationTemplateTest {
+	@Test
+	public void testRender() {
+		final ExplanationTemplate template = ExplanationTemplate.of("%E then %A then %E.");
+		assert template.isExpectedUsed();
+		assert template.isActualUsed();
+		assert template.render("a", "b").equals("a then b then a.");
+		assert ExplanationTemplate.of("%E then %A then %E.") == template;
+
+		final ExplanationTemplate literal = ExplanationTemplate.of("Nothing to insert");
+		assert !literal.isExpectedUsed();
+		assert literal.render("a", "b").equals("Nothing to insert");
+	}
+
+	@Test
+	public void testValuesAreInsertedLiterally() {
+		// Nested class names contain '$', which String.replaceAll treated as a group reference
+		final Noncompliance<String> noncompliance = Noncompliance.<String>builder()
+				.parentName("testValuesAreInsertedLiterally")
+				.expected("Outer$Inner")
+				.actual("C:\\path")
+				.explanation("Expected %E, but got %A")
+				.build();
+
+		assert noncompliance.getExplanation().equals("Expected Outer$Inner, but got C:\\path");
+		assert noncompliance.getExplanation() == noncompliance.getExplanation();
+	}
+
+	@Test
+	public void testTypedNoncomplianceUnlocatesTypes() {
+		final Noncompliance<String> noncompliance = TypedSpec.TypedNoncompliance.builder()
+				.parentName("testTypedNoncomplianceUnlocatesTypes")
+				.expected("java.util.List<java.lang.String>")
+				.actual(null)
+				.explanation("Expected %E, but had %A.")
+				.build();
+
+		assert noncompliance.getExplanation().equals("Expected List<String>, but had null.");
+	}
+}
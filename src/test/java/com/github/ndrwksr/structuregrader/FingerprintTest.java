@@ -0,0 +1,189 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.NamedMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.base.MapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.ClassVisitorFactory;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.visitor.ItemVisitor;
+import com.github.ndrwksr.structuregrader.core.visitor.MapVisitor;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedClassWrapper;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import javax.annotation.CheckForNull;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class FingerprintTest {
+	private static final String PKG = "edu.test.proj1";
+
+	private final Consumer<Noncompliance> noncomplianceConsumer = (noncompliance) ->
+			System.out.println(this.getClass().getSimpleName() + ": " + noncompliance);
+
+	@Test
+	public void testFingerprintsAreStructural() throws Exception {
+		final ClassMap classMap = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMap snapshot = ClassMap.snapshotOf(classMap);
+		assert classMap.getFingerprint() != null;
+		assert classMap.getFingerprint().equals(snapshot.getFingerprint());
+
+		for (final ClassWrapper classWrapper : classMap.getItems().values()) {
+			assert classWrapper.getFingerprint() == snapshot.getItems().get(classWrapper.getName()).getFingerprint();
+			assert classWrapper.getFingerprint() == new ClassWrapper(classWrapper.getSourceClass()).getFingerprint();
+		}
+		assert classMap.getItems().values().stream().mapToLong(ClassWrapper::getFingerprint).distinct().count()
+				== classMap.getItems().size();
+
+		// proj2 only differs from proj1 by the name of its package, which isn't part of a class's structure
+		final ClassMap otherClassMap = ClassMap.buildFromPackage(getClass().getClassLoader(), "edu.test.proj2");
+		assert otherClassMap.getItems().get("FieldClass").getFingerprint()
+				== classMap.getItems().get("FieldClass").getFingerprint();
+
+		final ClassMap changedClassMap = withChangedModifiers(snapshot, "FieldClass");
+		assert !changedClassMap.getFingerprint().equals(snapshot.getFingerprint());
+	}
+
+	@Test
+	public void testMatchingSubtreesAreSkipped() throws Exception {
+		final AtomicInteger visits = new AtomicInteger();
+		final ClassMapSuite.ClassMapSuiteFactory classMapSuiteFactory = ClassMapSuite.ClassMapSuiteFactory.builder()
+				.itemSuiteFactory(ClassSuite.ClassSuiteFactory.builder()
+						.classVisitorFactories(ImmutableSet.of(new CountingVisitorFactory(visits)))
+						.build())
+				.build();
+
+		final ClassMap classMap = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMapSuite classMapSuite = classMapSuiteFactory.buildFromCollection(classMap, PKG, noncomplianceConsumer);
+
+		classMapSuite.visit(ClassMap.snapshotOf(classMap));
+		assert visits.get() == 0;
+
+		// Only the suite of the class which changed is visited
+		classMapSuite.visit(withChangedModifiers(ClassMap.snapshotOf(classMap), "FieldClass"));
+		assert visits.get() == 1;
+	}
+
+	@Test
+	public void testEditedSuitesAreNotSkipped() throws Exception {
+		final AtomicInteger visits = new AtomicInteger();
+		final ClassMap classMap = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(classMap, PKG, noncomplianceConsumer);
+		final ClassSuite classSuite = classMapSuite.getItemSuites().get("FieldClass");
+		final ClassVisitor countingVisitor = new CountingVisitorFactory(visits)
+				.buildFromItem(classMap.getItems().get("FieldClass"), PKG, noncomplianceConsumer);
+
+		// Specifications can't be edited in place, where the recorded fingerprint would no longer describe them
+		try {
+			classSuite.getSpecifiedClassVisitors().add(countingVisitor);
+			assert false;
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		// A suite with edited specifications is a new suite, which isn't skipped
+		final Set<ClassVisitor> editedVisitors = new HashSet<>(classSuite.getSpecifiedClassVisitors());
+		editedVisitors.add(countingVisitor);
+		ClassSuite.builder()
+				.specifiedClassVisitors(editedVisitors)
+				.parentName(classSuite.getParentName())
+				.build()
+				.visit(DetachedClassWrapper.snapshotOf(classMap.getItems().get("FieldClass")));
+		assert visits.get() == 1;
+	}
+
+	@Test
+	public void testMapsWithoutFingerprintsAreVisited() {
+		final AtomicInteger visits = new AtomicInteger();
+		final MapSuite<String, ItemVisitor<String>> mapSuite = new MapSuite<>(
+				Set.of(new MapVisitor<String>() {
+					@Override
+					public void visit(@CheckForNull final NamedMap<String> collection, final GradingContext context) {
+						visits.incrementAndGet();
+					}
+
+					@Override
+					public String getParentName() {
+						return PKG;
+					}
+
+					@Override
+					public String getSpecDescription() {
+						return "Counts the maps it visits.";
+					}
+				}),
+				Map.of(),
+				PKG,
+				0L
+		);
+
+		// Strings aren't Fingerprinted, so the map has no fingerprint to compare
+		final NamedMap<String> strings = NamedMap.<String>builder().name(PKG).items(Map.of("a", "a")).build();
+		assert strings.getFingerprint() == null;
+		mapSuite.visit(strings);
+		assert visits.get() == 1;
+	}
+
+	private static ClassMap withChangedModifiers(final ClassMap classMap, final String className) {
+		final DetachedClassWrapper original = (DetachedClassWrapper) classMap.getItems().get(className);
+		final DetachedClassWrapper changed = DetachedClassWrapper.builder()
+				.name(original.getName())
+				.modifiers(original.getModifiers() ^ Modifier.FINAL)
+				.synthetic(original.isSynthetic())
+				.superclassName(original.getSuperclassName())
+				.annotationWrappers(original.getAnnotationWrappers())
+				.declaredClasses(original.getDeclaredClasses())
+				.fields(original.getFields())
+				.methods(original.getMethods())
+				.constructors(original.getConstructors())
+				.interfaces(original.getInterfaces())
+				.build();
+
+		final Map<String, ClassWrapper> items = new HashMap<>(classMap.getItems());
+		items.put(className, changed);
+		return ClassMap.builder().name(classMap.getName()).items(items).build();
+	}
+
+	private static class CountingVisitorFactory implements ClassVisitorFactory<ClassVisitor> {
+		private final AtomicInteger visits;
+
+		private CountingVisitorFactory(final AtomicInteger visits) {
+			this.visits = visits;
+		}
+
+		@Override
+		public ClassVisitor buildFromItem(
+				final ClassWrapper classWrapper,
+				final String parentName,
+				final Consumer<Noncompliance> noncomplianceConsumer
+		) {
+			return new ClassVisitor() {
+				@Override
+				public void visit(@CheckForNull final ClassWrapper item, final GradingContext context) {
+					visits.incrementAndGet();
+				}
+
+				@Override
+				public String getParentName() {
+					return parentName;
+				}
+
+				@Override
+				public String getSpecDescription() {
+					return "Counts the classes it visits.";
+				}
+			};
+		}
+	}
+}
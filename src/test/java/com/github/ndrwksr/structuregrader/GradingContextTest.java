@@ -0,0 +1,186 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.compiled.CompiledSuite;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.visitor.NoncomplianceSink;
+import com.github.ndrwksr.structuregrader.core.visitor.SpecIndex;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class GradingContextTest {
+	private static final String PKG = "edu.test.proj1";
+	private static final String ORACLE_PKG = "edu.dselent.assignment2.card.professor";
+	private static final String BAD_PKG = "edu.dselent.assignment2.card.student.bad";
+
+	private ClassMapSuite classMapSuite;
+	private ClassMap missingSubClass;
+
+	/**
+	 * The suite of the card oracle, and a submission with several noncompliances against it.
+	 */
+	private ClassMapSuite oracleSuite;
+	private ClassMap bad;
+
+	@Before
+	public void setup() throws Exception {
+		final ClassMap expected = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(expected, expected.getName(), GradingContext.contextOnlyConsumer());
+
+		final Map<String, ClassWrapper> items = new HashMap<>(expected.getItems());
+		items.remove("SubClass");
+		missingSubClass = ClassMap.builder().name(expected.getName()).items(items).build();
+
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), ORACLE_PKG);
+		oracleSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, ORACLE_PKG, GradingContext.contextOnlyConsumer());
+		bad = ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG);
+	}
+
+	@Test
+	public void testSuiteIsSharedAcrossThreads() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<List<Noncompliance>>> futures = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				futures.add(executor.submit((Callable<List<Noncompliance>>) () -> {
+					final List<Noncompliance> noncompliances = new ArrayList<>();
+					final GradingContext context = GradingContext.builder()
+							.noncomplianceSink(noncompliances::add)
+							.build();
+					classMapSuite.visit(missingSubClass, context);
+					assert context.getNoncomplianceCount() == noncompliances.size();
+					assert context.getSkippedSubtreeCount() > 0;
+					return noncompliances;
+				}));
+			}
+			for (final Future<List<Noncompliance>> future : futures) {
+				assert future.get().size() == 1;
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCancelledVisitReportsNothing() {
+		final List<Noncompliance> noncompliances = new ArrayList<>();
+		final GradingContext context = GradingContext.builder().noncomplianceSink(noncompliances::add).build();
+		context.cancel();
+
+		classMapSuite.visit(missingSubClass, context);
+		assert context.isCancelled();
+		assert noncompliances.isEmpty();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testContextOnlySuiteRequiresSink() {
+		classMapSuite.visit(missingSubClass);
+	}
+
+	@Test
+	public void testFailFastStopsAtFirstNoncompliance() {
+		final List<Noncompliance> noncompliances = new ArrayList<>();
+		final GradingContext context = GradingContext.failFast(noncompliances::add);
+		oracleSuite.visit(bad, context);
+		assert noncompliances.size() == 1;
+		assert context.getNoncomplianceCount() == 1;
+		assert context.isCancelled();
+
+		noncompliances.clear();
+		CompiledSuite.compile(oracleSuite).visit(bad, GradingContext.failFast(noncompliances::add));
+		assert noncompliances.size() == 1;
+	}
+
+	@Test
+	public void testNoncomplianceLimits() {
+		final CompiledSuite compiledSuite = CompiledSuite.compile(oracleSuite);
+
+		final List<Noncompliance> all = new ArrayList<>();
+		oracleSuite.visit(bad, GradingContext.builder().noncomplianceSink(all::add).build());
+		assert all.size() > 3;
+
+		final List<Noncompliance> limited = new ArrayList<>();
+		oracleSuite.visit(bad, GradingContext.builder().noncomplianceSink(limited::add).maxNoncompliances(3L).build());
+		assert limited.size() == 3;
+
+		// At most one noncompliance is reported for each class, so fewer are reported in total
+		final List<Noncompliance> perClass = new ArrayList<>();
+		oracleSuite.visit(bad, GradingContext.builder().noncomplianceSink(perClass::add).maxNoncompliancesPerClass(1L).build());
+		assert !perClass.isEmpty();
+		assert perClass.size() < all.size();
+
+		final List<Noncompliance> compiledPerClass = new ArrayList<>();
+		compiledSuite.visit(
+				bad,
+				GradingContext.builder().noncomplianceSink(compiledPerClass::add).maxNoncompliancesPerClass(1L).build()
+		);
+		assert compiledPerClass.size() == perClass.size();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLimitsMustBePositive() {
+		GradingContext.builder().maxNoncompliances(0L).build();
+	}
+
+	@Test
+	public void testStructuredSink() {
+		final List<Noncompliance> all = new ArrayList<>();
+		oracleSuite.visit(bad, GradingContext.builder().noncomplianceSink(all::add).build());
+
+		// Every noncompliance comes from a specification of the suite, and counting them doesn't materialize any
+		final SpecIndex specIndex = SpecIndex.of(oracleSuite);
+		final AtomicInteger count = new AtomicInteger();
+		oracleSuite.visit(bad, GradingContext.builder()
+				.structuredSink((specId, kind, parentName, subject, expected, actual) -> {
+					assert specId != SpecIndex.UNKNOWN_ID;
+					assert specIndex.getSpec(specId) != oracleSuite;
+					count.incrementAndGet();
+				})
+				.specIndex(specIndex)
+				.build());
+		assert count.get() == all.size();
+
+		final List<Noncompliance> materialized = new ArrayList<>();
+		oracleSuite.visit(bad, GradingContext.builder()
+				.structuredSink(NoncomplianceSink.materializing(materialized::add))
+				.build());
+		assert describe(materialized).equals(describe(all));
+
+		final List<Noncompliance> compiled = new ArrayList<>();
+		CompiledSuite.compile(oracleSuite).visit(bad, GradingContext.builder()
+				.structuredSink(NoncomplianceSink.materializing(compiled::add))
+				.build());
+		assert describe(compiled).equals(describe(all));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOnlyOneSink() {
+		GradingContext.builder()
+				.noncomplianceSink(noncompliance -> {})
+				.structuredSink(NoncomplianceSink.materializing(noncompliance -> {}))
+				.build();
+	}
+
+	private static List<String> describe(final List<Noncompliance> noncompliances) {
+		return noncompliances.stream()
+				.map(Noncompliance::toString)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+}
@@ -49,10 +49,17 @@ public class InterfaceSetSuiteTest {
 
 		}
 	}
+	private static class SameNameInterfaceClass implements edu.test.proj1.Interface1, edu.test.proj2.Interface1 {
+		@Override
+		public void method(final Object arg) {
+
+		}
+	}
 	private final ClassWrapper noInterface = new ClassWrapper(NoInterfaceClass.class);
 	private final ClassWrapper oneInterface = new ClassWrapper(OneInterfaceClass.class);
 	private final ClassWrapper twoInterface1 = new ClassWrapper(TwoInterfaceClass1.class);
 	private final ClassWrapper twoInterface2 = new ClassWrapper(TwoInterfaceClass2.class);
+	private final ClassWrapper sameNameInterface = new ClassWrapper(SameNameInterfaceClass.class);
 
 	private final InterfaceSetSuite.InterfaceMapSuiteFactory factory = InterfaceSetSuite.InterfaceMapSuiteFactory.getDefaultInst();
 
@@ -92,4 +99,10 @@ public class InterfaceSetSuiteTest {
 		factory.buildFromItem(noInterface, PARENT_NAME, noncomplianceConsumer).visit(oneInterface);
 		assert noncomplianceOfTypeWasMade(MissingExtraHelper.ExtraNoncompliance.class);
 	}
+
+	@Test
+	public void testSameNameCountedOnce() {
+		factory.buildFromItem(twoInterface1, PARENT_NAME, noncomplianceConsumer).visit(sameNameInterface);
+		assert noncomplianceOfTypeWasMade(MissingExtraHelper.MissingNoncompliance.class);
+	}
 }
@@ -1,21 +1,50 @@
 package com.github.ndrwksr.structuregrader;
 
+import com.github.ndrwksr.structuregrader.core.MethodIndex;
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.specification.executable.MethodMapSuite;
 import com.github.ndrwksr.structuregrader.core.specification.collection.MissingExtraHelper;
 import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedClassWrapper;
 import edu.test.proj1.MethodClass;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 public class MethodMapSuiteTest {
 	private final ClassWrapper methodClass = new ClassWrapper(MethodClass.class);
 	private final MethodMapSuite.MethodMapSuiteFactory factory = MethodMapSuite.MethodMapSuiteFactory.getDefaultInst();
 
+	private static class Overloaded {
+		void foo(final int i) {
+		}
+
+		void foo(final String s) {
+		}
+
+		void bar() {
+		}
+	}
+
+	private static class OneOverload {
+		void foo(final int i) {
+		}
+
+		void bar() {
+		}
+	}
+
+	private static class Compared implements Comparable<Compared> {
+		@Override
+		public int compareTo(final Compared other) {
+			return 0;
+		}
+	}
+
 	private final List<Noncompliance> noncompliances = new ArrayList<>();
 
 	private final Consumer<Noncompliance> noncomplianceConsumer = (noncompliance) -> {
@@ -60,4 +89,57 @@ public class MethodMapSuiteTest {
 		assert noncomplianceOfTypeWasMade(MissingExtraHelper.ExtraNoncompliance.class);
 		assert noncomplianceOfTypeWasMade(MissingExtraHelper.MissingNoncompliance.class);
 	}
+
+	@Test
+	public void testOverloadsAreIndexed() {
+		final ClassWrapper overloaded = new ClassWrapper(Overloaded.class);
+		final MethodIndex methods = overloaded.getMethods();
+
+		assert methods.getItems().keySet().equals(Set.of("foo(int)", "foo(String)", "bar"));
+		assert methods.get("foo", "String") != null;
+		assert methods.get("foo", "long") == null;
+		assert methods.getOverloads("foo").size() == 2;
+		assert methods.getOverloads("baz").isEmpty();
+		assert DetachedClassWrapper.snapshotOf(overloaded).getMethods().getItems().keySet()
+				.equals(methods.getItems().keySet());
+	}
+
+	@Test
+	public void testMissingOverload() {
+		final MethodMapSuite methodMapSuite = factory.buildFromItem(
+				new ClassWrapper(Overloaded.class),
+				Overloaded.class.getSimpleName(),
+				noncomplianceConsumer
+		);
+
+		methodMapSuite.visit(new ClassWrapper(OneOverload.class));
+
+		assert noncompliances.size() == 1;
+		assert noncomplianceOfTypeWasMade(MissingExtraHelper.MissingNoncompliance.class);
+	}
+
+	@Test
+	public void testExtraOverload() {
+		final MethodMapSuite methodMapSuite = factory.buildFromItem(
+				new ClassWrapper(OneOverload.class),
+				OneOverload.class.getSimpleName(),
+				noncomplianceConsumer
+		);
+
+		// The submission's foo(int) is the oracle's foo, and only foo(String) is extra
+		methodMapSuite.visit(new ClassWrapper(Overloaded.class));
+
+		assert noncompliances.size() == 1;
+		assert noncomplianceOfTypeWasMade(MissingExtraHelper.ExtraNoncompliance.class);
+		assert noncompliances.get(0).getActual().equals(Set.of("foo", "foo(String)", "bar"));
+	}
+
+	@Test
+	public void testBridgesAreLeftOut() {
+		final ClassWrapper compared = new ClassWrapper(Compared.class);
+
+		// compareTo(Object) is a bridge to compareTo(Compared), so compareTo isn't overloaded
+		assert compared.getMethods().getItems().keySet().equals(Set.of("compareTo"));
+		assert compared.getMethods().getOverloads("compareTo").size() == 1;
+	}
 }
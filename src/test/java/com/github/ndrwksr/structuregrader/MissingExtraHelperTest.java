@@ -3,6 +3,7 @@ package com.github.ndrwksr.structuregrader;
 
 import com.github.ndrwksr.structuregrader.core.Noncompliance;
 import com.github.ndrwksr.structuregrader.core.specification.collection.MissingExtraHelper;
+import com.github.ndrwksr.structuregrader.core.specification.collection.NameIndex;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -262,4 +263,69 @@ public class MissingExtraHelperTest {
 		assert actualString.contains(A_KEY);
 		assert actualString.contains(B_KEY);
 	}
+
+	@Test
+	public void testSetWithThreeExtraReportsOnce() {
+		expectedNames.add(A_KEY);
+		final Set<String> actualNames = new HashSet<>(Arrays.asList(A_KEY, B_KEY, C_KEY, D_KEY));
+
+		MissingExtraHelper.checkSetForExtra(
+				"testSetWithThreeExtraReportsOnce",
+				expectedNames,
+				actualNames,
+				TEST_ITEM_PLURAL,
+				noncomplianceConsumer
+		);
+
+		assert noncompliances.size() == 1;
+		assert noncompliances.get(0) instanceof MissingExtraHelper.ExtraNoncompliance;
+		assert noncompliances.get(0).getExplanation().startsWith("Found extra " + TEST_ITEM_PLURAL);
+		assert noncompliances.get(0).getActual().equals(actualNames);
+	}
+
+	@Test
+	public void testNameIndexPresence() {
+		final Set<String> manyNames = new HashSet<>();
+		for (int i = 0; i < 130; i++) {
+			manyNames.add("name" + i);
+		}
+		final NameIndex<String> nameIndex = NameIndex.of(manyNames);
+		assert nameIndex.size() == 130;
+		assert nameIndex.indexOf("name200") == -1;
+
+		final Set<String> actualNames = new HashSet<>(manyNames);
+		assert !nameIndex.presenceOf(actualNames).hasMissing();
+		assert !nameIndex.presenceOf(actualNames).hasExtra();
+
+		actualNames.remove("name0");
+		actualNames.remove("name129");
+		actualNames.add("extra");
+		final NameIndex<String>.Presence presence = nameIndex.presenceOf(actualNames);
+		assert presence.hasMissing();
+		assert presence.getMissingCount() == 2;
+		assert presence.getExtraCount() == 1;
+	}
+
+	@Test
+	public void testReportedActualIsCompactCopy() {
+		expectedNames.add(A_KEY);
+		expectedNames.add(B_KEY);
+		items.put(A_KEY, A_VAL);
+		items.put(C_KEY, C_VAL);
+
+		MissingExtraHelper.checkMapForMissing(
+				"testReportedActualIsCompactCopy",
+				expectedNames,
+				items,
+				TEST_ITEM_PLURAL,
+				noncomplianceConsumer
+		);
+
+		// Neither the expected names nor the map are held, so changing them doesn't change the noncompliance
+		expectedNames.clear();
+		items.clear();
+		assert noncompliances.size() == 1;
+		assert noncompliances.get(0).getExpected().equals(new HashSet<>(Arrays.asList(A_KEY, B_KEY)));
+		assert noncompliances.get(0).getActual().equals(new HashSet<>(Arrays.asList(A_KEY, C_KEY)));
+	}
 }
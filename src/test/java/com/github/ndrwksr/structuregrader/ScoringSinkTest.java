@@ -0,0 +1,136 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.NoncomplianceKind;
+import com.github.ndrwksr.structuregrader.core.grading.ScoringSink;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.specification.common.ModifiedSpec.ModifiedNoncompliance;
+import com.github.ndrwksr.structuregrader.core.visitor.GradingContext;
+import com.github.ndrwksr.structuregrader.core.visitor.SpecIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ScoringSinkTest {
+	private static final String ORACLE_PKG = "edu.dselent.assignment2.card.professor";
+	private static final String BAD_PKG = "edu.dselent.assignment2.card.student.bad";
+
+	private ClassMapSuite classMapSuite;
+	private SpecIndex specIndex;
+	private ClassMap bad;
+	private List<Noncompliance> all;
+
+	@Before
+	public void setup() throws Exception {
+		final ClassMap oracle = ClassMap.buildFromPackage(getClass().getClassLoader(), ORACLE_PKG);
+		classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(oracle, ORACLE_PKG, GradingContext.contextOnlyConsumer());
+		specIndex = SpecIndex.of(classMapSuite);
+		bad = ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG);
+
+		all = new ArrayList<>();
+		classMapSuite.visit(bad, GradingContext.builder().noncomplianceSink(all::add).build());
+	}
+
+	@Test
+	public void testUnweightedScore() {
+		final ScoringSink scoringSink = ScoringSink.builder().specIndex(specIndex).keepNoncompliances(true).build();
+		score(scoringSink);
+
+		assert scoringSink.getNoncomplianceCount() == all.size();
+		assert scoringSink.getDeduction() == all.size();
+		assert scoringSink.getScore() == Math.max(0, 100 - all.size());
+		assert describe(scoringSink.getNoncompliances()).equals(describe(all));
+
+		scoringSink.reset();
+		assert scoringSink.getScore() == 100;
+		assert scoringSink.getNoncompliances().isEmpty();
+	}
+
+	@Test
+	public void testSpecTypeWeights() {
+		final ScoringSink scoringSink = ScoringSink.builder()
+				.specIndex(specIndex)
+				.specTypeWeight("ModifiedSpec", 0.0)
+				.build();
+		score(scoringSink);
+
+		final long modifiedCount = all.stream().filter(ModifiedNoncompliance.class::isInstance).count();
+		assert modifiedCount > 0;
+		assert scoringSink.getDeduction() == all.size() - modifiedCount;
+	}
+
+	@Test
+	public void testPathWeightsAndClassCaps() {
+		final ScoringSink uncapped = ScoringSink.builder().specIndex(specIndex).build();
+		score(uncapped);
+		final Map<String, Double> uncappedDeductions = uncapped.getClassDeductions();
+		assert uncappedDeductions.get("Card") > 1;
+
+		final ScoringSink scoringSink = ScoringSink.builder()
+				.specIndex(specIndex)
+				.pathWeight("Card", 0.0)
+				.maxDeductionPerClass(1.0)
+				.build();
+		score(scoringSink);
+
+		final Map<String, Double> deductions = scoringSink.getClassDeductions();
+		assert !deductions.containsKey("Card");
+		assert !deductions.isEmpty();
+		for (final double deduction : deductions.values()) {
+			assert deduction <= 1;
+		}
+		assert scoringSink.getDeduction() < uncapped.getDeduction();
+	}
+
+	@Test
+	public void testPathsNameMemberKindsAndNestedClasses() throws Exception {
+		final ClassMapSuite badSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(bad, BAD_PKG, GradingContext.contextOnlyConsumer());
+		final SpecIndex badIndex = SpecIndex.of(badSuite);
+		final List<String> paths = paths(badIndex);
+		assert paths.contains("Card/methods/toString");
+		assert paths.contains("Card/classes/NewInnerClass");
+
+		// The same suite built again is numbered the same way
+		final ClassMap rebuilt = ClassMap.buildFromPackage(getClass().getClassLoader(), BAD_PKG);
+		assert paths(SpecIndex.of(ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(rebuilt, BAD_PKG, GradingContext.contextOnlyConsumer()))).equals(paths);
+
+		// Noncompliances in a nested class are capped as that class, not as the class declaring it
+		final ScoringSink scoringSink = ScoringSink.builder()
+				.specIndex(badIndex)
+				.maxDeductionPerClass(1.0)
+				.build();
+		for (int id = 0; id < badIndex.size(); id++) {
+			if (badIndex.getPath(id).startsWith("Card/classes/NewInnerClass")) {
+				scoringSink.accept(id, NoncomplianceKind.MODIFIERS, "NewInnerClass", null, 0, 1);
+			}
+		}
+		assert scoringSink.getClassDeductions().equals(Map.of("Card/classes/NewInnerClass", 1.0));
+	}
+
+	private static List<String> paths(final SpecIndex specIndex) {
+		final List<String> paths = new ArrayList<>();
+		for (int id = 0; id < specIndex.size(); id++) {
+			paths.add(specIndex.getPath(id));
+		}
+		return paths;
+	}
+
+	private void score(final ScoringSink scoringSink) {
+		classMapSuite.visit(bad, GradingContext.builder().structuredSink(scoringSink).specIndex(specIndex).build());
+	}
+
+	private static List<String> describe(final List<Noncompliance> noncompliances) {
+		return noncompliances.stream()
+				.map(Noncompliance::toString)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+}
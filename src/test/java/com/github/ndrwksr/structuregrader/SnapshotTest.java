@@ -0,0 +1,73 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.Noncompliance;
+import com.github.ndrwksr.structuregrader.core.specification.clazz.ClassMapSuite;
+import com.github.ndrwksr.structuregrader.core.wrapper.ClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.DetachedClassWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.MethodWrapper;
+import com.github.ndrwksr.structuregrader.core.wrapper.NamedType;
+import edu.test.proj1.MethodClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class SnapshotTest {
+	private static final String PKG = "edu.test.proj1";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final List<Noncompliance> noncompliances = new ArrayList<>();
+
+	private final Consumer<Noncompliance> noncomplianceConsumer = (noncompliance) -> {
+		noncompliances.add(noncompliance);
+		System.out.println(this.getClass().getSimpleName() + ": " + noncompliance);
+	};
+
+	@Before
+	public void setup() {
+		noncompliances.clear();
+	}
+
+	@Test
+	public void testSnapshotMatchesWrapper() {
+		final ClassWrapper classWrapper = new ClassWrapper(MethodClass.class);
+		final DetachedClassWrapper snapshot = DetachedClassWrapper.snapshotOf(classWrapper);
+
+		assert snapshot.getName().equals(classWrapper.getName());
+		assert snapshot.getModifiers() == classWrapper.getModifiers();
+		assert snapshot.getMethods().getItems().keySet().equals(classWrapper.getMethods().getItems().keySet());
+		for (final MethodWrapper method : classWrapper.getMethods().getItems().values()) {
+			final MethodWrapper snapshotMethod = snapshot.getMethods().getItems().get(method.getName());
+			assert snapshotMethod.getType() instanceof NamedType;
+			assert snapshotMethod.getGenericType().getTypeName().equals(method.getGenericType().getTypeName());
+			assert snapshotMethod.getParameters().getItems().keySet().equals(method.getParameters().getItems().keySet());
+		}
+		assert DetachedClassWrapper.snapshotOf(snapshot) == snapshot;
+	}
+
+	@Test
+	public void testSnapshotFromJarIsGradedAfterLoaderCloses() throws Exception {
+		final Path jar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("good.jar"),
+				"edu/test/proj1",
+				"edu/test/annotations"
+		);
+		final ClassMap expected = ClassMap.buildFromPackage(getClass().getClassLoader(), PKG);
+		final ClassMapSuite classMapSuite = ClassMapSuite.ClassMapSuiteFactory.getDefaultInst()
+				.buildFromCollection(expected, expected.getName(), noncomplianceConsumer);
+
+		final ClassMap snapshot = ClassMap.buildSnapshotFromJar(ClassLoader.getPlatformClassLoader(), jar, PKG);
+		assert snapshot.getItems().values().stream().allMatch(wrapper -> wrapper instanceof DetachedClassWrapper);
+
+		classMapSuite.visit(snapshot);
+		assert noncompliances.size() == 0;
+	}
+}
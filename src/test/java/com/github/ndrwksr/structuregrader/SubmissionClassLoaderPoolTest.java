@@ -0,0 +1,90 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.ClassMap;
+import com.github.ndrwksr.structuregrader.core.loader.SubmissionClassLoader;
+import com.github.ndrwksr.structuregrader.core.loader.SubmissionClassLoaderPool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SubmissionClassLoaderPoolTest {
+	private static final String SUBCLASS_NAME = "edu.test.proj1.SubClass";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path jar;
+
+	@Before
+	public void setup() throws Exception {
+		jar = TestJars.createJar(
+				temporaryFolder.getRoot().toPath().resolve("proj1.jar"),
+				"edu/test/proj1",
+				"edu/test/annotations"
+		);
+	}
+
+	@Test
+	public void testChildFirst() throws Exception {
+		final ClassLoader testClassLoader = getClass().getClassLoader();
+		try (SubmissionClassLoader classLoader = new SubmissionClassLoader(jar, testClassLoader)) {
+			// The test classpath also contains SubClass, but the submission's own copy must win.
+			assert classLoader.loadClass(SUBCLASS_NAME).getClassLoader() == classLoader;
+			// The grader's own classes always come from the parent.
+			assert classLoader.loadClass(ClassMap.class.getName()) == ClassMap.class;
+		}
+	}
+
+	@Test
+	public void testLiveLoadersAreBounded() throws Exception {
+		final SubmissionClassLoaderPool pool = SubmissionClassLoaderPool.builder().maxLiveLoaders(1).build();
+		final SubmissionClassLoaderPool.Lease lease = pool.acquire(jar);
+		assert pool.getLiveLoaderCount() == 1;
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicBoolean acquired = new AtomicBoolean();
+		final Thread waiter = new Thread(() -> {
+			started.countDown();
+			try (SubmissionClassLoaderPool.Lease secondLease = pool.acquire(jar)) {
+				acquired.set(true);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		waiter.start();
+		started.await();
+		waiter.join(200);
+		assert !acquired.get();
+
+		lease.close();
+		waiter.join(TimeUnit.SECONDS.toMillis(10));
+		assert acquired.get();
+		assert pool.getLiveLoaderCount() == 0;
+	}
+
+	@Test
+	public void testClosedLoadersBecomeUnreachable() throws Exception {
+		final SubmissionClassLoaderPool pool = SubmissionClassLoaderPool.builder().maxLiveLoaders(2).build();
+		for (int i = 0; i < 3; i++) {
+			loadAndSnapshot(pool);
+		}
+
+		assert pool.getLiveLoaderCount() == 0;
+		assert pool.awaitUnreachable(30, TimeUnit.SECONDS);
+		assert pool.getUnreclaimedLoaderCount() == 0;
+	}
+
+	private void loadAndSnapshot(final SubmissionClassLoaderPool pool) throws Exception {
+		final ClassMap snapshot;
+		try (SubmissionClassLoaderPool.Lease lease = pool.acquire(jar)) {
+			snapshot = ClassMap.snapshotOf(ClassMap.buildFromJar(lease.getClassLoader(), jar, "edu.test.proj1"));
+		}
+		assert snapshot.getItems().containsKey("SubClass");
+	}
+}
@@ -0,0 +1,75 @@
+package com.github.ndrwksr.structuregrader;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds submission jars out of the compiled test fixture packages, for tests which grade jars.
+ */
+public class TestJars {
+	/**
+	 * Writes a jar to jarPath containing every class file in packageDirs whose simple name passes classFilter.
+	 *
+	 * @param jarPath     The path to write the jar to.
+	 * @param classFilter Filters class files by simple name (ex. "SubClass" or "SubClass$Inner").
+	 * @param packageDirs The packages to copy into the jar, as resource paths (ex. "edu/test/proj1").
+	 * @return jarPath.
+	 */
+	public static Path createJar(
+			@NonNull final Path jarPath,
+			@NonNull final Predicate<String> classFilter,
+			@NonNull final String... packageDirs
+	) throws IOException, URISyntaxException {
+		try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(jarPath))) {
+			for (final String packageDir : packageDirs) {
+				final URL packageUrl = TestJars.class.getClassLoader().getResource(packageDir);
+				if (packageUrl == null) {
+					throw new IllegalArgumentException("No such package on the test classpath: " + packageDir);
+				}
+
+				final List<Path> classFiles;
+				try (Stream<Path> files = Files.list(Paths.get(packageUrl.toURI()))) {
+					classFiles = files
+							.filter(path -> path.getFileName().toString().endsWith(".class"))
+							.filter(path -> classFilter.test(path.getFileName().toString().replace(".class", "")))
+							.sorted()
+							.collect(Collectors.toList());
+				}
+
+				for (final Path classFile : classFiles) {
+					jarOutputStream.putNextEntry(new JarEntry(packageDir + "/" + classFile.getFileName()));
+					Files.copy(classFile, (OutputStream) jarOutputStream);
+					jarOutputStream.closeEntry();
+				}
+			}
+		}
+		return jarPath;
+	}
+
+	/**
+	 * Writes a jar to jarPath containing every class file in packageDirs.
+	 *
+	 * @param jarPath     The path to write the jar to.
+	 * @param packageDirs The packages to copy into the jar, as resource paths (ex. "edu/test/proj1").
+	 * @return jarPath.
+	 */
+	public static Path createJar(
+			@NonNull final Path jarPath,
+			@NonNull final String... packageDirs
+	) throws IOException, URISyntaxException {
+		return createJar(jarPath, name -> true, packageDirs);
+	}
+}
@@ -0,0 +1,34 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.type.InternedTypes;
+import com.github.ndrwksr.structuregrader.core.type.TypeTable;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TypeTableTest {
+	@Test
+	public void testIdsAreDense() {
+		final TypeTable typeTable = new TypeTable();
+		assert typeTable.intern("Card") == 0;
+		assert typeTable.intern("Deck") == 1;
+		assert typeTable.intern("Card") == 0;
+		assert typeTable.size() == 2;
+		assert typeTable.getDescriptor(1).equals("Deck");
+	}
+
+	@Test
+	public void testInternedTypesFollowTable() {
+		final InternedTypes interned = InternedTypes.of(Arrays.asList("Comparable", "Cloneable"));
+
+		final TypeTable first = new TypeTable();
+		first.intern("Card");
+		final int[] firstIds = interned.idsIn(first);
+		assert Arrays.equals(firstIds, new int[]{1, 2});
+		assert interned.idsIn(first) == firstIds;
+
+		final TypeTable second = new TypeTable();
+		assert Arrays.equals(interned.idsIn(second), new int[]{0, 1});
+		assert second.getDescriptor(0).equals("Comparable");
+	}
+}
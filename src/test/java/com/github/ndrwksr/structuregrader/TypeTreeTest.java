@@ -0,0 +1,67 @@
+package com.github.ndrwksr.structuregrader;
+
+import com.github.ndrwksr.structuregrader.core.type.TypeTree;
+import com.github.ndrwksr.structuregrader.core.wrapper.NamedType;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+public class TypeTreeTest {
+	@SuppressWarnings("unused")
+	private static class Fields<T extends Number> {
+		private Map<String, List<Integer>> nested;
+		private Map<Integer, List<Integer>> otherNested;
+		private List<? extends Number> upperBounded;
+		private List<? super Integer> lowerBounded;
+		private List<?> unbounded;
+		private T[] genericArray;
+		private int[][] primitiveArray;
+		private Map.Entry<String, T> entry;
+	}
+
+	private static Type genericTypeOf(final String fieldName) throws NoSuchFieldException {
+		return Fields.class.getDeclaredField(fieldName).getGenericType();
+	}
+
+	@Test
+	public void testNamesHavePackagesLeftOut() throws Exception {
+		assert TypeTree.of(genericTypeOf("nested")).toString().equals("Map<String, List<Integer>>");
+		assert TypeTree.of(genericTypeOf("upperBounded")).toString().equals("List<? extends Number>");
+		assert TypeTree.of(genericTypeOf("lowerBounded")).toString().equals("List<? super Integer>");
+		assert TypeTree.of(genericTypeOf("unbounded")).toString().equals("List<?>");
+		assert TypeTree.of(genericTypeOf("genericArray")).toString().equals("T[]");
+		assert TypeTree.of(genericTypeOf("primitiveArray")).toString().equals("int[][]");
+		assert TypeTree.of(genericTypeOf("entry")).toString().equals("Map$Entry<String, T>");
+
+		final TypeTree parsed = TypeTree.parse("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>");
+		assert parsed.equals(TypeTree.of(genericTypeOf("nested")));
+		assert parsed.equals(TypeTree.parse(parsed.toString()));
+	}
+
+	@Test
+	public void testMatchesReflectiveAndNamedTypes() throws Exception {
+		for (final String fieldName : new String[]{
+				"nested", "upperBounded", "lowerBounded", "unbounded", "genericArray", "primitiveArray", "entry"
+		}) {
+			final Type type = genericTypeOf(fieldName);
+			final TypeTree expected = TypeTree.parse(TypeTree.of(type).toString());
+			assert expected.matches(type) : fieldName;
+			assert expected.matches(NamedType.snapshotOf(type)) : fieldName;
+		}
+	}
+
+	@Test
+	public void testEveryTypeArgumentIsCompared() throws Exception {
+		final TypeTree nested = TypeTree.of(genericTypeOf("nested"));
+		assert !nested.matches(genericTypeOf("otherNested"));
+		assert !nested.matches(NamedType.snapshotOf(genericTypeOf("otherNested")));
+
+		assert !TypeTree.parse("List<? extends Number>").matches(genericTypeOf("lowerBounded"));
+		assert !TypeTree.parse("List<?>").matches(genericTypeOf("upperBounded"));
+		assert !TypeTree.parse("List<? super Integer>").matches("java.util.List<? extends java.lang.Integer>");
+		assert !TypeTree.parse("List").matches(genericTypeOf("unbounded"));
+		assert !TypeTree.parse("int[]").matches(genericTypeOf("primitiveArray"));
+	}
+}